@@ -0,0 +1,36 @@
+/**
+ * AbortableProblem.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.base;
+
+import jmetal.util.JMException;
+
+/**
+ * This interface can be implemented by the problems whose objectives are
+ * evaluated one after another, to stop the evaluation of a solution as soon
+ * as it is known to be dominated. After evaluating each objective, the
+ * problem asks the algorithm's <code>DominanceOracle</code> whether the
+ * objectives evaluated so far (together with lower bounds of the remaining
+ * ones) are dominated; if so, it can return without evaluating the remaining
+ * objectives.
+ * The algorithms supporting early aborts evaluate the solutions through a
+ * <code>jmetal.util.DominanceIndex</code>, which marks the rejected solutions
+ * (see <code>Solution.isObjectivesSkipped</code>); the other algorithms, and
+ * the evaluators decorating the problem, use <code>Problem.evaluate</code>.
+ */
+public interface AbortableProblem<T extends Variable> {
+
+  /**
+   * Evaluates the objectives of a solution, unless the oracle tells that it
+   * is dominated.
+   * @param solution The <code>Solution</code> to evaluate.
+   * @param oracle The oracle to ask after each objective.
+   * @return true if all the objectives have been evaluated, false if the
+   * evaluation has been aborted.
+   * @throws JMException
+   */
+  public boolean evaluate(Solution<T> solution, DominanceOracle oracle) throws JMException;
+} // AbortableProblem
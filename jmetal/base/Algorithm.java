@@ -8,6 +8,8 @@ package jmetal.base ;
 
 import java.io.Serializable;
 
+import jmetal.base.evaluator.AsyncEvaluator;
+import jmetal.base.evaluator.SurrogateScreening;
 import jmetal.base.operator.crossover.Crossover;
 import jmetal.base.operator.localSearch.LocalSearch;
 import jmetal.base.operator.mutation.Mutation;
@@ -60,6 +62,78 @@ public abstract class Algorithm<V extends Variable, C extends Crossover<V>, M ex
 		return evaluations;
 	}
 
+	// memory management
+	private boolean solutionPooling;
+
+	/**
+	 * Enables the recycling of the solutions discarded by the algorithm, which
+	 * are reused as offsprings by the crossover operator (see
+	 * <code>SolutionPool</code>). It is supported by NSGAII and ssNSGAII.
+	 * @param solutionPooling true to recycle the solutions.
+	 */
+	public void setSolutionPooling(boolean solutionPooling) {
+		this.solutionPooling = solutionPooling;
+	}
+
+	public boolean isSolutionPooling() {
+		return solutionPooling;
+	}
+
+	// population layout
+	private boolean realPopulation;
+
+	/**
+	 * Keeps the population in a <code>RealPopulation</code>, whose rows are
+	 * bred and evaluated without going through the <code>Real</code> objects.
+	 * It is supported by NSGAII, for a <code>RealVectorProblem</code> solved
+	 * with SBX, polynomial mutation and no surrogate screening.
+	 * @param realPopulation true to use a <code>RealPopulation</code>.
+	 */
+	public void setRealPopulation(boolean realPopulation) {
+		this.realPopulation = realPopulation;
+	}
+
+	public boolean isRealPopulation() {
+		return realPopulation;
+	}
+
+	// asynchronous evaluation
+	private transient AsyncEvaluator<V> asyncEvaluator;
+
+	/**
+	 * Sets the driver evaluating the offsprings asynchronously, keeping
+	 * several evaluations in flight. It is supported by the steady-state
+	 * algorithms (ssNSGAII and aMOCell1-4), which otherwise evaluate an
+	 * offspring at a time.
+	 * @param asyncEvaluator the driver, or null to evaluate an offspring at a
+	 * time.
+	 */
+	public void setAsyncEvaluator(AsyncEvaluator<V> asyncEvaluator) {
+		this.asyncEvaluator = asyncEvaluator;
+	}
+
+	public AsyncEvaluator<V> getAsyncEvaluator() {
+		return asyncEvaluator;
+	}
+
+	// surrogate-assisted screening
+	private transient SurrogateScreening<V> surrogateScreening;
+
+	/**
+	 * Sets the screening of the offsprings, which evaluates only the ones a
+	 * surrogate model deems promising. It is supported by NSGAII, SMPSO and
+	 * MOEAD, which otherwise evaluate all the offsprings.
+	 * @param surrogateScreening the screening, or null to evaluate all the
+	 * offsprings.
+	 */
+	public void setSurrogateScreening(SurrogateScreening<V> surrogateScreening) {
+		this.surrogateScreening = surrogateScreening;
+	}
+
+	public SurrogateScreening<V> getSurrogateScreening() {
+		return surrogateScreening;
+	}
+
 	// configuration
 	protected C crossoverOperator;
 	protected M mutationOperator;
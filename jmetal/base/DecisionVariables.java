@@ -10,6 +10,8 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
+import jmetal.base.variable.RealVector;
+
 /** 
  * This class contains the decision variables of a solution
  */
@@ -34,6 +36,16 @@ public class DecisionVariables<T extends Variable> implements Serializable {
     problem_   = problem;
     variables_ = problem_.generateNewDecisionVariable();
   } // DecisionVariable
+
+  /**
+   * Constructor
+   * @param problem The problem to solve
+   * @param variables The list of the variables (it is not copied)
+   */
+  public DecisionVariables(Problem<T> problem, List<T> variables) {
+    problem_   = problem;
+    variables_ = variables;
+  } // DecisionVariable
    
   /**
    * Copy constructor
@@ -42,11 +54,38 @@ public class DecisionVariables<T extends Variable> implements Serializable {
   @SuppressWarnings("unchecked")
 	public DecisionVariables(DecisionVariables<T> decisionVariables){
     problem_ = decisionVariables.problem_;
+    if (decisionVariables.variables_ instanceof RealVector) {
+      variables_ = (List<T>) ((RealVector) decisionVariables.variables_).copy();
+      return;
+    } // if
+
     variables_ = new ArrayList<T>(decisionVariables.variables_.size());
     for (int var = 0; var < decisionVariables.variables_.size(); var++) {
       variables_.add((T) decisionVariables.variables_.get(var).clone());
     }
   } // DecisionVariable
+
+  /**
+   * Overwrites the variables with the ones of another
+   * <code>DecisionVariables</code> object of the same problem. The values of
+   * a <code>RealVector</code> genome are copied into the existing array when
+   * possible; other genomes are replaced by a copy.
+   * @param decisionVariables The <code>DecisionVariables<code> object to copy.
+   */
+  @SuppressWarnings("unchecked")
+  void assign(DecisionVariables<T> decisionVariables) {
+    if (variables_ instanceof RealVector && decisionVariables.variables_ instanceof RealVector) {
+      RealVector vector = (RealVector) variables_;
+      RealVector other  = (RealVector) decisionVariables.variables_;
+      if (vector.getBounds() == other.getBounds()) {
+        vector.assign(other);
+        return;
+      } // if
+    } // if
+
+    problem_   = decisionVariables.problem_;
+    variables_ = new DecisionVariables<T>(decisionVariables).variables_;
+  } // assign
     
   /**
    * Returns the number of decision variables.
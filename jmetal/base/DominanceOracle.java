@@ -0,0 +1,29 @@
+/**
+ * DominanceOracle.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.base;
+
+/**
+ * This interface is implemented by the algorithms (see
+ * <code>jmetal.util.DominanceIndex</code>) to tell an evaluation in progress
+ * whether the solution being evaluated is hopeless, i.e., it is dominated by
+ * the solutions the algorithm has already found (see
+ * <code>AbortableProblem</code>).
+ */
+public interface DominanceOracle {
+
+  /**
+   * Checks whether any objective vector bounded from below by the given
+   * values is dominated by a feasible solution known to the algorithm.
+   * Objectives are minimized: a solution whose objectives are, one by one,
+   * not lower than the bounds is dominated as well.
+   * @param bounds Lower bounds of the objectives: the values of the
+   * objectives already evaluated, and the lowest values the others can take
+   * (e.g., <code>Double.NEGATIVE_INFINITY</code>).
+   * @return true if the bounds are dominated.
+   */
+  public boolean isDominated(double [] bounds);
+} // DominanceOracle
@@ -72,17 +72,63 @@ public abstract class Problem<T extends Variable> implements Serializable {
   public abstract void evaluate(Solution<T> solution) throws JMException ;    
 
   /**
-   * Evaluates a set of <code>Solution</code>s.
+   * Returns the number of fidelity levels at which the objectives can be
+   * evaluated: level 0 is the cheapest approximation, and the last level is
+   * the exact evaluation done by <code>evaluate(Solution)</code>.
+   * The problems providing cheap approximations of their objectives (e.g.,
+   * computed on a subset of the test inputs) re-define this method and
+   * <code>evaluate(Solution, int)</code> (see
+   * <code>MultiFidelityEvaluator</code>).
+   * @return the number of fidelity levels.
+   */
+  public int getNumberOfFidelityLevels() {
+    return 1;
+  } // getNumberOfFidelityLevels
+
+  /**
+   * Evaluates a <code>Solution</code> object at a given fidelity level.
+   * @param solution The <code>Solution</code> to evaluate.
+   * @param fidelity The fidelity level (see
+   * <code>getNumberOfFidelityLevels</code>).
+   */
+  public void evaluate(Solution<T> solution, int fidelity) throws JMException {
+    evaluate(solution);
+  } // evaluate
+
+  /**
+   * Evaluates a set of <code>Solution</code>s: their objectives and their
+   * overall constraint violation.
    * @param solution The set of <code>Solution</code>s to evaluate.
    * @return the number of evaluations done
    */    
   public int evaluate(final SolutionSet<T> set) throws JMException {
-  	for(Solution<T> solution : set)
+  	for(Solution<T> solution : set) {
   		evaluate(solution);
+  		evaluateConstraints(solution);
+  	}
   	
   	return set.size();
   }
 
+  /**
+   * Evaluates a set of <code>Solution</code>s at a given fidelity level: their
+   * objectives and their overall constraint violation. The evaluators
+   * decorating a problem re-define this method to evaluate the set as a
+   * batch (e.g., in parallel), as they do for <code>evaluate(SolutionSet)</code>.
+   * @param set The set of <code>Solution</code>s to evaluate.
+   * @param fidelity The fidelity level (see
+   * <code>getNumberOfFidelityLevels</code>).
+   * @return the number of evaluations done
+   */
+  public int evaluate(SolutionSet<T> set, int fidelity) throws JMException {
+    for (int i = 0; i < set.size(); i++) {
+      evaluate(set.get(i), fidelity);
+      evaluateConstraints(set.get(i));
+    } // for
+
+    return set.size();
+  } // evaluate
+
   /**
    * Gets the number of side constraints in the problem.
    * @return the number of constraints.
@@ -101,6 +147,16 @@ public abstract class Problem<T extends Variable> implements Serializable {
     // re-define this method
   } // evaluateConstraints
 
+  /**
+   * Indicates if the constraints are computed on the decision variables only,
+   * without using the objectives: hence they can be evaluated before the
+   * objectives (see <code>ConstraintFirstEvaluator</code>).
+   * @return true if the constraints can be evaluated first.
+   */
+  public boolean hasIndependentConstraints() {
+    return false;
+  } // hasIndependentConstraints
+
   /**
    * Returns the problem name
    * @return The problem name
@@ -16,6 +16,8 @@ import jmetal.base.variable.BinaryReal;
 import jmetal.base.variable.Int;
 import jmetal.base.variable.Permutation;
 import jmetal.base.variable.Real;
+import jmetal.base.variable.RealBounds;
+import jmetal.base.variable.RealVector;
 import jmetal.util.JMException;
 
 /**
@@ -46,6 +48,13 @@ public abstract class ProblemValue<T extends VariableValue> extends Problem<T> {
    * Permutation variables)
    */
   protected int    [] length_  ;
+
+  /**
+   * Describes the bounds of Real variables, shared by all the solutions
+   * (created on demand from <code>lowerLimit_</code> and
+   * <code>upperLimit_</code>)
+   */
+  private RealBounds realBounds_ ;
   
   /** 
    * Constructor. 
@@ -70,6 +79,17 @@ public abstract class ProblemValue<T extends VariableValue> extends Problem<T> {
   public double getUpperLimit(int i) {
     return upperLimit_[i] ;
   } // getUpperLimit 
+
+  /**
+   * Gets the bounds of the variables, as a descriptor shared by the
+   * <code>RealVector</code> genomes of the problem.
+   * @return The bounds.
+   */
+  public RealBounds getRealBounds() {
+    if (realBounds_ == null)
+      realBounds_ = new RealBounds(lowerLimit_, upperLimit_) ;
+    return realBounds_ ;
+  } // getRealBounds
     
   /**
    * Evaluates a <code>Solution</code> object.
@@ -167,10 +187,7 @@ public abstract class ProblemValue<T extends VariableValue> extends Problem<T> {
 	}
 
 	protected List<Real> generateReal() {
-		List<Real> variables_ = new ArrayList<Real>(getNumberOfVariables());
-    for (int var = 0; var < getNumberOfVariables(); var++)
-    	variables_.add(new Real(getLowerLimit(var), getUpperLimit(var)));
-    return variables_;
+		return new RealVector(getRealBounds());
 	}
 
 	protected List<Permutation> generatePermutation() {
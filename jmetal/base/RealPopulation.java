@@ -0,0 +1,561 @@
+/**
+ * RealPopulation.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.base;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import jmetal.base.variable.Real;
+import jmetal.base.variable.RealBounds;
+import jmetal.base.variable.RealVector;
+import jmetal.util.JMException;
+import jmetal.util.PseudoRandom;
+
+/**
+ * This class stores a population of solutions of a real-coded problem as a
+ * structure of arrays: the values of the decision variables and of the
+ * objectives are kept row by row in two contiguous blocks, and the bounds of
+ * the variables are shared by all the rows. Row i starts at position
+ * <code>i * getNumberOfVariables()</code> of <code>getVariables()</code> and
+ * at position <code>i * getNumberOfObjectives()</code> of
+ * <code>getObjectives()</code>, which is the layout expected by the bulk
+ * methods of <code>ObjectiveKernels</code>.
+ * Each row is also seen as a <code>Solution</code> (see <code>get</code>), so
+ * that the population can be handled by the existing code. Reading and
+ * writing the variables of a row through its <code>Real</code> objects works,
+ * but it is slow: SBX, polynomial mutation and differential evolution have
+ * methods working directly on the rows, and problems extending
+ * <code>RealVectorProblem</code> are evaluated on the blocks.
+ * Rows are views: <code>clear</code> reuses them, hence solutions that must
+ * survive the population (e.g., the ones stored in an archive) have to be
+ * copied with <code>new Solution&lt;Real&gt;(row)</code>.
+ */
+public class RealPopulation implements Serializable {
+
+  private static final long serialVersionUID = -2906513880712542375L;
+
+  /**
+   * The problem to solve
+   */
+  private final ProblemValue<Real> problem_;
+
+  /**
+   * The number of decision variables of each row
+   */
+  private final int numberOfVariables_;
+
+  /**
+   * The number of objectives of each row
+   */
+  private final int numberOfObjectives_;
+
+  /**
+   * Lower bounds of the variables, shared by all the rows
+   */
+  private final double [] lowerLimit_;
+
+  /**
+   * Upper bounds of the variables, shared by all the rows
+   */
+  private final double [] upperLimit_;
+
+  /**
+   * The values of the decision variables, row by row
+   */
+  private double [] variables_;
+
+  /**
+   * The values of the objectives, row by row
+   */
+  private double [] objectives_;
+
+  /**
+   * The views of the rows
+   */
+  private Row [] rows_;
+
+  /**
+   * The number of rows in use
+   */
+  private int size_;
+
+  /**
+   * Buffers used to evaluate a row
+   */
+  private transient double [] x_;
+  private transient double [] f_;
+
+  /**
+   * Constructor.
+   * @param problem The problem to solve.
+   * @param capacity The initial number of rows (the population grows if
+   * needed).
+   */
+  public RealPopulation(ProblemValue<Real> problem, int capacity) {
+    problem_            = problem;
+    numberOfVariables_  = problem.getNumberOfVariables();
+    numberOfObjectives_ = problem.getNumberOfObjectives();
+
+    RealBounds bounds = problem.getRealBounds();
+    lowerLimit_ = bounds.getLowerLimits();
+    upperLimit_ = bounds.getUpperLimits();
+
+    capacity    = Math.max(capacity, 1);
+    variables_  = new double[capacity * numberOfVariables_];
+    objectives_ = new double[capacity * numberOfObjectives_];
+    rows_       = new Row[capacity];
+    size_       = 0;
+  } // RealPopulation
+
+  /**
+   * Returns the number of rows in use.
+   * @return The size of the population.
+   */
+  public int size() {
+    return size_;
+  } // size
+
+  /**
+   * Removes all the rows. The row views are reused by the next additions.
+   */
+  public void clear() {
+    size_ = 0;
+  } // clear
+
+  /**
+   * Returns the problem to solve.
+   * @return The problem.
+   */
+  public ProblemValue<Real> getProblem() {
+    return problem_;
+  } // getProblem
+
+  /**
+   * Returns the number of decision variables of each row.
+   * @return The number of variables.
+   */
+  public int getNumberOfVariables() {
+    return numberOfVariables_;
+  } // getNumberOfVariables
+
+  /**
+   * Returns the number of objectives of each row.
+   * @return The number of objectives.
+   */
+  public int getNumberOfObjectives() {
+    return numberOfObjectives_;
+  } // getNumberOfObjectives
+
+  /**
+   * Returns the block of the values of the decision variables. The array
+   * changes when the population grows, so it must not be kept across
+   * additions.
+   * @return The values of the variables, row by row.
+   */
+  public double[] getVariables() {
+    return variables_;
+  } // getVariables
+
+  /**
+   * Returns the block of the values of the objectives. The array changes when
+   * the population grows, so it must not be kept across additions.
+   * @return The values of the objectives, row by row.
+   */
+  public double[] getObjectives() {
+    return objectives_;
+  } // getObjectives
+
+  /**
+   * Returns the lower bounds of the variables.
+   * @return The lower bounds (the array must not be modified).
+   */
+  public double[] getLowerLimits() {
+    return lowerLimit_;
+  } // getLowerLimits
+
+  /**
+   * Returns the upper bounds of the variables.
+   * @return The upper bounds (the array must not be modified).
+   */
+  public double[] getUpperLimits() {
+    return upperLimit_;
+  } // getUpperLimits
+
+  /**
+   * Returns the view of a row.
+   * @param i The index of the row.
+   * @return The row, seen as a <code>Solution</code>.
+   */
+  public Row get(int i) {
+    if (i >= size_)
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size_);
+    return rows_[i];
+  } // get
+
+  /**
+   * Adds a row with random values, drawn as <code>Real</code> does.
+   * @return The index of the new row.
+   */
+  public int addRandom() {
+    int row = newRow();
+    int offset = row * numberOfVariables_;
+    for (int var = 0; var < numberOfVariables_; var++)
+      variables_[offset + var] = PseudoRandom.randDouble() * (upperLimit_[var] - lowerLimit_[var]) + lowerLimit_[var];
+    return row;
+  } // addRandom
+
+  /**
+   * Adds a copy of a solution.
+   * @param solution The solution to copy.
+   * @return The index of the new row.
+   */
+  public int add(Solution<Real> solution) {
+    int row = newRow();
+
+    getValues(solution, variables_, row * numberOfVariables_);
+
+    for (int i = 0; i < numberOfObjectives_; i++)
+      objectives_[row * numberOfObjectives_ + i] = solution.getObjective(i);
+
+    rows_[row].copyState(solution);
+    return row;
+  } // add
+
+  /**
+   * Adds a copy of a row of a population of the same problem (it can be this
+   * population).
+   * @param population The population.
+   * @param i The index of the row to copy.
+   * @return The index of the new row.
+   */
+  public int add(RealPopulation population, int i) {
+    Row source = population.get(i);
+    int row = newRow();
+
+    System.arraycopy(population.variables_, i * numberOfVariables_,
+                     variables_, row * numberOfVariables_, numberOfVariables_);
+    System.arraycopy(population.objectives_, i * numberOfObjectives_,
+                     objectives_, row * numberOfObjectives_, numberOfObjectives_);
+
+    rows_[row].copyState(source);
+    return row;
+  } // add
+
+  /**
+   * Evaluates the objectives and the constraints of the rows in [from, to).
+   * @param from The index of the first row.
+   * @param to The index following the last row.
+   * @return The number of evaluations done.
+   * @throws JMException
+   */
+  @SuppressWarnings("unchecked")
+  public int evaluate(int from, int to) throws JMException {
+    if (problem_ instanceof RealVectorProblem) {
+      RealVectorProblem<Real> problem = (RealVectorProblem<Real>) problem_;
+      if (x_ == null) {
+        x_ = new double[numberOfVariables_];
+        f_ = new double[numberOfObjectives_];
+      } // if
+
+      for (int row = from; row < to; row++) {
+        System.arraycopy(variables_, row * numberOfVariables_, x_, 0, numberOfVariables_);
+        problem.evaluate(x_, f_);
+        System.arraycopy(f_, 0, objectives_, row * numberOfObjectives_, numberOfObjectives_);
+        problem.evaluateConstraints(rows_[row]);
+      } // for
+    } else {
+      for (int row = from; row < to; row++) {
+        problem_.evaluate(rows_[row]);
+        problem_.evaluateConstraints(rows_[row]);
+      } // for
+    } // if
+
+    return to - from;
+  } // evaluate
+
+  /**
+   * Returns a <code>SolutionSet</code> containing the views of all the rows.
+   * @return The set.
+   */
+  public SolutionSet<Real> toSolutionSet() {
+    SolutionSet<Real> set = new SolutionSet<Real>(Math.max(size_, 1));
+    for (int i = 0; i < size_; i++)
+      set.add(rows_[i]);
+    return set;
+  } // toSolutionSet
+
+  /**
+   * Copies the values of the variables of a real-coded solution into an
+   * array.
+   * @param solution The solution.
+   * @param x The array receiving the values.
+   * @param offset The position of the first value in x.
+   */
+  public static void getValues(Solution<? extends Real> solution, double[] x, int offset) {
+    DecisionVariables<? extends Real> decisionVariables = solution.getDecisionVariables();
+    if (decisionVariables.variables_ instanceof RealVector) {
+      double [] values = ((RealVector) decisionVariables.variables_).getValues();
+      System.arraycopy(values, 0, x, offset, values.length);
+      return;
+    } // if
+
+    for (int var = 0; var < decisionVariables.size(); var++)
+      x[offset + var] = decisionVariables.variables_.get(var).getValue();
+  } // getValues
+
+  /**
+   * Sets the values of the variables of a real-coded solution.
+   * @param solution The solution.
+   * @param x The array containing the values.
+   * @param offset The position of the first value in x.
+   */
+  public static void setValues(Solution<? extends Real> solution, double[] x, int offset) {
+    DecisionVariables<? extends Real> decisionVariables = solution.getDecisionVariables();
+    if (decisionVariables.variables_ instanceof RealVector) {
+      double [] values = ((RealVector) decisionVariables.variables_).getWritableValues();
+      System.arraycopy(x, offset, values, 0, values.length);
+      return;
+    } // if
+
+    for (int var = 0; var < decisionVariables.size(); var++)
+      decisionVariables.variables_.get(var).setValue(x[offset + var]);
+  } // setValues
+
+  /**
+   * Copies the bounds of the variables of a real-coded solution into two
+   * arrays.
+   * @param solution The solution.
+   * @param lowerLimit The array receiving the lower bounds.
+   * @param upperLimit The array receiving the upper bounds.
+   */
+  public static void getBounds(Solution<? extends Real> solution, double[] lowerLimit, double[] upperLimit) {
+    DecisionVariables<? extends Real> decisionVariables = solution.getDecisionVariables();
+    if (decisionVariables.variables_ instanceof RealVector) {
+      RealBounds bounds = ((RealVector) decisionVariables.variables_).getBounds();
+      System.arraycopy(bounds.getLowerLimits(), 0, lowerLimit, 0, bounds.size());
+      System.arraycopy(bounds.getUpperLimits(), 0, upperLimit, 0, bounds.size());
+      return;
+    } // if
+
+    for (int var = 0; var < decisionVariables.size(); var++) {
+      lowerLimit[var] = decisionVariables.variables_.get(var).getLowerBound();
+      upperLimit[var] = decisionVariables.variables_.get(var).getUpperBound();
+    } // for
+  } // getBounds
+
+  /**
+   * Appends a row, growing the blocks if needed.
+   */
+  private int newRow() {
+    if (size_ == rows_.length) {
+      int capacity = rows_.length * 2;
+      variables_  = Arrays.copyOf(variables_, capacity * numberOfVariables_);
+      objectives_ = Arrays.copyOf(objectives_, capacity * numberOfObjectives_);
+      rows_       = Arrays.copyOf(rows_, capacity);
+    } // if
+
+    int row = size_++;
+    if (rows_[row] == null)
+      rows_[row] = new Row(this, row);
+    else
+      rows_[row].reset();
+    Arrays.fill(objectives_, row * numberOfObjectives_, (row + 1) * numberOfObjectives_, 0.0);
+    return row;
+  } // newRow
+
+  /**
+   * A row of a <code>RealPopulation</code>, seen as a <code>Solution</code>.
+   * The values of the variables and of the objectives are read from and
+   * written to the blocks of the population, while the other attributes
+   * (rank, crowding distance, constraint violation...) are stored in the row.
+   * <code>getObjectives</code> returns a copy of the values.
+   */
+  public static class Row extends Solution<Real> {
+
+    private static final long serialVersionUID = 6393094914130926047L;
+
+    private final RealPopulation population_;
+    private final int index_;
+    private DecisionVariables<Real> decisionVariables_;
+
+    Row(RealPopulation population, int index) {
+      population_ = population;
+      index_      = index;
+      reset();
+    } // Row
+
+    /**
+     * Returns the index of the row in its population.
+     * @return The index.
+     */
+    public int getIndex() {
+      return index_;
+    } // getIndex
+
+    /**
+     * Returns the population containing the row.
+     * @return The population.
+     */
+    public RealPopulation getPopulation() {
+      return population_;
+    } // getPopulation
+
+    public double getObjective(int i) {
+      return population_.objectives_[index_ * population_.numberOfObjectives_ + i];
+    } // getObjective
+
+    public void setObjective(int i, double value) {
+      population_.objectives_[index_ * population_.numberOfObjectives_ + i] = value;
+    } // setObjective
+
+    public double[] getObjectives() {
+      int offset = index_ * population_.numberOfObjectives_;
+      return Arrays.copyOfRange(population_.objectives_, offset, offset + population_.numberOfObjectives_);
+    } // getObjectives
+
+    public int numberOfObjectives() {
+      return population_.numberOfObjectives_;
+    } // numberOfObjectives
+
+    public int numberOfVariables() {
+      return population_.numberOfVariables_;
+    } // numberOfVariables
+
+    public DecisionVariables<Real> getDecisionVariables() {
+      if (decisionVariables_ == null)
+        decisionVariables_ = new DecisionVariables<Real>(population_.problem_, new Cells(population_, index_));
+      return decisionVariables_;
+    } // getDecisionVariables
+
+    /**
+     * Copies the values of the given variables into the row.
+     */
+    public void setDecisionVariables(DecisionVariables<Real> decisionVariables) {
+      int offset = index_ * population_.numberOfVariables_;
+      for (int var = 0; var < population_.numberOfVariables_; var++)
+        population_.variables_[offset + var] = decisionVariables.variables_.get(var).getValue();
+    } // setDecisionVariables
+
+    /**
+     * Restores the attributes of a new solution.
+     */
+    void reset() {
+      setOverallConstraintViolation(0.0);
+      setNumberOfViolatedConstraint(0);
+      setDistanceToSolutionSet(Double.POSITIVE_INFINITY);
+      setCrowdingDistance(0.0);
+      setKDistance(0.0);
+      setFitness(0.0);
+      unMarked();
+      setRank(0);
+      setLocation(0);
+    } // reset
+
+    /**
+     * Copies the attributes (but variables and objectives) of a solution.
+     */
+    void copyState(Solution<Real> solution) {
+      setOverallConstraintViolation(solution.getOverallConstraintViolation());
+      setNumberOfViolatedConstraint(solution.getNumberOfViolatedConstraint());
+      setDistanceToSolutionSet(solution.getDistanceToSolutionSet());
+      setCrowdingDistance(solution.getCrowdingDistance());
+      setKDistance(solution.getKDistance());
+      setFitness(solution.getFitness());
+      if (solution.isMarked())
+        marked();
+      else
+        unMarked();
+      setRank(solution.getRank());
+      setLocation(solution.getLocation());
+    } // copyState
+  } // Row
+
+  /**
+   * The variables of a row, as a list of <code>Real</code> views.
+   */
+  private static class Cells extends AbstractList<Real> implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = -4323011592398385140L;
+
+    private final RealPopulation population_;
+    private final int row_;
+
+    Cells(RealPopulation population, int row) {
+      population_ = population;
+      row_        = row;
+    } // Cells
+
+    public Real get(int var) {
+      if (var < 0 || var >= population_.numberOfVariables_)
+        throw new IndexOutOfBoundsException("Index: " + var);
+      return new Cell(population_, row_, var);
+    } // get
+
+    public Real set(int var, Real value) {
+      Real previous = new Real();
+      previous.setLowerBound(population_.lowerLimit_[var]);
+      previous.setUpperBound(population_.upperLimit_[var]);
+      previous.setValue(get(var).getValue());
+      population_.variables_[row_ * population_.numberOfVariables_ + var] = value.getValue();
+      return previous;
+    } // set
+
+    public int size() {
+      return population_.numberOfVariables_;
+    } // size
+  } // Cells
+
+  /**
+   * A variable of a row. Its bounds are the ones shared by the population,
+   * and they cannot be changed. <code>clone</code> returns a plain
+   * <code>Real</code>.
+   */
+  private static class Cell extends Real {
+
+    private static final long serialVersionUID = 4512006837296044016L;
+
+    private final RealPopulation population_;
+    private final int row_;
+    private final int var_;
+
+    Cell(RealPopulation population, int row, int var) {
+      population_ = population;
+      row_        = row;
+      var_        = var;
+    } // Cell
+
+    public double getValue() {
+      return population_.variables_[row_ * population_.numberOfVariables_ + var_];
+    } // getValue
+
+    public void setValue(double value) {
+      population_.variables_[row_ * population_.numberOfVariables_ + var_] = value;
+    } // setValue
+
+    public double getLowerBound() {
+      return population_.lowerLimit_[var_];
+    } // getLowerBound
+
+    public double getUpperBound() {
+      return population_.upperLimit_[var_];
+    } // getUpperBound
+
+    public void setLowerBound(double lowerBound) {
+      throw new UnsupportedOperationException("The bounds are shared by all the rows");
+    } // setLowerBound
+
+    public void setUpperBound(double upperBound) {
+      throw new UnsupportedOperationException("The bounds are shared by all the rows");
+    } // setUpperBound
+
+    public String toString() {
+      return getValue() + "";
+    } // toString
+  } // Cell
+} // RealPopulation
@@ -0,0 +1,65 @@
+/**
+ * RealVectorProblem.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.base;
+
+import jmetal.base.variable.IReal;
+import jmetal.base.variable.RealVector;
+import jmetal.util.JMException;
+
+/**
+ * Abstract class representing a problem whose objectives are computed on the
+ * plain vector of the values of its decision variables. A
+ * <code>Solution</code> is evaluated directly on the array of its
+ * <code>RealVector</code> genome, or on a copy of the values of its variables
+ * for other genomes, while a <code>RealPopulation</code> evaluates its rows
+ * without going through the <code>Real</code> objects.
+ */
+public abstract class RealVectorProblem<T extends IReal> extends ProblemValue<T> {
+
+  private static final long serialVersionUID = 2467093387420183562L;
+
+  /**
+   * Evaluates a vector of decision variables.
+   * @param x The values of the decision variables (they must not be
+   * modified).
+   * @param f Output array receiving the values of the objectives.
+   * @throws JMException
+   */
+  public abstract void evaluate(double[] x, double[] f) throws JMException;
+
+  /**
+   * Evaluates a <code>Solution</code> object.
+   * @param solution The <code>Solution</code> to evaluate.
+   * @throws JMException
+   */
+  public void evaluate(Solution<T> solution) throws JMException {
+    double [] x = getValues(solution.getDecisionVariables());
+
+    double [] f = new double[numberOfObjectives_];
+    evaluate(x, f);
+
+    for (int i = 0; i < numberOfObjectives_; i++)
+      solution.setObjective(i, f[i]);
+  } // evaluate
+
+  /**
+   * Returns the values of some decision variables: the array of a
+   * <code>RealVector</code> genome, or a copy of the values for other genomes.
+   * @param decisionVariables The decision variables.
+   * @return The values (they must not be modified).
+   * @throws JMException
+   */
+  protected double[] getValues(DecisionVariables<T> decisionVariables) throws JMException {
+    if (decisionVariables.variables_ instanceof RealVector)
+      return ((RealVector) decisionVariables.variables_).getValues();
+
+    double [] x = new double[numberOfVariables_];
+    for (int i = 0; i < numberOfVariables_; i++)
+      x[i] = decisionVariables.variables_.get(i).getValue();
+    return x;
+  } // getValues
+} // RealVectorProblem
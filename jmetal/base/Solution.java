@@ -79,6 +79,25 @@ public class Solution<T extends Variable> implements Serializable {
    */
   private double distanceToSolutionSet_ ;       
 
+  /**
+   * True if the objectives have not been evaluated, since the solution is
+   * infeasible (see <code>ConstraintFirstEvaluator</code>) or dominated (see
+   * <code>DominanceIndex</code>), or they have been approximated (see
+   * <code>MultiFidelityEvaluator</code>).
+   */
+  private boolean objectivesSkipped_ ;
+
+  /**
+   * The <code>SolutionPool</code> which created the solution, or null if it is
+   * not pooled.
+   */
+  transient SolutionPool<T> pool_ ;
+
+  /**
+   * True if the solution has been released to its pool.
+   */
+  transient boolean released_ ;
+
   /**
    * Constructor.
    */
@@ -143,7 +162,8 @@ public class Solution<T extends Variable> implements Serializable {
    */    
   public Solution(Solution<T> solution) {            
     //-> Initializing state variables
-  	objective_ = Arrays.copyOf(solution.objective_, solution.objective_.length);
+  	double [] objectives = solution.getObjectives();
+  	objective_ = Arrays.copyOf(objectives, objectives.length);
     //<-
 
     decisionVariable_ = new DecisionVariables<T>(solution.getDecisionVariables());
@@ -156,8 +176,68 @@ public class Solution<T extends Variable> implements Serializable {
     marked_               = solution.isMarked();
     rank_                 = solution.getRank();
     location_             = solution.getLocation();
+    objectivesSkipped_    = solution.isObjectivesSkipped();
   } // Solution
 
+  /**
+   * Overwrites the state of the solution with the one of another solution of
+   * the same problem, reusing the objective array and, when possible, the
+   * decision variables. Used by <code>SolutionPool</code>.
+   * @param solution Solution to copy.
+   */
+  void assign(Solution<T> solution) {
+    int m = solution.numberOfObjectives();
+    if (objective_ == null || objective_.length != m)
+      objective_ = new double[m];
+    for (int i = 0; i < m; i++)
+      objective_[i] = solution.getObjective(i);
+
+    if (decisionVariable_ == null)
+      decisionVariable_ = new DecisionVariables<T>(solution.getDecisionVariables());
+    else
+      decisionVariable_.assign(solution.getDecisionVariables());
+
+    overallConstraintViolation_  = solution.getOverallConstraintViolation();
+    numberOfViolatedConstraints_ = solution.getNumberOfViolatedConstraint();
+    distanceToSolutionSet_ = solution.getDistanceToSolutionSet();
+    crowdingDistance_     = solution.getCrowdingDistance();
+    kDistance_            = solution.getKDistance();                
+    fitness_              = solution.getFitness();
+    marked_               = solution.isMarked();
+    rank_                 = solution.getRank();
+    location_             = solution.getLocation();
+    objectivesSkipped_    = solution.isObjectivesSkipped();
+  } // assign
+
+  /**
+   * Indicates if the solution belongs to a <code>SolutionPool</code>, which
+   * can recycle it. Pooled solutions must not be stored in archives.
+   * @return true if the solution is pooled.
+   */
+  public boolean isPooled() {
+    return pool_ != null;
+  } // isPooled
+
+  /**
+   * Marks the objectives of the solution as not evaluated (or evaluated).
+   * @param objectivesSkipped true if the objectives have not been evaluated.
+   */
+  public void setObjectivesSkipped(boolean objectivesSkipped) {
+    objectivesSkipped_ = objectivesSkipped;
+  } // setObjectivesSkipped
+
+  /**
+   * Indicates if the objectives of the solution have not been evaluated,
+   * since the solution is infeasible or its evaluation has been aborted as
+   * it is dominated, or they have only been approximated: they hold penalty
+   * or approximate values, and they must not be compared with the ones of
+   * other solutions.
+   * @return true if the objectives have not been evaluated.
+   */
+  public boolean isObjectivesSkipped() {
+    return objectivesSkipped_;
+  } // isObjectivesSkipped
+
   /**
    * Sets the distance between this solution and a <code>SolutionSet</code>.
    * The value is stored in <code>distanceToSolutionSet_</code>.
@@ -290,7 +370,7 @@ public class Solution<T extends Variable> implements Serializable {
   public String toString() {
   	StringBuilder sb = new StringBuilder();
 
-  	for(double o : objective_)
+  	for(double o : getObjectives())
 			sb.append(o).append(" ");
 
     return sb.toString();
@@ -418,7 +498,7 @@ public class Solution<T extends Variable> implements Serializable {
   public double getAggregativeValue() {
     double value = 0.0;                
 
-    for(double o : objective_)
+    for(double o : getObjectives())
     	value += o;
     
     return value;
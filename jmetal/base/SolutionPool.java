@@ -0,0 +1,161 @@
+/**
+ * SolutionPool.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.base;
+
+import java.io.Serializable;
+
+/**
+ * This class implements a bounded pool of recycled <code>Solution</code>
+ * objects. The crossover operators using a pool (see
+ * <code>Crossover.setSolutionPool</code>) obtain their offsprings by
+ * overwriting the solutions released by the algorithm, reusing their
+ * objective arrays and, for <code>RealVector</code> genomes, the arrays of
+ * their values; other genomes are copied as usual.
+ * The ownership rules are the following:
+ * <ul>
+ * <li> the solutions returned by <code>copy</code> are pooled, and they are
+ * owned by the algorithm which created the pool;</li>
+ * <li> the algorithm releases a pooled solution only when it is not
+ * referenced anymore (e.g., when it is discarded by the environmental
+ * selection), and it must not use it after that;</li>
+ * <li> archives never store pooled solutions, but a copy of them (see
+ * <code>unpooled</code>); hence the solutions of an archive are never
+ * recycled.</li>
+ * </ul>
+ * Releasing a solution which is not pooled, or which has already been
+ * released, has no effect.
+ */
+public class SolutionPool<T extends Variable> implements Serializable {
+
+  private static final long serialVersionUID = -3309176622489934015L;
+
+  /**
+   * The released solutions, ready to be recycled
+   */
+  private final Solution<T> [] free_;
+
+  /**
+   * The number of released solutions
+   */
+  private int size_;
+
+  /**
+   * The number of solutions allocated by the pool
+   */
+  private int allocations_;
+
+  /**
+   * The number of solutions recycled by the pool
+   */
+  private int reuses_;
+
+  /**
+   * Constructor.
+   * @param capacity The maximum number of released solutions kept by the
+   * pool (e.g., the number of solutions discarded at each generation).
+   */
+  @SuppressWarnings("unchecked")
+  public SolutionPool(int capacity) {
+    free_ = new Solution[capacity];
+    size_ = 0;
+  } // SolutionPool
+
+  /**
+   * Returns a pooled copy of a solution: a released solution overwritten
+   * with the state of the given one, or a new solution if the pool is empty.
+   * @param solution The solution to copy.
+   * @return The copy.
+   */
+  public Solution<T> copy(Solution<T> solution) {
+    Solution<T> copy;
+    if (size_ > 0) {
+      copy = free_[--size_];
+      free_[size_] = null;
+      copy.assign(solution);
+      reuses_++;
+    } else {
+      copy = new Solution<T>(solution);
+      allocations_++;
+    } // if
+
+    copy.pool_     = this;
+    copy.released_ = false;
+    return copy;
+  } // copy
+
+  /**
+   * Releases a solution, which can be recycled by the next copies.
+   * @param solution The solution (it must not be referenced anymore).
+   * @return true if the solution has been added to the pool.
+   */
+  public boolean release(Solution<T> solution) {
+    if (solution.pool_ != this || solution.released_)
+      return false;
+
+    solution.released_ = true;
+    if (size_ == free_.length) {
+      solution.pool_ = null;
+      return false;
+    } // if
+
+    free_[size_++] = solution;
+    return true;
+  } // release
+
+  /**
+   * Releases the solutions of a <code>SolutionSet</code>.
+   * @param solutionSet The solutions (they must not be referenced anymore).
+   */
+  public void release(SolutionSet<T> solutionSet) {
+    for (int i = 0; i < solutionSet.size(); i++)
+      release(solutionSet.get(i));
+  } // release
+
+  /**
+   * Empties the pool.
+   */
+  public void clear() {
+    while (size_ > 0) {
+      free_[--size_].pool_ = null;
+      free_[size_] = null;
+    } // while
+  } // clear
+
+  /**
+   * Returns the number of released solutions ready to be recycled.
+   * @return The number of solutions.
+   */
+  public int size() {
+    return size_;
+  } // size
+
+  /**
+   * Returns the number of solutions allocated by the pool.
+   * @return The number of allocations.
+   */
+  public int getAllocations() {
+    return allocations_;
+  } // getAllocations
+
+  /**
+   * Returns the number of solutions recycled by the pool.
+   * @return The number of reuses.
+   */
+  public int getReuses() {
+    return reuses_;
+  } // getReuses
+
+  /**
+   * Returns a solution which can be stored in an archive: the solution
+   * itself, or a copy of it if it is pooled.
+   * @param solution The solution.
+   * @return A solution which is not pooled.
+   */
+  public static <T extends Variable> Solution<T> unpooled(Solution<T> solution) {
+    return solution.isPooled() ? new Solution<T>(solution) : solution;
+  } // unpooled
+} // SolutionPool
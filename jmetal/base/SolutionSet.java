@@ -216,8 +216,7 @@ public class SolutionSet<T extends Variable> implements Serializable, Iterable<S
     if (position > this.solutionsList_.size()) {
       solutionsList_.add(solution);
     } // if 
-    solutionsList_.remove(position);
-    solutionsList_.add(position,solution);
+    solutionsList_.set(position,solution);
   } // replace
 
   /**
@@ -10,6 +10,7 @@ import java.util.Comparator;
 import java.util.Iterator;
 
 import jmetal.base.Solution;
+import jmetal.base.SolutionPool;
 import jmetal.base.SolutionSet;
 import jmetal.base.Variable;
 import jmetal.base.operator.comparator.DominanceComparator;
@@ -86,7 +87,9 @@ public class AdaptiveGridArchive<T extends Variable> extends SolutionSet<T> {
       } // else if           
     } // while
         
-    // At this point, the solution may be inserted
+    // At this point, the solution may be inserted (pooled solutions are
+    // copied, since they can be recycled)
+    solution = SolutionPool.unpooled(solution);
     if (size() == 0){ //The archive is empty
       solutionsList_.add(solution);
       grid_.updateGrid(this);        
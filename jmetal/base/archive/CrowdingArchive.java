@@ -7,20 +7,25 @@
 package jmetal.base.archive;
 
 import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 import jmetal.base.Solution;
-import jmetal.base.SolutionSet;
 import jmetal.base.Variable;
-import jmetal.base.operator.comparator.CrowdingDistanceComparator;
-import jmetal.base.operator.comparator.DominanceComparator;
-import jmetal.base.operator.comparator.EqualSolutions;
-import jmetal.util.Distance;
+import jmetal.util.IncrementalCrowding;
 
 /**
  * This class implements a bounded archive based on crowding distances (as
- * defined in NSGA-II).
+ * defined in NSGA-II). The non-dominated solutions are kept in the ND-Tree of
+ * <code>NDTreeArchive</code>.
+ * The crowding distances are maintained by an <code>IncrementalCrowding</code>:
+ * the insertion or the removal of a solution only updates the distances of
+ * its neighbours, in O(M log N) time (M being the number of objectives and N
+ * the size of the archive). The crowding distance of each member is always
+ * up to date, hence calling <code>Distance.crowdingDistanceAssignment</code>
+ * on the archive is not needed.
  */
-public class CrowdingArchive<T extends Variable> extends SolutionSet<T> {    
+public class CrowdingArchive<T extends Variable> extends NDTreeArchive<T> {    
   
   private static final long serialVersionUID = -4121763871161850908L;
 
@@ -30,25 +35,14 @@ public class CrowdingArchive<T extends Variable> extends SolutionSet<T> {
   private int maxSize_;
   
   /**
-   * stores the number of the objectives.
+   * The crowding distances of the members
    */
-  private int objectives_;    
-  
-  /**
-   * Stores a <code>Comparator</code> for dominance checking.
-   */
-  private Comparator<Solution<T>> dominance_;
-  
-  /**
-   * Stores a <code>Comparator</code> for equality checking (in the objective
-   * space).
-   */
-  private Comparator<Solution<T>> equals_; 
+  private final IncrementalCrowding<T> crowding_;
 
   /**
-   * Stores a <code>Comparator</code> for checking crowding distances.
+   * The position of each member in the archive
    */
-  private Comparator<Solution<T>> crowdingDistance_; 
+  private final Map<Solution<T>, Integer> positions_ = new IdentityHashMap<Solution<T>, Integer>();
   
   /**
    * Constructor. 
@@ -57,11 +51,8 @@ public class CrowdingArchive<T extends Variable> extends SolutionSet<T> {
    */
   public CrowdingArchive(int maxSize, int numberOfObjectives) {
     super(maxSize);
-    maxSize_          = maxSize;
-    objectives_       = numberOfObjectives;        
-    dominance_        = new DominanceComparator<T>();
-    equals_           = new EqualSolutions<T>();
-    crowdingDistance_ = new CrowdingDistanceComparator<T>();
+    maxSize_  = maxSize;
+    crowding_ = new IncrementalCrowding<T>(numberOfObjectives);
   } // CrowdingArchive
   
   /**
@@ -69,40 +60,53 @@ public class CrowdingArchive<T extends Variable> extends SolutionSet<T> {
    * is dominated by any member of the archive, then it is discarded. If the 
    * <code>Solution</code> dominates some members of the archive, these are
    * removed. If the archive is full and the <code>Solution</code> has to be
-   * inserted, the solutions are sorted by crowding distance and the one having
-   * the minimum crowding distance value.
+   * inserted, the solution having the minimum crowding distance value is
+   * removed.
    * @param solution The <code>Solution</code>
    * @return true if the <code>Solution</code> has been inserted, false 
    * otherwise.
    */
   public boolean add(Solution<T> solution){
-    int flag = 0;
-    int i = 0;
-    Solution<T> aux; //Store an solution temporally
-    while (i < solutionsList_.size()){
-      aux = solutionsList_.get(i);            
-            
-      flag = dominance_.compare(solution,aux);
-      if (flag == 1) {               // The solution to add is dominated
-        return false;                // Discard the new solution
-      } else if (flag == -1) {       // A solution in the archive is dominated
-        solutionsList_.remove(i);    // Remove it from the population            
-      } else {
-          if (equals_.compare(aux,solution)==0) { // There is an equal solution 
-        	                                      // in the population
-            return false; // Discard the new solution
-          }  // if
-          i++;
-      }
-    }
-    // Insert the solution into the archive
-    solutionsList_.add(solution);        
-    if (size() > maxSize_) { // The archive is full
-      Distance.crowdingDistanceAssignment(this,objectives_);
-      sort(crowdingDistance_);
-      //Remove the last
-      remove(maxSize_);
-    }        
+    if (!super.add(solution))
+      return false;
+
+    if (size() > maxSize_) // The archive is full
+      remove(positions_.get(crowding_.worst()));
     return true;
   } // add
+
+  /**
+   * Empties the archive.
+   */
+  public void clear() {
+    super.clear();
+    crowding_.clear();
+    positions_.clear();
+  } // clear
+
+  /**
+   * Sorts the solutions of the archive.
+   * @param comparator The comparator.
+   */
+  public void sort(Comparator<Solution<T>> comparator) {
+    super.sort(comparator);
+    for (int i = 0; i < size(); i++)
+      positions_.put(get(i), i);
+  } // sort
+
+  protected void inserted(int position) {
+    positions_.put(get(position), position);
+    crowding_.add(get(position));
+  } // inserted
+
+  protected void removing(int position) {
+    Solution<T> solution = get(position);
+    positions_.remove(solution);
+    crowding_.remove(solution);
+
+    // The last solution is moved in the position of the removed one
+    int last = size() - 1;
+    if (position != last)
+      positions_.put(get(last), position);
+  } // removing
 } // CrowdingArchive
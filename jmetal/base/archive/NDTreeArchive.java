@@ -0,0 +1,692 @@
+/**
+ * NDTreeArchive.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.base.archive;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import jmetal.base.Solution;
+import jmetal.base.SolutionPool;
+import jmetal.base.SolutionSet;
+import jmetal.base.Variable;
+import jmetal.base.operator.comparator.DominanceComparator;
+import jmetal.base.operator.comparator.EpsilonDominanceComparator;
+import jmetal.base.operator.comparator.EqualSolutions;
+import jmetal.util.ObjectiveKernels;
+
+/**
+ * This class implements an unbounded archive of non-dominated solutions
+ * backed by an ND-Tree (Jaszkiewicz and Lust, "ND-Tree-based update: a fast
+ * algorithm for the dynamic nondominance problem", IEEE TEVC 2018). The
+ * solutions are kept in the leaves of a tree whose nodes know the ideal and
+ * the nadir points of their subtrees: a new solution is compared only with
+ * the leaves whose bounding box can contain a solution dominating it or
+ * dominated by it, and a whole subtree is discarded (or removed) when its
+ * nadir point dominates the new solution (or the new solution dominates its
+ * ideal point). Hence an insertion costs a sublinear number of comparisons
+ * on average, while the archive scanned by <code>NonDominatedSolutionList</code>
+ * costs a linear one.
+ * The relation is the one of <code>DominanceComparator</code>: the tree holds
+ * the feasible solutions whose objectives have been evaluated, while the
+ * others (which are dominated by any of them) are kept in a plain list, only
+ * as long as the archive has no feasible solution. A new solution equal to a
+ * member according to a comparator (by default, having the same objectives)
+ * is discarded.
+ * The archive is a <code>SolutionSet</code>, whose solutions can be
+ * accessed by position and iterated (but not removed through the iterator);
+ * the removal of a solution moves the last one in its position.
+ */
+public class NDTreeArchive<T extends Variable> extends SolutionSet<T> {
+
+  private static final long serialVersionUID = 6931567418563453409L;
+
+  /**
+   * The default maximum number of solutions in a leaf
+   */
+  public static final int DEFAULT_LEAF_SIZE = 20;
+
+  /**
+   * A solution of the archive, with its position in the list of the
+   * solutions and its leaf (null if it is not in the tree).
+   */
+  private static final class Entry<T extends Variable> implements Serializable {
+    private static final long serialVersionUID = -1706322848218014585L;
+
+    final Solution<T> solution_;
+    final double [] point_;
+    int position_;
+    Node<T> leaf_;
+
+    Entry(Solution<T> solution, double [] point) {
+      solution_ = solution;
+      point_    = point;
+    } // Entry
+  } // Entry
+
+  /**
+   * A node of the tree: a leaf holds solutions, an internal node holds
+   * children. The ideal and nadir points bound the points of the subtree.
+   */
+  private static final class Node<T extends Variable> implements Serializable {
+    private static final long serialVersionUID = -4585226014012458302L;
+
+    final double [] ideal_;
+    final double [] nadir_;
+    Node<T> parent_;
+    List<Node<T>> children_;
+    List<Entry<T>> entries_;
+
+    Node(Node<T> parent, double [] point) {
+      parent_  = parent;
+      ideal_   = point.clone();
+      nadir_   = point.clone();
+      entries_ = new ArrayList<Entry<T>>();
+    } // Node
+
+    boolean isEmpty() {
+      return entries_ != null ? entries_.isEmpty() : children_.isEmpty();
+    } // isEmpty
+
+    /**
+     * Extends the bounds to include a point.
+     */
+    void extend(double [] point) {
+      for (int i = 0; i < point.length; i++) {
+        if (point[i] < ideal_[i]) ideal_[i] = point[i];
+        if (point[i] > nadir_[i]) nadir_[i] = point[i];
+      } // for
+    } // extend
+
+    /**
+     * Recomputes the bounds from the points or the children (the node must
+     * not be empty).
+     */
+    void recompute() {
+      boolean first = true;
+      if (entries_ != null) {
+        for (Entry<T> e : entries_) {
+          if (first) {
+            System.arraycopy(e.point_, 0, ideal_, 0, ideal_.length);
+            System.arraycopy(e.point_, 0, nadir_, 0, nadir_.length);
+            first = false;
+          } else
+            extend(e.point_);
+        } // for
+      } else {
+        for (Node<T> child : children_) {
+          if (first) {
+            System.arraycopy(child.ideal_, 0, ideal_, 0, ideal_.length);
+            System.arraycopy(child.nadir_, 0, nadir_, 0, nadir_.length);
+            first = false;
+          } else {
+            extend(child.ideal_);
+            extend(child.nadir_);
+          } // if
+        } // for
+      } // if
+    } // recompute
+
+    /**
+     * Returns the squared distance between a point and the center of the
+     * bounding box.
+     */
+    double distance(double [] point) {
+      double d = 0.0;
+      for (int i = 0; i < point.length; i++) {
+        double c = 0.5 * (ideal_[i] + nadir_[i]) - point[i];
+        d += c * c;
+      } // for
+      return d;
+    } // distance
+  } // Node
+
+  /**
+   * The result of the update of a node: the new point is dominated (or
+   * equal to a member), and some members have been removed
+   */
+  private static final int REJECTED = 1;
+  private static final int CHANGED  = 2;
+
+  /**
+   * Stores a <code>Comparator</code> for checking if two solutions are
+   * equal (null to accept equal solutions)
+   */
+  private final Comparator<Solution<T>> equal_;
+
+  /**
+   * Stores a <code>Comparator</code> for dominance checking, used for the
+   * solutions outside the tree
+   */
+  private final Comparator<Solution<T>> dominance_;
+
+  /**
+   * The factor dividing the objectives of a new solution before comparing
+   * it with the members (1 + eta, for the epsilon-dominance)
+   */
+  private final double scale_;
+
+  /**
+   * The maximum number of solutions in a leaf
+   */
+  private final int maxLeafSize_;
+
+  /**
+   * The entries of the solutions, in the order of <code>solutionsList_</code>
+   */
+  private final List<Entry<T>> entries_ = new ArrayList<Entry<T>>();
+
+  /**
+   * The root of the tree (null if the tree is empty)
+   */
+  private Node<T> root_;
+
+  /**
+   * The number of solutions outside the tree
+   */
+  private int others_;
+
+  /**
+   * Constructor.
+   * Creates an archive based on the Pareto dominance, discarding the
+   * solutions having the same objectives as a member.
+   */
+  public NDTreeArchive() {
+    this(new EqualSolutions<T>());
+  } // NDTreeArchive
+
+  /**
+   * Constructor.
+   * Creates an archive based on the Pareto dominance.
+   * @param equal The comparator checking if a new solution is equal to a
+   * member (null to accept it).
+   */
+  public NDTreeArchive(Comparator<Solution<T>> equal) {
+    this(equal, 0.0);
+  } // NDTreeArchive
+
+  /**
+   * Constructor.
+   * Creates an archive based on the epsilon-dominance of
+   * <code>EpsilonDominanceComparator</code>: the objectives of a new solution
+   * are divided by 1 + eta before comparing it with the members.
+   * @param equal The comparator checking if a new solution is equal to a
+   * member (null to accept it).
+   * @param eta The value of eta (0 for the Pareto dominance).
+   */
+  public NDTreeArchive(Comparator<Solution<T>> equal, double eta) {
+    this(0, equal, eta, DEFAULT_LEAF_SIZE);
+  } // NDTreeArchive
+
+  /**
+   * Constructor for the bounded archives, which keep the solutions exceeding
+   * their maximum size until they remove them.
+   * @param maxSize The maximum size of the archive.
+   */
+  protected NDTreeArchive(int maxSize) {
+    this(maxSize, new EqualSolutions<T>(), 0.0, DEFAULT_LEAF_SIZE);
+  } // NDTreeArchive
+
+  private NDTreeArchive(int maxSize, Comparator<Solution<T>> equal, double eta, int maxLeafSize) {
+    super(maxSize);
+    equal_       = equal;
+    scale_       = 1.0 + eta;
+    dominance_   = eta == 0.0 ? new DominanceComparator<T>() : new EpsilonDominanceComparator<T>(eta);
+    maxLeafSize_ = maxLeafSize;
+  } // NDTreeArchive
+
+  /**
+   * Inserts a solution in the archive, removing the members it dominates.
+   * @param solution The solution to be inserted.
+   * @return true if the solution has been inserted, and false if it is
+   * dominated or if an equal solution exists.
+   */
+  public boolean add(Solution<T> solution) {
+    if (!isRegular(solution))
+      return addOther(solution);
+
+    double [] point = solution.getObjectives().clone();
+    double [] query = point;
+    if (scale_ != 1.0) {
+      query = new double[point.length];
+      for (int i = 0; i < point.length; i++)
+        query[i] = point[i] / scale_;
+    } // if
+
+    if (root_ != null) {
+      int result = update(root_, query, solution);
+      if (root_.isEmpty())
+        root_ = null;
+      if ((result & REJECTED) != 0)
+        return false;
+    } // if
+
+    // The solutions outside the tree are dominated by the new one
+    for (int i = entries_.size() - 1; others_ > 0; i--) {
+      if (entries_.get(i).leaf_ == null) {
+        removeEntry(i);
+        others_--;
+      } // if
+    } // for
+
+    Entry<T> entry = new Entry<T>(SolutionPool.unpooled(solution), point);
+    append(entry);
+    insert(entry);
+    return true;
+  } // add
+
+  /**
+   * Returns the solution at a given position.
+   * @param i The position.
+   * @return The solution.
+   */
+  public Solution<T> get(int i) {
+    return entries_.get(i).solution_;
+  } // get
+
+  /**
+   * Removes the solution at a given position, moving the last solution in
+   * its place.
+   * @param i The position.
+   */
+  public void remove(int i) {
+    Entry<T> entry = entries_.get(i);
+    if (entry.leaf_ != null) {
+      Node<T> leaf = entry.leaf_;
+      leaf.entries_.remove(entry);
+      entry.leaf_ = null;
+      shrink(leaf);
+    } else
+      others_--;
+    removeEntry(i);
+  } // remove
+
+  /**
+   * Replaces the solution at a given position: the solution is removed, and
+   * the new one is added if it is not dominated.
+   * @param position The position.
+   * @param solution The new solution.
+   */
+  public void replace(int position, Solution<T> solution) {
+    if (position < size())
+      remove(position);
+    add(solution);
+  } // replace
+
+  /**
+   * Empties the archive.
+   */
+  public void clear() {
+    super.clear();
+    entries_.clear();
+    root_   = null;
+    others_ = 0;
+  } // clear
+
+  /**
+   * Sorts the solutions of the archive.
+   * @param comparator The comparator.
+   */
+  public void sort(final Comparator<Solution<T>> comparator) {
+    if (comparator == null) {
+      super.sort(comparator);
+      return;
+    } // if
+
+    Collections.sort(entries_, new Comparator<Entry<T>>() {
+      public int compare(Entry<T> e1, Entry<T> e2) {
+        return comparator.compare(e1.solution_, e2.solution_);
+      }
+    });
+    for (int i = 0; i < entries_.size(); i++) {
+      entries_.get(i).position_ = i;
+      solutionsList_.set(i, entries_.get(i).solution_);
+    } // for
+  } // sort
+
+  /**
+   * Returns an iterator over the solutions, which does not support the
+   * removal.
+   * @return The iterator.
+   */
+  public Iterator<Solution<T>> iterator() {
+    return Collections.unmodifiableList(solutionsList_).iterator();
+  } // iterator
+
+  /**
+   * Counts the members of the tree (the feasible solutions whose objectives
+   * have been evaluated) whose objectives dominate a point, visiting only
+   * the subtrees whose ideal point dominates it.
+   * @param point The objectives.
+   * @return The number of members dominating the point.
+   */
+  public int countDominating(double [] point) {
+    return root_ == null ? 0 : countDominating(root_, point);
+  } // countDominating
+
+  /**
+   * Counts the members of a subtree dominating a point.
+   */
+  private int countDominating(Node<T> node, double [] point) {
+    if (!below(node.ideal_, point))
+      return 0;
+
+    int n = 0;
+    if (node.entries_ != null) {
+      for (Entry<T> entry : node.entries_)
+        if (below(entry.point_, point))
+          n++;
+    } else {
+      for (Node<T> child : node.children_)
+        n += countDominating(child, point);
+    } // if
+    return n;
+  } // countDominating
+
+  /**
+   * Returns true if a solution belongs to the tree: it is feasible and its
+   * objectives have been evaluated.
+   */
+  private boolean isRegular(Solution<T> solution) {
+    return solution.getOverallConstraintViolation() >= 0 && !solution.isObjectivesSkipped();
+  } // isRegular
+
+  /**
+   * Inserts a solution which is not in the tree, comparing it with the other
+   * ones as <code>NonDominatedSolutionList</code> does.
+   */
+  private boolean addOther(Solution<T> solution) {
+    if (root_ != null)
+      return false;
+
+    for (int i = entries_.size() - 1; i >= 0; i--) {
+      Solution<T> member = entries_.get(i).solution_;
+      int flag = dominance_.compare(solution, member);
+      if (flag == -1) {
+        removeEntry(i);
+        others_--;
+      } else if (flag == 1 || (flag == 0 && equal_ != null && equal_.compare(solution, member) == 0)) {
+        return false;
+      } // if
+    } // for
+
+    Entry<T> entry = new Entry<T>(SolutionPool.unpooled(solution), solution.getObjectives());
+    append(entry);
+    others_++;
+    return true;
+  } // addOther
+
+  /**
+   * Compares a new point with the members in a subtree, removing the ones it
+   * dominates, until a member dominating it (or equal to it) is found.
+   * @return the REJECTED and CHANGED flags
+   */
+  private int update(Node<T> node, double [] query, Solution<T> solution) {
+    // The point is dominated by all the members of the node
+    if (below(node.nadir_, query))
+      return REJECTED;
+
+    // The point dominates all the members of the node
+    if (below(query, node.ideal_)) {
+      removeSubtree(node);
+      return CHANGED;
+    } // if
+
+    // No member can dominate the point, nor be dominated by it
+    if (!weaklyBelow(query, node.nadir_) && !weaklyBelow(node.ideal_, query))
+      return 0;
+
+    int result = 0;
+    if (node.entries_ != null) {
+      for (int i = node.entries_.size() - 1; i >= 0; i--) {
+        Entry<T> entry = node.entries_.get(i);
+        int flag = ObjectiveKernels.compare(query, entry.point_);
+        if (flag == -1) {
+          node.entries_.remove(i);
+          entry.leaf_ = null;
+          removeEntry(entry.position_);
+          result |= CHANGED;
+        } else if (flag == 1 || (flag == 0 && equal_ != null && equal_.compare(solution, entry.solution_) == 0)) {
+          result |= REJECTED;
+          break;
+        } // if
+      } // for
+    } else {
+      for (int i = node.children_.size() - 1; i >= 0; i--) {
+        Node<T> child = node.children_.get(i);
+        result |= update(child, query, solution);
+        if (child.isEmpty())
+          node.children_.remove(i);
+        if ((result & REJECTED) != 0)
+          break;
+      } // for
+    } // if
+
+    if ((result & CHANGED) != 0 && !node.isEmpty())
+      node.recompute();
+    return result;
+  } // update
+
+  /**
+   * Inserts an entry into the tree, in the leaf whose center is the closest
+   * one at each level, splitting the leaf if it is too large.
+   */
+  private void insert(Entry<T> entry) {
+    if (root_ == null) {
+      root_ = new Node<T>(null, entry.point_);
+      root_.entries_.add(entry);
+      entry.leaf_ = root_;
+      return;
+    } // if
+
+    Node<T> node = root_;
+    while (node.entries_ == null) {
+      node.extend(entry.point_);
+      Node<T> closest = null;
+      double best = Double.POSITIVE_INFINITY;
+      for (Node<T> child : node.children_) {
+        double d = child.distance(entry.point_);
+        if (d < best) {
+          best    = d;
+          closest = child;
+        } // if
+      } // for
+      node = closest;
+    } // while
+
+    node.extend(entry.point_);
+    node.entries_.add(entry);
+    entry.leaf_ = node;
+    if (node.entries_.size() > maxLeafSize_)
+      split(node);
+  } // insert
+
+  /**
+   * Splits a leaf into M + 1 children (M being the number of objectives):
+   * the first one starts from the point with the largest average distance to
+   * the others, each following one from the point with the largest average
+   * distance to the points already in the children; the other points go to
+   * the child with the closest center.
+   */
+  private void split(Node<T> leaf) {
+    List<Entry<T>> entries = leaf.entries_;
+    int n = entries.size();
+    int m = entries.get(0).point_.length;
+    int nChildren = Math.min(n, m + 1);
+
+    double [][] distance = new double[n][n];
+    for (int i = 0; i < n; i++)
+      for (int j = i + 1; j < n; j++) {
+        double d = 0.0;
+        for (int k = 0; k < m; k++) {
+          double c = entries.get(i).point_[k] - entries.get(j).point_[k];
+          d += c * c;
+        } // for
+        distance[i][j] = distance[j][i] = Math.sqrt(d);
+      } // for
+
+    leaf.entries_  = null;
+    leaf.children_ = new ArrayList<Node<T>>(nChildren);
+    boolean [] assigned = new boolean[n];
+    double [] sum = new double[n];
+    int [] seeds = new int[nChildren];
+    for (int c = 0; c < nChildren; c++) {
+      // The first seed maximizes the distance to all the points, the
+      // following ones the distance to the seeds
+      int seed = -1;
+      double best = -1.0;
+      for (int i = 0; i < n; i++) {
+        if (assigned[i])
+          continue;
+
+        double d = 0.0;
+        if (c == 0) {
+          for (int j = 0; j < n; j++)
+            d += distance[i][j];
+        } else
+          d = sum[i] / c;
+        if (d > best) {
+          best = d;
+          seed = i;
+        } // if
+      } // for
+
+      assigned[seed] = true;
+      seeds[c] = seed;
+      for (int i = 0; i < n; i++)
+        sum[i] += distance[i][seed];
+
+      Node<T> child = new Node<T>(leaf, entries.get(seed).point_);
+      child.entries_.add(entries.get(seed));
+      entries.get(seed).leaf_ = child;
+      leaf.children_.add(child);
+    } // for
+
+    for (int i = 0; i < n; i++) {
+      if (assigned[i])
+        continue;
+
+      Node<T> closest = null;
+      double best = Double.POSITIVE_INFINITY;
+      for (Node<T> child : leaf.children_) {
+        double d = child.distance(entries.get(i).point_);
+        if (d < best) {
+          best    = d;
+          closest = child;
+        } // if
+      } // for
+      closest.extend(entries.get(i).point_);
+      closest.entries_.add(entries.get(i));
+      entries.get(i).leaf_ = closest;
+    } // for
+  } // split
+
+  /**
+   * Removes the empty nodes from a leaf up to the root, and recomputes the
+   * bounds of the nodes above.
+   */
+  private void shrink(Node<T> node) {
+    while (node != null) {
+      Node<T> parent = node.parent_;
+      if (node.isEmpty()) {
+        if (parent == null)
+          root_ = null;
+        else
+          parent.children_.remove(node);
+      } else
+        node.recompute();
+      node = parent;
+    } // while
+  } // shrink
+
+  /**
+   * Removes all the members of a subtree from the list of the solutions.
+   */
+  private void removeSubtree(Node<T> node) {
+    if (node.entries_ != null) {
+      for (Entry<T> entry : node.entries_) {
+        entry.leaf_ = null;
+        removeEntry(entry.position_);
+      } // for
+      node.entries_.clear();
+    } else {
+      for (Node<T> child : node.children_)
+        removeSubtree(child);
+      node.children_.clear();
+    } // if
+  } // removeSubtree
+
+  /**
+   * Appends an entry to the list of the solutions.
+   */
+  private void append(Entry<T> entry) {
+    entry.position_ = entries_.size();
+    entries_.add(entry);
+    solutionsList_.add(entry.solution_);
+    inserted(entry.position_);
+  } // append
+
+  /**
+   * Removes an entry from the list of the solutions, moving the last one in
+   * its position.
+   */
+  private void removeEntry(int position) {
+    removing(position);
+    int last = entries_.size() - 1;
+    if (position != last) {
+      Entry<T> moved = entries_.get(last);
+      moved.position_ = position;
+      entries_.set(position, moved);
+      solutionsList_.set(position, moved.solution_);
+    } // if
+    entries_.remove(last);
+    solutionsList_.remove(last);
+  } // removeEntry
+
+  /**
+   * Invoked after a solution has been appended to the archive. The
+   * subclasses can override it to maintain information about the solutions.
+   * @param position The position of the solution (the last one).
+   */
+  protected void inserted(int position) {
+  } // inserted
+
+  /**
+   * Invoked before a solution is removed from the archive, either directly
+   * or because it is dominated by a new solution; the last solution is then
+   * moved in its position.
+   * @param position The position of the solution.
+   */
+  protected void removing(int position) {
+  } // removing
+
+  /**
+   * Returns true if p weakly dominates q, and p is not equal to q.
+   */
+  private static boolean below(double [] p, double [] q) {
+    boolean strict = false;
+    for (int i = 0; i < p.length; i++) {
+      if (p[i] > q[i])
+        return false;
+      strict |= p[i] < q[i];
+    } // for
+    return strict;
+  } // below
+
+  /**
+   * Returns true if p weakly dominates q.
+   */
+  private static boolean weaklyBelow(double [] p, double [] q) {
+    for (int i = 0; i < p.length; i++)
+      if (p[i] > q[i])
+        return false;
+    return true;
+  } // weaklyBelow
+} // NDTreeArchive
@@ -10,6 +10,7 @@ package jmetal.base.archive;
 import java.util.Comparator;
 
 import jmetal.base.Solution;
+import jmetal.base.SolutionPool;
 import jmetal.base.SolutionSet;
 import jmetal.base.Variable;
 import jmetal.base.operator.comparator.DominanceComparator;
@@ -88,7 +89,7 @@ import jmetal.util.Spea2Fitness;
       }
     }
     // Insert the solution in the archive
-    solutionsList_.add(solution);
+    solutionsList_.add(SolutionPool.unpooled(solution));
 
     if (size() > maxSize_){ // The archive is full           
       (new Spea2Fitness<T>(this)).fitnessAssign();
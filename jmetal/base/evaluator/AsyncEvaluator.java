@@ -0,0 +1,258 @@
+/**
+ * AsyncEvaluator.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.base.evaluator;
+
+import java.io.Serializable;
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jmetal.base.Problem;
+import jmetal.base.Solution;
+import jmetal.base.Variable;
+import jmetal.util.JMException;
+import jmetal.util.PseudoRandom;
+import jmetal.util.RandomStream;
+
+/**
+ * This class implements an asynchronous driver for steady-state algorithms.
+ * It keeps up to a given number of offspring evaluations in flight on an
+ * executor: as soon as an evaluation completes, the offspring is integrated
+ * into the population (in completion order) and a new offspring is bred and
+ * submitted. Hence uneven evaluation times do not leave the threads idle.
+ * The algorithm breeds and integrates the solutions in the calling thread,
+ * while the evaluations (objectives and constraints) are done by the
+ * executor: the problem must be thread-safe, and the algorithm must not
+ * modify the solutions being evaluated.
+ * Since the offsprings are bred from a population which does not contain yet
+ * the ones in flight, the search differs from the sequential one; with one
+ * evaluation in flight, it is the same.
+ * In deterministic mode (see <code>PseudoRandom.isDeterministic</code>) the
+ * offsprings are integrated in the order they have been bred, and their
+ * evaluations draw from streams keyed by that order: the search depends on
+ * the number of evaluations in flight, but not on the number of threads.
+ */
+public class AsyncEvaluator<T extends Variable> implements Serializable {
+
+  private static final long serialVersionUID = 3712043986154727096L;
+
+  /**
+   * A steady-state algorithm driven by an <code>AsyncEvaluator</code>.
+   */
+  public interface SteadyState<T extends Variable> {
+
+    /**
+     * Creates a new offspring to evaluate.
+     * @return The offspring.
+     * @throws JMException
+     */
+    public Solution<T> breed() throws JMException;
+
+    /**
+     * Integrates an evaluated offspring into the population.
+     * @param offspring The offspring, whose objectives and constraints have
+     * been evaluated.
+     * @throws JMException
+     */
+    public void integrate(Solution<T> offspring) throws JMException;
+  } // SteadyState
+
+  /**
+   * The problem evaluating the solutions
+   */
+  private final Problem<T> problem_;
+
+  /**
+   * The executor evaluating the solutions (null if the driver creates its
+   * pool of threads and no run is in progress)
+   */
+  private transient ExecutorService executor_;
+
+  /**
+   * True if the executor is created by the driver
+   */
+  private final boolean ownExecutor_;
+
+  /**
+   * The maximum number of evaluations in flight
+   */
+  private final int inFlight_;
+
+  /**
+   * The number of evaluations done
+   */
+  private final AtomicLong evaluations_ = new AtomicLong();
+
+  /**
+   * Constructor. The driver creates a pool of daemon threads when it runs,
+   * which is released by <code>shutdown</code>, and keeps an evaluation in
+   * flight for each thread.
+   * @param problem The problem to solve.
+   * @param numberOfThreads The number of threads.
+   */
+  public AsyncEvaluator(Problem<T> problem, int numberOfThreads) {
+    this(problem, null, numberOfThreads, true);
+  } // AsyncEvaluator
+
+  /**
+   * Constructor.
+   * @param problem The problem to solve.
+   * @param executor The executor evaluating the solutions (it is not shut
+   * down by the driver).
+   * @param inFlight The maximum number of evaluations in flight (e.g., the
+   * number of threads of the executor).
+   */
+  public AsyncEvaluator(Problem<T> problem, ExecutorService executor, int inFlight) {
+    this(problem, executor, inFlight, false);
+  } // AsyncEvaluator
+
+  private AsyncEvaluator(Problem<T> problem, ExecutorService executor, int inFlight, boolean ownExecutor) {
+    if (inFlight < 1)
+      throw new IllegalArgumentException("At least one evaluation must be in flight: " + inFlight);
+
+    problem_     = problem;
+    executor_    = executor;
+    inFlight_    = inFlight;
+    ownExecutor_ = ownExecutor;
+  } // AsyncEvaluator
+
+  /**
+   * Returns the problem evaluating the solutions.
+   * @return The problem.
+   */
+  public Problem<T> getProblem() {
+    return problem_;
+  } // getProblem
+
+  /**
+   * Returns the maximum number of evaluations in flight.
+   * @return The number of evaluations.
+   */
+  public int getInFlight() {
+    return inFlight_;
+  } // getInFlight
+
+  /**
+   * Returns the number of evaluations completed so far.
+   * @return The number of evaluations.
+   */
+  public long getEvaluations() {
+    return evaluations_.get();
+  } // getEvaluations
+
+  /**
+   * Runs a steady-state algorithm for a given number of evaluations: the
+   * driver breeds the offsprings, evaluates them asynchronously and
+   * integrates them as soon as they are evaluated. It returns when all the
+   * offsprings have been integrated. If an operation fails, the evaluations
+   * in flight are cancelled and its exception is thrown.
+   * @param algorithm The algorithm.
+   * @param evaluations The number of offsprings to evaluate.
+   * @return the number of evaluations done
+   * @throws JMException
+   */
+  public int run(SteadyState<T> algorithm, int evaluations) throws JMException {
+    if (executor_ == null && ownExecutor_)
+      executor_ = Executors.newFixedThreadPool(inFlight_, new ThreadFactory() {
+        public Thread newThread(Runnable r) {
+          Thread t = new Thread(r, "jMetal-async-evaluator");
+          t.setDaemon(true);
+          return t;
+        }
+      });
+
+    CompletionService<Solution<T>> completion = new ExecutorCompletionService<Solution<T>>(executor_);
+    LinkedList<Future<Solution<T>>> pending = new LinkedList<Future<Solution<T>>>();
+    boolean ordered = PseudoRandom.isDeterministic();
+    long batch = PseudoRandom.newBatch();
+
+    int submitted = 0;
+    try {
+      while (submitted < evaluations && pending.size() < inFlight_) {
+        Evaluation evaluation = new Evaluation(algorithm.breed(), batch, submitted++);
+        pending.add(ordered ? executor_.submit(evaluation) : completion.submit(evaluation));
+      } // while
+
+      while (!pending.isEmpty()) {
+        // the oldest offspring in deterministic mode, the first evaluated otherwise
+        Future<Solution<T>> done = ordered ? pending.getFirst() : completion.take();
+        pending.remove(done);
+        algorithm.integrate(done.get());
+
+        if (submitted < evaluations) {
+          Evaluation evaluation = new Evaluation(algorithm.breed(), batch, submitted++);
+          pending.add(ordered ? executor_.submit(evaluation) : completion.submit(evaluation));
+        } // if
+      } // while
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new JMException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof JMException)
+        throw (JMException) cause;
+      if (cause instanceof RuntimeException)
+        throw (RuntimeException) cause;
+      if (cause instanceof Error)
+        throw (Error) cause;
+      throw new JMException(cause);
+    } finally {
+      for (Future<Solution<T>> f : pending)
+        f.cancel(true);
+    } // try
+
+    return submitted;
+  } // run
+
+  /**
+   * Shuts down the pool of threads created by the driver, if any. The
+   * algorithms call it when their execution ends; a later run creates a new
+   * pool.
+   */
+  public void shutdown() {
+    if (ownExecutor_ && executor_ != null) {
+      executor_.shutdown();
+      executor_ = null;
+    }
+  } // shutdown
+
+  /**
+   * The evaluation of an offspring. In deterministic mode it draws from the
+   * stream keyed by the run of the driver and by the order of the offspring.
+   */
+  private class Evaluation implements Callable<Solution<T>> {
+
+    private final Solution<T> solution_;
+    private final long batch_;
+    private final int index_;
+
+    Evaluation(Solution<T> solution, long batch, int index) {
+      solution_ = solution;
+      batch_    = batch;
+      index_    = index;
+    } // Evaluation
+
+    public Solution<T> call() throws Exception {
+      RandomStream stream = PseudoRandom.beginTask(batch_, index_);
+      try {
+        problem_.evaluate(solution_);
+        problem_.evaluateConstraints(solution_);
+      } finally {
+        PseudoRandom.endTask(stream);
+      } // try
+      evaluations_.incrementAndGet();
+      return solution_;
+    } // call
+  } // Evaluation
+} // AsyncEvaluator
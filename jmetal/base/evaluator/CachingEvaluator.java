@@ -0,0 +1,677 @@
+/**
+ * CachingEvaluator.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.base.evaluator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jmetal.base.Problem;
+import jmetal.base.Solution;
+import jmetal.base.SolutionSet;
+import jmetal.base.Variable;
+import jmetal.base.VariableValue;
+import jmetal.base.variable.Binary;
+import jmetal.base.variable.Int;
+import jmetal.base.variable.Permutation;
+import jmetal.base.variable.RealVector;
+import jmetal.util.JMException;
+
+/**
+ * This class decorates a problem with a cache of the evaluations, which
+ * avoids evaluating again the solutions whose decision variables have already
+ * been evaluated (e.g., the duplicated offsprings which are common with
+ * <code>Binary</code>, <code>Int</code> and <code>Permutation</code>
+ * genomes).
+ * The evaluations are identified by a 128-bit fingerprint of the decision
+ * variables, computed on their content: the bits of <code>Binary</code>
+ * variables (and subclasses), the values of <code>Int</code> variables and
+ * of <code>RealVector</code> genomes, the vectors of
+ * <code>Permutation</code> variables, and the values of the other
+ * <code>VariableValue</code> variables. Genomes of variable length are
+ * supported. Solutions having other types of variables are not cached,
+ * unless a subclass fingerprints them (see <code>fingerprint</code>).
+ * Two genomes having the same fingerprint are very unlikely to differ; if the
+ * verification is enabled, each entry also stores the encoding of its
+ * genome, which is compared with the one of the solution before using the
+ * entry.
+ * The solutions whose objectives the decorated problem skips (see
+ * <code>Solution.isObjectivesSkipped</code>) are not cached, and the
+ * solutions found in the cache are marked as evaluated.
+ * The cache is bounded by an estimate of its memory footprint, evicting the
+ * least recently used entries. The solutions found in the cache are counted
+ * as evaluations by the algorithms, as the evaluated ones.
+ * The cache can be used concurrently if the decorated problem is
+ * thread-safe.
+ */
+public class CachingEvaluator<T extends Variable> extends Problem<T> {
+
+  private static final long serialVersionUID = -2301735640963471152L;
+
+  /**
+   * Estimated footprint of an entry, excluding its arrays, in bytes
+   */
+  private static final int ENTRY_OVERHEAD = 128;
+
+  /**
+   * Estimated footprint of an array, excluding its elements, in bytes
+   */
+  private static final int ARRAY_OVERHEAD = 16;
+
+  // tags of the types of variables
+  private static final long BINARY      = 1;
+  private static final long INT         = 2;
+  private static final long PERMUTATION = 3;
+  private static final long VALUE       = 4;
+  private static final long REAL_VECTOR = 5;
+
+  /**
+   * The decorated problem
+   */
+  private final Problem<T> problem_;
+
+  /**
+   * The maximum footprint of the cache, in bytes
+   */
+  private final long maxMemory_;
+
+  /**
+   * True if the genomes of the entries are compared with the ones of the
+   * solutions
+   */
+  private final boolean verify_;
+
+  /**
+   * The entries of the cache, in access order
+   */
+  private final LinkedHashMap<Key, Entry> cache_ = new LinkedHashMap<Key, Entry>(16, 0.75f, true);
+
+  /**
+   * The estimated footprint of the cache, in bytes
+   */
+  private long memory_;
+
+  // statistics
+  private long hits_;
+  private long misses_;
+  private long uncached_;
+  private long collisions_;
+  private long evictions_;
+
+  /**
+   * Constructor.
+   * @param problem The problem to decorate.
+   * @param maxMemory The maximum footprint of the cache, in bytes.
+   * @param verify True to store the genomes of the entries, and compare them
+   * with the ones of the solutions.
+   */
+  public CachingEvaluator(Problem<T> problem, long maxMemory, boolean verify) {
+    problem_   = problem;
+    maxMemory_ = maxMemory;
+    verify_    = verify;
+
+    numberOfVariables_   = problem.getNumberOfVariables();
+    numberOfObjectives_  = problem.getNumberOfObjectives();
+    numberOfConstraints_ = problem.getNumberOfConstraints();
+    problemName_         = problem.getName();
+  } // CachingEvaluator
+
+  /**
+   * Returns the decorated problem.
+   * @return The problem.
+   */
+  public Problem<T> getProblem() {
+    return problem_;
+  } // getProblem
+
+  /**
+   * Evaluates the objectives of a <code>Solution</code> object, using the
+   * cache if possible.
+   * @param solution The <code>Solution</code> to evaluate.
+   */
+  public void evaluate(Solution<T> solution) throws JMException {
+    Fingerprint fingerprint = fingerprint(solution);
+    if (fingerprint == null) {
+      synchronized (cache_) {
+        uncached_++;
+      } // synchronized
+      problem_.evaluate(solution);
+      return;
+    } // if
+
+    synchronized (cache_) {
+      Entry entry = find(fingerprint);
+      if (entry != null) {
+        hits_++;
+        entry.getObjectives(solution);
+        return;
+      } // if
+      misses_++;
+    } // synchronized
+
+    solution.setObjectivesSkipped(false);
+    problem_.evaluate(solution);
+    store(fingerprint, solution, false);
+  } // evaluate
+
+  /**
+   * Evaluates the overall constraint violation of a <code>Solution</code>,
+   * using the cache if possible.
+   * @param solution The <code>Solution</code> to evaluate.
+   */
+  public void evaluateConstraints(Solution<T> solution) throws JMException {
+    Fingerprint fingerprint = null;
+    if (numberOfConstraints_ > 0)
+      fingerprint = fingerprint(solution);
+    if (fingerprint == null) {
+      problem_.evaluateConstraints(solution);
+      return;
+    } // if
+
+    synchronized (cache_) {
+      Entry entry = find(fingerprint);
+      if (entry != null && entry.constraints_) {
+        entry.getConstraints(solution);
+        return;
+      } // if
+    } // synchronized
+
+    problem_.evaluateConstraints(solution);
+
+    synchronized (cache_) {
+      Entry entry = find(fingerprint);
+      if (entry != null)
+        entry.setConstraints(solution);
+    } // synchronized
+  } // evaluateConstraints
+
+  /**
+   * Evaluates the objectives and the constraints of a set of
+   * <code>Solution</code>s. The solutions found in the cache, and the
+   * duplicates of other solutions of the set, are not evaluated; the others
+   * are evaluated together by the decorated problem (e.g., in parallel).
+   * @param set The set of <code>Solution</code>s to evaluate.
+   * @return the number of evaluations done
+   */
+  public int evaluate(SolutionSet<T> set) throws JMException {
+    int n = set.size();
+    SolutionSet<T> misses = new SolutionSet<T>(n);
+    Fingerprint [] fingerprints = new Fingerprint[n];
+    int [] original = new int[n];
+    Map<Key, Integer> evaluating = new HashMap<Key, Integer>();
+
+    for (int i = 0; i < n; i++) {
+      Solution<T> solution = set.get(i);
+      original[i] = -1;
+
+      Fingerprint fingerprint = fingerprint(solution);
+      if (fingerprint == null) {
+        synchronized (cache_) {
+          uncached_++;
+        } // synchronized
+        misses.add(solution);
+        continue;
+      } // if
+
+      boolean hit, constraints = false;
+      synchronized (cache_) {
+        Entry entry = find(fingerprint);
+        hit = entry != null;
+        if (hit) {
+          hits_++;
+          entry.getObjectives(solution);
+          constraints = entry.constraints_;
+          if (constraints)
+            entry.getConstraints(solution);
+        } // if
+      } // synchronized
+
+      if (hit) {
+        if (!constraints)
+          evaluateConstraints(solution);
+        continue;
+      } // if
+
+      // the solution is a duplicate of a previous one of the set
+      Integer same = evaluating.get(fingerprint.key_);
+      if (same != null) {
+        boolean equal = !verify_ || Arrays.equals(fingerprint.words(), fingerprints[same].words());
+        synchronized (cache_) {
+          if (equal)
+            hits_++;
+          else
+            collisions_++;
+        } // synchronized
+        if (equal) {
+          original[i] = same;
+          continue;
+        } // if
+      } else {
+        evaluating.put(fingerprint.key_, i);
+      } // if
+
+      synchronized (cache_) {
+        misses_++;
+      } // synchronized
+      fingerprints[i] = fingerprint;
+      solution.setObjectivesSkipped(false);
+      misses.add(solution);
+    } // for
+
+    problem_.evaluate(misses);
+
+    for (int i = 0; i < n; i++) {
+      Solution<T> solution = set.get(i);
+      if (original[i] >= 0) {
+        Solution<T> same = set.get(original[i]);
+        for (int j = 0; j < numberOfObjectives_; j++)
+          solution.setObjective(j, same.getObjective(j));
+        solution.setOverallConstraintViolation(same.getOverallConstraintViolation());
+        solution.setNumberOfViolatedConstraint(same.getNumberOfViolatedConstraint());
+        solution.setObjectivesSkipped(same.isObjectivesSkipped());
+      } else if (fingerprints[i] != null) {
+        store(fingerprints[i], solution, true);
+      } // if
+    } // for
+
+    return n;
+  } // evaluate
+
+  public boolean hasIndependentConstraints() {
+    return problem_.hasIndependentConstraints();
+  } // hasIndependentConstraints
+
+  public int getNumberOfFidelityLevels() {
+    return problem_.getNumberOfFidelityLevels();
+  } // getNumberOfFidelityLevels
+
+  /**
+   * Evaluates a <code>Solution</code> at a given fidelity level: only the exact
+   * evaluations are cached.
+   * @param solution The <code>Solution</code> to evaluate.
+   * @param fidelity The fidelity level.
+   */
+  public void evaluate(Solution<T> solution, int fidelity) throws JMException {
+    if (fidelity == getNumberOfFidelityLevels() - 1)
+      evaluate(solution);
+    else
+      problem_.evaluate(solution, fidelity);
+  } // evaluate
+
+  /**
+   * Evaluates a set of <code>Solution</code>s at a given fidelity level: the
+   * exact evaluations are done as by <code>evaluate(SolutionSet)</code>, the
+   * approximate ones together by the decorated problem, without caching.
+   * @param set The set of <code>Solution</code>s to evaluate.
+   * @param fidelity The fidelity level.
+   * @return the number of evaluations done
+   */
+  public int evaluate(SolutionSet<T> set, int fidelity) throws JMException {
+    if (fidelity == getNumberOfFidelityLevels() - 1)
+      return evaluate(set);
+    return problem_.evaluate(set, fidelity);
+  } // evaluate
+
+  public List<T> generateNewDecisionVariable() {
+    return problem_.generateNewDecisionVariable();
+  } // generateNewDecisionVariable
+
+  public void setCurrentGeneration(int currentGeneration) {
+    problem_.setCurrentGeneration(currentGeneration);
+    this.currentGeneration = currentGeneration;
+  } // setCurrentGeneration
+
+  /**
+   * Returns the number of evaluations found in the cache.
+   * @return The number of hits.
+   */
+  public long getHits() {
+    synchronized (cache_) {
+      return hits_;
+    } // synchronized
+  } // getHits
+
+  /**
+   * Returns the number of evaluations not found in the cache.
+   * @return The number of misses.
+   */
+  public long getMisses() {
+    synchronized (cache_) {
+      return misses_;
+    } // synchronized
+  } // getMisses
+
+  /**
+   * Returns the fraction of the evaluations found in the cache.
+   * @return The hit rate (0 if no solution has been looked up).
+   */
+  public double getHitRate() {
+    synchronized (cache_) {
+      long lookups = hits_ + misses_;
+      return lookups == 0 ? 0.0 : (double) hits_ / lookups;
+    } // synchronized
+  } // getHitRate
+
+  /**
+   * Returns the number of evaluations of solutions which cannot be
+   * fingerprinted.
+   * @return The number of evaluations.
+   */
+  public long getUncached() {
+    synchronized (cache_) {
+      return uncached_;
+    } // synchronized
+  } // getUncached
+
+  /**
+   * Returns the number of fingerprints found in the cache for different
+   * genomes (always 0 if the verification is disabled).
+   * @return The number of collisions.
+   */
+  public long getCollisions() {
+    synchronized (cache_) {
+      return collisions_;
+    } // synchronized
+  } // getCollisions
+
+  /**
+   * Returns the number of entries evicted from the cache.
+   * @return The number of evictions.
+   */
+  public long getEvictions() {
+    synchronized (cache_) {
+      return evictions_;
+    } // synchronized
+  } // getEvictions
+
+  /**
+   * Returns the number of entries of the cache.
+   * @return The number of entries.
+   */
+  public int size() {
+    synchronized (cache_) {
+      return cache_.size();
+    } // synchronized
+  } // size
+
+  /**
+   * Returns the estimated footprint of the cache.
+   * @return The footprint, in bytes.
+   */
+  public long getMemory() {
+    synchronized (cache_) {
+      return memory_;
+    } // synchronized
+  } // getMemory
+
+  /**
+   * Empties the cache (e.g., when the problem changes).
+   */
+  public void clear() {
+    synchronized (cache_) {
+      cache_.clear();
+      memory_ = 0;
+    } // synchronized
+  } // clear
+
+  /**
+   * Adds a variable to a fingerprint. Subclasses can override it to support
+   * other types of variables.
+   * @param variable The variable.
+   * @param fingerprint The fingerprint.
+   * @return false if the type of the variable is not supported.
+   */
+  protected boolean fingerprint(T variable, Fingerprint fingerprint) {
+    if (variable instanceof Binary) {
+      Binary binary = (Binary) variable;
+      int numberOfBits = binary.getNumberOfBits();
+      int numberOfWords = (numberOfBits + 63) >>> 6;
+      fingerprint.add(BINARY);
+      fingerprint.add(numberOfBits);
+
+      int word = 0;
+      long bits = 0;
+      for (int i = binary.bits_.nextSetBit(0); i >= 0 && i < numberOfBits; i = binary.bits_.nextSetBit(i + 1)) {
+        for (; word < (i >>> 6); word++) {
+          fingerprint.add(bits);
+          bits = 0;
+        } // for
+        bits |= 1L << i;
+      } // for
+      for (; word < numberOfWords; word++) {
+        fingerprint.add(bits);
+        bits = 0;
+      } // for
+      return true;
+    } // if
+
+    if (variable instanceof Int) {
+      fingerprint.add(INT);
+      fingerprint.add((long) ((Int) variable).getValue());
+      return true;
+    } // if
+
+    if (variable instanceof Permutation) {
+      Permutation permutation = (Permutation) variable;
+      fingerprint.add(PERMUTATION);
+      fingerprint.add(permutation.size_);
+      for (int i = 0; i < permutation.size_; i++)
+        fingerprint.add(permutation.vector_[i]);
+      return true;
+    } // if
+
+    if (variable instanceof VariableValue) {
+      try {
+        fingerprint.add(VALUE);
+        fingerprint.add(Double.doubleToLongBits(((VariableValue) variable).getValue()));
+        return true;
+      } catch (JMException e) {
+        return false;
+      } // try
+    } // if
+
+    return false;
+  } // fingerprint
+
+  /**
+   * Computes the fingerprint of the decision variables of a solution.
+   * @param solution The solution.
+   * @return The fingerprint, or null if the solution cannot be fingerprinted.
+   */
+  private Fingerprint fingerprint(Solution<T> solution) {
+    List<T> variables = solution.getDecisionVariables().variables_;
+    Fingerprint fingerprint = new Fingerprint(verify_);
+
+    if (variables instanceof RealVector) {
+      double [] values = ((RealVector) variables).getValues();
+      fingerprint.add(REAL_VECTOR);
+      fingerprint.add(values.length);
+      for (int i = 0; i < values.length; i++)
+        fingerprint.add(Double.doubleToLongBits(values[i]));
+    } else {
+      fingerprint.add(variables.size());
+      for (T variable : variables)
+        if (!fingerprint(variable, fingerprint))
+          return null;
+    } // if
+
+    fingerprint.finish();
+    return fingerprint;
+  } // fingerprint
+
+  /**
+   * Returns the entry of a fingerprint, verifying its genome if required.
+   * It must be called holding the lock of the cache.
+   * @param fingerprint The fingerprint.
+   * @return The entry, or null.
+   */
+  private Entry find(Fingerprint fingerprint) {
+    Entry entry = cache_.get(fingerprint.key_);
+    if (entry != null && verify_ && !Arrays.equals(entry.words_, fingerprint.words())) {
+      collisions_++;
+      entry = null;
+    } // if
+
+    return entry;
+  } // find
+
+  /**
+   * Stores the evaluation of a solution, unless its objectives have been
+   * skipped, evicting the least recently used entries if the cache is full.
+   * @param fingerprint The fingerprint of the solution.
+   * @param solution The solution.
+   * @param constraints True if its constraints have been evaluated.
+   */
+  private void store(Fingerprint fingerprint, Solution<T> solution, boolean constraints) {
+    if (solution.isObjectivesSkipped())
+      return;
+
+    Entry entry = new Entry(solution, fingerprint.words());
+    if (constraints)
+      entry.setConstraints(solution);
+
+    synchronized (cache_) {
+      Entry old = cache_.put(fingerprint.key_, entry);
+      if (old != null)
+        memory_ -= old.memory();
+      memory_ += entry.memory();
+
+      Iterator<Entry> it = cache_.values().iterator();
+      while (memory_ > maxMemory_ && it.hasNext()) {
+        memory_ -= it.next().memory();
+        it.remove();
+        evictions_++;
+      } // while
+    } // synchronized
+  } // store
+
+  /**
+   * A fingerprint of the decision variables of a solution: two 64-bit hashes
+   * of the words encoding them, and optionally the words themselves.
+   */
+  public static final class Fingerprint {
+
+    private long h1_ = 0x6A09E667F3BCC908L;
+    private long h2_ = 0xBB67AE8584CAA73BL;
+    private long count_;
+
+    private long [] words_;
+
+    private Key key_;
+
+    Fingerprint(boolean record) {
+      if (record)
+        words_ = new long[16];
+    } // Fingerprint
+
+    /**
+     * Adds a word to the fingerprint.
+     * @param word The word.
+     */
+    public void add(long word) {
+      h1_ = Long.rotateLeft(h1_ ^ mix(word), 31) * 0x9E3779B97F4A7C15L;
+      h2_ = Long.rotateLeft(h2_ + mix(word ^ 0xC2B2AE3D27D4EB4FL), 27) * 0xFF51AFD7ED558CCDL + 0x52DCE729L;
+
+      if (words_ != null) {
+        if (count_ == words_.length)
+          words_ = Arrays.copyOf(words_, 2 * words_.length);
+        words_[(int) count_] = word;
+      } // if
+      count_++;
+    } // add
+
+    void finish() {
+      key_ = new Key(mix(h1_ ^ count_), mix(h2_ ^ h1_));
+      if (words_ != null)
+        words_ = Arrays.copyOf(words_, (int) count_);
+    } // finish
+
+    long [] words() {
+      return words_;
+    } // words
+
+    private static long mix(long x) {
+      x ^= x >>> 33;
+      x *= 0xFF51AFD7ED558CCDL;
+      x ^= x >>> 33;
+      x *= 0xC4CEB9FE1A85EC53L;
+      x ^= x >>> 33;
+      return x;
+    } // mix
+  } // Fingerprint
+
+  /**
+   * The 128-bit key of an entry.
+   */
+  private static final class Key {
+
+    private final long hi_;
+    private final long lo_;
+
+    Key(long hi, long lo) {
+      hi_ = hi;
+      lo_ = lo;
+    } // Key
+
+    public boolean equals(Object o) {
+      if (!(o instanceof Key))
+        return false;
+      Key other = (Key) o;
+      return hi_ == other.hi_ && lo_ == other.lo_;
+    } // equals
+
+    public int hashCode() {
+      return (int) (lo_ ^ (lo_ >>> 32));
+    } // hashCode
+  } // Key
+
+  /**
+   * An evaluation stored in the cache.
+   */
+  private static final class Entry {
+
+    private final double [] objectives_;
+    private final long [] words_;
+    private boolean constraints_;
+    private double overallConstraintViolation_;
+    private int numberOfViolatedConstraints_;
+
+    Entry(Solution<?> solution, long [] words) {
+      objectives_ = new double[solution.numberOfObjectives()];
+      for (int i = 0; i < objectives_.length; i++)
+        objectives_[i] = solution.getObjective(i);
+      words_ = words;
+    } // Entry
+
+    void getObjectives(Solution<?> solution) {
+      for (int i = 0; i < objectives_.length; i++)
+        solution.setObjective(i, objectives_[i]);
+      solution.setObjectivesSkipped(false);
+    } // getObjectives
+
+    void setConstraints(Solution<?> solution) {
+      overallConstraintViolation_  = solution.getOverallConstraintViolation();
+      numberOfViolatedConstraints_ = solution.getNumberOfViolatedConstraint();
+      constraints_ = true;
+    } // setConstraints
+
+    void getConstraints(Solution<?> solution) {
+      solution.setOverallConstraintViolation(overallConstraintViolation_);
+      solution.setNumberOfViolatedConstraint(numberOfViolatedConstraints_);
+    } // getConstraints
+
+    long memory() {
+      long memory = ENTRY_OVERHEAD + ARRAY_OVERHEAD + 8L * objectives_.length;
+      if (words_ != null)
+        memory += ARRAY_OVERHEAD + 8L * words_.length;
+      return memory;
+    } // memory
+  } // Entry
+} // CachingEvaluator
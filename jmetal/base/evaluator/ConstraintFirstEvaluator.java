@@ -0,0 +1,284 @@
+/**
+ * ConstraintFirstEvaluator.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.base.evaluator;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jmetal.base.Problem;
+import jmetal.base.Solution;
+import jmetal.base.SolutionSet;
+import jmetal.base.Variable;
+import jmetal.util.JMException;
+
+/**
+ * This class decorates a problem whose constraints do not depend on the
+ * objectives (see <code>Problem.hasIndependentConstraints</code>),
+ * evaluating the constraints of a solution before its objectives. The
+ * objectives of the solutions whose overall constraint violation is below a
+ * threshold are not evaluated: they receive penalty values, and the solutions
+ * are marked (see <code>Solution.isObjectivesSkipped</code>).
+ * With the default threshold (0), the objectives of all the infeasible
+ * solutions are skipped. Since <code>DominanceComparator</code> compares the
+ * constraint violations first, and it does not compare the objectives of
+ * marked solutions, the ranking of the solutions does not change; the
+ * algorithms which do not use it (e.g., aggregative ones) see the penalty
+ * values (by default <code>Double.MAX_VALUE</code>, the objectives being
+ * minimized).
+ * The objectives of the skipped solutions can be evaluated later, if they are
+ * needed (e.g., when no feasible solution has been found), by
+ * <code>evaluateSkipped</code>.
+ */
+public class ConstraintFirstEvaluator<T extends Variable> extends Problem<T> {
+
+  private static final long serialVersionUID = -7795914212860312164L;
+
+  /**
+   * The decorated problem
+   */
+  private final Problem<T> problem_;
+
+  /**
+   * The overall constraint violation below which the objectives are skipped
+   */
+  private final double threshold_;
+
+  /**
+   * The objectives assigned to the skipped solutions
+   */
+  private double [] penaltyObjectives_;
+
+  /**
+   * The solutions whose constraints have been evaluated by
+   * <code>evaluate</code>, which need not be evaluated again by
+   * <code>evaluateConstraints</code>
+   */
+  private transient Map<Solution<T>, Boolean> constrained_ =
+    Collections.synchronizedMap(new WeakHashMap<Solution<T>, Boolean>());
+
+  /**
+   * The number of objective evaluations done
+   */
+  private final AtomicLong evaluations_ = new AtomicLong();
+
+  /**
+   * The number of objective evaluations skipped
+   */
+  private final AtomicLong skipped_ = new AtomicLong();
+
+  /**
+   * Constructor. The objectives of all the infeasible solutions are skipped.
+   * @param problem The problem to decorate.
+   */
+  public ConstraintFirstEvaluator(Problem<T> problem) {
+    this(problem, 0.0);
+  } // ConstraintFirstEvaluator
+
+  /**
+   * Constructor.
+   * @param problem The problem to decorate.
+   * @param threshold The overall constraint violation (at most 0) below which
+   * the objectives are skipped.
+   */
+  public ConstraintFirstEvaluator(Problem<T> problem, double threshold) {
+    if (!problem.hasIndependentConstraints())
+      throw new IllegalArgumentException("The constraints of " + problem.getName() + " depend on its objectives");
+    if (threshold > 0)
+      throw new IllegalArgumentException("The threshold must not be positive: " + threshold);
+
+    problem_   = problem;
+    threshold_ = threshold;
+
+    numberOfVariables_   = problem.getNumberOfVariables();
+    numberOfObjectives_  = problem.getNumberOfObjectives();
+    numberOfConstraints_ = problem.getNumberOfConstraints();
+    problemName_         = problem.getName();
+
+    penaltyObjectives_ = new double[numberOfObjectives_];
+    Arrays.fill(penaltyObjectives_, Double.MAX_VALUE);
+  } // ConstraintFirstEvaluator
+
+  /**
+   * Sets the objectives assigned to the skipped solutions.
+   * @param objectives The values of the objectives.
+   */
+  public void setPenaltyObjectives(double [] objectives) {
+    if (objectives.length != numberOfObjectives_)
+      throw new IllegalArgumentException("Expected " + numberOfObjectives_ + " objectives, found " + objectives.length);
+
+    penaltyObjectives_ = objectives.clone();
+  } // setPenaltyObjectives
+
+  /**
+   * Returns the decorated problem.
+   * @return The problem.
+   */
+  public Problem<T> getProblem() {
+    return problem_;
+  } // getProblem
+
+  /**
+   * Returns the number of objective evaluations done so far.
+   * @return The number of evaluations.
+   */
+  public long getEvaluations() {
+    return evaluations_.get();
+  } // getEvaluations
+
+  /**
+   * Returns the number of objective evaluations skipped so far.
+   * @return The number of skipped evaluations.
+   */
+  public long getSkipped() {
+    return skipped_.get();
+  } // getSkipped
+
+  /**
+   * Evaluates the constraints of a <code>Solution</code>, and then its
+   * objectives if it is not too infeasible.
+   * @param solution The <code>Solution</code> to evaluate.
+   */
+  public void evaluate(Solution<T> solution) throws JMException {
+    evaluateFirst(solution);
+    constrained_.put(solution, Boolean.TRUE);
+  } // evaluate
+
+  /**
+   * Evaluates the overall constraint violation of a <code>Solution</code>,
+   * unless it has just been evaluated by <code>evaluate</code>.
+   * @param solution The <code>Solution</code> to evaluate.
+   */
+  public void evaluateConstraints(Solution<T> solution) throws JMException {
+    if (constrained_.remove(solution) == null)
+      problem_.evaluateConstraints(solution);
+  } // evaluateConstraints
+
+  /**
+   * Evaluates the constraints of a set of <code>Solution</code>s, and then
+   * the ones which are not too infeasible together, by the decorated problem
+   * (e.g., in parallel), which evaluates their constraints again.
+   * @param set The set of <code>Solution</code>s to evaluate.
+   * @return the number of evaluations done
+   */
+  public int evaluate(SolutionSet<T> set) throws JMException {
+    SolutionSet<T> evaluated = new SolutionSet<T>(set.size());
+    for (int i = 0; i < set.size(); i++) {
+      Solution<T> solution = set.get(i);
+      problem_.evaluateConstraints(solution);
+      if (solution.getOverallConstraintViolation() < threshold_)
+        skip(solution);
+      else
+        evaluated.add(solution);
+    } // for
+
+    problem_.evaluate(evaluated);
+    for (int i = 0; i < evaluated.size(); i++)
+      evaluated.get(i).setObjectivesSkipped(false);
+    evaluations_.addAndGet(evaluated.size());
+
+    return set.size();
+  } // evaluate
+
+  /**
+   * Evaluates the objectives of the skipped solutions of a
+   * <code>SolutionSet</code>.
+   * @param set The set of <code>Solution</code>s.
+   * @return the number of objective evaluations done
+   */
+  public int evaluateSkipped(SolutionSet<T> set) throws JMException {
+    int n = 0;
+    for (int i = 0; i < set.size(); i++) {
+      Solution<T> solution = set.get(i);
+      if (solution.isObjectivesSkipped()) {
+        problem_.evaluate(solution);
+        solution.setObjectivesSkipped(false);
+        evaluations_.incrementAndGet();
+        n++;
+      } // if
+    } // for
+
+    return n;
+  } // evaluateSkipped
+
+  public boolean hasIndependentConstraints() {
+    return true;
+  } // hasIndependentConstraints
+
+  public int getNumberOfFidelityLevels() {
+    return problem_.getNumberOfFidelityLevels();
+  } // getNumberOfFidelityLevels
+
+  /**
+   * Evaluates a <code>Solution</code> at a given fidelity level: the
+   * approximate evaluations are done by the decorated problem, without
+   * evaluating the constraints first.
+   * @param solution The <code>Solution</code> to evaluate.
+   * @param fidelity The fidelity level.
+   */
+  public void evaluate(Solution<T> solution, int fidelity) throws JMException {
+    if (fidelity == getNumberOfFidelityLevels() - 1)
+      evaluate(solution);
+    else
+      problem_.evaluate(solution, fidelity);
+  } // evaluate
+
+  /**
+   * Evaluates a set of <code>Solution</code>s at a given fidelity level: the
+   * approximate evaluations are done together by the decorated problem,
+   * without evaluating the constraints first.
+   * @param set The set of <code>Solution</code>s to evaluate.
+   * @param fidelity The fidelity level.
+   * @return the number of evaluations done
+   */
+  public int evaluate(SolutionSet<T> set, int fidelity) throws JMException {
+    if (fidelity == getNumberOfFidelityLevels() - 1)
+      return evaluate(set);
+    return problem_.evaluate(set, fidelity);
+  } // evaluate
+
+  public List<T> generateNewDecisionVariable() {
+    return problem_.generateNewDecisionVariable();
+  } // generateNewDecisionVariable
+
+  public void setCurrentGeneration(int currentGeneration) {
+    problem_.setCurrentGeneration(currentGeneration);
+    this.currentGeneration = currentGeneration;
+  } // setCurrentGeneration
+
+  /**
+   * Evaluates the constraints of a solution, and then its objectives or the
+   * penalty ones.
+   * @param solution The solution.
+   * @throws JMException
+   */
+  private void evaluateFirst(Solution<T> solution) throws JMException {
+    problem_.evaluateConstraints(solution);
+
+    if (solution.getOverallConstraintViolation() < threshold_) {
+      skip(solution);
+    } else {
+      problem_.evaluate(solution);
+      solution.setObjectivesSkipped(false);
+      evaluations_.incrementAndGet();
+    } // if
+  } // evaluateFirst
+
+  /**
+   * Assigns the penalty objectives to a solution, and marks it.
+   * @param solution The solution.
+   */
+  private void skip(Solution<T> solution) {
+    for (int i = 0; i < numberOfObjectives_; i++)
+      solution.setObjective(i, penaltyObjectives_[i]);
+    solution.setObjectivesSkipped(true);
+    skipped_.incrementAndGet();
+  } // skip
+} // ConstraintFirstEvaluator
@@ -0,0 +1,474 @@
+/**
+ * ExternalProblem.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.base.evaluator;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jmetal.base.Problem;
+import jmetal.base.Solution;
+import jmetal.base.SolutionSet;
+import jmetal.base.Variable;
+import jmetal.base.VariableValue;
+import jmetal.base.variable.RealVector;
+import jmetal.util.JMException;
+
+/**
+ * This class is the base for the problems evaluated by external programs
+ * (e.g., simulators). It keeps a pool of long-lived worker processes, all
+ * running the same command, and streams batches of solutions to them through
+ * their standard input and output, so that the cost of starting a process is
+ * paid once and not at each evaluation. The subclasses define the decision
+ * variables (number, bounds, <code>generateNewDecisionVariable</code>) and
+ * the number of objectives and constraints.
+ * The protocol is binary, with big-endian integers and IEEE 754 doubles (as
+ * written by <code>DataOutputStream</code>). For each batch the problem sends
+ * <ul>
+ * <li>the number of solutions n and the number of variables v (two ints);</li>
+ * <li>the n * v values of the decision variables (doubles), solution after
+ * solution;</li>
+ * </ul>
+ * and the worker answers with
+ * <ul>
+ * <li>the number of solutions n (an int);</li>
+ * <li>for each solution, its objectives and then the values of its
+ * constraints (doubles), a constraint being violated when its value is
+ * negative.</li>
+ * </ul>
+ * A worker must answer the batches in order, and it must exit when its
+ * standard input is closed; its standard error is copied to the one of
+ * jMetal.
+ * If a worker crashes (its output ends or it breaks the protocol), it is
+ * restarted and the batch is sent again, up to a given number of times; if
+ * it still fails, it is stopped, and restarted by the next batch. The
+ * variables of a batch are collected before anything is sent, so that an
+ * invalid solution does not leave a partial batch on the stream.
+ * <code>jmetal.problems.external.ExternalSum</code> is an example, whose
+ * stub worker can crash on purpose.
+ * The solutions of a <code>SolutionSet</code> are split into batches
+ * evaluated by all the workers; <code>evaluate(Solution)</code> sends a
+ * batch of one solution to an idle worker, and it can be called by several
+ * threads. It evaluates the constraints too, hence
+ * <code>evaluateConstraints</code> does nothing.
+ */
+public abstract class ExternalProblem<T extends Variable> extends Problem<T> {
+
+  private static final long serialVersionUID = -6608342120591049916L;
+
+  /**
+   * The command running a worker
+   */
+  private final String [] command_;
+
+  /**
+   * The number of workers
+   */
+  private final int numberOfWorkers_;
+
+  /**
+   * The maximum number of solutions in a batch
+   */
+  private final int batchSize_;
+
+  /**
+   * The number of times a batch is sent again after a crash
+   */
+  private int maxRetries_ = 2;
+
+  /**
+   * The workers, and the idle ones (started at the first evaluation)
+   */
+  private transient List<Worker> workers_;
+  private transient BlockingQueue<Worker> idle_;
+
+  /**
+   * The threads feeding the workers during the evaluation of a
+   * <code>SolutionSet</code>
+   */
+  private transient ExecutorService executor_;
+
+  /**
+   * The number of evaluations done, and of workers restarted
+   */
+  private final AtomicLong evaluations_ = new AtomicLong();
+  private final AtomicLong restarts_    = new AtomicLong();
+
+  /**
+   * Constructor.
+   * @param command The command running a worker (the program and its
+   * arguments).
+   * @param numberOfWorkers The number of worker processes.
+   * @param batchSize The maximum number of solutions sent to a worker at once.
+   */
+  protected ExternalProblem(String [] command, int numberOfWorkers, int batchSize) {
+    if (command.length == 0)
+      throw new IllegalArgumentException("Empty command");
+    if (numberOfWorkers < 1 || batchSize < 1)
+      throw new IllegalArgumentException("Invalid number of workers (" + numberOfWorkers + ") or batch size (" + batchSize + ")");
+
+    command_         = command.clone();
+    numberOfWorkers_ = numberOfWorkers;
+    batchSize_       = batchSize;
+  } // ExternalProblem
+
+  /**
+   * Sets the number of times a batch is sent again to a restarted worker,
+   * after the worker has crashed evaluating it.
+   * @param maxRetries The number of retries (default 2).
+   */
+  public void setMaxRetries(int maxRetries) {
+    maxRetries_ = maxRetries;
+  } // setMaxRetries
+
+  /**
+   * Returns the number of evaluations done so far.
+   * @return The number of evaluations.
+   */
+  public long getEvaluations() {
+    return evaluations_.get();
+  } // getEvaluations
+
+  /**
+   * Returns the number of workers restarted so far.
+   * @return The number of restarts.
+   */
+  public long getRestarts() {
+    return restarts_.get();
+  } // getRestarts
+
+  /**
+   * Evaluates the objectives and the constraints of a <code>Solution</code>
+   * on an idle worker.
+   * @param solution The <code>Solution</code> to evaluate.
+   */
+  public void evaluate(Solution<T> solution) throws JMException {
+    Worker worker = acquire();
+    try {
+      evaluate(worker, Collections.singletonList(solution));
+    } finally {
+      idle_.add(worker);
+    } // try
+  } // evaluate
+
+  /**
+   * Does nothing: the constraints are evaluated by <code>evaluate</code>.
+   * @param solution The <code>Solution</code>.
+   */
+  public void evaluateConstraints(Solution<T> solution) throws JMException {
+  } // evaluateConstraints
+
+  /**
+   * Evaluates the objectives and the constraints of a set of
+   * <code>Solution</code>s, split into batches evaluated by all the workers.
+   * If a batch cannot be evaluated, the remaining ones are not sent and the
+   * exception is thrown.
+   * @param set The set of <code>Solution</code>s to evaluate.
+   * @return the number of evaluations done
+   */
+  public int evaluate(SolutionSet<T> set) throws JMException {
+    final int n = set.size();
+    if (n == 0)
+      return 0;
+
+    start();
+
+    // Batches of at most batchSize_ solutions, and at least one per worker
+    int size = Math.min(batchSize_, (n + numberOfWorkers_ - 1) / numberOfWorkers_);
+    final List<List<Solution<T>>> batches = new ArrayList<List<Solution<T>>>();
+    for (int from = 0; from < n; from += size) {
+      List<Solution<T>> batch = new ArrayList<Solution<T>>(size);
+      for (int i = from; i < Math.min(n, from + size); i++)
+        batch.add(set.get(i));
+      batches.add(batch);
+    } // for
+
+    final AtomicInteger next = new AtomicInteger();
+    int nTasks = Math.min(numberOfWorkers_, batches.size());
+    List<Callable<Object>> tasks = new ArrayList<Callable<Object>>(nTasks);
+    for (int t = 0; t < nTasks; t++) {
+      tasks.add(new Callable<Object>() {
+        public Object call() throws Exception {
+          Worker worker = acquire();
+          try {
+            for (int i = next.getAndIncrement(); i < batches.size(); i = next.getAndIncrement())
+              evaluate(worker, batches.get(i));
+          } catch (Exception e) {
+            next.set(batches.size()); // the other tasks stop
+            throw e;
+          } finally {
+            idle_.add(worker);
+          } // try
+          return null;
+        }
+      });
+    } // for
+
+    try {
+      for (Future<Object> f : executor_.invokeAll(tasks))
+        f.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new JMException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof JMException)
+        throw (JMException) cause;
+      if (cause instanceof RuntimeException)
+        throw (RuntimeException) cause;
+      if (cause instanceof Error)
+        throw (Error) cause;
+      throw new JMException(cause);
+    } // try
+
+    return n;
+  } // evaluate
+
+  /**
+   * Stops the workers, closing their standard input. The workers are started
+   * again by the next evaluation.
+   */
+  public synchronized void shutdown() {
+    if (workers_ == null)
+      return;
+
+    for (Worker worker : workers_)
+      worker.stop();
+    executor_.shutdown();
+
+    workers_  = null;
+    idle_     = null;
+    executor_ = null;
+  } // shutdown
+
+  /**
+   * Returns the values of the decision variables of a solution, as sent to
+   * the workers. By default, the genome must be a <code>RealVector</code>, or
+   * its variables must be <code>VariableValue</code>s.
+   * @param solution The solution.
+   * @return The values of the decision variables.
+   * @throws JMException
+   */
+  protected double [] getVariables(Solution<T> solution) throws JMException {
+    List<T> variables = solution.getDecisionVariables().variables_;
+    if (variables instanceof RealVector)
+      return ((RealVector) variables).getValues();
+
+    double [] x = new double[variables.size()];
+    for (int i = 0; i < x.length; i++) {
+      if (!(variables.get(i) instanceof VariableValue))
+        throw new JMException("ExternalProblem: the decision variables must have a value");
+
+      x[i] = ((VariableValue) variables.get(i)).getValue();
+    } // for
+    return x;
+  } // getVariables
+
+  /**
+   * Starts the workers, if they are not running.
+   * @throws JMException
+   */
+  private synchronized void start() throws JMException {
+    if (workers_ != null)
+      return;
+
+    List<Worker> workers = new ArrayList<Worker>(numberOfWorkers_);
+    try {
+      for (int i = 0; i < numberOfWorkers_; i++) {
+        Worker worker = new Worker(i);
+        workers.add(worker);
+        worker.start();
+      } // for
+    } catch (IOException e) {
+      for (Worker worker : workers)
+        worker.stop();
+      throw new JMException("ExternalProblem: cannot start " + command_[0] + ": " + e.getMessage());
+    } // try
+
+    workers_  = workers;
+    idle_     = new LinkedBlockingQueue<Worker>(workers);
+    executor_ = Executors.newCachedThreadPool(new ThreadFactory() {
+      public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, "jMetal-external");
+        t.setDaemon(true);
+        return t;
+      }
+    });
+  } // start
+
+  /**
+   * Takes an idle worker, waiting for one if all are busy.
+   * @return The worker.
+   * @throws JMException
+   */
+  private Worker acquire() throws JMException {
+    start();
+    try {
+      return idle_.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new JMException(e);
+    } // try
+  } // acquire
+
+  /**
+   * Evaluates a batch on a worker, restarting the worker if it crashes.
+   * @param worker The worker.
+   * @param batch The solutions to evaluate.
+   * @throws JMException
+   */
+  private void evaluate(Worker worker, List<Solution<T>> batch) throws JMException {
+    for (int attempt = 0; ; attempt++) {
+      try {
+        worker.evaluate(batch);
+        evaluations_.addAndGet(batch.size());
+        return;
+      } catch (IOException e) {
+        if (attempt >= maxRetries_) {
+          worker.stop();
+          throw new JMException("ExternalProblem: worker " + worker.index_ + " failed " + (attempt + 1) + " times: " + e);
+        } // if
+
+        restarts_.incrementAndGet();
+        worker.stop();
+        try {
+          worker.start();
+        } catch (IOException e1) {
+          throw new JMException("ExternalProblem: cannot restart " + command_[0] + ": " + e1.getMessage());
+        } // try
+      } // try
+    } // for
+  } // evaluate
+
+  /**
+   * A worker process.
+   */
+  private class Worker {
+
+    private final int index_;
+    private Process process_;
+    private DataOutputStream out_;
+    private DataInputStream in_;
+
+    Worker(int index) {
+      index_ = index;
+    } // Worker
+
+    /**
+     * Starts the process, copying its standard error to the one of jMetal.
+     */
+    void start() throws IOException {
+      process_ = new ProcessBuilder(command_).start();
+      out_ = new DataOutputStream(new BufferedOutputStream(process_.getOutputStream()));
+      in_  = new DataInputStream(new BufferedInputStream(process_.getInputStream()));
+
+      final InputStream err = process_.getErrorStream();
+      Thread t = new Thread("jMetal-external-stderr-" + index_) {
+        public void run() {
+          byte [] buffer = new byte[4096];
+          try {
+            for (int n = err.read(buffer); n >= 0; n = err.read(buffer))
+              System.err.write(buffer, 0, n);
+          } catch (IOException e) {
+            // the process is gone
+          } // try
+        }
+      };
+      t.setDaemon(true);
+      t.start();
+    } // start
+
+    /**
+     * Closes the standard input of the process, and kills it.
+     */
+    void stop() {
+      if (process_ == null)
+        return;
+
+      try {
+        out_.close();
+      } catch (IOException e) {
+        // the process is gone
+      } // try
+      process_.destroy();
+      process_ = null;
+    } // stop
+
+    /**
+     * Sends a batch to the process and reads the results; the solutions are
+     * updated only if all the results are read. The process is started if
+     * it has been stopped.
+     */
+    void evaluate(List<Solution<T>> batch) throws IOException, JMException {
+      int n = batch.size();
+      int v = numberOfVariables_;
+      int m = numberOfObjectives_;
+      int c = numberOfConstraints_;
+
+      // Nothing is sent unless all the variables are valid
+      double [][] x = new double[n][];
+      for (int j = 0; j < n; j++) {
+        x[j] = getVariables(batch.get(j));
+        if (x[j].length != v)
+          throw new JMException("ExternalProblem: expected " + v + " variables, found " + x[j].length);
+      } // for
+
+      if (process_ == null)
+        start();
+
+      out_.writeInt(n);
+      out_.writeInt(v);
+      for (int j = 0; j < n; j++)
+        for (int i = 0; i < v; i++)
+          out_.writeDouble(x[j][i]);
+      out_.flush();
+
+      int answered = in_.readInt();
+      if (answered != n)
+        throw new IOException("protocol error: " + answered + " results for " + n + " solutions");
+
+      double [] results = new double[n * (m + c)];
+      for (int i = 0; i < results.length; i++)
+        results[i] = in_.readDouble();
+
+      for (int j = 0, offset = 0; j < n; j++) {
+        Solution<T> solution = batch.get(j);
+        for (int i = 0; i < m; i++)
+          solution.setObjective(i, results[offset++]);
+
+        double violation = 0.0;
+        int violated = 0;
+        for (int i = 0; i < c; i++) {
+          double constraint = results[offset++];
+          if (constraint < 0.0) {
+            violation += constraint;
+            violated++;
+          } // if
+        } // for
+        solution.setOverallConstraintViolation(violation);
+        solution.setNumberOfViolatedConstraint(violated);
+      } // for
+    } // evaluate
+  } // Worker
+} // ExternalProblem
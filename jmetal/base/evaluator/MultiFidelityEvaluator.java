@@ -0,0 +1,269 @@
+/**
+ * MultiFidelityEvaluator.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.base.evaluator;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jmetal.base.Problem;
+import jmetal.base.Solution;
+import jmetal.base.SolutionSet;
+import jmetal.base.Variable;
+import jmetal.util.CrowdingTruncation;
+import jmetal.util.Distance;
+import jmetal.util.JMException;
+import jmetal.util.Ranking;
+
+/**
+ * This class decorates a problem providing cheap approximations of its
+ * objectives (see <code>Problem.getNumberOfFidelityLevels</code>). The
+ * solutions of a <code>SolutionSet</code> are evaluated at the lowest
+ * fidelity level, and a <code>Promotion</code> policy selects the ones which
+ * are evaluated again at full fidelity (e.g., the non-dominated ones); both
+ * passes are batches of the decorated problem (see
+ * <code>Problem.evaluate(SolutionSet, int)</code>), which can be evaluated
+ * in parallel by an evaluator wrapping the problem (e.g.,
+ * <code>ParallelEvaluator</code>). Single solutions are evaluated at full
+ * fidelity.
+ * The solutions which are not promoted keep their approximate objectives and
+ * constraint violation, and they are marked (see
+ * <code>Solution.isObjectivesSkipped</code>), so that
+ * <code>DominanceComparator</code> ranks them below the solutions evaluated
+ * at full fidelity: they do not enter the archives, and they are discarded by
+ * the rankings unless they are needed to fill a population.
+ * The evaluations of a set are counted in units of full-fidelity
+ * evaluations, a low-fidelity evaluation costing a given fraction of a unit,
+ * so that the maximum number of evaluations of the algorithms keeps its
+ * meaning; the evaluations done at each level are counted separately.
+ */
+public class MultiFidelityEvaluator<T extends Variable> extends Problem<T> {
+
+  private static final long serialVersionUID = 4484640312694817905L;
+
+  /**
+   * A policy selecting the solutions to evaluate at full fidelity.
+   */
+  public interface Promotion<T extends Variable> extends Serializable {
+
+    /**
+     * Selects the solutions to evaluate at full fidelity.
+     * @param set The solutions, evaluated at low fidelity (objectives and
+     * constraints).
+     * @return The solutions to promote.
+     */
+    public SolutionSet<T> select(SolutionSet<T> set);
+  } // Promotion
+
+  /**
+   * Promotes the solutions which are non-dominated at low fidelity.
+   */
+  public static class NonDominated<T extends Variable> implements Promotion<T> {
+
+    private static final long serialVersionUID = -4011760587474049227L;
+
+    public SolutionSet<T> select(SolutionSet<T> set) {
+      return new Ranking<T>(set).getSubfront(0);
+    } // select
+  } // NonDominated
+
+  /**
+   * Promotes a fraction of the solutions, taking the best ones at low
+   * fidelity according to their rank and crowding distance.
+   */
+  public static class TopFraction<T extends Variable> implements Promotion<T> {
+
+    private static final long serialVersionUID = 8092950637591000372L;
+
+    private final double fraction_;
+
+    /**
+     * Constructor.
+     * @param fraction The fraction (in (0, 1]) of the solutions to promote.
+     */
+    public TopFraction(double fraction) {
+      if (!(fraction > 0 && fraction <= 1))
+        throw new IllegalArgumentException("The fraction must be in (0, 1]: " + fraction);
+
+      fraction_ = fraction;
+    } // TopFraction
+
+    public SolutionSet<T> select(SolutionSet<T> set) {
+      int remain = Math.max(1, (int) Math.ceil(fraction_ * set.size()));
+      SolutionSet<T> selected = new SolutionSet<T>(remain);
+
+      Ranking<T> ranking = new Ranking<T>(set);
+      for (int i = 0; remain > 0; i++) {
+        SolutionSet<T> front = ranking.getSubfront(i);
+        if (front.size() <= remain) {
+          for (int j = 0; j < front.size(); j++)
+            selected.add(front.get(j));
+        } else {
+          Distance.crowdingDistanceAssignment(front, front.get(0).numberOfObjectives());
+          int [] best = CrowdingTruncation.selectBest(front, remain);
+          for (int j = 0; j < remain; j++)
+            selected.add(front.get(best[j]));
+        } // if
+        remain -= Math.min(remain, front.size());
+      } // for
+
+      return selected;
+    } // select
+  } // TopFraction
+
+  /**
+   * The decorated problem
+   */
+  private final Problem<T> problem_;
+
+  /**
+   * The policy selecting the solutions to evaluate at full fidelity
+   */
+  private final Promotion<T> promotion_;
+
+  /**
+   * The cost of a low-fidelity evaluation, in units of full-fidelity
+   * evaluations
+   */
+  private final double lowFidelityCost_;
+
+  /**
+   * The number of evaluations done at low and at full fidelity
+   */
+  private final AtomicLong lowFidelityEvaluations_  = new AtomicLong();
+  private final AtomicLong fullFidelityEvaluations_ = new AtomicLong();
+
+  /**
+   * The cost of the evaluations of sets, and the part of it already
+   * returned by <code>evaluate(SolutionSet)</code>
+   */
+  private double cost_;
+  private long charged_;
+
+  /**
+   * Constructor.
+   * @param problem The problem to decorate, having at least two fidelity
+   * levels.
+   * @param promotion The policy selecting the solutions to evaluate at full
+   * fidelity.
+   * @param lowFidelityCost The cost (in [0, 1]) of a low-fidelity evaluation,
+   * in units of full-fidelity evaluations.
+   */
+  public MultiFidelityEvaluator(Problem<T> problem, Promotion<T> promotion, double lowFidelityCost) {
+    if (problem.getNumberOfFidelityLevels() < 2)
+      throw new IllegalArgumentException("The problem " + problem.getName() + " has a single fidelity level");
+    if (!(lowFidelityCost >= 0 && lowFidelityCost <= 1))
+      throw new IllegalArgumentException("The cost of a low-fidelity evaluation must be in [0, 1]: " + lowFidelityCost);
+
+    problem_         = problem;
+    promotion_       = promotion;
+    lowFidelityCost_ = lowFidelityCost;
+
+    numberOfVariables_   = problem.getNumberOfVariables();
+    numberOfObjectives_  = problem.getNumberOfObjectives();
+    numberOfConstraints_ = problem.getNumberOfConstraints();
+    problemName_         = problem.getName();
+  } // MultiFidelityEvaluator
+
+  /**
+   * Returns the decorated problem.
+   * @return The problem.
+   */
+  public Problem<T> getProblem() {
+    return problem_;
+  } // getProblem
+
+  /**
+   * Returns the number of low-fidelity evaluations done so far.
+   * @return The number of evaluations.
+   */
+  public long getLowFidelityEvaluations() {
+    return lowFidelityEvaluations_.get();
+  } // getLowFidelityEvaluations
+
+  /**
+   * Returns the number of full-fidelity evaluations done so far.
+   * @return The number of evaluations.
+   */
+  public long getFullFidelityEvaluations() {
+    return fullFidelityEvaluations_.get();
+  } // getFullFidelityEvaluations
+
+  /**
+   * Returns the overall cost of the evaluations done so far, in units of
+   * full-fidelity evaluations.
+   * @return The cost.
+   */
+  public double getCost() {
+    return fullFidelityEvaluations_.get() + lowFidelityCost_ * lowFidelityEvaluations_.get();
+  } // getCost
+
+  /**
+   * Evaluates a <code>Solution</code> at full fidelity.
+   * @param solution The <code>Solution</code> to evaluate.
+   */
+  public void evaluate(Solution<T> solution) throws JMException {
+    problem_.evaluate(solution);
+    solution.setObjectivesSkipped(false);
+    fullFidelityEvaluations_.incrementAndGet();
+  } // evaluate
+
+  /**
+   * Evaluates the overall constraint violation of a <code>Solution</code>.
+   * @param solution The <code>Solution</code> to evaluate.
+   */
+  public void evaluateConstraints(Solution<T> solution) throws JMException {
+    problem_.evaluateConstraints(solution);
+  } // evaluateConstraints
+
+  /**
+   * Evaluates a set of <code>Solution</code>s at low fidelity, and the
+   * promoted ones at full fidelity (objectives and constraints).
+   * @param set The set of <code>Solution</code>s to evaluate.
+   * @return the cost of the evaluations, in units of full-fidelity
+   * evaluations (the fractional part is carried over to the next sets)
+   */
+  public int evaluate(SolutionSet<T> set) throws JMException {
+    problem_.evaluate(set, 0);
+    for (int i = 0; i < set.size(); i++)
+      set.get(i).setObjectivesSkipped(false);
+    lowFidelityEvaluations_.addAndGet(set.size());
+
+    SolutionSet<T> promoted = promotion_.select(set);
+    problem_.evaluate(promoted);
+    fullFidelityEvaluations_.addAndGet(promoted.size());
+
+    Set<Solution<T>> full = Collections.newSetFromMap(new IdentityHashMap<Solution<T>, Boolean>());
+    for (int i = 0; i < promoted.size(); i++)
+      full.add(promoted.get(i));
+    for (int i = 0; i < set.size(); i++)
+      set.get(i).setObjectivesSkipped(!full.contains(set.get(i)));
+
+    synchronized (this) {
+      cost_ += promoted.size() + lowFidelityCost_ * set.size();
+      long units = (long) Math.floor(cost_ + 1e-9) - charged_;
+      charged_ += units;
+      return (int) units;
+    } // synchronized
+  } // evaluate
+
+  public boolean hasIndependentConstraints() {
+    return problem_.hasIndependentConstraints();
+  } // hasIndependentConstraints
+
+  public List<T> generateNewDecisionVariable() {
+    return problem_.generateNewDecisionVariable();
+  } // generateNewDecisionVariable
+
+  public void setCurrentGeneration(int currentGeneration) {
+    problem_.setCurrentGeneration(currentGeneration);
+    this.currentGeneration = currentGeneration;
+  } // setCurrentGeneration
+} // MultiFidelityEvaluator
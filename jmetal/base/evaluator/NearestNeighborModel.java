@@ -0,0 +1,139 @@
+/**
+ * NearestNeighborModel.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.base.evaluator;
+
+/**
+ * This class implements a k-nearest-neighbor surrogate model: the predicted
+ * objectives are the average of the objectives of the k nearest samples,
+ * weighted by the inverse of their distance. The model keeps the most recent
+ * samples in a ring buffer of bounded capacity, packed row by row, hence
+ * adding a sample takes constant time whatever the number of solutions
+ * evaluated so far, and a prediction scans at most <code>capacity</code>
+ * samples.
+ */
+public class NearestNeighborModel implements SurrogateModel {
+
+  private static final long serialVersionUID = 2203418739262911347L;
+
+  /**
+   * The number of neighbors used by a prediction
+   */
+  private final int k_;
+
+  /**
+   * The maximum number of samples
+   */
+  private final int capacity_;
+
+  /**
+   * The number of decision variables and of objectives (set by the first
+   * sample)
+   */
+  private int numberOfVariables_, numberOfObjectives_;
+
+  /**
+   * The decision variables and the objectives of the samples, packed
+   */
+  private double [] variables_, objectives_;
+
+  /**
+   * The number of samples
+   */
+  private int size_;
+
+  /**
+   * The slot receiving the next sample
+   */
+  private int next_;
+
+  /**
+   * Constructor.
+   * @param k The number of neighbors used by a prediction.
+   * @param capacity The maximum number of samples: when it is reached, the
+   * oldest ones are replaced.
+   */
+  public NearestNeighborModel(int k, int capacity) {
+    if (k < 1 || capacity < k)
+      throw new IllegalArgumentException("Invalid number of neighbors (" + k + ") or capacity (" + capacity + ")");
+
+    k_        = k;
+    capacity_ = capacity;
+  } // NearestNeighborModel
+
+  public void add(double [] x, double [] f) {
+    if (variables_ == null) {
+      numberOfVariables_  = x.length;
+      numberOfObjectives_ = f.length;
+      variables_  = new double[capacity_ * numberOfVariables_];
+      objectives_ = new double[capacity_ * numberOfObjectives_];
+    } // if
+
+    System.arraycopy(x, 0, variables_, next_ * numberOfVariables_, numberOfVariables_);
+    System.arraycopy(f, 0, objectives_, next_ * numberOfObjectives_, numberOfObjectives_);
+
+    next_ = (next_ + 1) % capacity_;
+    if (size_ < capacity_)
+      size_++;
+  } // add
+
+  public void predict(double [] x, double [] f) {
+    if (!isReady())
+      throw new IllegalStateException("The model has " + size_ + " samples, " + k_ + " are needed");
+
+    // The k nearest samples, sorted by increasing distance
+    double [] distance = new double[k_];
+    int [] sample = new int[k_];
+    int found = 0;
+
+    int d = numberOfVariables_;
+    for (int j = 0, offset = 0; j < size_; j++, offset += d) {
+      double dist = 0.0;
+      for (int i = 0; i < d; i++) {
+        double diff = x[i] - variables_[offset + i];
+        dist += diff * diff;
+      } // for
+
+      if (found == k_ && dist >= distance[k_ - 1])
+        continue;
+
+      int pos = (found < k_) ? found++ : k_ - 1;
+      while (pos > 0 && distance[pos - 1] > dist) {
+        distance[pos] = distance[pos - 1];
+        sample[pos]   = sample[pos - 1];
+        pos--;
+      } // while
+      distance[pos] = dist;
+      sample[pos]   = j;
+    } // for
+
+    int m = numberOfObjectives_;
+    if (distance[0] == 0.0) { // a sample has the same decision variables
+      System.arraycopy(objectives_, sample[0] * m, f, 0, m);
+      return;
+    } // if
+
+    double weights = 0.0;
+    for (int i = 0; i < m; i++)
+      f[i] = 0.0;
+    for (int n = 0; n < k_; n++) {
+      double w = 1.0 / Math.sqrt(distance[n]);
+      weights += w;
+      for (int i = 0; i < m; i++)
+        f[i] += w * objectives_[sample[n] * m + i];
+    } // for
+    for (int i = 0; i < m; i++)
+      f[i] /= weights;
+  } // predict
+
+  public boolean isReady() {
+    return size_ >= k_;
+  } // isReady
+
+  public int size() {
+    return size_;
+  } // size
+} // NearestNeighborModel
@@ -0,0 +1,274 @@
+/**
+ * ParallelEvaluator.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.base.evaluator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jmetal.base.Problem;
+import jmetal.base.Solution;
+import jmetal.base.SolutionSet;
+import jmetal.base.Variable;
+import jmetal.util.JMException;
+import jmetal.util.PseudoRandom;
+import jmetal.util.RandomStream;
+
+/**
+ * This class decorates a problem, evaluating the solutions of a
+ * <code>SolutionSet</code> in parallel on an executor. Each task evaluates
+ * both the objectives and the constraints of a solution; tasks take the
+ * solutions to evaluate from a shared counter, so that the load is balanced
+ * even if the evaluation times differ. Single solutions are evaluated by the
+ * calling thread.
+ * The decorated problem must be thread-safe (its evaluation must not modify
+ * shared state), and it is seen by the algorithms as a plain
+ * <code>Problem</code>: algorithms requiring a <code>ProblemValue</code>
+ * cannot use it.
+ * The executor can be given (e.g., a <code>ForkJoinPool</code> or an
+ * executor of virtual threads, on the JVMs providing them), or it is a pool
+ * of daemon threads owned by the evaluator.
+ * In deterministic mode (see <code>PseudoRandom.isDeterministic</code>) the
+ * evaluation of each solution of a set draws from a stream keyed by its index
+ * in the set, hence the results of a problem drawing random numbers do not
+ * depend on the number of threads.
+ */
+public class ParallelEvaluator<T extends Variable> extends Problem<T> {
+
+  private static final long serialVersionUID = -5173925463081375283L;
+
+  /**
+   * The decorated problem
+   */
+  private final Problem<T> problem_;
+
+  /**
+   * The executor evaluating the solutions
+   */
+  private transient ExecutorService executor_;
+
+  /**
+   * True if the executor has been created by the evaluator
+   */
+  private final boolean ownExecutor_;
+
+  /**
+   * The number of tasks used to evaluate a <code>SolutionSet</code>
+   */
+  private final int parallelism_;
+
+  /**
+   * The number of evaluations done
+   */
+  private final AtomicLong evaluations_ = new AtomicLong();
+
+  /**
+   * Constructor. Creates a pool of daemon threads, which is released by
+   * <code>shutdown</code>.
+   * @param problem The problem to decorate.
+   * @param numberOfThreads The number of threads.
+   */
+  public ParallelEvaluator(Problem<T> problem, int numberOfThreads) {
+    this(problem, Executors.newFixedThreadPool(numberOfThreads, new ThreadFactory() {
+      public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, "jMetal-evaluator");
+        t.setDaemon(true);
+        return t;
+      }
+    }), numberOfThreads, true);
+  } // ParallelEvaluator
+
+  /**
+   * Constructor.
+   * @param problem The problem to decorate.
+   * @param executor The executor evaluating the solutions (it is not shut
+   * down by the evaluator).
+   * @param parallelism The number of tasks used to evaluate a
+   * <code>SolutionSet</code> (e.g., the number of threads of the executor).
+   */
+  public ParallelEvaluator(Problem<T> problem, ExecutorService executor, int parallelism) {
+    this(problem, executor, parallelism, false);
+  } // ParallelEvaluator
+
+  private ParallelEvaluator(Problem<T> problem, ExecutorService executor, int parallelism, boolean ownExecutor) {
+    problem_     = problem;
+    executor_    = executor;
+    parallelism_ = parallelism;
+    ownExecutor_ = ownExecutor;
+
+    numberOfVariables_   = problem.getNumberOfVariables();
+    numberOfObjectives_  = problem.getNumberOfObjectives();
+    numberOfConstraints_ = problem.getNumberOfConstraints();
+    problemName_         = problem.getName();
+  } // ParallelEvaluator
+
+  /**
+   * Returns the decorated problem.
+   * @return The problem.
+   */
+  public Problem<T> getProblem() {
+    return problem_;
+  } // getProblem
+
+  /**
+   * Returns the number of tasks used to evaluate a <code>SolutionSet</code>.
+   * @return The number of tasks.
+   */
+  public int getParallelism() {
+    return parallelism_;
+  } // getParallelism
+
+  /**
+   * Returns the number of evaluations completed so far.
+   * @return The number of evaluations.
+   */
+  public long getEvaluations() {
+    return evaluations_.get();
+  } // getEvaluations
+
+  /**
+   * Evaluates a <code>Solution</code> object, in the calling thread.
+   * @param solution The <code>Solution</code> to evaluate.
+   */
+  public void evaluate(Solution<T> solution) throws JMException {
+    problem_.evaluate(solution);
+    evaluations_.incrementAndGet();
+  } // evaluate
+
+  /**
+   * Evaluates the overall constraint violation of a <code>Solution</code>,
+   * in the calling thread.
+   * @param solution The <code>Solution</code> to evaluate.
+   */
+  public void evaluateConstraints(Solution<T> solution) throws JMException {
+    problem_.evaluateConstraints(solution);
+  } // evaluateConstraints
+
+  /**
+   * Evaluates the objectives and the constraints of a set of
+   * <code>Solution</code>s in parallel. If an evaluation fails, the
+   * remaining solutions are not evaluated and its exception is thrown.
+   * @param set The set of <code>Solution</code>s to evaluate.
+   * @return the number of evaluations done
+   */
+  public int evaluate(SolutionSet<T> set) throws JMException {
+    return evaluate(set, getNumberOfFidelityLevels() - 1);
+  } // evaluate
+
+  /**
+   * Evaluates the objectives at a given fidelity level and the constraints of
+   * a set of <code>Solution</code>s in parallel, as
+   * <code>evaluate(SolutionSet)</code> does; only the exact evaluations are
+   * counted.
+   * @param set The set of <code>Solution</code>s to evaluate.
+   * @param fidelity The fidelity level.
+   * @return the number of evaluations done
+   */
+  public int evaluate(final SolutionSet<T> set, final int fidelity) throws JMException {
+    final int n = set.size();
+    final long batch = PseudoRandom.newBatch();
+    final boolean exact = fidelity == getNumberOfFidelityLevels() - 1;
+    int nTasks = Math.min(n, parallelism_);
+    if (nTasks <= 1 && !PseudoRandom.isDeterministic())
+      return super.evaluate(set, fidelity);
+
+    final AtomicInteger next = new AtomicInteger();
+    List<Callable<Object>> tasks = new ArrayList<Callable<Object>>(nTasks);
+    for (int t = 0; t < nTasks; t++) {
+      tasks.add(new Callable<Object>() {
+        public Object call() throws Exception {
+          try {
+            for (int i = next.getAndIncrement(); i < n; i = next.getAndIncrement()) {
+              Solution<T> solution = set.get(i);
+              RandomStream stream = PseudoRandom.beginTask(batch, i);
+              try {
+                if (exact)
+                  problem_.evaluate(solution);
+                else
+                  problem_.evaluate(solution, fidelity);
+                problem_.evaluateConstraints(solution);
+              } finally {
+                PseudoRandom.endTask(stream);
+              } // try
+              if (exact)
+                evaluations_.incrementAndGet();
+            } // for
+          } catch (Exception e) {
+            next.set(n); // the other tasks stop
+            throw e;
+          } // try
+          return null;
+        }
+      });
+    } // for
+
+    try {
+      for (Future<Object> f : executor_.invokeAll(tasks))
+        f.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new JMException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof JMException)
+        throw (JMException) cause;
+      if (cause instanceof RuntimeException)
+        throw (RuntimeException) cause;
+      if (cause instanceof Error)
+        throw (Error) cause;
+      throw new JMException(cause);
+    } // try
+
+    return n;
+  } // evaluate
+
+  public boolean hasIndependentConstraints() {
+    return problem_.hasIndependentConstraints();
+  } // hasIndependentConstraints
+
+  public int getNumberOfFidelityLevels() {
+    return problem_.getNumberOfFidelityLevels();
+  } // getNumberOfFidelityLevels
+
+  /**
+   * Evaluates a <code>Solution</code> at a given fidelity level: the exact
+   * evaluations are done as by <code>evaluate(Solution)</code>, the
+   * approximate ones by the decorated problem, in the calling thread.
+   * @param solution The <code>Solution</code> to evaluate.
+   * @param fidelity The fidelity level.
+   */
+  public void evaluate(Solution<T> solution, int fidelity) throws JMException {
+    if (fidelity == getNumberOfFidelityLevels() - 1)
+      evaluate(solution);
+    else
+      problem_.evaluate(solution, fidelity);
+  } // evaluate
+
+  public List<T> generateNewDecisionVariable() {
+    return problem_.generateNewDecisionVariable();
+  } // generateNewDecisionVariable
+
+  public void setCurrentGeneration(int currentGeneration) {
+    problem_.setCurrentGeneration(currentGeneration);
+    this.currentGeneration = currentGeneration;
+  } // setCurrentGeneration
+
+  /**
+   * Shuts down the pool of threads created by the evaluator, if any.
+   */
+  public void shutdown() {
+    if (ownExecutor_)
+      executor_.shutdown();
+  } // shutdown
+} // ParallelEvaluator
@@ -0,0 +1,44 @@
+/**
+ * SurrogateModel.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.base.evaluator;
+
+import java.io.Serializable;
+
+/**
+ * This interface represents a cheap model of the objectives of a problem,
+ * learnt online from the solutions evaluated so far and used by
+ * <code>SurrogateScreening</code> to predict the objectives of the new ones.
+ * The decision variables are given as points of the unit hypercube.
+ */
+public interface SurrogateModel extends Serializable {
+
+  /**
+   * Adds an evaluated solution to the training samples of the model.
+   * @param x The normalized decision variables of the solution.
+   * @param f The objectives of the solution.
+   */
+  public void add(double [] x, double [] f);
+
+  /**
+   * Predicts the objectives of a solution.
+   * @param x The normalized decision variables of the solution.
+   * @param f Output array receiving the predicted objectives.
+   */
+  public void predict(double [] x, double [] f);
+
+  /**
+   * Indicates whether the model has enough samples to predict.
+   * @return true if the model can be used.
+   */
+  public boolean isReady();
+
+  /**
+   * Returns the number of training samples held by the model.
+   * @return The number of samples.
+   */
+  public int size();
+} // SurrogateModel
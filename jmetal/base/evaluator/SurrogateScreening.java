@@ -0,0 +1,450 @@
+/**
+ * SurrogateScreening.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.base.evaluator;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import jmetal.base.Problem;
+import jmetal.base.Solution;
+import jmetal.base.SolutionSet;
+import jmetal.base.Variable;
+import jmetal.base.VariableValue;
+import jmetal.base.archive.CrowdingArchive;
+import jmetal.util.JMException;
+
+/**
+ * This class screens the offsprings of an algorithm before evaluating them.
+ * A <code>SurrogateModel</code>, learnt from the solutions evaluated so far,
+ * predicts the objectives of the offsprings, and only the most promising ones
+ * are evaluated by the problem: the ones whose predicted objectives are
+ * dominated by the fewest feasible solutions of the front evaluated so far.
+ * The front is bounded, as a <code>CrowdingArchive</code>, and its
+ * dominance queries visit only the relevant leaves of its ND-Tree: updating
+ * it and screening an offspring do not slow down as the evaluations grow.
+ * The other offsprings are screened out: they receive penalty objectives
+ * (<code>Double.MAX_VALUE</code>, and the worst constraint violation if the
+ * problem is constrained), and they are marked (see
+ * <code>Solution.isObjectivesSkipped</code>), so that
+ * <code>DominanceComparator</code> ranks them below the evaluated solutions.
+ * Until the model is ready, all the offsprings are evaluated.
+ * The accuracy of the screening is measured on the evaluated offsprings: the
+ * mean absolute error of the predicted objectives, and how often the
+ * prediction tells correctly whether an offspring is dominated by the front.
+ * The decision variables must be <code>VariableValue</code>s; the screening is
+ * not thread-safe.
+ */
+public class SurrogateScreening<T extends Variable> implements Serializable {
+
+  private static final long serialVersionUID = -1939447254317462418L;
+
+  /**
+   * The default maximum size of the front
+   */
+  public static final int DEFAULT_FRONT_SIZE = 100;
+
+  /**
+   * The problem evaluating the solutions
+   */
+  private final Problem<T> problem_;
+
+  /**
+   * The model predicting the objectives
+   */
+  private final SurrogateModel model_;
+
+  /**
+   * The fraction of the offsprings evaluated by the problem
+   */
+  private final double fraction_;
+
+  /**
+   * The number of objectives
+   */
+  private final int numberOfObjectives_;
+
+  /**
+   * The objectives of the feasible non-dominated solutions evaluated so far,
+   * truncated by crowding distance
+   */
+  private final CrowdingArchive<T> front_;
+
+  /**
+   * The share of the offsprings screened one at a time which is still to
+   * be evaluated (see <code>evaluate(Solution, boolean)</code>)
+   */
+  private double credit_;
+
+  /**
+   * The last solution predicted one at a time, and its prediction
+   */
+  private transient Solution<T> lastSolution_;
+  private transient double [] lastPrediction_;
+
+  /**
+   * Statistics: evaluations, screened out offsprings, and evaluated
+   * offsprings whose objectives had been predicted
+   */
+  private long evaluations_, screenedOut_, checked_;
+
+  /**
+   * Statistics: the checked offsprings whose dominance by the front has been
+   * predicted correctly, and the ones predicted not to be dominated
+   * (correctly or not)
+   */
+  private long correct_, truePromising_, falsePromising_;
+
+  /**
+   * Statistics: sum of the absolute errors of the predicted objectives
+   */
+  private final double [] absoluteError_;
+
+  /**
+   * Constructor. The front keeps up to <code>DEFAULT_FRONT_SIZE</code>
+   * points.
+   * @param problem The problem evaluating the solutions.
+   * @param model The model predicting the objectives.
+   * @param fraction The fraction (in (0, 1]) of a set of offsprings evaluated
+   * by the problem.
+   */
+  public SurrogateScreening(Problem<T> problem, SurrogateModel model, double fraction) {
+    this(problem, model, fraction, DEFAULT_FRONT_SIZE);
+  } // SurrogateScreening
+
+  /**
+   * Constructor.
+   * @param problem The problem evaluating the solutions.
+   * @param model The model predicting the objectives.
+   * @param fraction The fraction (in (0, 1]) of a set of offsprings evaluated
+   * by the problem.
+   * @param frontSize The maximum number of points of the front.
+   */
+  public SurrogateScreening(Problem<T> problem, SurrogateModel model, double fraction, int frontSize) {
+    if (!(fraction > 0 && fraction <= 1))
+      throw new IllegalArgumentException("The fraction must be in (0, 1]: " + fraction);
+
+    problem_            = problem;
+    model_              = model;
+    fraction_           = fraction;
+    numberOfObjectives_ = problem.getNumberOfObjectives();
+    front_              = new CrowdingArchive<T>(frontSize, numberOfObjectives_);
+    absoluteError_      = new double[numberOfObjectives_];
+  } // SurrogateScreening
+
+  /**
+   * Returns the problem evaluating the solutions.
+   * @return The problem.
+   */
+  public Problem<T> getProblem() {
+    return problem_;
+  } // getProblem
+
+  /**
+   * Returns the model predicting the objectives.
+   * @return The model.
+   */
+  public SurrogateModel getModel() {
+    return model_;
+  } // getModel
+
+  /**
+   * Indicates whether the model can predict the objectives.
+   * @return true if the offsprings are screened.
+   */
+  public boolean isReady() {
+    return model_.isReady();
+  } // isReady
+
+  /**
+   * Adds the solutions of a set, evaluated by the problem, to the model
+   * (e.g., the initial population).
+   * @param set The evaluated solutions.
+   * @throws JMException
+   */
+  public void learn(SolutionSet<T> set) throws JMException {
+    for (int i = 0; i < set.size(); i++)
+      learn(set.get(i));
+  } // learn
+
+  /**
+   * Adds a solution, evaluated by the problem, to the model and, if it is
+   * feasible and not dominated, to the front.
+   * @param solution The evaluated solution.
+   * @throws JMException
+   */
+  public void learn(Solution<T> solution) throws JMException {
+    if (solution.isObjectivesSkipped())
+      return;
+
+    double [] f = solution.getObjectives();
+    model_.add(features(solution), f);
+
+    if (solution.getOverallConstraintViolation() < 0)
+      return;
+
+    // The front keeps the objectives only
+    Solution<T> point = new Solution<T>(numberOfObjectives_);
+    for (int i = 0; i < numberOfObjectives_; i++)
+      point.setObjective(i, f[i]);
+    front_.add(point);
+  } // learn
+
+  /**
+   * Screens a set of offsprings: the most promising ones are evaluated
+   * (objectives and constraints), and the others are screened out.
+   * @param set The offsprings.
+   * @return the number of evaluations done
+   * @throws JMException
+   */
+  public int evaluate(SolutionSet<T> set) throws JMException {
+    int n = set.size();
+    if (n == 0)
+      return 0;
+
+    if (!model_.isReady()) {
+      problem_.evaluate(set);
+      for (int i = 0; i < n; i++) {
+        set.get(i).setObjectivesSkipped(false);
+        learn(set.get(i));
+      } // for
+      evaluations_ += n;
+      return n;
+    } // if
+
+    // Predict the objectives, and count the points of the front dominating
+    // them
+    final double [][] predicted = new double[n][numberOfObjectives_];
+    final int [] dominating = new int[n];
+    Integer [] order = new Integer[n];
+    for (int i = 0; i < n; i++) {
+      model_.predict(features(set.get(i)), predicted[i]);
+      dominating[i] = countDominating(predicted[i]);
+      order[i] = i;
+    } // for
+
+    Arrays.sort(order, new Comparator<Integer>() {
+      public int compare(Integer o1, Integer o2) {
+        return dominating[o1] - dominating[o2];
+      }
+    });
+
+    // Evaluate the most promising ones
+    int selected = Math.max(1, (int) Math.ceil(fraction_ * n));
+    SolutionSet<T> promising = new SolutionSet<T>(selected);
+    for (int i = 0; i < selected; i++)
+      promising.add(set.get(order[i]));
+    problem_.evaluate(promising);
+    evaluations_ += selected;
+
+    // Check the predictions against the front before updating it
+    for (int i = 0; i < selected; i++)
+      check(set.get(order[i]), predicted[order[i]]);
+    for (int i = 0; i < selected; i++) {
+      set.get(order[i]).setObjectivesSkipped(false);
+      learn(set.get(order[i]));
+    } // for
+
+    for (int i = selected; i < n; i++)
+      screenOut(set.get(order[i]));
+
+    return selected;
+  } // evaluate
+
+  /**
+   * Predicts the objectives of an offspring, e.g., to decide whether it is
+   * promising for the algorithm.
+   * @param solution The offspring.
+   * @return The predicted objectives.
+   * @throws JMException
+   */
+  public double [] predict(Solution<T> solution) throws JMException {
+    double [] f = new double[numberOfObjectives_];
+    model_.predict(features(solution), f);
+
+    lastSolution_   = solution;
+    lastPrediction_ = f;
+    return f.clone();
+  } // predict
+
+  /**
+   * Screens an offspring, which is evaluated if the model is not ready, if
+   * it is promising, or if less than the given fraction of the offsprings
+   * screened one at a time has been evaluated so far.
+   * @param solution The offspring.
+   * @param promising True if the algorithm deems the offspring promising
+   * (e.g., according to its predicted objectives).
+   * @return true if the offspring has been evaluated (objectives and
+   * constraints), false if it has been screened out.
+   * @throws JMException
+   */
+  public boolean evaluate(Solution<T> solution, boolean promising) throws JMException {
+    if (!model_.isReady()) {
+      evaluateAndLearn(solution, null);
+      return true;
+    } // if
+
+    credit_ += fraction_;
+    if (!promising && credit_ < 1) {
+      screenOut(solution);
+      return false;
+    } // if
+
+    credit_ = Math.max(0.0, credit_ - 1);
+
+    double [] predicted;
+    if (solution == lastSolution_) {
+      predicted = lastPrediction_;
+    } else {
+      predicted = new double[numberOfObjectives_];
+      model_.predict(features(solution), predicted);
+    } // if
+
+    evaluateAndLearn(solution, predicted);
+    return true;
+  } // evaluate
+
+  /**
+   * Screens an offspring, which is promising if its predicted objectives are
+   * not dominated by the front (see <code>evaluate(Solution, boolean)</code>).
+   * @param solution The offspring.
+   * @return true if the offspring has been evaluated, false if it has been
+   * screened out.
+   * @throws JMException
+   */
+  public boolean evaluate(Solution<T> solution) throws JMException {
+    if (!model_.isReady())
+      return evaluate(solution, true);
+
+    return evaluate(solution, countDominating(predict(solution)) == 0);
+  } // evaluate
+
+  /**
+   * Returns the number of evaluations done so far.
+   * @return The number of evaluations.
+   */
+  public long getEvaluations() {
+    return evaluations_;
+  } // getEvaluations
+
+  /**
+   * Returns the number of offsprings screened out so far.
+   * @return The number of offsprings.
+   */
+  public long getScreenedOut() {
+    return screenedOut_;
+  } // getScreenedOut
+
+  /**
+   * Returns the fraction of the evaluated offsprings whose dominance by the
+   * front had been predicted correctly.
+   * @return The accuracy, or NaN if no prediction has been checked.
+   */
+  public double getAccuracy() {
+    return (double) correct_ / checked_;
+  } // getAccuracy
+
+  /**
+   * Returns the fraction of the evaluated offsprings predicted not to be
+   * dominated by the front which are actually not dominated.
+   * @return The precision, or NaN if no offspring has been predicted not to
+   * be dominated.
+   */
+  public double getPrecision() {
+    return (double) truePromising_ / (truePromising_ + falsePromising_);
+  } // getPrecision
+
+  /**
+   * Returns the mean absolute error of the predicted values of an objective,
+   * measured on the evaluated offsprings.
+   * @param objective The index of the objective.
+   * @return The mean absolute error, or NaN if no prediction has been
+   * checked.
+   */
+  public double getMeanAbsoluteError(int objective) {
+    return absoluteError_[objective] / checked_;
+  } // getMeanAbsoluteError
+
+  /**
+   * Evaluates an offspring, checks its prediction (if any) and adds it to
+   * the model.
+   */
+  private void evaluateAndLearn(Solution<T> solution, double [] predicted) throws JMException {
+    problem_.evaluate(solution);
+    problem_.evaluateConstraints(solution);
+    solution.setObjectivesSkipped(false);
+    evaluations_++;
+
+    if (predicted != null)
+      check(solution, predicted);
+    learn(solution);
+  } // evaluateAndLearn
+
+  /**
+   * Updates the accuracy statistics with an evaluated offspring.
+   */
+  private void check(Solution<T> solution, double [] predicted) {
+    checked_++;
+    for (int i = 0; i < numberOfObjectives_; i++)
+      absoluteError_[i] += Math.abs(solution.getObjective(i) - predicted[i]);
+
+    boolean predictedPromising = countDominating(predicted) == 0;
+    boolean actualPromising    = countDominating(solution.getObjectives()) == 0;
+    if (predictedPromising == actualPromising)
+      correct_++;
+    if (predictedPromising) {
+      if (actualPromising)
+        truePromising_++;
+      else
+        falsePromising_++;
+    } // if
+  } // check
+
+  /**
+   * Counts the points of the front dominating the given objectives.
+   */
+  private int countDominating(double [] f) {
+    return front_.countDominating(f);
+  } // countDominating
+
+  /**
+   * Assigns the penalty objectives and constraint violation to an offspring
+   * which is not evaluated.
+   */
+  private void screenOut(Solution<T> solution) {
+    for (int i = 0; i < numberOfObjectives_; i++)
+      solution.setObjective(i, Double.MAX_VALUE);
+    if (problem_.getNumberOfConstraints() > 0) {
+      solution.setOverallConstraintViolation(-Double.MAX_VALUE);
+      solution.setNumberOfViolatedConstraint(problem_.getNumberOfConstraints());
+    } else {
+      solution.setOverallConstraintViolation(0.0);
+      solution.setNumberOfViolatedConstraint(0);
+    } // if
+    solution.setObjectivesSkipped(true);
+    screenedOut_++;
+  } // screenOut
+
+  /**
+   * Returns the decision variables of a solution, normalized in [0, 1].
+   */
+  private double [] features(Solution<T> solution) throws JMException {
+    List<T> variables = solution.getDecisionVariables().variables_;
+    double [] x = new double[variables.size()];
+    for (int i = 0; i < x.length; i++) {
+      if (!(variables.get(i) instanceof VariableValue))
+        throw new JMException("SurrogateScreening: the decision variables must have a value");
+
+      VariableValue v = (VariableValue) variables.get(i);
+      double lower = v.getLowerBound();
+      double upper = v.getUpperBound();
+      x[i] = (upper > lower) ? (v.getValue() - lower) / (upper - lower) : v.getValue();
+    } // for
+    return x;
+  } // features
+} // SurrogateScreening
@@ -0,0 +1,455 @@
+/**
+ * TimeoutEvaluator.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.base.evaluator;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jmetal.base.Problem;
+import jmetal.base.Solution;
+import jmetal.base.SolutionSet;
+import jmetal.base.Variable;
+import jmetal.util.JMException;
+import jmetal.util.PseudoRandom;
+import jmetal.util.RandomStream;
+
+/**
+ * This class decorates a problem with a watchdog, which bounds the time spent
+ * evaluating each solution. The evaluations run on threads owned by the
+ * watchdog, on a copy of the solution whose objectives and constraint
+ * violation are written back when the evaluation completes in time;
+ * otherwise, the evaluation is cancelled (its thread is interrupted and then
+ * abandoned, if it does not stop) and the solution receives the penalty
+ * objectives and constraint violation. The decorated problem must be
+ * thread-safe, and it must not modify the decision variables of the
+ * solutions.
+ * The solutions of a <code>SolutionSet</code> are evaluated (objectives and
+ * constraints) with up to <code>numberOfThreads</code> evaluations running at
+ * once: the time needed to evaluate a generation is bounded by the budget,
+ * rather than by its slowest solution. The objectives and the constraints of
+ * a single solution are evaluated separately, each one with the time budget;
+ * the constraints of a solution whose objectives timed out are not evaluated,
+ * and it keeps the penalty constraint violation.
+ * By default, the penalty objectives are <code>Double.MAX_VALUE</code> (the
+ * objectives are minimized) and the penalty constraint violation is
+ * <code>-Double.MAX_VALUE</code>, with all the constraints (at least one)
+ * violated; hence a solution which timed out is dominated by any solution
+ * evaluated in time.
+ * In deterministic mode (see <code>PseudoRandom.isDeterministic</code>) the
+ * evaluations draw from streams keyed by the solutions, but which of them
+ * time out still depends on the load of the machine.
+ */
+public class TimeoutEvaluator<T extends Variable> extends Problem<T> {
+
+  private static final long serialVersionUID = 6302779524167741493L;
+
+  /**
+   * The decorated problem
+   */
+  private final Problem<T> problem_;
+
+  /**
+   * The time budget of an evaluation, in nanoseconds
+   */
+  private final long timeout_;
+
+  /**
+   * The maximum number of evaluations running at once
+   */
+  private final int numberOfThreads_;
+
+  /**
+   * The executor running the evaluations: it creates a new thread when the
+   * others are busy, since a thread running an abandoned evaluation is lost
+   */
+  private transient ExecutorService executor_;
+
+  /**
+   * The objectives assigned to the solutions which timed out
+   */
+  private double [] penaltyObjectives_;
+
+  /**
+   * The constraint violation assigned to the solutions which timed out
+   */
+  private double penaltyConstraintViolation_;
+
+  /**
+   * The number of violated constraints assigned to the solutions which timed
+   * out
+   */
+  private int penaltyViolatedConstraints_;
+
+  /**
+   * The solutions whose objectives timed out, and whose constraints must not
+   * be evaluated
+   */
+  private transient Map<Solution<T>, Boolean> timedOut_ =
+    Collections.synchronizedMap(new WeakHashMap<Solution<T>, Boolean>());
+
+  /**
+   * The number of evaluations completed in time
+   */
+  private final AtomicLong evaluations_ = new AtomicLong();
+
+  /**
+   * The number of evaluations which timed out
+   */
+  private final AtomicLong timeouts_ = new AtomicLong();
+
+  /**
+   * Constructor.
+   * @param problem The problem to decorate.
+   * @param timeout The time budget of an evaluation.
+   * @param unit The unit of the time budget.
+   * @param numberOfThreads The maximum number of evaluations of a
+   * <code>SolutionSet</code> running at once.
+   */
+  public TimeoutEvaluator(Problem<T> problem, long timeout, TimeUnit unit, int numberOfThreads) {
+    problem_         = problem;
+    timeout_         = unit.toNanos(timeout);
+    numberOfThreads_ = Math.max(1, numberOfThreads);
+    executor_        = Executors.newCachedThreadPool(new ThreadFactory() {
+      public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, "jMetal-watchdog");
+        t.setDaemon(true);
+        return t;
+      }
+    });
+
+    numberOfVariables_   = problem.getNumberOfVariables();
+    numberOfObjectives_  = problem.getNumberOfObjectives();
+    numberOfConstraints_ = problem.getNumberOfConstraints();
+    problemName_         = problem.getName();
+
+    penaltyObjectives_ = new double[numberOfObjectives_];
+    Arrays.fill(penaltyObjectives_, Double.MAX_VALUE);
+    penaltyConstraintViolation_ = -Double.MAX_VALUE;
+    penaltyViolatedConstraints_ = Math.max(1, numberOfConstraints_);
+  } // TimeoutEvaluator
+
+  /**
+   * Sets the objectives assigned to the solutions which timed out.
+   * @param objectives The values of the objectives.
+   */
+  public void setPenaltyObjectives(double [] objectives) {
+    if (objectives.length != numberOfObjectives_)
+      throw new IllegalArgumentException("Expected " + numberOfObjectives_ + " objectives, found " + objectives.length);
+
+    penaltyObjectives_ = objectives.clone();
+  } // setPenaltyObjectives
+
+  /**
+   * Sets the constraint violation assigned to the solutions which timed out.
+   * @param overallConstraintViolation The overall constraint violation (a
+   * negative value).
+   * @param numberOfViolatedConstraints The number of violated constraints.
+   */
+  public void setPenaltyConstraintViolation(double overallConstraintViolation, int numberOfViolatedConstraints) {
+    penaltyConstraintViolation_ = overallConstraintViolation;
+    penaltyViolatedConstraints_ = numberOfViolatedConstraints;
+  } // setPenaltyConstraintViolation
+
+  /**
+   * Returns the decorated problem.
+   * @return The problem.
+   */
+  public Problem<T> getProblem() {
+    return problem_;
+  } // getProblem
+
+  /**
+   * Returns the number of evaluations completed in time so far.
+   * @return The number of evaluations.
+   */
+  public long getEvaluations() {
+    return evaluations_.get();
+  } // getEvaluations
+
+  /**
+   * Returns the number of evaluations which timed out so far.
+   * @return The number of timeouts.
+   */
+  public long getTimeouts() {
+    return timeouts_.get();
+  } // getTimeouts
+
+  /**
+   * Evaluates the objectives of a <code>Solution</code> object, within the
+   * time budget.
+   * @param solution The <code>Solution</code> to evaluate.
+   */
+  public void evaluate(Solution<T> solution) throws JMException {
+    evaluate(solution, getNumberOfFidelityLevels() - 1);
+  } // evaluate
+
+  /**
+   * Evaluates the objectives of a <code>Solution</code> at a given fidelity
+   * level, within the time budget.
+   * @param solution The <code>Solution</code> to evaluate.
+   * @param fidelity The fidelity level.
+   */
+  public void evaluate(Solution<T> solution, int fidelity) throws JMException {
+    timedOut_.remove(solution);
+    Evaluation evaluation = new Evaluation(solution, true, false, fidelity, PseudoRandom.newBatch(), 0);
+    if (!evaluation.await(executor_.submit(evaluation))) {
+      timedOut_.put(solution, Boolean.TRUE);
+      penalize(solution);
+    } // if
+  } // evaluate
+
+  /**
+   * Evaluates the overall constraint violation of a <code>Solution</code>,
+   * within the time budget.
+   * @param solution The <code>Solution</code> to evaluate.
+   */
+  public void evaluateConstraints(Solution<T> solution) throws JMException {
+    if (timedOut_.remove(solution) != null)
+      return;
+
+    Evaluation evaluation = new Evaluation(solution, false, true, 0, PseudoRandom.newBatch(), 0);
+    if (!evaluation.await(executor_.submit(evaluation)))
+      penalize(solution);
+  } // evaluateConstraints
+
+  /**
+   * Evaluates the objectives and the constraints of a set of
+   * <code>Solution</code>s, each one within the time budget. If an
+   * evaluation fails, the running ones are cancelled and its exception is
+   * thrown.
+   * @param set The set of <code>Solution</code>s to evaluate.
+   * @return the number of evaluations done
+   */
+  public int evaluate(SolutionSet<T> set) throws JMException {
+    return evaluate(set, getNumberOfFidelityLevels() - 1);
+  } // evaluate
+
+  /**
+   * Evaluates the objectives at a given fidelity level and the constraints of
+   * a set of <code>Solution</code>s, each one within the time budget, as
+   * <code>evaluate(SolutionSet)</code> does.
+   * @param set The set of <code>Solution</code>s to evaluate.
+   * @param fidelity The fidelity level.
+   * @return the number of evaluations done
+   */
+  public int evaluate(SolutionSet<T> set, int fidelity) throws JMException {
+    int n = set.size();
+    long batch = PseudoRandom.newBatch();
+    CompletionService<Evaluation> completion = new ExecutorCompletionService<Evaluation>(executor_);
+    Map<Future<Evaluation>, Evaluation> running = new IdentityHashMap<Future<Evaluation>, Evaluation>();
+
+    int next = 0;
+    try {
+      while (next < n || !running.isEmpty()) {
+        while (next < n && running.size() < numberOfThreads_) {
+          Evaluation evaluation = new Evaluation(set.get(next), true, true, fidelity, batch, next);
+          next++;
+          running.put(completion.submit(evaluation), evaluation);
+        } // while
+
+        // wait for an evaluation to complete, or for the earliest deadline
+        long deadline = Long.MAX_VALUE;
+        for (Evaluation evaluation : running.values())
+          deadline = Math.min(deadline, evaluation.deadline_);
+
+        Future<Evaluation> done = completion.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        if (done != null) {
+          Evaluation evaluation = running.remove(done);
+          if (evaluation != null)
+            evaluation.complete(done);
+        } // if
+
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Future<Evaluation>, Evaluation>> it = running.entrySet().iterator();
+        while (it.hasNext()) {
+          Map.Entry<Future<Evaluation>, Evaluation> e = it.next();
+          if (e.getValue().deadline_ - now <= 0 && !e.getKey().isDone()) {
+            e.getKey().cancel(true);
+            timeouts_.incrementAndGet();
+            penalize(e.getValue().solution_);
+            it.remove();
+          } // if
+        } // while
+      } // while
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new JMException(e);
+    } finally {
+      for (Future<Evaluation> f : running.keySet())
+        f.cancel(true);
+    } // try
+
+    return n;
+  } // evaluate
+
+  /**
+   * Assigns the penalty objectives and constraint violation to a solution.
+   * @param solution The solution.
+   */
+  private void penalize(Solution<T> solution) {
+    for (int i = 0; i < numberOfObjectives_; i++)
+      solution.setObjective(i, penaltyObjectives_[i]);
+    solution.setOverallConstraintViolation(penaltyConstraintViolation_);
+    solution.setNumberOfViolatedConstraint(penaltyViolatedConstraints_);
+  } // penalize
+
+  public boolean hasIndependentConstraints() {
+    return problem_.hasIndependentConstraints();
+  } // hasIndependentConstraints
+
+  public int getNumberOfFidelityLevels() {
+    return problem_.getNumberOfFidelityLevels();
+  } // getNumberOfFidelityLevels
+
+  public List<T> generateNewDecisionVariable() {
+    return problem_.generateNewDecisionVariable();
+  } // generateNewDecisionVariable
+
+  public void setCurrentGeneration(int currentGeneration) {
+    problem_.setCurrentGeneration(currentGeneration);
+    this.currentGeneration = currentGeneration;
+  } // setCurrentGeneration
+
+  /**
+   * Shuts down the threads of the watchdog, interrupting the abandoned
+   * evaluations.
+   */
+  public void shutdown() {
+    executor_.shutdownNow();
+  } // shutdown
+
+  /**
+   * The evaluation of a solution at a fidelity level, done on a copy of it.
+   * In deterministic mode it draws from the stream keyed by its batch and by
+   * its index in it.
+   */
+  private class Evaluation implements Callable<Evaluation> {
+
+    private final Solution<T> solution_;
+    private final Solution<T> copy_;
+    private final boolean objectives_;
+    private final boolean constraints_;
+    private final int fidelity_;
+    private final long deadline_;
+    private final long batch_;
+    private final int index_;
+
+    Evaluation(Solution<T> solution, boolean objectives, boolean constraints, int fidelity, long batch, int index) {
+      solution_    = solution;
+      copy_        = new Solution<T>(solution);
+      objectives_  = objectives;
+      constraints_ = constraints;
+      fidelity_    = fidelity;
+      deadline_    = System.nanoTime() + timeout_;
+      batch_       = batch;
+      index_       = index;
+    } // Evaluation
+
+    public Evaluation call() throws Exception {
+      RandomStream stream = PseudoRandom.beginTask(batch_, index_);
+      try {
+        if (objectives_ && fidelity_ == getNumberOfFidelityLevels() - 1)
+          problem_.evaluate(copy_);
+        else if (objectives_)
+          problem_.evaluate(copy_, fidelity_);
+        if (constraints_)
+          problem_.evaluateConstraints(copy_);
+      } finally {
+        PseudoRandom.endTask(stream);
+      } // try
+      return this;
+    } // call
+
+    /**
+     * Waits for the evaluation, until its deadline.
+     * @param future The future of the evaluation.
+     * @return false if the evaluation timed out (and it has been cancelled).
+     * @throws JMException
+     */
+    boolean await(Future<?> future) throws JMException {
+      try {
+        future.get(deadline_ - System.nanoTime(), TimeUnit.NANOSECONDS);
+      } catch (TimeoutException e) {
+        future.cancel(true);
+        timeouts_.incrementAndGet();
+        return false;
+      } catch (InterruptedException e) {
+        future.cancel(true);
+        Thread.currentThread().interrupt();
+        throw new JMException(e);
+      } catch (ExecutionException e) {
+        rethrow(e.getCause());
+      } // try
+
+      copyBack();
+      return true;
+    } // await
+
+    /**
+     * Writes back the results of a completed evaluation.
+     * @param future The future of the evaluation.
+     * @throws JMException
+     */
+    void complete(Future<?> future) throws JMException {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new JMException(e);
+      } catch (ExecutionException e) {
+        rethrow(e.getCause());
+      } // try
+
+      copyBack();
+    } // complete
+
+    private void copyBack() {
+      if (objectives_)
+        for (int i = 0; i < numberOfObjectives_; i++)
+          solution_.setObjective(i, copy_.getObjective(i));
+      if (constraints_) {
+        // unconstrained problems do not reset the penalty (e.g., inherited
+        // from a parent)
+        if (numberOfConstraints_ == 0) {
+          solution_.setOverallConstraintViolation(0.0);
+          solution_.setNumberOfViolatedConstraint(0);
+        } else {
+          solution_.setOverallConstraintViolation(copy_.getOverallConstraintViolation());
+          solution_.setNumberOfViolatedConstraint(copy_.getNumberOfViolatedConstraint());
+        } // if
+      } // if
+      if (objectives_)
+        evaluations_.incrementAndGet();
+    } // copyBack
+
+    private void rethrow(Throwable cause) throws JMException {
+      if (cause instanceof JMException)
+        throw (JMException) cause;
+      if (cause instanceof RuntimeException)
+        throw (RuntimeException) cause;
+      if (cause instanceof Error)
+        throw (Error) cause;
+      throw new JMException(cause);
+    } // rethrow
+  } // Evaluation
+} // TimeoutEvaluator
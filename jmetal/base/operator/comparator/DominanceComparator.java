@@ -10,6 +10,7 @@ import java.util.Comparator;
 
 import jmetal.base.Solution;
 import jmetal.base.Variable;
+import jmetal.util.ObjectiveKernels;
 
 /**
  * This class implements a <code>Comparator</code> (a method for comparing
@@ -36,31 +37,19 @@ public class DominanceComparator<T extends Variable> implements Comparator<Solut
     else if (solution2 == null)
       return -1;
     
-    boolean dominate1=false; // dominate1 indicates if some objective of solution1 
-                             // dominates the same objective in solution2. dominate2
-    boolean dominate2=false; // is the complementary of dominate1.
-
     if (solution1.getOverallConstraintViolation() != solution2.getOverallConstraintViolation() &&
         (solution1.getOverallConstraintViolation() < 0 || solution2.getOverallConstraintViolation() < 0)) 
       return overallConstraintViolationComparator_.compare(solution1,solution2);
 
-    // Equal number of violated constraint. Apply a dominance Test
-    double[] obj1 = solution1.getObjectives();
-    double[] obj2 = solution2.getObjectives();
-    for (int i = 0; i < obj1.length; i++) {
+    // Objectives not evaluated (infeasible or rejected solutions): they lose
+    // against the evaluated ones, and they are non-dominated among themselves
+    if (solution1.isObjectivesSkipped() || solution2.isObjectivesSkipped()) {
+      if (solution1.isObjectivesSkipped() == solution2.isObjectivesSkipped())
+        return 0;
+      return solution1.isObjectivesSkipped() ? 1 : -1;
+    } // if
 
-    	if (obj1[i] < obj2[i])
-        dominate1=true;
-      else if (obj1[i] > obj2[i])
-        dominate2=true;
-    }
-            
-    if (dominate1 == dominate2)
-      return 0; //No one dominate the other
-    
-    if (dominate1)
-      return -1; // solution1 dominate
-
-    return 1;    // solution2 dominate   
+    // Equal number of violated constraint. Apply a dominance Test
+    return ObjectiveKernels.compare(solution1.getObjectives(), solution2.getObjectives());
   } // compare
 } // DominanceComparator
@@ -3,6 +3,7 @@ package jmetal.base.operator.crossover;
 import java.io.Serializable;
 
 import jmetal.base.Solution;
+import jmetal.base.SolutionPool;
 import jmetal.base.Variable;
 import jmetal.util.JMException;
 
@@ -11,6 +12,11 @@ public abstract class Crossover<T extends Variable> implements Serializable {
 	private static final long serialVersionUID = -5454704223436690588L;
 	protected double probability;
 
+	/**
+	 * The pool providing the offsprings (null if they are allocated)
+	 */
+	protected SolutionPool<T> solutionPool;
+
 	public Crossover() {}
 
 	public void setProbability(double probability) {
@@ -21,6 +27,27 @@ public abstract class Crossover<T extends Variable> implements Serializable {
 		return probability;
 	}
 
+	/**
+	 * Sets the pool providing the offsprings.
+	 * @param solutionPool The pool, or null to allocate new offsprings.
+	 */
+	public void setSolutionPool(SolutionPool<T> solutionPool) {
+		this.solutionPool = solutionPool;
+	}
+
+	public SolutionPool<T> getSolutionPool() {
+		return solutionPool;
+	}
+
+	/**
+	 * Returns a copy of a parent, to be modified into an offspring.
+	 * @param parent The parent.
+	 * @return The copy (a pooled one, if a pool is set).
+	 */
+	protected Solution<T> copy(Solution<T> parent) {
+		return (solutionPool == null) ? new Solution<T>(parent) : solutionPool.copy(parent);
+	}
+
 	public abstract Solution<T>[] execute(Solution<T> parent1, Solution<T> parent2) throws JMException;
 
 }
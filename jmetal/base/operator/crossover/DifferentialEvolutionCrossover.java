@@ -6,6 +6,7 @@
  */
 package jmetal.base.operator.crossover;
 
+import jmetal.base.RealPopulation;
 import jmetal.base.Solution;
 import jmetal.base.variable.Real;
 import jmetal.util.JMException;
@@ -59,18 +60,15 @@ public class DifferentialEvolutionCrossover extends DifferentialCrossover<Real>
      int numberOfVariables = parent[0].getDecisionVariables().variables_.size() ;
      jrand = (int)(PseudoRandom.randInt(0, numberOfVariables - 1)) ;
      
-     child = new Solution<Real>(current) ;
+     child = copy(current) ;
      for (int j=0; j < numberOfVariables; j++) {
         if (PseudoRandom.randDouble(0, 1) < CR_ || j == jrand) {
           double value ;
-          value = parent[2].getDecisionVariables().variables_.get(j).getValue()  +
-                  F_ * (parent[0].getDecisionVariables().variables_.get(j).getValue() -
-                       parent[1].getDecisionVariables().variables_.get(j).getValue()) ;
-          
-          if (value < child.getDecisionVariables().variables_.get(j).getLowerBound())
-            value =  child.getDecisionVariables().variables_.get(j).getLowerBound() ;
-          if (value > child.getDecisionVariables().variables_.get(j).getUpperBound())
-            value = child.getDecisionVariables().variables_.get(j).getUpperBound() ;
+          value = mutant(parent[0].getDecisionVariables().variables_.get(j).getValue(),
+                         parent[1].getDecisionVariables().variables_.get(j).getValue(),
+                         parent[2].getDecisionVariables().variables_.get(j).getValue(),
+                         child.getDecisionVariables().variables_.get(j).getLowerBound(),
+                         child.getDecisionVariables().variables_.get(j).getUpperBound()) ;
             
           child.getDecisionVariables().variables_.get(j).setValue(value) ;
         }
@@ -83,4 +81,49 @@ public class DifferentialEvolutionCrossover extends DifferentialCrossover<Real>
      
      return child;
    }
+
+  /**
+   * Executes the operation on rows of a <code>RealPopulation</code>, drawing
+   * the random numbers as <code>execute(Solution, Solution[])</code>
+   * @param population The population containing the parents
+   * @param current The row of the current solution
+   * @param parent The rows of the three parents
+   * @param offSpring The population receiving the child (it can be the
+   * population of the parents)
+   * @return The row of the child
+   */
+  public int execute(RealPopulation population, int current, int [] parent, RealPopulation offSpring) {
+    int child = offSpring.add(population, current) ;
+
+    int numberOfVariables = population.getNumberOfVariables() ;
+    int jrand = (int)(PseudoRandom.randInt(0, numberOfVariables - 1)) ;
+
+    double [] x = population.getVariables() ;
+    double [] y = offSpring.getVariables() ;
+    double [] lowerLimit = offSpring.getLowerLimits() ;
+    double [] upperLimit = offSpring.getUpperLimits() ;
+    int p0 = parent[0] * numberOfVariables ;
+    int p1 = parent[1] * numberOfVariables ;
+    int p2 = parent[2] * numberOfVariables ;
+    int c  = child * numberOfVariables ;
+    for (int j=0; j < numberOfVariables; j++) {
+      if (PseudoRandom.randDouble(0, 1) < CR_ || j == jrand)
+        y[c + j] = mutant(x[p0 + j], x[p1 + j], x[p2 + j], lowerLimit[j], upperLimit[j]) ;
+    } // for
+
+    return child;
+  } // execute
+
+  /**
+   * Returns the value of a variable of the mutant vector, x2 + F * (x0 - x1),
+   * bounded to the limits of the variable
+   */
+  private double mutant(double x0, double x1, double x2, double lowerLimit, double upperLimit) {
+    double value = x2 + F_ * (x0 - x1) ;
+    if (value < lowerLimit)
+      value = lowerLimit ;
+    if (value > upperLimit)
+      value = upperLimit ;
+    return value ;
+  } // mutant
 }
@@ -46,8 +46,8 @@ public class HUXCrossover extends Crossover<Binary>{
                                 Solution<Binary> parent1, 
                                 Solution<Binary> parent2) throws JMException {
     Solution<Binary> [] offSpring = new Solution[2];
-    offSpring[0] = new Solution<Binary>(parent1);
-    offSpring[1] = new Solution<Binary>(parent2);
+    offSpring[0] = copy(parent1);
+    offSpring[1] = copy(parent2);
     try {         
       if (PseudoRandom.randDouble() < probability)
       {
@@ -52,15 +52,15 @@ public class OnePointCrossoverVarLen<T extends Variable> extends Crossover<T> {
 	@Override
 	@SuppressWarnings("unchecked")
 	public Solution<T>[] execute(Solution<T> p1, Solution<T> p2) throws JMException {
-		Solution<T> of1 = new Solution<T>(p1);
-		Solution<T> of2 = new Solution<T>(p2);
+		Solution<T> of1 = copy(p1);
+		Solution<T> of2 = copy(p2);
 
 		List<T> r1 = of1.getDecisionVariables().variables_;
 		List<T> r2 = of2.getDecisionVariables().variables_;
 
-		if(!r1.isEmpty() && !r2.isEmpty() && PseudoRandom.getMersenneTwisterFast().nextBoolean(probability)) {
-			int cx1 = PseudoRandom.getMersenneTwisterFast().nextInt(r1.size());
-			int cx2 = PseudoRandom.getMersenneTwisterFast().nextInt(r2.size());
+		if(!r1.isEmpty() && !r2.isEmpty() && PseudoRandom.getStream().nextBoolean(probability)) {
+			int cx1 = PseudoRandom.getStream().nextInt(r1.size());
+			int cx2 = PseudoRandom.getStream().nextInt(r2.size());
 
 			List<T> one = cross(cx1, r1, cx2, r2);
 			List<T> two = cross(cx2, r2, cx1, r1);
@@ -7,10 +7,16 @@
 
 package jmetal.base.operator.crossover;
 
+import java.util.List;
+
+import jmetal.base.RealPopulation;
 import jmetal.base.Solution;
 import jmetal.base.variable.Real;
+import jmetal.base.variable.RealBounds;
+import jmetal.base.variable.RealVector;
 import jmetal.util.JMException;
 import jmetal.util.PseudoRandom;
+import jmetal.util.RandomStream;
 
 /**
  * This class allows to apply a SBX crossover operator using two parent
@@ -74,86 +80,170 @@ public class SBXCrossover extends Crossover<Real> {
     
     Solution<Real> [] offSpring = new Solution[2];
 
-    offSpring[0] = new Solution<Real>(parent1);
-    offSpring[1] = new Solution<Real>(parent2);
-                    
+    offSpring[0] = copy(parent1);
+    offSpring[1] = copy(parent2);
+
+    if (PseudoRandom.randDouble() > probability)
+      return offSpring;
+
+    int n = parent1.numberOfVariables();
+    List<Real> variables1 = offSpring[0].getDecisionVariables().variables_;
+    List<Real> variables2 = offSpring[1].getDecisionVariables().variables_;
+    if (variables1 instanceof RealVector && variables2 instanceof RealVector) {
+      // the offsprings are modified in place
+      RealBounds bounds = ((RealVector) variables1).getBounds();
+      doCrossover(((RealVector) variables1).getWritableValues(), 0,
+                  ((RealVector) variables2).getWritableValues(), 0,
+                  bounds.getLowerLimits(), bounds.getUpperLimits(), n);
+      return offSpring;
+    } // if
+
+    double [] x = new double[2 * n];
+    double [] lowerLimit = new double[n];
+    double [] upperLimit = new double[n];
+    RealPopulation.getValues(offSpring[0], x, 0);
+    RealPopulation.getValues(offSpring[1], x, n);
+    RealPopulation.getBounds(offSpring[0], lowerLimit, upperLimit);
+
+    doCrossover(x, 0, x, n, lowerLimit, upperLimit, n);
+    RealPopulation.setValues(offSpring[0], x, 0);
+    RealPopulation.setValues(offSpring[1], x, n);
+
+    return offSpring;
+  } // doCrossover
+
+  /**
+   * Perform the crossover operation on two rows of a
+   * <code>RealPopulation</code>. The offsprings are appended to a population
+   * and the random numbers are drawn as in
+   * <code>doCrossover(double, Solution, Solution)</code>.
+   * @param probability Crossover probability
+   * @param population The population containing the parents
+   * @param parent1 The row of the first parent
+   * @param parent2 The row of the second parent
+   * @param offSpring The population receiving the offsprings (it can be the
+   * population of the parents)
+   * @return The row of the first offspring (the second one follows it)
+   */
+  public int doCrossover(double probability, RealPopulation population,
+                         int parent1, int parent2, RealPopulation offSpring) {
+    int child1 = offSpring.add(population, parent1);
+    int child2 = offSpring.add(population, parent2);
+
+    if (PseudoRandom.randDouble() <= probability) {
+      int n = offSpring.getNumberOfVariables();
+      double [] x = offSpring.getVariables();
+      doCrossover(x, child1 * n, x, child2 * n,
+                  offSpring.getLowerLimits(), offSpring.getUpperLimits(), n);
+    } // if
+
+    return child1;
+  } // doCrossover
+
+  /**
+   * Applies the crossover to two vectors, in place: the values of the parents
+   * are replaced by the ones of the offsprings. The random numbers are drawn
+   * in blocks: a word gives the coins of 64 variables, choosing whether their
+   * values are recombined or swapped, and then the numbers used to recombine
+   * the values and the order of the results are drawn for the recombined
+   * variables only.
+   * @param x1 The array containing the first vector
+   * @param offset1 The position of the first vector in x1
+   * @param x2 The array containing the second vector
+   * @param offset2 The position of the second vector in x2
+   * @param lowerLimit The lower bounds of the variables
+   * @param upperLimit The upper bounds of the variables
+   * @param n The number of variables
+   */
+  private void doCrossover(double[] x1, int offset1, double[] x2, int offset2,
+                           double[] lowerLimit, double[] upperLimit, int n) {
     int i;
     double rand;
     double y1, y2, yL, yu;
     double c1, c2;
     double alpha, beta, betaq;
     double valueX1,valueX2;
-    if (PseudoRandom.randDouble() <= probability){
-      for (i=0; i<parent1.getDecisionVariables().size(); i++){
-        valueX1 = parent1.getDecisionVariables().variables_.get(i).getValue();
-        valueX2 = parent2.getDecisionVariables().variables_.get(i).getValue();
-        if (PseudoRandom.randDouble()<=0.5 ){
-          
-          if (java.lang.Math.abs(valueX1- valueX2) > EPS){
-            
-            if (valueX1 < valueX2){
-              y1 = valueX1;
-              y2 = valueX2;
-            } else {
-              y1 = valueX2;
-              y2 = valueX1;
-            } // if                       
-            
-            yL = parent1.getDecisionVariables().variables_.get(i).getLowerBound();
-            yu = parent1.getDecisionVariables().variables_.get(i).getUpperBound();
-            rand = PseudoRandom.randDouble();
-            beta = 1.0 + (2.0*(y1-yL)/(y2-y1));
-            alpha = 2.0 - java.lang.Math.pow(beta,-(eta_c+1.0));
-            
-            if (rand <= (1.0/alpha)){
-              betaq = java.lang.Math.pow ((rand*alpha),(1.0/(eta_c+1.0)));
-            } else {
-              betaq = java.lang.Math.pow ((1.0/(2.0 - rand*alpha)),(1.0/(eta_c+1.0)));
-            } // if
-            
-            c1 = 0.5*((y1+y2)-betaq*(y2-y1));
-            beta = 1.0 + (2.0*(yu-y2)/(y2-y1));
-            alpha = 2.0 - java.lang.Math.pow(beta,-(eta_c+1.0));
-            
-            if (rand <= (1.0/alpha)){
-              betaq = java.lang.Math.pow ((rand*alpha),(1.0/(eta_c+1.0)));
-            } else {
-              betaq = java.lang.Math.pow ((1.0/(2.0 - rand*alpha)),(1.0/(eta_c+1.0)));
-            } // if
-              
-            c2 = 0.5*((y1+y2)+betaq*(y2-y1));
-            
-            if (c1<yL)
-              c1=yL;
-            
-            if (c2<yL)
-              c2=yL;
-            
-            if (c1>yu)
-              c1=yu;
-            
-            if (c2>yu)
-              c2=yu;                        
-              
-            if (PseudoRandom.randDouble()<=0.5) {
-              offSpring[0].getDecisionVariables().variables_.get(i).setValue(c2);
-              offSpring[1].getDecisionVariables().variables_.get(i).setValue(c1);
-            } else {
-              offSpring[0].getDecisionVariables().variables_.get(i).setValue(c1);
-              offSpring[1].getDecisionVariables().variables_.get(i).setValue(c2);                            
-            } // if
-          } else {
-            offSpring[0].getDecisionVariables().variables_.get(i).setValue(valueX1);
-            offSpring[1].getDecisionVariables().variables_.get(i).setValue(valueX2);                        
-          } // if
-        } else {
-          offSpring[0].getDecisionVariables().variables_.get(i).setValue(valueX2);
-          offSpring[1].getDecisionVariables().variables_.get(i).setValue(valueX1);                    
-        } // if
+
+    RandomStream random = PseudoRandom.getStream();
+    int [] recombined = new int[n];
+    int m = 0;
+    long coins = 0;
+    for (i=0; i<n; i++){
+      if ((i & 63) == 0)
+        coins = random.nextLong();
+
+      valueX1 = x1[offset1 + i];
+      valueX2 = x2[offset2 + i];
+      if ((coins & (1L << (i & 63))) != 0){
+        if (java.lang.Math.abs(valueX1- valueX2) > EPS)
+          recombined[m++] = i;
+      } else {
+        x1[offset1 + i] = valueX2;
+        x2[offset2 + i] = valueX1;
       } // if
-    } // if
-                                    
-     return offSpring;                                                                                      
+    } // for
+
+    double [] rnd = new double[m];
+    random.fill(rnd, 0, m);
+    for (int k=0; k<m; k++){
+      if ((k & 63) == 0)
+        coins = random.nextLong();
+
+      i = recombined[k];
+      valueX1 = x1[offset1 + i];
+      valueX2 = x2[offset2 + i];
+      if (valueX1 < valueX2){
+        y1 = valueX1;
+        y2 = valueX2;
+      } else {
+        y1 = valueX2;
+        y2 = valueX1;
+      } // if                       
+      
+      yL = lowerLimit[i];
+      yu = upperLimit[i];
+      rand = rnd[k];
+      beta = 1.0 + (2.0*(y1-yL)/(y2-y1));
+      alpha = 2.0 - java.lang.Math.pow(beta,-(eta_c+1.0));
+      
+      if (rand <= (1.0/alpha)){
+        betaq = java.lang.Math.pow ((rand*alpha),(1.0/(eta_c+1.0)));
+      } else {
+        betaq = java.lang.Math.pow ((1.0/(2.0 - rand*alpha)),(1.0/(eta_c+1.0)));
+      } // if
+      
+      c1 = 0.5*((y1+y2)-betaq*(y2-y1));
+      beta = 1.0 + (2.0*(yu-y2)/(y2-y1));
+      alpha = 2.0 - java.lang.Math.pow(beta,-(eta_c+1.0));
+      
+      if (rand <= (1.0/alpha)){
+        betaq = java.lang.Math.pow ((rand*alpha),(1.0/(eta_c+1.0)));
+      } else {
+        betaq = java.lang.Math.pow ((1.0/(2.0 - rand*alpha)),(1.0/(eta_c+1.0)));
+      } // if
+        
+      c2 = 0.5*((y1+y2)+betaq*(y2-y1));
+      
+      if (c1<yL)
+        c1=yL;
+      
+      if (c2<yL)
+        c2=yL;
+      
+      if (c1>yu)
+        c1=yu;
+      
+      if (c2>yu)
+        c2=yu;                        
+        
+      if ((coins & (1L << (k & 63))) != 0) {
+        x1[offset1 + i] = c2;
+        x2[offset2 + i] = c1;
+      } else {
+        x1[offset1 + i] = c1;
+        x2[offset2 + i] = c2;
+      } // if
+    } // for
   } // doCrossover
   
   public void setDistributionIndex(double value) {
@@ -175,4 +265,23 @@ public class SBXCrossover extends Crossover<Real> {
     } 
     return offSpring;//*/
   } // execute 
+
+  /**
+   * Executes the operation on two rows of a <code>RealPopulation</code>
+   * @param population The population containing the parents
+   * @param parent1 The row of the first parent
+   * @param parent2 The row of the second parent
+   * @param offSpring The population receiving the offsprings
+   * @return The row of the first offspring (the second one follows it)
+   */
+  public int execute(RealPopulation population, int parent1, int parent2, RealPopulation offSpring) {
+    int child = doCrossover(probability, population, parent1, parent2, offSpring);
+
+    for (int i = child; i < child + 2; i++)
+    {
+      offSpring.get(i).setCrowdingDistance(0.0);
+      offSpring.get(i).setRank(0);
+    } 
+    return child;
+  } // execute
 } // SBXCrossover
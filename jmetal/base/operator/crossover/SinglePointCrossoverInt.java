@@ -43,8 +43,8 @@ public class SinglePointCrossoverInt extends Crossover<Int> {
           Solution<Int> parent1,
           Solution<Int> parent2) throws JMException {
     Solution<Int>[] offSpring = new Solution[2];
-    offSpring[0] = new Solution<Int>(parent1);
-    offSpring[1] = new Solution<Int>(parent2);
+    offSpring[0] = copy(parent1);
+    offSpring[1] = copy(parent2);
 
     try {
       if (PseudoRandom.randDouble() < probability) {
@@ -44,8 +44,8 @@ import jmetal.util.PseudoRandom;
 
     Solution<Permutation> [] offspring = new Solution[2];
 
-    offspring[0] = new Solution<Permutation>(parent1);
-    offspring[1] = new Solution<Permutation>(parent2);
+    offspring[0] = copy(parent1);
+    offspring[1] = copy(parent2);
 
     if (PseudoRandom.randDouble() < probability) {
     	int crosspoint1        ;
@@ -10,6 +10,7 @@ import jmetal.base.Solution;
 import jmetal.base.variable.Binary;
 import jmetal.util.JMException;
 import jmetal.util.PseudoRandom;
+import jmetal.util.RandomStream;
 
 /**
  * This class implements a bit flip mutation operator.
@@ -35,11 +36,16 @@ public class BitFlipMutationBinary extends Mutation<Binary> {
    */
   public void doMutation(double probability, Solution<Binary> solution) throws JMException {
     try {
+        // only the positions of the bits to flip are drawn
+        RandomStream random = PseudoRandom.getStream();
+        int [] flipped = new int[0];
         for (int i = 0; i < solution.getDecisionVariables().size(); i++) {
-          for (int j = 0; j < ((Binary) solution.getDecisionVariables().variables_.get(i)).getNumberOfBits(); j++) {
-            if (PseudoRandom.randDouble() < probability) {
-              ((Binary) solution.getDecisionVariables().variables_.get(i)).bits_.flip(j);
-            }
+          Binary variable = (Binary) solution.getDecisionVariables().variables_.get(i);
+          if (flipped.length < variable.getNumberOfBits())
+            flipped = new int[variable.getNumberOfBits()];
+          int n = random.bernoulli(probability, variable.getNumberOfBits(), flipped);
+          for (int j = 0; j < n; j++) {
+            variable.bits_.flip(flipped[j]);
           }
         }
 
@@ -6,10 +6,16 @@
  */
 package jmetal.base.operator.mutation;
 
+import java.util.List;
+
+import jmetal.base.RealPopulation;
 import jmetal.base.Solution;
 import jmetal.base.variable.Real;
+import jmetal.base.variable.RealBounds;
+import jmetal.base.variable.RealVector;
 import jmetal.util.JMException;
 import jmetal.util.PseudoRandom;
+import jmetal.util.RandomStream;
 
 /**
  * This class implements a polynomial mutation operator. 
@@ -57,40 +63,102 @@ public class PolynomialMutation<T extends Real> extends Mutation<T> {
    * @throws JMException 
   */
   public void doMutation(double probability, Solution<T> solution) throws JMException {        
-    double rnd, delta1, delta2, mut_pow, deltaq;
-    double y, yl, yu, val, xy;
-    for (int var=0; var < solution.getDecisionVariables().size(); var++)
-    {
-      if (PseudoRandom.randDouble() <= probability)
+    List<T> variables = solution.getDecisionVariables().variables_;
+    int n = solution.getDecisionVariables().size();
+    int [] mutated = new int[n];
+    double [] rnd = draw(probability, n, mutated);
+    if (rnd.length == 0)
+      return;
+
+    if (variables instanceof RealVector) {
+      // the array is obtained (and copied, if shared) only if it changes
+      RealVector vector = (RealVector) variables;
+      RealBounds bounds = vector.getBounds();
+      double [] x = vector.getWritableValues();
+      for (int k = 0; k < rnd.length; k++)
       {
-        y      = solution.getDecisionVariables().variables_.get(var).getValue();
-        yl     = solution.getDecisionVariables().variables_.get(var).getLowerBound();                
-        yu     = solution.getDecisionVariables().variables_.get(var).getUpperBound();
-        delta1 = (y-yl)/(yu-yl);
-        delta2 = (yu-y)/(yu-yl);
-        rnd = PseudoRandom.randDouble();
-        mut_pow = 1.0/(eta_m_+1.0);
-        if (rnd <= 0.5)
-        {
-          xy     = 1.0-delta1;
-          val    = 2.0*rnd+(1.0-2.0*rnd)*(Math.pow(xy,(eta_m_+1.0)));
-          deltaq =  java.lang.Math.pow(val,mut_pow) - 1.0;
-        }
-        else
-        {
-          xy = 1.0-delta2;
-          val = 2.0*(1.0-rnd)+2.0*(rnd-0.5)*(java.lang.Math.pow(xy,(eta_m_+1.0)));
-          deltaq = 1.0 - (java.lang.Math.pow(val,mut_pow));
-        }
-        y = y + deltaq*(yu-yl);
-        if (y<yl)
-          y = yl;
-        if (y>yu)
-          y = yu;
-        solution.getDecisionVariables().variables_.get(var).setValue(y);                           
+        int var = mutated[k];
+        x[var] = mutate(x[var], bounds.getLowerLimit(var), bounds.getUpperLimit(var), rnd[k]);
       }
+      return;
+    } // if
+
+    for (int k = 0; k < rnd.length; k++)
+    {
+      T variable = variables.get(mutated[k]);
+      variable.setValue(mutate(variable.getValue(), variable.getLowerBound(), variable.getUpperBound(), rnd[k]));
     }                
   } // doMutation
+
+  /**
+  * Perform the mutation operation on a row of a <code>RealPopulation</code>,
+  * drawing the random numbers as <code>doMutation(double, Solution)</code>
+  * @param probability Mutation probability
+  * @param population The population
+  * @param row The row to mutate
+  */
+  public void doMutation(double probability, RealPopulation population, int row) {
+    int n = population.getNumberOfVariables();
+    double [] x  = population.getVariables();
+    double [] yl = population.getLowerLimits();
+    double [] yu = population.getUpperLimits();
+    int [] mutated = new int[n];
+    double [] rnd = draw(probability, n, mutated);
+    for (int k = 0; k < rnd.length; k++)
+    {
+      int var = mutated[k];
+      x[row * n + var] = mutate(x[row * n + var], yl[var], yu[var], rnd[k]);
+    }
+  } // doMutation
+
+  /**
+  * Draws the variables to mutate and the random numbers used to mutate them,
+  * in a block
+  * @param probability Mutation probability
+  * @param n The number of variables
+  * @param mutated Output array receiving the variables to mutate
+  * @return The random numbers, one for each variable to mutate
+  */
+  private double[] draw(double probability, int n, int[] mutated) {
+    RandomStream random = PseudoRandom.getStream();
+    double [] rnd = new double[random.bernoulli(probability, n, mutated)];
+    random.fill(rnd, 0, rnd.length);
+    return rnd;
+  } // draw
+
+  /**
+  * Mutates a value
+  * @param y The value
+  * @param yl The lower bound of the variable
+  * @param yu The upper bound of the variable
+  * @param rnd A random number in [0, 1)
+  * @return The mutated value
+  */
+  private double mutate(double y, double yl, double yu, double rnd) {
+    double delta1, delta2, mut_pow, deltaq;
+    double val, xy;
+    delta1 = (y-yl)/(yu-yl);
+    delta2 = (yu-y)/(yu-yl);
+    mut_pow = 1.0/(eta_m_+1.0);
+    if (rnd <= 0.5)
+    {
+      xy     = 1.0-delta1;
+      val    = 2.0*rnd+(1.0-2.0*rnd)*(Math.pow(xy,(eta_m_+1.0)));
+      deltaq =  java.lang.Math.pow(val,mut_pow) - 1.0;
+    }
+    else
+    {
+      xy = 1.0-delta2;
+      val = 2.0*(1.0-rnd)+2.0*(rnd-0.5)*(java.lang.Math.pow(xy,(eta_m_+1.0)));
+      deltaq = 1.0 - (java.lang.Math.pow(val,mut_pow));
+    }
+    y = y + deltaq*(yu-yl);
+    if (y<yl)
+      y = yl;
+    if (y>yu)
+      y = yu;
+    return y;
+  } // mutate
   
   
 	public void setDistributionIndex(double etaM) {
@@ -106,5 +174,14 @@ public class PolynomialMutation<T extends Real> extends Mutation<T> {
   public void execute(Solution<T> solution) throws JMException {
     doMutation(probability, solution);
   } // execute
+
+  /**
+  * Executes the operation on a row of a <code>RealPopulation</code>
+  * @param population The population
+  * @param row The row to mutate
+  */
+  public void execute(RealPopulation population, int row) {
+    doMutation(probability, population, row);
+  } // execute
  
 } // PolynomialMutation
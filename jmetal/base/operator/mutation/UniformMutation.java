@@ -10,6 +10,7 @@ import jmetal.base.Solution;
 import jmetal.base.variable.Real;
 import jmetal.util.JMException;
 import jmetal.util.PseudoRandom;
+import jmetal.util.RandomStream;
 
 /**
  * This class implements a uniform mutation operator.
@@ -39,22 +40,25 @@ public class UniformMutation extends Mutation<Real> {
    * @throws JMException 
   */
   public void doMutation(double probability, Solution<Real> solution) throws JMException {                        
-    for (int var = 0; var < solution.getDecisionVariables().size(); var++)
+    // the variables to mutate and their perturbations are drawn in a block
+    RandomStream random = PseudoRandom.getStream();
+    int [] mutated = new int[solution.getDecisionVariables().size()];
+    double [] rnd = new double[random.bernoulli(probability, mutated.length, mutated)];
+    random.fill(rnd, 0, rnd.length);
+
+    for (int k = 0; k < rnd.length; k++)
     {
-      if (PseudoRandom.randDouble() < probability)
-      {
-        double rand = PseudoRandom.randDouble();
-        double tmp = (rand - 0.5)*perturbation_.doubleValue();
-                                
-        tmp += solution.getDecisionVariables().variables_.get(var).getValue();
-                
-        if (tmp < solution.getDecisionVariables().variables_.get(var).getLowerBound())
-            tmp = solution.getDecisionVariables().variables_.get(var).getLowerBound();                    
-        else if (tmp > solution.getDecisionVariables().variables_.get(var).getUpperBound())
-            tmp = solution.getDecisionVariables().variables_.get(var).getUpperBound();                    
-                
-        solution.getDecisionVariables().variables_.get(var).setValue(tmp);                             
-      }
+      Real variable = solution.getDecisionVariables().variables_.get(mutated[k]);
+      double tmp = (rnd[k] - 0.5)*perturbation_.doubleValue();
+
+      tmp += variable.getValue();
+
+      if (tmp < variable.getLowerBound())
+          tmp = variable.getLowerBound();
+      else if (tmp > variable.getUpperBound())
+          tmp = variable.getUpperBound();
+
+      variable.setValue(tmp);
     }
   } // doMutation
   
@@ -5,14 +5,12 @@
 
 package jmetal.base.operator.selection;
 
-import java.util.Comparator;
-
 import jmetal.base.Configuration;
 import jmetal.base.Problem;
 import jmetal.base.Solution;
 import jmetal.base.SolutionSet;
 import jmetal.base.Variable;
-import jmetal.base.operator.comparator.CrowdingComparator;
+import jmetal.util.CrowdingTruncation;
 import jmetal.util.Distance;
 import jmetal.util.JMException;
 import jmetal.util.Ranking;
@@ -33,13 +31,6 @@ public class RankingAndCrowdingSelection<T extends Variable> extends Selection<T
    */
   private Problem<T> problem_;
   
-  /**
-   * stores a <code>Comparator</code> for crowding comparator checking.
-   */
-  private final Comparator<Solution<T>> crowdingComparator_ = 
-                                  new CrowdingComparator<T>();
-
-  
   int populationSize;
   
   /**
@@ -112,10 +103,7 @@ public class RankingAndCrowdingSelection<T extends Variable> extends Selection<T
     //-> remain is less than front(index).size, insert only the best one
     if (remain > 0) {  // front containt individuals to insert                        
       Distance.crowdingDistanceAssignment(front,problem_.getNumberOfObjectives());
-      front.sort(crowdingComparator_);
-      for (int k = 0; k < remain; k++) {
-        result.add(front.get(k));
-      } // for
+      CrowdingTruncation.addBest(front, remain, result);
 
       remain = 0; 
     } // if
@@ -9,6 +9,7 @@ package jmetal.base.variable;
 
 import jmetal.base.VariableValue;
 import jmetal.util.JMException;
+import jmetal.util.PseudoRandom;
 
 /**
  * Implements a permutation of integer decision variable
@@ -73,24 +74,24 @@ public class Permutation implements VariableValue {
    * */
   
  /**
-  * Constructor
+  * Constructor. The permutation is shuffled in place (Fisher-Yates),
+  * drawing from the stream of the current context (see
+  * <code>PseudoRandom</code>).
   * @param size Length of the permutation
-  * This constructor has been contributed by Madan Sathe
   */
   public Permutation(int size) {
-		size_   = size;
-		vector_ = new int[size_];
-
-		java.util.ArrayList<Integer> randomSequence = new
-                                       java.util.ArrayList<Integer>(size_);
-
-		for(int i = 0; i < size_; i++)
-			randomSequence.add(i);
+    size_   = size;
+    vector_ = new int[size_];
 
-		java.util.Collections.shuffle(randomSequence);
+    for (int i = 0; i < size_; i++)
+      vector_[i] = i;
 
-		for(int j = 0; j < randomSequence.size(); j++)
-			vector_[j] = randomSequence.get(j);
+    for (int i = size_ - 1; i > 0; i--) {
+      int j = PseudoRandom.randInt(0, i);
+      int temp   = vector_[i];
+      vector_[i] = vector_[j];
+      vector_[j] = temp;
+    } // for
   } // Constructor
     
   
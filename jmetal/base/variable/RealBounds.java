@@ -0,0 +1,81 @@
+/**
+ * RealBounds.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.base.variable;
+
+import java.io.Serializable;
+
+/**
+ * This class describes the bounds of the real variables of a problem. A
+ * single instance is shared by all the <code>RealVector</code> genomes of the
+ * problem, instead of storing the bounds in each <code>Real</code> object.
+ */
+public class RealBounds implements Serializable {
+
+  private static final long serialVersionUID = -7160574123302810376L;
+
+  /**
+   * Lower bounds of the variables
+   */
+  private final double [] lowerLimit_;
+
+  /**
+   * Upper bounds of the variables
+   */
+  private final double [] upperLimit_;
+
+  /**
+   * Constructor. The arrays are not copied.
+   * @param lowerLimit The lower bounds of the variables.
+   * @param upperLimit The upper bounds of the variables.
+   */
+  public RealBounds(double[] lowerLimit, double[] upperLimit) {
+    lowerLimit_ = lowerLimit;
+    upperLimit_ = upperLimit;
+  } // RealBounds
+
+  /**
+   * Returns the number of variables.
+   * @return The number of variables.
+   */
+  public int size() {
+    return lowerLimit_.length;
+  } // size
+
+  /**
+   * Gets the lower bound of the ith variable.
+   * @param i The index of the variable.
+   * @return The lower bound.
+   */
+  public double getLowerLimit(int i) {
+    return lowerLimit_[i];
+  } // getLowerLimit
+
+  /**
+   * Gets the upper bound of the ith variable.
+   * @param i The index of the variable.
+   * @return The upper bound.
+   */
+  public double getUpperLimit(int i) {
+    return upperLimit_[i];
+  } // getUpperLimit
+
+  /**
+   * Returns the lower bounds of the variables.
+   * @return The lower bounds (the array must not be modified).
+   */
+  public double[] getLowerLimits() {
+    return lowerLimit_;
+  } // getLowerLimits
+
+  /**
+   * Returns the upper bounds of the variables.
+   * @return The upper bounds (the array must not be modified).
+   */
+  public double[] getUpperLimits() {
+    return upperLimit_;
+  } // getUpperLimits
+} // RealBounds
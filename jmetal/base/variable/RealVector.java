@@ -0,0 +1,191 @@
+/**
+ * RealVector.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.base.variable;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+import jmetal.util.PseudoRandom;
+
+/**
+ * This class implements the genome of a real-coded solution as a single
+ * <code>double</code> array, the bounds of the variables being described by a
+ * <code>RealBounds</code> shared by all the solutions of the problem.
+ * It is a list of <code>Real</code>: <code>get</code> returns a view of a
+ * value (its changes are written into the array, and its
+ * <code>clone</code> is a plain <code>Real</code>), while <code>set</code>
+ * copies the value of the given variable.
+ * Genomes are copied on write: <code>copy</code> returns a genome sharing the
+ * array of the values, and each of the two genomes makes its own copy of the
+ * array before its first modification. Hence copying a solution that is never
+ * modified (e.g., when it is stored in an archive) costs no copy of its
+ * variables.
+ */
+public class RealVector extends AbstractList<Real> implements RandomAccess, Serializable {
+
+  private static final long serialVersionUID = 1926340591779513453L;
+
+  /**
+   * The bounds of the variables
+   */
+  private final RealBounds bounds_;
+
+  /**
+   * The values of the variables
+   */
+  private double [] values_;
+
+  /**
+   * True if values_ may be shared with other genomes, and must be copied
+   * before being modified
+   */
+  private boolean shared_;
+
+  /**
+   * Constructor. Creates a genome with random values, drawn as
+   * <code>Real(lowerBound, upperBound)</code> does.
+   * @param bounds The bounds of the variables.
+   */
+  public RealVector(RealBounds bounds) {
+    bounds_ = bounds;
+    values_ = new double[bounds.size()];
+    for (int i = 0; i < values_.length; i++)
+      values_[i] = PseudoRandom.randDouble() * (bounds.getUpperLimit(i) - bounds.getLowerLimit(i)) + bounds.getLowerLimit(i);
+  } // RealVector
+
+  /**
+   * Constructor.
+   * @param bounds The bounds of the variables.
+   * @param values The values of the variables (the array is not copied).
+   */
+  public RealVector(RealBounds bounds, double[] values) {
+    bounds_ = bounds;
+    values_ = values;
+  } // RealVector
+
+  /**
+   * Returns a copy of the genome, sharing the bounds. The values are copied
+   * by the first of the two genomes to be modified.
+   * @return The copy.
+   */
+  public RealVector copy() {
+    RealVector copy = new RealVector(bounds_, values_);
+    copy.shared_ = true;
+    shared_ = true;
+    return copy;
+  } // copy
+
+  /**
+   * Overwrites the values of the variables with the ones of another genome
+   * having the same bounds. The array of the values is reused if it is owned
+   * by this genome.
+   * @param vector The genome to copy.
+   */
+  public void assign(RealVector vector) {
+    if (!shared_ && values_.length == vector.values_.length) {
+      System.arraycopy(vector.values_, 0, values_, 0, values_.length);
+    } else {
+      values_ = Arrays.copyOf(vector.values_, vector.values_.length);
+      shared_ = false;
+    } // if
+  } // assign
+
+  /**
+   * Returns the values of the variables, for reading them.
+   * @return The array of the values (it must not be modified, since it can
+   * be shared with other genomes).
+   */
+  public double[] getValues() {
+    return values_;
+  } // getValues
+
+  /**
+   * Returns the values of the variables, for modifying them.
+   * @return The array of the values, owned by this genome.
+   */
+  public double[] getWritableValues() {
+    if (shared_) {
+      values_ = Arrays.copyOf(values_, values_.length);
+      shared_ = false;
+    } // if
+    return values_;
+  } // getWritableValues
+
+  /**
+   * Returns the bounds of the variables.
+   * @return The bounds.
+   */
+  public RealBounds getBounds() {
+    return bounds_;
+  } // getBounds
+
+  public Real get(int i) {
+    if (i < 0 || i >= values_.length)
+      throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + values_.length);
+    return new Element(this, i);
+  } // get
+
+  public Real set(int i, Real variable) {
+    Real previous = new Real();
+    previous.setLowerBound(bounds_.getLowerLimit(i));
+    previous.setUpperBound(bounds_.getUpperLimit(i));
+    previous.setValue(values_[i]);
+    getWritableValues()[i] = variable.getValue();
+    return previous;
+  } // set
+
+  public int size() {
+    return values_.length;
+  } // size
+
+  /**
+   * A variable of the genome. Its bounds are the shared ones, and they cannot
+   * be changed.
+   */
+  private static class Element extends Real {
+
+    private static final long serialVersionUID = -6085960186727302585L;
+
+    private final RealVector vector_;
+    private final int index_;
+
+    Element(RealVector vector, int index) {
+      vector_ = vector;
+      index_  = index;
+    } // Element
+
+    public double getValue() {
+      return vector_.values_[index_];
+    } // getValue
+
+    public void setValue(double value) {
+      vector_.getWritableValues()[index_] = value;
+    } // setValue
+
+    public double getLowerBound() {
+      return vector_.bounds_.getLowerLimit(index_);
+    } // getLowerBound
+
+    public double getUpperBound() {
+      return vector_.bounds_.getUpperLimit(index_);
+    } // getUpperBound
+
+    public void setLowerBound(double lowerBound) {
+      throw new UnsupportedOperationException("The bounds are shared by all the solutions");
+    } // setLowerBound
+
+    public void setUpperBound(double upperBound) {
+      throw new UnsupportedOperationException("The bounds are shared by all the solutions");
+    } // setUpperBound
+
+    public String toString() {
+      return getValue() + "";
+    } // toString
+  } // Element
+} // RealVector
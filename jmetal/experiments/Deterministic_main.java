@@ -0,0 +1,228 @@
+/**
+ * Deterministic_main.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.experiments;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import jmetal.base.Problem;
+import jmetal.base.ProblemValue;
+import jmetal.base.Solution;
+import jmetal.base.SolutionSet;
+import jmetal.base.evaluator.AsyncEvaluator;
+import jmetal.base.evaluator.ParallelEvaluator;
+import jmetal.base.operator.crossover.Crossover;
+import jmetal.base.operator.crossover.CrossoverFactory;
+import jmetal.base.operator.mutation.Mutation;
+import jmetal.base.operator.mutation.MutationFactory;
+import jmetal.base.operator.selection.BinaryTournament;
+import jmetal.base.operator.selection.BinaryTournament2;
+import jmetal.base.variable.Permutation;
+import jmetal.base.variable.Real;
+import jmetal.metaheuristics.mocell.aMOCell4;
+import jmetal.metaheuristics.nsgaII.NSGAII;
+import jmetal.problems.ZDT.ZDT1;
+import jmetal.util.JMException;
+import jmetal.util.PseudoRandom;
+
+/**
+ * This class checks the deterministic mode of <code>PseudoRandom</code>:
+ * with the same seed, NSGA-II evaluated by a <code>ParallelEvaluator</code>
+ * and aMOCell4 driven by an <code>AsyncEvaluator</code> must give the same
+ * front twice with one thread, and with 4 and 8 threads. The problems draw
+ * noise from the stream of the task evaluating them, and one of them is a
+ * permutation problem, whose genomes are shuffled when they are created.
+ * It throws a <code>JMException</code> at the first front which differs.
+ */
+@SuppressWarnings("unchecked")
+public class Deterministic_main {
+
+  /**
+   * The numbers of threads of the runs; the first one is run twice
+   */
+  private static final int [] THREADS = { 1, 1, 4, 8 };
+
+  /**
+   * ZDT1 with noisy objectives.
+   */
+  public static class NoisyZDT1 extends ZDT1<Real> {
+
+    private static final long serialVersionUID = -4410376405271911367L;
+
+    public NoisyZDT1() {
+      super(10, Real.class);
+    } // NoisyZDT1
+
+    public void evaluate(double[] x, double[] f) {
+      super.evaluate(x, f);
+      f[0] += 1e-3 * PseudoRandom.randDouble();
+      f[1] += 1e-3 * PseudoRandom.randDouble();
+    } // evaluate
+  } // NoisyZDT1
+
+  /**
+   * A two-objective travelling salesman problem on fixed cities, whose tour
+   * lengths are measured with two noisy metrics (Euclidean and Manhattan).
+   */
+  public static class NoisyTour extends ProblemValue.ProblemPermutation {
+
+    private static final long serialVersionUID = 5123279372094158840L;
+
+    private final double [] x_;
+    private final double [] y_;
+
+    public NoisyTour(int numberOfCities) {
+      numberOfVariables_   = 1;
+      numberOfObjectives_  = 2;
+      numberOfConstraints_ = 0;
+      problemName_         = "NoisyTour";
+
+      length_    = new int[numberOfVariables_];
+      length_[0] = numberOfCities;
+
+      x_ = new double[numberOfCities];
+      y_ = new double[numberOfCities];
+      for (int i = 0; i < numberOfCities; i++) {
+        x_[i] = (i * 0.6180339887) % 1.0;
+        y_[i] = (i * 0.4142135623) % 1.0;
+      } // for
+    } // NoisyTour
+
+    public void evaluate(Solution<Permutation> solution) {
+      int [] tour = solution.getDecisionVariables().variables_.get(0).vector_;
+
+      double euclidean = 0.0;
+      double manhattan = 0.0;
+      for (int i = 0; i < tour.length; i++) {
+        int a = tour[i];
+        int b = tour[(i + 1) % tour.length];
+        double dx = x_[a] - x_[b];
+        double dy = y_[a] - y_[b];
+        euclidean += Math.sqrt(dx * dx + dy * dy);
+        manhattan += Math.abs(dx) + Math.abs(dy);
+      } // for
+
+      solution.setObjective(0, euclidean + 1e-3 * PseudoRandom.randDouble());
+      solution.setObjective(1, manhattan + 1e-3 * PseudoRandom.randDouble());
+    } // evaluate
+  } // NoisyTour
+
+  /**
+   * @param args Command line arguments (none).
+   * @throws JMException
+   */
+  public static void main(String [] args) throws JMException {
+    boolean deterministic = PseudoRandom.isDeterministic();
+    PseudoRandom.setDeterministic(true);
+    try {
+      String reference = null;
+      for (int threads : THREADS)
+        reference = check("NSGA-II on NoisyZDT1", threads, reference,
+                          nsgaII(new NoisyZDT1(), "SBXCrossover", "PolynomialMutation", threads));
+
+      reference = null;
+      for (int threads : THREADS)
+        reference = check("NSGA-II on NoisyTour", threads, reference,
+                          nsgaII(new NoisyTour(30), "TwoPointsCrossover", "SwapMutation", threads));
+
+      reference = null;
+      for (int threads : THREADS)
+        reference = check("aMOCell4 on NoisyZDT1", threads, reference,
+                          mocell(new NoisyZDT1(), "SBXCrossover", "PolynomialMutation", threads));
+
+      reference = null;
+      for (int threads : THREADS)
+        reference = check("aMOCell4 on NoisyTour", threads, reference,
+                          mocell(new NoisyTour(30), "TwoPointsCrossover", "SwapMutation", threads));
+    } finally {
+      PseudoRandom.setDeterministic(deterministic);
+    } // try
+
+    System.out.println("Deterministic_main: OK");
+  } // main
+
+  /**
+   * Compares a front with the one of the first run.
+   * @return The reference front.
+   */
+  private static String check(String run, int threads, String reference, String front) throws JMException {
+    if (reference != null && !reference.equals(front))
+      throw new JMException("Deterministic_main: " + run + " with " + threads +
+                            " threads differs from the first run");
+    return front;
+  } // check
+
+  /**
+   * Runs NSGA-II from the master seed, evaluating the populations with a
+   * <code>ParallelEvaluator</code>.
+   * @return The objectives of the front.
+   */
+  private static String nsgaII(Problem problem, String crossover, String mutation, int threads) throws JMException {
+    PseudoRandom.setSeed(PseudoRandom.getSeed());
+    ParallelEvaluator evaluator = new ParallelEvaluator(problem, threads);
+    try {
+      NSGAII algorithm = new NSGAII(evaluator);
+      algorithm.setPopulationSize(40);
+      algorithm.setMaxEvaluations(2000);
+      algorithm.setCrossover(newCrossover(crossover));
+      algorithm.setMutation(newMutation(mutation));
+      algorithm.setSelection(new BinaryTournament2());
+      return toString(algorithm.execute());
+    } finally {
+      evaluator.shutdown();
+    } // try
+  } // nsgaII
+
+  /**
+   * Runs aMOCell4 from the master seed, keeping 4 evaluations in flight on
+   * a pool of threads.
+   * @return The objectives of the front.
+   */
+  private static String mocell(Problem problem, String crossover, String mutation, int threads) throws JMException {
+    PseudoRandom.setSeed(PseudoRandom.getSeed());
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      aMOCell4 algorithm = new aMOCell4(problem);
+      algorithm.setPopulationSize(49);
+      algorithm.setMaxEvaluations(2000);
+      algorithm.setArchiveSize(49);
+      algorithm.setAsyncEvaluator(new AsyncEvaluator(problem, executor, 4));
+      algorithm.setCrossover(newCrossover(crossover));
+      algorithm.setMutation(newMutation(mutation));
+      algorithm.setSelection(new BinaryTournament());
+      return toString(algorithm.execute());
+    } finally {
+      executor.shutdown();
+    } // try
+  } // mocell
+
+  private static Crossover newCrossover(String name) throws JMException {
+    Crossover crossover = (Crossover) CrossoverFactory.getCrossoverOperator(name);
+    crossover.setProbability(0.9);
+    return crossover;
+  } // newCrossover
+
+  private static Mutation newMutation(String name) throws JMException {
+    Mutation mutation = (Mutation) MutationFactory.getMutationOperator(name);
+    mutation.setProbability(0.1);
+    return mutation;
+  } // newMutation
+
+  /**
+   * Returns the objectives of a set, in order.
+   */
+  private static String toString(SolutionSet set) {
+    StringBuilder objectives = new StringBuilder();
+    for (int i = 0; i < set.size(); i++) {
+      Solution solution = set.get(i);
+      for (int j = 0; j < solution.numberOfObjectives(); j++)
+        objectives.append(solution.getObjective(j)).append(' ');
+      objectives.append('\n');
+    } // for
+    return objectives.toString();
+  } // toString
+} // Deterministic_main
@@ -12,12 +12,14 @@ import java.util.Properties;
 
 import jmetal.base.Algorithm;
 import jmetal.base.Problem;
+import jmetal.base.evaluator.AsyncEvaluator;
 import jmetal.base.operator.crossover.CrossoverFactory;
 import jmetal.base.operator.crossover.SBXCrossover;
 import jmetal.base.operator.mutation.MutationFactory;
 import jmetal.base.operator.mutation.PolynomialMutation;
 import jmetal.base.operator.selection.Selection;
 import jmetal.base.operator.selection.SelectionFactory;
+import jmetal.base.variable.Real;
 import jmetal.experiments.Settings;
 import jmetal.metaheuristics.mocell.aMOCell4;
 import jmetal.util.JMException;
@@ -42,6 +44,8 @@ public class MOCell_Settings extends Settings{
   double  distributionIndexForCrossover_ = 20    ;
   
   String paretoFrontFile_ = "" ;
+
+  int evaluationsInFlight_ = 0 ; // 0: an offspring at a time
   
   /**
    * Constructor
@@ -73,6 +77,8 @@ public class MOCell_Settings extends Settings{
     algorithm.setPopulationSize(populationSize_);
     algorithm.setMaxEvaluations(maxEvaluations_);
     algorithm.setArchiveSize(archiveSize_ );
+    if (evaluationsInFlight_ > 0)
+      algorithm.setAsyncEvaluator(new AsyncEvaluator<Real>(problem_, evaluationsInFlight_));
 //    algorithm.setFeedBack(feedback_);
     
     // Mutation and Crossover for Real codification 
@@ -124,6 +130,8 @@ public class MOCell_Settings extends Settings{
             Double.parseDouble(settings.getProperty("DISTRIBUTION_INDEX_FOR_CROSSOVER", 
                                                     ""+distributionIndexForCrossover_)) ;
       paretoFrontFile_ = settings.getProperty("PARETO_FRONT_FILE", "") ;
+      evaluationsInFlight_ = Integer.parseInt(settings.getProperty("EVALUATIONS_IN_FLIGHT",
+                                                    ""+evaluationsInFlight_)) ;
     }
     
     return configure() ;
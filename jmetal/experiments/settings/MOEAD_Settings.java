@@ -12,10 +12,13 @@ import java.util.Properties;
 
 import jmetal.base.Algorithm;
 import jmetal.base.Problem;
+import jmetal.base.evaluator.NearestNeighborModel;
+import jmetal.base.evaluator.SurrogateScreening;
 import jmetal.base.operator.crossover.CrossoverFactory;
 import jmetal.base.operator.crossover.DifferentialEvolutionCrossover;
 import jmetal.base.operator.mutation.MutationFactory;
 import jmetal.base.operator.mutation.PolynomialMutation;
+import jmetal.base.variable.Real;
 import jmetal.experiments.Settings;
 import jmetal.metaheuristics.moead.MOEAD;
 import jmetal.util.JMException;
@@ -37,6 +40,10 @@ public class MOEAD_Settings extends Settings {
   
   String paretoFrontFile_ = "";
 
+  double surrogateFraction_  = 1.0  ; // 1: all the offsprings are evaluated
+  int    surrogateNeighbors_ = 5    ;
+  int    surrogateCapacity_  = 1000 ;
+
   /**
    * Constructor
    */
@@ -60,6 +67,9 @@ public class MOEAD_Settings extends Settings {
     // Algorithm parameters
     algorithm.setPopulationSize(populationSize_);
     algorithm.setMaxEvaluations(maxEvaluations_);
+    if (surrogateFraction_ < 1)
+      algorithm.setSurrogateScreening(new SurrogateScreening<Real>(problem_,
+        new NearestNeighborModel(surrogateNeighbors_, surrogateCapacity_), surrogateFraction_));
 
     // Crossover operator 
     crossover = (DifferentialEvolutionCrossover) CrossoverFactory.getCrossoverOperator("DifferentialEvolutionCrossover");
@@ -100,6 +110,12 @@ public class MOEAD_Settings extends Settings {
       distributionIndexForMutation_ = 
             Double.parseDouble(settings.getProperty("DISTRIBUTION_INDEX_FOR_MUTATION", 
                                                     ""+distributionIndexForMutation_)) ;
+      surrogateFraction_ = Double.parseDouble(settings.getProperty("SURROGATE_FRACTION",
+                                                    ""+surrogateFraction_)) ;
+      surrogateNeighbors_ = Integer.parseInt(settings.getProperty("SURROGATE_NEIGHBORS",
+                                                    ""+surrogateNeighbors_)) ;
+      surrogateCapacity_ = Integer.parseInt(settings.getProperty("SURROGATE_CAPACITY",
+                                                    ""+surrogateCapacity_)) ;
       
       paretoFrontFile_ = settings.getProperty("PARETO_FRONT_FILE", "");
     }
@@ -12,12 +12,15 @@ import java.util.Properties;
 
 import jmetal.base.Algorithm;
 import jmetal.base.Problem;
+import jmetal.base.evaluator.NearestNeighborModel;
+import jmetal.base.evaluator.SurrogateScreening;
 import jmetal.base.operator.crossover.CrossoverFactory;
 import jmetal.base.operator.crossover.SBXCrossover;
 import jmetal.base.operator.mutation.MutationFactory;
 import jmetal.base.operator.mutation.PolynomialMutation;
 import jmetal.base.operator.selection.Selection;
 import jmetal.base.operator.selection.SelectionFactory;
+import jmetal.base.variable.Real;
 import jmetal.experiments.Settings;
 import jmetal.metaheuristics.nsgaII.NSGAII;
 import jmetal.qualityIndicator.QualityIndicator;
@@ -40,6 +43,13 @@ public class NSGAII_Settings extends Settings {
   double  distributionIndexForCrossover_ = 20    ;
   
   String paretoFrontFile_ = "" ;
+
+  boolean solutionPooling_ = false ;
+  boolean realPopulation_  = false ;
+
+  double surrogateFraction_  = 1.0  ; // 1: all the offsprings are evaluated
+  int    surrogateNeighbors_ = 5    ;
+  int    surrogateCapacity_  = 1000 ;
   
   /**
    * Constructor
@@ -67,6 +77,11 @@ public class NSGAII_Settings extends Settings {
     // Algorithm parameters
     algorithm.setPopulationSize(populationSize_);
     algorithm.setMaxEvaluations(maxEvaluations_);
+    algorithm.setSolutionPooling(solutionPooling_);
+    algorithm.setRealPopulation(realPopulation_);
+    if (surrogateFraction_ < 1)
+      algorithm.setSurrogateScreening(new SurrogateScreening<Real>(problem_,
+        new NearestNeighborModel(surrogateNeighbors_, surrogateCapacity_), surrogateFraction_));
     
     // Mutation and Crossover for Real codification 
     crossover = (SBXCrossover) CrossoverFactory.getCrossoverOperator("SBXCrossover");                   
@@ -114,6 +129,16 @@ public class NSGAII_Settings extends Settings {
             Double.parseDouble(settings.getProperty("DISTRIBUTION_INDEX_FOR_CROSSOVER", 
                                                     ""+distributionIndexForCrossover_)) ;
       paretoFrontFile_ = settings.getProperty("PARETO_FRONT_FILE", "") ;
+      solutionPooling_ = Boolean.parseBoolean(settings.getProperty("SOLUTION_POOLING",
+                                                    ""+solutionPooling_)) ;
+      realPopulation_ = Boolean.parseBoolean(settings.getProperty("REAL_POPULATION",
+                                                    ""+realPopulation_)) ;
+      surrogateFraction_ = Double.parseDouble(settings.getProperty("SURROGATE_FRACTION",
+                                                    ""+surrogateFraction_)) ;
+      surrogateNeighbors_ = Integer.parseInt(settings.getProperty("SURROGATE_NEIGHBORS",
+                                                    ""+surrogateNeighbors_)) ;
+      surrogateCapacity_ = Integer.parseInt(settings.getProperty("SURROGATE_CAPACITY",
+                                                    ""+surrogateCapacity_)) ;
     }
     
     return configure() ;
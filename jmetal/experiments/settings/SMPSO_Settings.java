@@ -12,6 +12,9 @@ import java.util.Properties;
 
 import jmetal.base.Algorithm;
 import jmetal.base.ProblemValue;
+import jmetal.base.evaluator.NearestNeighborModel;
+import jmetal.base.evaluator.SurrogateScreening;
+import jmetal.base.variable.Real;
 import jmetal.experiments.Settings;
 import jmetal.metaheuristics.smpso.SMPSO;
 import jmetal.qualityIndicator.QualityIndicator;
@@ -32,6 +35,10 @@ public class SMPSO_Settings extends Settings{
   double mutationDistributionIndex_ = 20.0 ;
   
   String paretoFrontFile_ = "" ;
+
+  double surrogateFraction_  = 1.0  ; // 1: all the offsprings are evaluated
+  int    surrogateNeighbors_ = 5    ;
+  int    surrogateCapacity_  = 1000 ;
   
   /**
    * Constructor
@@ -59,6 +66,9 @@ public class SMPSO_Settings extends Settings{
     algorithm.setArchiveSize(archiveSize_);
 //    algorithm.setPerturbationIndex(perturbationIndex_);
     algorithm.setMutationDistributionIndex(mutationDistributionIndex_);
+    if (surrogateFraction_ < 1)
+      algorithm.setSurrogateScreening(new SurrogateScreening<Real>(problem_,
+        new NearestNeighborModel(surrogateNeighbors_, surrogateCapacity_), surrogateFraction_));
     
    // Creating the indicator object
    if (! paretoFrontFile_.equals("")) {
@@ -83,6 +93,12 @@ public class SMPSO_Settings extends Settings{
                                                     ""+perturbationIndex_)) ;
       mutationDistributionIndex_ = Double.parseDouble(settings.getProperty("MUTATION_DISTRIBUTION_INDEX",
                                                     ""+mutationDistributionIndex_)) ;
+      surrogateFraction_ = Double.parseDouble(settings.getProperty("SURROGATE_FRACTION",
+                                                    ""+surrogateFraction_)) ;
+      surrogateNeighbors_ = Integer.parseInt(settings.getProperty("SURROGATE_NEIGHBORS",
+                                                    ""+surrogateNeighbors_)) ;
+      surrogateCapacity_ = Integer.parseInt(settings.getProperty("SURROGATE_CAPACITY",
+                                                    ""+surrogateCapacity_)) ;
       
       paretoFrontFile_ = settings.getProperty("PARETO_FRONT_FILE", "") ;
     }
@@ -12,12 +12,14 @@ import java.util.Properties;
 
 import jmetal.base.Algorithm;
 import jmetal.base.Problem;
+import jmetal.base.evaluator.AsyncEvaluator;
 import jmetal.base.operator.crossover.CrossoverFactory;
 import jmetal.base.operator.crossover.SBXCrossover;
 import jmetal.base.operator.mutation.MutationFactory;
 import jmetal.base.operator.mutation.PolynomialMutation;
 import jmetal.base.operator.selection.Selection;
 import jmetal.base.operator.selection.SelectionFactory;
+import jmetal.base.variable.Real;
 import jmetal.experiments.Settings;
 import jmetal.metaheuristics.nsgaII.ssNSGAII;
 import jmetal.qualityIndicator.QualityIndicator;
@@ -40,6 +42,8 @@ public class ssNSGAII_Settings extends Settings{
   double  distributionIndexForCrossover_ = 20    ;
   
   String paretoFrontFile_ = "" ;
+
+  int evaluationsInFlight_ = 0 ; // 0: an offspring at a time
   
   /**
    * Constructor
@@ -67,6 +71,8 @@ public class ssNSGAII_Settings extends Settings{
     // Algorithm parameters
     algorithm.setPopulationSize(populationSize_);
     algorithm.setMaxEvaluations(maxEvaluations_);
+    if (evaluationsInFlight_ > 0)
+      algorithm.setAsyncEvaluator(new AsyncEvaluator<Real>(problem_, evaluationsInFlight_));
     
     // Mutation and Crossover for Real codification 
     crossover = (SBXCrossover) CrossoverFactory.getCrossoverOperator("SBXCrossover");                   
@@ -114,6 +120,8 @@ public class ssNSGAII_Settings extends Settings{
             Double.parseDouble(settings.getProperty("DISTRIBUTION_INDEX_FOR_CROSSOVER", 
                                                     ""+distributionIndexForCrossover_)) ;
       paretoFrontFile_ = settings.getProperty("PARETO_FRONT_FILE", "") ;
+      evaluationsInFlight_ = Integer.parseInt(settings.getProperty("EVALUATIONS_IN_FLIGHT",
+                                                    ""+evaluationsInFlight_)) ;
     }
     
     return configure() ;
@@ -20,6 +20,8 @@ import jmetal.experiments.Settings;
 import jmetal.problems.ProblemFactory;
 import jmetal.qualityIndicator.QualityIndicator;
 import jmetal.util.JMException;
+import jmetal.util.PseudoRandom;
+import jmetal.util.RandomStream;
 /**
  *
  * @author antonio
@@ -110,6 +112,10 @@ public class runExperiment extends Thread {
     for (int problemId = first_; problemId <= last_; problemId++) {
       ProblemValue problem;   // The problem to solve
 
+      // The setup of a problem draws from a stream depending only on the
+      // problem, not on the thread (the thread ends with the experiment)
+      PseudoRandom.setStream(PseudoRandom.newStream(problemId));
+
       problem = null ;
       // STEP 2: get the problem from the list
       Object[] params = {"Real"}; // Parameters of the problem
@@ -156,10 +162,15 @@ synchronized(experiment_) {
           System.out.println("Running algorithm: " + algorithmNameList_[i] +
             ", problem: " + problemList_[problemId] +
             ", run: " + runs);
+          // The random stream of a run depends only on its problem, run and
+          // algorithm, not on the thread running it
+          RandomStream stream = PseudoRandom.setStream(PseudoRandom.newStream(problemId, runs, i));
           try {
             resultFront= algorithm[i].execute();
           } catch (JMException ex) {
             Logger.getLogger(Experiment.class.getName()).log(Level.SEVERE, null, ex);
+          } finally {
+            PseudoRandom.setStream(stream);
           }
 
           // STEP 8: put the results in the output directory
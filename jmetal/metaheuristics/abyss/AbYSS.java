@@ -9,6 +9,7 @@ package jmetal.metaheuristics.abyss;
 import java.util.Comparator;
 
 import jmetal.base.Algorithm;
+import jmetal.base.Problem;
 import jmetal.base.ProblemValue;
 import jmetal.base.Solution;
 import jmetal.base.SolutionSet;
@@ -39,6 +40,12 @@ public class AbYSS<V extends VariableValue>
    */
   private ProblemValue<V> problem_;        
   
+  /**
+   * Evaluates the solutions: the problem itself, or a decorator of it (e.g.,
+   * a <code>ParallelEvaluator</code>)
+   */
+  private Problem<V> evaluator_;
+
   /**
    * Stores the number of subranges in which each variable is divided. Used in
    * the diversification method. By default it takes the value 4 (see the method
@@ -125,6 +132,7 @@ public class AbYSS<V extends VariableValue>
   public AbYSS(ProblemValue<V> problem){
     //Initialize the fields 
     problem_ = problem ;                  
+    evaluator_ = problem ;
        
     solutionSet_ = null ;
     archive_     = null ;
@@ -146,6 +154,15 @@ public class AbYSS<V extends VariableValue>
 	public void setArchiveSize(int archiveSize) {
 		archiveSize_ = archiveSize;
 	}
+
+	/**
+	 * Sets the problem evaluating the solutions, which must be equivalent to the
+	 * problem to solve (e.g., a <code>ParallelEvaluator</code> wrapping it).
+	 * @param evaluator The evaluator.
+	 */
+	public void setEvaluator(Problem<V> evaluator) {
+		evaluator_ = evaluator;
+	}
   
   /**
    * Reads the parameter from the parameter list using the
@@ -421,6 +438,11 @@ public class AbYSS<V extends VariableValue>
         
     subSet_.clear();                                                                                        
         
+    // The offsprings of all the pairs are evaluated as a batch
+    int size1 = refSet1_.size();
+    int size2 = refSet2_.size();
+    SolutionSet<V> offSprings = new SolutionSet<V>(size1 * size1 + size2 * size2);
+
     //All pairs from refSet1
     for (int i = 0; i < refSet1_.size();i++){
       parents[0] = refSet1_.get(i);
@@ -429,15 +451,8 @@ public class AbYSS<V extends VariableValue>
         if (!parents[0].isMarked() || !parents[1].isMarked()){
           //offSpring = parent1.crossover(1.0,parent2);
           offSpring = crossoverOperator.execute(parents[0], parents[1]);
-          problem_.evaluate(offSpring[0]);
-          problem_.evaluate(offSpring[1]);    
-          problem_.evaluateConstraints(offSpring[0]);
-          problem_.evaluateConstraints(offSpring[1]);                    
-          evaluations_ += 2;                                        
-          if (evaluations_ < maxEvaluations){
-            subSet_.add(offSpring[0]);
-            subSet_.add(offSpring[1]);    
-          }
+          offSprings.add(offSpring[0]);
+          offSprings.add(offSpring[1]);
           parents[0].marked();
           parents[1].marked();
         }                
@@ -452,24 +467,51 @@ public class AbYSS<V extends VariableValue>
         if (!parents[0].isMarked() || !parents[1].isMarked()){
           //offSpring = parents[0].crossover(1.0,parent2);                    
           offSpring = crossoverOperator.execute(parents[0], parents[1]);
-          problem_.evaluateConstraints(offSpring[0]);
-          problem_.evaluateConstraints(offSpring[1]);                    
-          problem_.evaluate(offSpring[0]);
-          problem_.evaluate(offSpring[1]);
-          evaluations_+=2;                                        
-          if (evaluations_ < maxEvaluations){
-            subSet_.add(offSpring[0]);
-            subSet_.add(offSpring[1]);
-          }
+          offSprings.add(offSpring[0]);
+          offSprings.add(offSpring[1]);
           parents[0].marked();
           parents[1].marked();
         }                
       }
     }
+
+    evaluator_.evaluate(offSprings);
+
+    // Keep the offsprings of the pairs combined before reaching the maximum
+    // number of evaluations
+    for (int i = 0; i < offSprings.size(); i += 2) {
+      evaluations_ += 2;
+      if (evaluations_ < maxEvaluations){
+        subSet_.add(offSprings.get(i));
+        subSet_.add(offSprings.get(i + 1));
+      }
+    }
                         
     return subSet_.size();
   } // subSetGeneration
     
+  /**
+   * Creates a number of solutions with the diversification generation method,
+   * evaluates them as a batch, improves them and adds them to the solution
+   * set.
+   * @param n The number of solutions to create.
+   * @throws JMException
+   */
+  private void addDiversifiedSolutions(int n) throws JMException {
+    SolutionSet<V> solutions = new SolutionSet<V>(n);
+    for (int i = 0; i < n; i++)
+      solutions.add(diversificationGeneration());
+
+    evaluations_ += evaluator_.evaluate(solutions);
+
+    for (int i = 0; i < n; i++) {
+      Solution<V> solution = improvement.execute(solutions.get(i));
+      evaluations_ += improvement.getEvaluations();
+      solution.unMarked();
+      solutionSet_.add(solution);
+    } // for
+  } // addDiversifiedSolutions
+
   /**   
   * Runs of the AbYSS algorithm.
   * @return a <code>SolutionSet</code> that is a set of non dominated solutions
@@ -482,15 +524,7 @@ public class AbYSS<V extends VariableValue>
     
     // STEP 2. Build the initial solutionSet
     Solution<V> solution;
-    for (int i = 0; i < solutionSetSize_; i++) {        
-      solution = diversificationGeneration();              
-      problem_.evaluateConstraints(solution);
-      problem_.evaluate(solution);            
-      evaluations_++;
-      solution = improvement.execute(solution);            
-      evaluations_ += improvement.getEvaluations();
-      solutionSet_.add(solution);            
-    } // fpr
+    addDiversifiedSolutions(solutionSetSize_);
         
     // STEP 3. Main loop
     int newSolutions = 0;
@@ -540,16 +574,7 @@ public class AbYSS<V extends VariableValue>
         }
                 
         // Create the rest of solutions randomly
-        while (solutionSet_.size() < solutionSetSize_){
-          solution = diversificationGeneration();                    
-          problem_.evaluateConstraints(solution);                                         
-          problem_.evaluate(solution);
-          evaluations_++;
-          solution = improvement.execute(solution);
-          evaluations_ += improvement.getEvaluations();
-          solution.unMarked();
-          solutionSet_.add(solution);
-        } // while
+        addDiversifiedSolutions(solutionSetSize_ - solutionSet_.size());
       } // if   
     } // while       
     
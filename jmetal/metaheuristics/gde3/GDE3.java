@@ -17,6 +17,7 @@ import jmetal.base.operator.localSearch.LocalSearch;
 import jmetal.base.operator.mutation.Mutation;
 import jmetal.base.operator.selection.DifferentialEvolutionSelection;
 import jmetal.base.variable.Real;
+import jmetal.util.CrowdingTruncation;
 import jmetal.util.Distance;
 import jmetal.util.JMException;
 import jmetal.util.Ranking;
@@ -71,34 +72,33 @@ public class GDE3<V extends Real>
     iterations  = 0 ;
 
     // Create the initial solutionSet
-    Solution<V> newSolution;
-    for (int i = 0; i < populationSize; i++) {
-      newSolution = new Solution<V>(problem_);                    
-      problem_.evaluate(newSolution);            
-      problem_.evaluateConstraints(newSolution);
-      evaluations++;
-      population.add(newSolution);
-    } //for       
+    for (int i = 0; i < populationSize; i++)
+      population.add(new Solution<V>(problem_));
+    evaluations += problem_.evaluate(population);
   
     // Generations ...
     while (iterations < maxIterations) {
       // Create the offSpring solutionSet      
       offspringPopulation  = new SolutionSet<V>(populationSize * 2);        
 
+      // Create the children (the population does not change meanwhile), and
+      // evaluate them as a batch
+      SolutionSet<V> children = new SolutionSet<V>(populationSize);
       for (int i = 0; i < (populationSize); i++){   
         // Obtain parents. Two parameters are required: the population and the 
         //                 index of the current individual
       	selectionOperator.setIndex(i);
         parent = selectionOperator.execute(population);
 
-        Solution<V> child ;
         // Crossover. Two parameters are required: the current individual and the 
         //            array of parents
-        child = ((DifferentialCrossover<V>)crossoverOperator).execute(population.get(i), parent);
+        children.add(((DifferentialCrossover<V>)crossoverOperator).execute(population.get(i), parent));
+      } // for
 
-        problem_.evaluate(child) ;
-        problem_.evaluateConstraints(child);
-        evaluations++ ;
+      evaluations += problem_.evaluate(children);
+
+      for (int i = 0; i < (populationSize); i++){   
+        Solution<V> child = children.get(i);
         
         // Dominance test
         int result  ;
@@ -153,8 +153,7 @@ public class GDE3<V extends Real>
         //} // for
         while (front.size() > remain) {
            Distance.crowdingDistanceAssignment(front,problem_.getNumberOfObjectives());
-           front.sort(new jmetal.base.operator.comparator.CrowdingComparator<V>());
-           front.remove(front.size()-1);
+           front.remove(CrowdingTruncation.worst(front));
         }
         for (int k = 0; k < front.size(); k++) {
           population.add(front.get(k));
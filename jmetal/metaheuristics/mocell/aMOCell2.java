@@ -13,6 +13,7 @@ import jmetal.base.Solution;
 import jmetal.base.SolutionSet;
 import jmetal.base.Variable;
 import jmetal.base.archive.CrowdingArchive;
+import jmetal.base.evaluator.AsyncEvaluator;
 import jmetal.base.operator.comparator.CrowdingComparator;
 import jmetal.base.operator.comparator.DominanceComparator;
 import jmetal.base.operator.crossover.Crossover;
@@ -20,6 +21,7 @@ import jmetal.base.operator.localSearch.LocalSearch;
 import jmetal.base.operator.mutation.Mutation;
 import jmetal.base.operator.selection.Selection;
 import jmetal.util.Distance;
+import jmetal.util.DominanceIndex;
 import jmetal.util.JMException;
 import jmetal.util.Neighborhood;
 import jmetal.util.Ranking;
@@ -50,6 +52,13 @@ extends Algorithm<V, Crossover<V>, Mutation<V>, Selection<V, Solution<V>>, Local
 	public void setArchiveSize(int archiveSize) {
 		this.archiveSize = archiveSize;
 	}
+
+  // state of the run, shared by breed and replace
+  private transient SolutionSet<V> population_;
+  private transient CrowdingArchive<V> archive_;
+  private transient Neighborhood<V> neighborhood_;
+  private transient Comparator<Solution<V>> dominance_;
+  private transient Comparator<Solution<V>> crowding_;
 	
   /**   
    * Runs of the aMOCell2 algorithm.
@@ -59,100 +68,144 @@ extends Algorithm<V, Crossover<V>, Mutation<V>, Selection<V, Solution<V>>, Local
    */    
   @SuppressWarnings("unchecked")
 	public SolutionSet<V> execute() throws JMException {
-    //Init the param
     int populationSize, maxEvaluations, evaluations;
-    SolutionSet<V> currentSolutionSet;
-    CrowdingArchive<V> archive;
-    SolutionSet<V> [] neighbors;    
-    Neighborhood<V> neighborhood;
-    Comparator<Solution<V>> dominance = new DominanceComparator<V>(),
-    crowding  = new CrowdingComparator<V>();  
 
     //Read the params
     populationSize    = getPopulationSize();
-    maxEvaluations    = getMaxEvaluations();                                
-
-    //Initialize the variables
-    currentSolutionSet  = new SolutionSet<V>(populationSize);        
-    archive            = new CrowdingArchive<V>(archiveSize,problem_.getNumberOfObjectives());                
-    evaluations        = 0;                        
-    neighborhood       = new Neighborhood<V>(populationSize);
-    neighbors          = new SolutionSet[populationSize];
+    maxEvaluations    = getMaxEvaluations();                
 
+    //Init the variables
+    //init the population and the archive
+    population_    = new SolutionSet<V>(populationSize);        
+    archive_       = new CrowdingArchive<V>(archiveSize,problem_.getNumberOfObjectives());                
+    evaluations    = 0;                        
+    neighborhood_  = new Neighborhood<V>(populationSize);
+    dominance_     = new DominanceComparator<V>();
+    crowding_      = new CrowdingComparator<V>();
 
     //Create the initial population
     for (int i = 0; i < populationSize; i++){
-      Solution<V> solution = new Solution<V>(problem_);
-      problem_.evaluate(solution);           
-      problem_.evaluateConstraints(solution);
-      currentSolutionSet.add(solution);
-      solution.setLocation(i);
-      evaluations++;
+      Solution<V> individual = new Solution<V>(problem_);
+      population_.add(individual);
+      individual.setLocation(i);
     }
-
-
-    while (evaluations < maxEvaluations){                                 
-      for (int ind = 0; ind < currentSolutionSet.size(); ind++){
-        Solution<V> individual = new Solution<V>(currentSolutionSet.get(ind));
-
-        Solution<V> [] offSpring;
-
-        //neighbors[ind] = neighborhood.getFourNeighbors(currentSolutionSet,ind);
-        neighbors[ind] = neighborhood.getEightNeighbors(currentSolutionSet,ind);                                                           
-        neighbors[ind].add(individual);
-
-        //parents
-        Solution<V> parent1 = selectionOperator.execute(neighbors[ind]);
-        Solution<V> parent2;
-				if (archive.size() > 0) {
-          parent2 = selectionOperator.execute(archive);
-        } else {
-          parent2 = selectionOperator.execute(neighbors[ind]);
+    evaluations += problem_.evaluate(population_);
+
+    AsyncEvaluator<V> asyncEvaluator = getAsyncEvaluator();
+    if (asyncEvaluator == null) {
+      //The evaluation of an offspring can be aborted if it is dominated by
+      //the individual of its cell, which discards it
+      DominanceIndex<V> index = new DominanceIndex<V>(problem_.getNumberOfObjectives());
+      while (evaluations < maxEvaluations){                                 
+        for (int ind = 0; ind < population_.size(); ind++){
+          Solution<V> offSpring = breed(ind);
+
+          //Evaluate individual an his constraints
+          index.setParent(population_.get(ind));
+          index.evaluate(problem_, offSpring);
+          problem_.evaluateConstraints(offSpring);
+          evaluations++;
+
+          replace(offSpring);
         }
+      }
+    } else if (evaluations < maxEvaluations) {
+      //The offsprings are evaluated asynchronously: the cells are visited
+      //in order, and each offspring competes for its cell when evaluated
+      try {
+        evaluations += asyncEvaluator.run(new AsyncEvaluator.SteadyState<V>() {
+          private int ind = 0;
+
+          public Solution<V> breed() throws JMException {
+            if (ind == population_.size()) {
+              ind = 0;
+            }
+            return aMOCell2.this.breed(ind++);
+          }
 
-        //Create a new solution, using genetic operators mutation and crossover
-        offSpring = crossoverOperator.execute(parent1, parent2);               
-        mutationOperator.execute(offSpring[0]);
-
-        //->Evaluate solution and constraints
-        problem_.evaluate(offSpring[0]);
-        problem_.evaluateConstraints(offSpring[0]);
-        evaluations++;
-
-        int flag = dominance.compare(individual,offSpring[0]);
-
-        if (flag == 1){ // OffSpring[0] dominates
-          offSpring[0].setLocation(individual.getLocation());                                      
-          currentSolutionSet.replace(offSpring[0].getLocation(),offSpring[0]);
-          archive.add(new Solution<V>(offSpring[0]));                   
-        } else if (flag == 0) { //Both two are non-dominated               
-          neighbors[ind].add(offSpring[0]);
-          //(new Spea2Fitness(neighbors[ind])).fitnessAssign();                   
-          //neighbors[ind].sort(new FitnessAndCrowdingDistanceComparator()); //Create a new comparator;
-          Ranking<V> rank = new Ranking<V>(neighbors[ind]);
-          for (int j = 0; j < rank.getNumberOfSubfronts(); j++){
-            Distance.crowdingDistanceAssignment(rank.getSubfront(j),problem_.getNumberOfObjectives());
+          public void integrate(Solution<V> offspring) throws JMException {
+            replace(offspring);
           }
+        }, maxEvaluations - evaluations);
+      } finally {
+        asyncEvaluator.shutdown();
+      } // try
+    }
 
-          boolean deleteMutant = true;
+    return archive_;
+  } // execute
 
+  /**
+   * Creates an offspring for a cell, using the genetic operators on parents
+   * selected from its neighborhood and from the archive.
+   * @param ind The cell.
+   * @return The offspring, whose location is the cell.
+   * @throws JMException
+   */
+  private Solution<V> breed(int ind) throws JMException {
+    Solution<V> individual = new Solution<V>(population_.get(ind));
+
+    //SolutionSet<V> neighbors = neighborhood_.getFourNeighbors(population_,ind);
+    SolutionSet<V> neighbors = neighborhood_.getEightNeighbors(population_,ind);                                                           
+    neighbors.add(individual);
+
+    //parents
+    Solution<V> parent1 = selectionOperator.execute(neighbors);
+    Solution<V> parent2;
+    if (archive_.size() > 0) {
+      parent2 = selectionOperator.execute(archive_);
+    } else {                   
+      parent2 = selectionOperator.execute(neighbors);
+    }
 
-          int compareResult = crowding.compare(individual,offSpring[0]);
-          if (compareResult == 1) { //The offSpring[0] is better
-            deleteMutant = false;
-          }
+    //Create a new individual, using genetic operators mutation and crossover
+    Solution<V> [] offSpring = crossoverOperator.execute(parent1, parent2);               
+    mutationOperator.execute(offSpring[0]);
 
-          if (!deleteMutant)  {
-            offSpring[0].setLocation(individual.getLocation());
-            currentSolutionSet.replace(offSpring[0].getLocation(),offSpring[0]);
-            archive.add(new Solution<V>(offSpring[0]));
-          } else {
-            archive.add(new Solution<V>(offSpring[0]));    
-          }
-        }                              
-      }                                                       
-    }
-    return archive;
-  } // execute     
-} // aMOCell2
+    offSpring[0].setLocation(ind);
+    return offSpring[0];
+  } // breed
 
+  /**
+   * Replaces the individual of a cell with an evaluated offspring, if the
+   * offspring is better, and adds the offspring to the archive. The
+   * individual and its neighborhood are the current ones, which may have
+   * changed since the offspring was bred.
+   * @param offSpring The offspring, whose location is its cell.
+   */
+  private void replace(Solution<V> offSpring) {
+    int ind = offSpring.getLocation();
+    Solution<V> individual = new Solution<V>(population_.get(ind));
+
+    SolutionSet<V> neighbors = neighborhood_.getEightNeighbors(population_,ind);                                                           
+    neighbors.add(individual);
+
+    int flag = dominance_.compare(individual,offSpring);
+
+    if (flag == 1) { //The new individual dominates
+      offSpring.setLocation(individual.getLocation());                                      
+      population_.replace(offSpring.getLocation(),offSpring);
+      archive_.add(new Solution<V>(offSpring));                   
+    } else if (flag == 0) { //The new individual is non-dominated               
+      neighbors.add(offSpring);
+      Ranking<V> rank = new Ranking<V>(neighbors);
+      for (int j = 0; j < rank.getNumberOfSubfronts(); j++) {
+        Distance.crowdingDistanceAssignment(rank.getSubfront(j),
+            problem_.getNumberOfObjectives());
+      }
+
+      boolean deleteMutant = true;          
+      int compareResult = crowding_.compare(individual,offSpring);
+      if (compareResult == 1) //The offSpring is better
+        deleteMutant = false;
+
+      if (!deleteMutant){
+        offSpring.setLocation(individual.getLocation());
+        population_.replace(offSpring.getLocation(),offSpring);
+        archive_.add(new Solution<V>(offSpring));
+      } else {
+        archive_.add(new Solution<V>(offSpring));    
+      }
+    }                              
+  } // replace
+} // aMOCell2
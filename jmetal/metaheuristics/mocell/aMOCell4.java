@@ -14,6 +14,7 @@ import jmetal.base.Solution;
 import jmetal.base.SolutionSet;
 import jmetal.base.Variable;
 import jmetal.base.archive.CrowdingArchive;
+import jmetal.base.evaluator.AsyncEvaluator;
 import jmetal.base.operator.comparator.CrowdingComparator;
 import jmetal.base.operator.comparator.DominanceComparator;
 import jmetal.base.operator.crossover.Crossover;
@@ -21,6 +22,7 @@ import jmetal.base.operator.localSearch.LocalSearch;
 import jmetal.base.operator.mutation.Mutation;
 import jmetal.base.operator.selection.Selection;
 import jmetal.util.Distance;
+import jmetal.util.DominanceIndex;
 import jmetal.util.JMException;
 import jmetal.util.Neighborhood;
 import jmetal.util.Ranking;
@@ -45,99 +47,154 @@ public class aMOCell4<V extends Variable>
 		this.archiveSize = archiveSize;
 	}
 
+  // state of the run, shared by breed and replace
+  private transient SolutionSet<V> population_;
+  private transient CrowdingArchive<V> archive_;
+  private transient Neighborhood<V> neighborhood_;
+  private transient Comparator<Solution<V>> dominance_;
+  private transient Comparator<Solution<V>> crowding_;
+
   /** Execute the algorithm 
    * @throws JMException */
   @SuppressWarnings("unchecked")
 	public SolutionSet<V> execute() throws JMException {
-    //Init the param
     int populationSize, maxEvaluations, evaluations;
-    SolutionSet<V> currentPopulation;
-    CrowdingArchive<V> archive;
-    SolutionSet<V> [] neighbors;    
-    Neighborhood<V> neighborhood;
-    Comparator<Solution<V>> dominance = new DominanceComparator<V>();  
-    Comparator<Solution<V>> crowdingComparator = new CrowdingComparator<V>();
-
-    //Init the param
+
     //Read the params
     populationSize    = getPopulationSize();
-    maxEvaluations    = getMaxEvaluations();                                
+    maxEvaluations    = getMaxEvaluations();                
 
-    //Init the variables    
-    currentPopulation  = new SolutionSet<V>(populationSize);        
-    archive            = new CrowdingArchive<V>(archiveSize,problem_.getNumberOfObjectives());                
-    evaluations        = 0;                        
-    neighborhood       = new Neighborhood<V>(populationSize);
-    neighbors          = new SolutionSet[populationSize];
+    //Init the variables
+    //init the population and the archive
+    population_    = new SolutionSet<V>(populationSize);        
+    archive_       = new CrowdingArchive<V>(archiveSize,problem_.getNumberOfObjectives());                
+    evaluations    = 0;                        
+    neighborhood_  = new Neighborhood<V>(populationSize);
+    dominance_     = new DominanceComparator<V>();
+    crowding_      = new CrowdingComparator<V>();
 
     //Create the initial population
     for (int i = 0; i < populationSize; i++){
       Solution<V> individual = new Solution<V>(problem_);
-      problem_.evaluate(individual);           
-      problem_.evaluateConstraints(individual);
-      currentPopulation.add(individual);
+      population_.add(individual);
       individual.setLocation(i);
-      evaluations++;
     }
-
-
-    while (evaluations < maxEvaluations){                                 
-      for (int ind = 0; ind < currentPopulation.size(); ind++){
-        Solution<V> individual = new Solution<V>(currentPopulation.get(ind));
-
-        Solution<V> [] offSpring;
-
-        //neighbors[ind] = neighborhood.getFourNeighbors(currentPopulation,ind);
-        neighbors[ind] = neighborhood.getEightNeighbors(currentPopulation,ind);                                                           
-        neighbors[ind].add(individual);
-
-        // parents
-        Solution<V> parent1 = selectionOperator.execute(neighbors[ind]);
-        Solution<V> parent2;
-        if (archive.size() > 0) {
-          parent2 = selectionOperator.execute(archive);
-        } else {                   
-          parent2 = selectionOperator.execute(neighbors[ind]);
+    evaluations += problem_.evaluate(population_);
+
+    AsyncEvaluator<V> asyncEvaluator = getAsyncEvaluator();
+    if (asyncEvaluator == null) {
+      //The evaluation of an offspring can be aborted if it is dominated by
+      //the individual of its cell, which discards it
+      DominanceIndex<V> index = new DominanceIndex<V>(problem_.getNumberOfObjectives());
+      while (evaluations < maxEvaluations){                                 
+        for (int ind = 0; ind < population_.size(); ind++){
+          Solution<V> offSpring = breed(ind);
+
+          //Evaluate individual an his constraints
+          index.setParent(population_.get(ind));
+          index.evaluate(problem_, offSpring);
+          problem_.evaluateConstraints(offSpring);
+          evaluations++;
+
+          replace(offSpring);
         }
+      }
+    } else if (evaluations < maxEvaluations) {
+      //The offsprings are evaluated asynchronously: the cells are visited
+      //in order, and each offspring competes for its cell when evaluated
+      try {
+        evaluations += asyncEvaluator.run(new AsyncEvaluator.SteadyState<V>() {
+          private int ind = 0;
+
+          public Solution<V> breed() throws JMException {
+            if (ind == population_.size()) {
+              ind = 0;
+            }
+            return aMOCell4.this.breed(ind++);
+          }
 
-        // Create a new individual, using genetic operators mutation and crossover
-        offSpring = crossoverOperator.execute(parent1, parent2);               
-        mutationOperator.execute(offSpring[0]);
-
-        // Evaluate individual an his constraints
-        problem_.evaluate(offSpring[0]);
-        problem_.evaluateConstraints(offSpring[0]);
-        evaluations++;
-
-        int flag = dominance.compare(individual,offSpring[0]);
-
-        if (flag == 1) { //The new individual dominates
-          offSpring[0].setLocation(individual.getLocation());                                      
-          currentPopulation.replace(offSpring[0].getLocation(),offSpring[0]);
-          archive.add(new Solution<V>(offSpring[0]));                   
-        } else if (flag == 0) { //The new individual is non-dominated               
-          neighbors[ind].add(offSpring[0]);               
-          offSpring[0].setLocation(-1);
-          Ranking<V> rank = new Ranking<V>(neighbors[ind]);
-          for (int j = 0; j < rank.getNumberOfSubfronts(); j++) {
-            Distance.crowdingDistanceAssignment(rank.getSubfront(j),
-                                                problem_.getNumberOfObjectives());
+          public void integrate(Solution<V> offspring) throws JMException {
+            replace(offspring);
           }
-          neighbors[ind].sort(crowdingComparator); 
-          Solution<V> worst = neighbors[ind].get(neighbors[ind].size()-1);
-
-          if (worst.getLocation() == -1) { //The worst is the offspring
-            archive.add(new Solution<V>(offSpring[0]));
-          } else {
-            offSpring[0].setLocation(worst.getLocation());
-            currentPopulation.replace(offSpring[0].getLocation(),offSpring[0]);
-            archive.add(new Solution<V>(offSpring[0]));
-          }                                          
-        }
-      }                                 
+        }, maxEvaluations - evaluations);
+      } finally {
+        asyncEvaluator.shutdown();
+      } // try
     }
+
     //System.out.println(evaluations);
-    return archive;
-  }        
-}
+    return archive_;
+  } // execute
+
+  /**
+   * Creates an offspring for a cell, using the genetic operators on parents
+   * selected from its neighborhood and from the archive.
+   * @param ind The cell.
+   * @return The offspring, whose location is the cell.
+   * @throws JMException
+   */
+  private Solution<V> breed(int ind) throws JMException {
+    Solution<V> individual = new Solution<V>(population_.get(ind));
+
+    //SolutionSet<V> neighbors = neighborhood_.getFourNeighbors(population_,ind);
+    SolutionSet<V> neighbors = neighborhood_.getEightNeighbors(population_,ind);                                                           
+    neighbors.add(individual);
+
+    //parents
+    Solution<V> parent1 = selectionOperator.execute(neighbors);
+    Solution<V> parent2;
+    if (archive_.size() > 0) {
+      parent2 = selectionOperator.execute(archive_);
+    } else {                   
+      parent2 = selectionOperator.execute(neighbors);
+    }
 
+    //Create a new individual, using genetic operators mutation and crossover
+    Solution<V> [] offSpring = crossoverOperator.execute(parent1, parent2);               
+    mutationOperator.execute(offSpring[0]);
+
+    offSpring[0].setLocation(ind);
+    return offSpring[0];
+  } // breed
+
+  /**
+   * Replaces the individual of a cell with an evaluated offspring, if the
+   * offspring is better, and adds the offspring to the archive. The
+   * individual and its neighborhood are the current ones, which may have
+   * changed since the offspring was bred.
+   * @param offSpring The offspring, whose location is its cell.
+   */
+  private void replace(Solution<V> offSpring) {
+    int ind = offSpring.getLocation();
+    Solution<V> individual = new Solution<V>(population_.get(ind));
+
+    SolutionSet<V> neighbors = neighborhood_.getEightNeighbors(population_,ind);                                                           
+    neighbors.add(individual);
+
+    int flag = dominance_.compare(individual,offSpring);
+
+    if (flag == 1) { //The new individual dominates
+      offSpring.setLocation(individual.getLocation());                                      
+      population_.replace(offSpring.getLocation(),offSpring);
+      archive_.add(new Solution<V>(offSpring));                   
+    } else if (flag == 0) { //The new individual is non-dominated               
+      neighbors.add(offSpring);
+      offSpring.setLocation(-1);
+      Ranking<V> rank = new Ranking<V>(neighbors);
+      for (int j = 0; j < rank.getNumberOfSubfronts(); j++) {
+        Distance.crowdingDistanceAssignment(rank.getSubfront(j),
+                                            problem_.getNumberOfObjectives());
+      }
+      neighbors.sort(crowding_); 
+      Solution<V> worst = neighbors.get(neighbors.size()-1);
+
+      if (worst.getLocation() == -1) { //The worst is the offspring
+        archive_.add(new Solution<V>(offSpring));
+      } else {
+        offSpring.setLocation(worst.getLocation());
+        population_.replace(offSpring.getLocation(),offSpring);
+        archive_.add(new Solution<V>(offSpring));
+      }                                          
+    }
+  } // replace
+} // aMOCell4
@@ -20,6 +20,7 @@ import jmetal.base.operator.localSearch.LocalSearch;
 import jmetal.base.operator.mutation.Mutation;
 import jmetal.base.operator.selection.Selection;
 import jmetal.util.Distance;
+import jmetal.util.DominanceIndex;
 import jmetal.util.JMException;
 import jmetal.util.Neighborhood;
 import jmetal.util.PseudoRandom;
@@ -91,17 +92,23 @@ public class sMOCell1<V extends Variable>
     //Create the initial population
     for (int i = 0; i < populationSize; i++){
       Solution<V> solution = new Solution<V>(problem_);
-      problem_.evaluate(solution);           
-      problem_.evaluateConstraints(solution);
       currentSolutionSet.add(solution);
       solution.setLocation(i);
-      evaluations++;
     }         
+    evaluations += problem_.evaluate(currentSolutionSet);
 
+    Solution<V> [] individuals = new Solution[populationSize];
+    DominanceIndex<V> index = new DominanceIndex<V>(problem_.getNumberOfObjectives());
+    SolutionSet<V> offSprings;
     while (evaluations < maxEvaluations){                 
       newSolutionSet = new SolutionSet<V>(populationSize);
+
+      // The offsprings of all the cells are bred from the current population,
+      // and evaluated as a batch
+      offSprings = new SolutionSet<V>(populationSize);
       for (int ind = 0; ind < currentSolutionSet.size(); ind++){
         Solution<V> individual = new Solution<V>(currentSolutionSet.get(ind));
+        individuals[ind] = individual;
 
         Solution<V> [] offSpring;
 
@@ -116,24 +123,29 @@ public class sMOCell1<V extends Variable>
         //Create a new solution, using genetic operators mutation and crossover
         offSpring = crossoverOperator.execute(parent1, parent2);               
         mutationOperator.execute(offSpring[0]);
+        offSprings.add(offSpring[0]);
+      }
+
+      //->Evaluate offsprings and constraints (the evaluations of the ones
+      //dominated by the individuals of their cells can be aborted)
+      evaluations += index.evaluate(problem_, offSprings, individuals);
 
-        //->Evaluate offspring and constraints
-        problem_.evaluate(offSpring[0]);
-        problem_.evaluateConstraints(offSpring[0]);
-        evaluations++;
+      for (int ind = 0; ind < currentSolutionSet.size(); ind++){
+        Solution<V> individual = individuals[ind];
+        Solution<V> offSpring = offSprings.get(ind);
 
-        int flag = dominance.compare(individual,offSpring[0]);
+        int flag = dominance.compare(individual,offSpring);
 
         if (flag == -1)
           newSolutionSet.add(new Solution<V>(currentSolutionSet.get(ind)));
 
         if (flag == 1){ //The offSpring dominates
-          offSpring[0].setLocation(individual.getLocation());                                      
-          //currentSolutionSet.reemplace(offSpring[0].getLocation(),offSpring[0]);
-          newSolutionSet.add(offSpring[0]);
-          archive.add(new Solution<V>(offSpring[0]));                   
+          offSpring.setLocation(individual.getLocation());                                      
+          //currentSolutionSet.reemplace(offSpring.getLocation(),offSpring);
+          newSolutionSet.add(offSpring);
+          archive.add(new Solution<V>(offSpring));                   
         } else if (flag == 0) { //Both two are non-dominates
-          neighbors[ind].add(offSpring[0]);
+          neighbors[ind].add(offSpring);
           //(new Spea2Fitness(neighbors[ind])).fitnessAssign();                   
           //neighbors[ind].sort(new FitnessAndCrowdingDistanceComparator()); //Create a new comparator;
           Ranking<V> rank = new Ranking<V>(neighbors[ind]);
@@ -142,19 +154,19 @@ public class sMOCell1<V extends Variable>
           }
 
           boolean deleteMutant = true;          
-          int compareResult = crowding.compare(individual,offSpring[0]);
-          if (compareResult == 1) {//The offSpring[0] is better
+          int compareResult = crowding.compare(individual,offSpring);
+          if (compareResult == 1) {//The offSpring is better
             deleteMutant = false;
           }
 
           if (!deleteMutant){
-            offSpring[0].setLocation(individual.getLocation());
-            //currentSolutionSet.reemplace(offSpring[0].getLocation(),offSpring[0]);
-            newSolutionSet.add(offSpring[0]);
-            archive.add(new Solution<V>(offSpring[0]));
+            offSpring.setLocation(individual.getLocation());
+            //currentSolutionSet.reemplace(offSpring.getLocation(),offSpring);
+            newSolutionSet.add(offSpring);
+            archive.add(new Solution<V>(offSpring));
           }else{
             newSolutionSet.add(new Solution<V>(currentSolutionSet.get(ind)));
-            archive.add(new Solution<V>(offSpring[0]));    
+            archive.add(new Solution<V>(offSpring));    
           }
         }                              
       }                     
@@ -20,6 +20,7 @@ import jmetal.base.operator.localSearch.LocalSearch;
 import jmetal.base.operator.mutation.Mutation;
 import jmetal.base.operator.selection.Selection;
 import jmetal.util.Distance;
+import jmetal.util.DominanceIndex;
 import jmetal.util.JMException;
 import jmetal.util.Neighborhood;
 import jmetal.util.Ranking;
@@ -84,12 +85,11 @@ public class sMOCell2<V extends Variable>
     //Create the initial population
     for (int i = 0; i < populationSize; i++){
       Solution<V> solution = new Solution<V>(problem_);
-      problem_.evaluate(solution);           
-      problem_.evaluateConstraints(solution);
       currentSolutionSet.add(solution);
       solution.setLocation(i);
-      evaluations++;
-    }       
+    }
+    evaluations += problem_.evaluate(currentSolutionSet);       
+    DominanceIndex<V> index = new DominanceIndex<V>(problem_.getNumberOfObjectives());
 
     while (evaluations < maxEvaluations){                 
       newSolutionSet = new SolutionSet<V>(populationSize);
@@ -115,8 +115,10 @@ public class sMOCell2<V extends Variable>
         offSpring = crossoverOperator.execute(parent1, parent2);               
         mutationOperator.execute(offSpring[0]);
 
-        //->Evaluate solution an his constraints
-        problem_.evaluate(offSpring[0]);
+        //->Evaluate solution an his constraints (the evaluation can be
+        //aborted if it is dominated by the individual)
+        index.setParent(individual);
+        index.evaluate(problem_, offSpring[0]);
         problem_.evaluateConstraints(offSpring[0]);
         evaluations++;
         //<-Individual evaluated
@@ -6,21 +6,19 @@
 
 package jmetal.metaheuristics.mochc;
 
-import java.util.Comparator;
-
 import jmetal.base.Algorithm;
 import jmetal.base.Problem;
 import jmetal.base.Solution;
 import jmetal.base.SolutionSet;
 import jmetal.base.Variable;
 import jmetal.base.archive.CrowdingArchive;
-import jmetal.base.operator.comparator.CrowdingComparator;
 import jmetal.base.operator.crossover.Crossover;
 import jmetal.base.operator.localSearch.LocalSearch;
 import jmetal.base.operator.mutation.Mutation;
 import jmetal.base.operator.selection.RankingAndCrowdingSelection;
 import jmetal.base.operator.selection.Selection;
 import jmetal.base.variable.Binary;
+import jmetal.util.CrowdingTruncation;
 import jmetal.util.JMException;
 
 /**
@@ -120,8 +118,6 @@ public class MOCHC <V extends Variable>
     int minimumDistance  ;
     int evaluations      ;
     
-    Comparator<Solution<V>> crowdingComparator = new CrowdingComparator<V>();
-    
     boolean condition = false;
     SolutionSet<V> SolutionSet, offspringPopulation,newPopulation;
 
@@ -180,12 +176,12 @@ public class MOCHC <V extends Variable>
 
         int preserve = (int)Math.floor(preservedPopulation*populationSize);
         newPopulation = new SolutionSet<V>(populationSize);
-        SolutionSet.sort(crowdingComparator);
+        int [] best = CrowdingTruncation.selectBest(SolutionSet, preserve);
         for (int i = 0; i < preserve; i++) {
-          newPopulation.add(new Solution<V>(SolutionSet.get(i)));
+          newPopulation.add(new Solution<V>(SolutionSet.get(best[i])));
         }
         for (int i = preserve;i < populationSize; i++) {
-          Solution<V> Solution = new Solution<V>(SolutionSet.get(i));
+          Solution<V> Solution = new Solution<V>(SolutionSet.get(best[i]));
           mutationOperator.execute(Solution);
           Problem_.evaluate(Solution);
           Problem_.evaluateConstraints(Solution);
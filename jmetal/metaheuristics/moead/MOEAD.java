@@ -12,6 +12,7 @@ import jmetal.base.Problem;
 import jmetal.base.Solution;
 import jmetal.base.SolutionSet;
 import jmetal.base.Variable;
+import jmetal.base.evaluator.SurrogateScreening;
 import jmetal.base.operator.crossover.DifferentialCrossover;
 import jmetal.base.operator.localSearch.LocalSearch;
 import jmetal.base.operator.mutation.Mutation;
@@ -110,6 +111,15 @@ public class MOEAD <V extends Variable>
     // STEP 1.3. Initialize z_
     initIdealPoint();
 
+    // The children can be screened by a surrogate model, learnt from the
+    // evaluated solutions
+    SurrogateScreening<V> screening = getSurrogateScreening();
+    if (screening != null) {
+      screening.learn(population_);
+      for (Solution<V> s : indArray_)
+        screening.learn(s);
+    }
+
     // STEP 2. Update
     do {
       int[] permutation = new int[populationSize_];
@@ -145,8 +155,13 @@ public class MOEAD <V extends Variable>
         // Apply mutation
         mutationOperator.execute(child);
 
-        // Evaluation
-        problem_.evaluate(child);
+        // Evaluation (a child screened out by the surrogate model is
+        // discarded)
+        if (screening == null) {
+          problem_.evaluate(child);
+        } else if (!screening.evaluate(child, isPromising(screening, child, n))) {
+          continue;
+        }
 
         evaluations_++;
 
@@ -219,26 +234,23 @@ public class MOEAD <V extends Variable>
    * 
    */
   public void initPopulation() throws JMException {
-    for (int i = 0; i < populationSize_; i++) {
-      Solution<V> newSolution = new Solution<V>(problem_);
+    for (int i = 0; i < populationSize_; i++)
+      population_.add(new Solution<V>(problem_));
 
-      problem_.evaluate(newSolution);
-      problem_.evaluateConstraints(newSolution);
-      evaluations_++;
-      population_.add(newSolution);
-    } // for
+    evaluations_ += problem_.evaluate(population_);
   } // initPopulation
 
   /**
    * 
    */
   void initIdealPoint() throws JMException {
+    SolutionSet<V> solutions = new SolutionSet<V>(problem_.getNumberOfObjectives());
     for (int i = 0; i < problem_.getNumberOfObjectives(); i++) {
       z_[i] = 1.0e+30;
       indArray_[i] = new Solution<V>(problem_);
-      problem_.evaluate(indArray_[i]);
-      evaluations_++;
+      solutions.add(indArray_[i]);
     } // for
+    evaluations_ += problem_.evaluate(solutions);
 
     for (int i = 0; i < populationSize_; i++) {
       updateReference(population_.get(i));
@@ -344,7 +356,38 @@ public class MOEAD <V extends Variable>
 
   } // updateProblem
 
+  /**
+   * Checks whether the predicted objectives of a child improve the reference
+   * point or the fitness of a solution of the neighborhood of a subproblem.
+   * @param screening The screening predicting the objectives.
+   * @param child The child solution.
+   * @param id The id of the current subproblem.
+   */
+  boolean isPromising(SurrogateScreening<V> screening, Solution<V> child, int id) throws JMException {
+    if (!screening.isReady()) {
+      return true;
+    }
+
+    double[] f = screening.predict(child);
+    for (int n = 0; n < problem_.getNumberOfObjectives(); n++) {
+      if (f[n] < z_[n]) {
+        return true;
+      }
+    }
+
+    for (int k : neighborhood_[id]) {
+      if (fitnessFunction(f, lambda_[k]) < fitnessFunction(population_.get(k), lambda_[k])) {
+        return true;
+      }
+    }
+    return false;
+  } // isPromising
+
   double fitnessFunction(Solution<V> individual, double[] lambda) {
+    return fitnessFunction(individual.getObjectives(), lambda);
+  } // fitnessFunction
+
+  double fitnessFunction(double[] objectives, double[] lambda) {
     double fitness;
     fitness = 0.0;
 
@@ -352,7 +395,7 @@ public class MOEAD <V extends Variable>
       double maxFun = -1.0e+30;
 
       for (int n = 0; n < problem_.getNumberOfObjectives(); n++) {
-        double diff = Math.abs(individual.getObjective(n) - z_[n]);
+        double diff = Math.abs(objectives[n] - z_[n]);
 
         double feval;
         if (lambda[n] == 0) {
@@ -6,15 +6,24 @@
 package jmetal.metaheuristics.nsgaII;
 
 import jmetal.base.Algorithm;
+import jmetal.base.Configuration;
 import jmetal.base.Problem;
+import jmetal.base.RealPopulation;
+import jmetal.base.RealVectorProblem;
 import jmetal.base.Solution;
+import jmetal.base.SolutionPool;
 import jmetal.base.SolutionSet;
 import jmetal.base.Variable;
+import jmetal.base.evaluator.SurrogateScreening;
 import jmetal.base.operator.crossover.Crossover;
+import jmetal.base.operator.crossover.SBXCrossover;
 import jmetal.base.operator.localSearch.LocalSearch;
 import jmetal.base.operator.mutation.Mutation;
+import jmetal.base.operator.mutation.PolynomialMutation;
 import jmetal.base.operator.selection.Selection;
+import jmetal.base.variable.Real;
 import jmetal.qualityIndicator.QualityIndicator;
+import jmetal.util.CrowdingTruncation;
 import jmetal.util.Distance;
 import jmetal.util.JMException;
 import jmetal.util.Ranking;
@@ -67,6 +76,15 @@ public class NSGAII<V extends Variable>
     populationSize = getPopulationSize();
     maxEvaluations = getMaxEvaluations();
 
+    // The population of a real-coded problem can be kept in a structure of
+    // arrays
+    if (isRealPopulation()) {
+      if (supportsRealPopulation())
+        return executeRealPopulation();
+      Configuration.logger_.warning("NSGAII: the RealPopulation requires a " +
+        "RealVectorProblem, SBX, polynomial mutation and no surrogate screening");
+    } // if
+
     //Initialize the variables
     population = new SolutionSet<V>(populationSize);
     evaluations = 0;
@@ -80,10 +98,20 @@ public class NSGAII<V extends Variable>
       population.add(new Solution<V>(problem_));
 
     evaluations += problem_.evaluate(population);
+
+    // The offsprings can be screened by a surrogate model, learnt from the
+    // evaluated solutions
+    SurrogateScreening<V> screening = getSurrogateScreening();
+    if (screening != null)
+      screening.learn(population);
     
-    for(Solution<V> solution : population)
-    	problem_.evaluateConstraints(solution);
-    
+    // The offsprings are obtained by recycling the discarded solutions
+    SolutionPool<V> pool = null;
+    if (isSolutionPooling()) {
+      pool = new SolutionPool<V>(populationSize);
+      crossoverOperator.setSolutionPool(pool);
+    } // if
+
     // Generations ...
     while (evaluations < maxEvaluations) {
     	problem_.setCurrentGeneration(++currentGeneration);
@@ -104,10 +132,14 @@ public class NSGAII<V extends Variable>
         }
       }
       
-      // evaluate the offspring population
-      problem_.evaluate(offspringPopulation);
-      for(Solution<V> solution : offspringPopulation)
-				problem_.evaluateConstraints(solution);
+      // evaluate the offspring population (objectives and constraints); the
+      // evaluations are counted as reported by the problem (e.g., in units of
+      // full-fidelity evaluations), and the screened out offsprings are not
+      // counted
+      if (screening == null)
+        evaluations += problem_.evaluate(offspringPopulation) - offspringPopulation.size();
+      else
+        evaluations += screening.evaluate(offspringPopulation) - offspringPopulation.size();
 
       // Create the solutionSet union of solutionSet and offSpring
       union = ((SolutionSet<V>) population).union(offspringPopulation);
@@ -144,14 +176,24 @@ public class NSGAII<V extends Variable>
       // Remain is less than front(index).size, insert only the best one
       if (remain > 0) {  // front contains individuals to insert                        
         Distance.crowdingDistanceAssignment(front, problem_.getNumberOfObjectives());
-        front.sort(new jmetal.base.operator.comparator.CrowdingComparator<V>());
-        for (int k = 0; k < remain; k++) {
-          population.add(front.get(k));
+        int [] best = CrowdingTruncation.selectBest(front, remain);
+        for (int i = 0; i < front.size(); i++) {
+          if (i < remain)
+            population.add(front.get(best[i]));
+          else if (pool != null)
+            pool.release(front.get(best[i]));
         } // for
 
         remain = 0;
+        index++;
       } // if                               
 
+      // Recycle the discarded solutions
+      if (pool != null) {
+        for (; index < ranking.getNumberOfSubfronts(); index++)
+          pool.release(ranking.getSubfront(index));
+      } // if
+
       // This piece of code shows how to use the indicator object into the code
       // of NSGA-II. In particular, it finds the number of evaluations required
       // by the algorithm to obtain a Pareto front with a hypervolume higher
@@ -165,6 +207,11 @@ public class NSGAII<V extends Variable>
       } // if
     } // while
 
+    if (pool != null) {
+      crossoverOperator.setSolutionPool(null);
+      pool.clear();
+    } // if
+
     // Return as output parameter the required evaluations
     setEvaluations(requiredEvaluations);
 
@@ -172,4 +219,116 @@ public class NSGAII<V extends Variable>
     Ranking<V> ranking = new Ranking<V>(population);
     return ranking.getSubfront(0);
   } // execute
+
+  /**
+   * Checks if the population can be kept in a <code>RealPopulation</code>.
+   */
+  private boolean supportsRealPopulation() {
+    return problem_ instanceof RealVectorProblem &&
+           crossoverOperator instanceof SBXCrossover &&
+           mutationOperator instanceof PolynomialMutation &&
+           getSurrogateScreening() == null;
+  } // supportsRealPopulation
+
+  /**
+   * Runs the NSGA-II algorithm keeping the population in a
+   * <code>RealPopulation</code>: the population occupies its first rows, and
+   * the offsprings are bred and evaluated in the following ones. The
+   * solutions of the returned front are copied out of the rows.
+   * @return a <code>SolutionSet</code> that is a set of non dominated solutions
+   * as a result of the algorithm execution
+   * @throws JMException
+   */
+  @SuppressWarnings("unchecked")
+  private SolutionSet<V> executeRealPopulation() throws JMException {
+    int populationSize = getPopulationSize();
+    int maxEvaluations = getMaxEvaluations();
+    int evaluations = 0;
+    int requiredEvaluations = 0;
+
+    RealVectorProblem<Real> problem = (RealVectorProblem<Real>) (Object) problem_;
+    SBXCrossover crossover = (SBXCrossover) (Object) crossoverOperator;
+    PolynomialMutation<Real> mutation = (PolynomialMutation<Real>) (Object) mutationOperator;
+    Selection<Real, Solution<Real>> selection = (Selection<Real, Solution<Real>>) (Object) selectionOperator;
+
+    RealPopulation population = new RealPopulation(problem, 2 * populationSize);
+    RealPopulation next = new RealPopulation(problem, 2 * populationSize);
+
+    int currentGeneration = 0;
+    problem_.setCurrentGeneration(currentGeneration);
+
+    // Create the initial population
+    for (int i = 0; i < populationSize; i++)
+      population.addRandom();
+    evaluations += population.evaluate(0, populationSize);
+
+    // Generations ...
+    while (evaluations < maxEvaluations) {
+      problem_.setCurrentGeneration(++currentGeneration);
+
+      // Append the offsprings to the population
+      SolutionSet<Real> parents = population.toSolutionSet();
+      for (int i = 0; i < (populationSize / 2); i++) {
+        if (evaluations < maxEvaluations) {
+          int parent1 = ((RealPopulation.Row) selection.execute(parents)).getIndex();
+          int parent2 = ((RealPopulation.Row) selection.execute(parents)).getIndex();
+          int offSpring = crossover.execute(population, parent1, parent2, population);
+          mutation.execute(population, offSpring);
+          mutation.execute(population, offSpring + 1);
+          evaluations += 2;
+        }
+      }
+      population.evaluate(populationSize, population.size());
+
+      // Ranking the union, and copying the best rows into the next population
+      Ranking<Real> ranking = new Ranking<Real>(population.toSolutionSet());
+
+      int remain = populationSize;
+      int index = 0;
+      SolutionSet<Real> front = ranking.getSubfront(index);
+      next.clear();
+
+      while ((remain > 0) && (remain >= front.size())) {
+        Distance.crowdingDistanceAssignment(front, problem_.getNumberOfObjectives());
+        for (Solution<Real> s : front)
+          next.add(population, ((RealPopulation.Row) s).getIndex());
+
+        remain = remain - front.size();
+        index++;
+        if (remain > 0) {
+          front = ranking.getSubfront(index);
+        } // if
+      } // while
+
+      if (remain > 0) {
+        Distance.crowdingDistanceAssignment(front, problem_.getNumberOfObjectives());
+        int [] best = CrowdingTruncation.selectBest(front, remain);
+        for (int i = 0; i < remain; i++)
+          next.add(population, ((RealPopulation.Row) front.get(best[i])).getIndex());
+      } // if
+
+      RealPopulation swap = population;
+      population = next;
+      next = swap;
+
+      // See execute()
+      if ((indicators != null) &&
+        (requiredEvaluations == 0)) {
+        double HV = indicators.getHypervolume((SolutionSet<V>) (Object) population.toSolutionSet());
+        if (HV >= (0.98 * indicators.getTrueParetoFrontHypervolume())) {
+          requiredEvaluations = evaluations;
+        } // if
+      } // if
+    } // while
+
+    // Return as output parameter the required evaluations
+    setEvaluations(requiredEvaluations);
+
+    // Return a copy of the first non-dominated front
+    SolutionSet<Real> front = new Ranking<Real>(population.toSolutionSet()).getSubfront(0);
+    SolutionSet<V> result = new SolutionSet<V>(front.size());
+    for (Solution<Real> s : front)
+      result.add((Solution<V>) (Object) new Solution<Real>(s));
+    return result;
+  } // executeRealPopulation
 } // NSGA-II
@@ -8,16 +8,17 @@ package jmetal.metaheuristics.nsgaII;
 import jmetal.base.Algorithm;
 import jmetal.base.Problem;
 import jmetal.base.Solution;
+import jmetal.base.SolutionPool;
 import jmetal.base.SolutionSet;
 import jmetal.base.Variable;
+import jmetal.base.evaluator.AsyncEvaluator;
 import jmetal.base.operator.crossover.Crossover;
 import jmetal.base.operator.localSearch.LocalSearch;
 import jmetal.base.operator.mutation.Mutation;
 import jmetal.base.operator.selection.Selection;
 import jmetal.qualityIndicator.QualityIndicator;
-import jmetal.util.Distance;
 import jmetal.util.JMException;
-import jmetal.util.Ranking;
+import jmetal.util.IncrementalRanking;
 
 /**
  * This class implements a steady-state version of NSGA-II.
@@ -45,6 +46,13 @@ public class ssNSGAII<V extends Variable>
 		this.indicators = indicators;
 	}
 
+  // state of the run, shared by breed and integrate
+  private transient SolutionSet<V> population_;
+  private transient IncrementalRanking<V> ranking_;
+  private transient SolutionPool<V> pool_;
+  private transient int evaluations_;
+  private transient int requiredEvaluations_;
+
   /**   
    * Runs the ssNSGA-II algorithm.
    * @return a <code>SolutionSet</code> that is a set of non dominated solutions
@@ -54,14 +62,8 @@ public class ssNSGAII<V extends Variable>
 	public SolutionSet<V> execute() throws JMException {
     int populationSize;
     int maxEvaluations;
-    int evaluations;
-
-    int requiredEvaluations; // Use in the example of use of the
-    // indicators object (see below)
 
     SolutionSet<V> population;
-    SolutionSet<V> offspringPopulation;
-    SolutionSet<V> union;
 
     //Read the parameters
     populationSize = getPopulationSize();
@@ -69,9 +71,10 @@ public class ssNSGAII<V extends Variable>
 
     //Initialize the variables
     population = new SolutionSet<V>(populationSize);
-    evaluations = 0;
+    evaluations_ = 0;
 
-    requiredEvaluations = 0;
+    requiredEvaluations_ = 0; // Use in the example of use of the
+    // indicators object (see below)
 
     // Create the initial solutionSet
     Solution<V> newSolution;
@@ -79,96 +82,114 @@ public class ssNSGAII<V extends Variable>
       newSolution = new Solution<V>(problem_);
       problem_.evaluate(newSolution);
       problem_.evaluateConstraints(newSolution);
-      evaluations++;
+      evaluations_++;
       population.add(newSolution);
     } //for       
 
-    // Generations ...
-    while (evaluations < maxEvaluations) {
-
-      // Create the offSpring solutionSet      
-      offspringPopulation = new SolutionSet<V>(populationSize);
+    // Rank the population and assign the crowding distances; from now on, 
+    // the ranking is updated at each insertion and removal
+    ranking_ = new IncrementalRanking<V>(population, problem_.getNumberOfObjectives());
+    population_ = ranking_.getPopulation();
 
-      //obtain parents
-      Solution<V> parent1 = (Solution<V>) selectionOperator.execute(population);
-      Solution<V> parent2 = (Solution<V>) selectionOperator.execute(population);
-      
-      // crossover
-      Solution<V>[] offSpring = (Solution<V>[]) crossoverOperator.execute(parent1, parent2);
+    // The offsprings are obtained by recycling the discarded solutions
+    pool_ = null;
+    if (isSolutionPooling()) {
+      pool_ = new SolutionPool<V>(2);
+      crossoverOperator.setSolutionPool(pool_);
+    } // if
 
-      // mutation
-      mutationOperator.execute(offSpring[0]);
-
-      // evaluation
-      problem_.evaluate(offSpring[0]);
-      problem_.evaluateConstraints(offSpring[0]);
+    // Generations ...
+    AsyncEvaluator<V> asyncEvaluator = getAsyncEvaluator();
+    if (asyncEvaluator == null) {
+      while (evaluations_ < maxEvaluations) {
+        Solution<V> offSpring = breed();
 
-      // insert child into the offspring population
-      offspringPopulation.add(offSpring[0]);
+        // evaluation
+        problem_.evaluate(offSpring);
+        problem_.evaluateConstraints(offSpring);
 
-      evaluations ++;
+        integrate(offSpring);
+      } // while
+    } else if (evaluations_ < maxEvaluations) {
+      // The offsprings are evaluated asynchronously, and integrated as soon
+      // as they are evaluated
+      try {
+        asyncEvaluator.run(new AsyncEvaluator.SteadyState<V>() {
+          public Solution<V> breed() throws JMException {
+            return ssNSGAII.this.breed();
+          }
+
+          public void integrate(Solution<V> offspring) throws JMException {
+            ssNSGAII.this.integrate(offspring);
+          }
+        }, maxEvaluations - evaluations_);
+      } finally {
+        asyncEvaluator.shutdown();
+      } // try
+    } // if
+
+    if (pool_ != null) {
+      crossoverOperator.setSolutionPool(null);
+      pool_.clear();
+    } // if
 
-      // Create the solutionSet union of solutionSet and offSpring
-      union = ((SolutionSet<V>) population).union(offspringPopulation);
+    // Return as output parameter the required evaluations
+    setEvaluations(requiredEvaluations_);
 
-      // Ranking the union
-      Ranking<V> ranking = new Ranking<V>(union);
+    // Return the first non-dominated front
+    SolutionSet<V> front = ranking_.getSubfront(0);
+    population_ = null;
+    ranking_    = null;
+    pool_       = null;
+    return front;
+  } // execute
 
-      int remain = populationSize;
-      int index = 0;
-      SolutionSet<V> front = null;
-      population.clear();
+  /**
+   * Creates an offspring from two parents of the population.
+   * @return The offspring.
+   * @throws JMException
+   */
+  private Solution<V> breed() throws JMException {
+    //obtain parents
+    Solution<V> parent1 = (Solution<V>) selectionOperator.execute(population_);
+    Solution<V> parent2 = (Solution<V>) selectionOperator.execute(population_);
 
-      // Obtain the next front
-      front = ranking.getSubfront(index);
+    // crossover
+    Solution<V>[] offSpring = (Solution<V>[]) crossoverOperator.execute(parent1, parent2);
 
-      while ((remain > 0) && (remain >= front.size())) {
-        //Assign crowding distance to individuals
-        Distance.crowdingDistanceAssignment(front, problem_.getNumberOfObjectives());
-        //Add the individuals of this front
-        for(Solution<V> s : front) {
-          population.add(s);
-        } // for
+    // mutation
+    mutationOperator.execute(offSpring[0]);
 
-        //Decrement remain
-        remain = remain - front.size();
+    if (pool_ != null)
+      pool_.release(offSpring[1]);
 
-        //Obtain the next front
-        index++;
-        if (remain > 0) {
-          front = ranking.getSubfront(index);
-        } // if        
-      } // while
+    return offSpring[0];
+  } // breed
 
-      // Remain is less than front(index).size, insert only the best one
-      if (remain > 0) {  // front contains individuals to insert                        
-        Distance.crowdingDistanceAssignment(front, problem_.getNumberOfObjectives());
-        front.sort(new jmetal.base.operator.comparator.CrowdingComparator<V>());
-        for (int k = 0; k < remain; k++) {
-          population.add(front.get(k));
-        } // for
-
-        remain = 0;
-      } // if                               
-
-      // This piece of code shows how to use the indicator object into the code
-      // of NSGA-II. In particular, it finds the number of evaluations required
-      // by the algorithm to obtain a Pareto front with a hypervolume higher
-      // than the hypervolume of the true Pareto front.
-      if ((indicators != null) &&
-        (requiredEvaluations == 0)) {
-        double HV = indicators.getHypervolume(population);
-        if (HV >= (0.98 * indicators.getTrueParetoFrontHypervolume())) {
-          requiredEvaluations = evaluations;
-        } // if
+  /**
+   * Inserts an evaluated offspring into the population, and removes the
+   * worst solution (the least crowded one of the last front).
+   * @param offSpring The offspring.
+   */
+  private void integrate(Solution<V> offSpring) {
+    evaluations_ ++;
+
+    ranking_.add(offSpring);
+    Solution<V> worst = ranking_.removeWorst();
+
+    if (pool_ != null)
+      pool_.release(worst);
+
+    // This piece of code shows how to use the indicator object into the code
+    // of NSGA-II. In particular, it finds the number of evaluations required
+    // by the algorithm to obtain a Pareto front with a hypervolume higher
+    // than the hypervolume of the true Pareto front.
+    if ((indicators != null) &&
+      (requiredEvaluations_ == 0)) {
+      double HV = indicators.getHypervolume(population_);
+      if (HV >= (0.98 * indicators.getTrueParetoFrontHypervolume())) {
+        requiredEvaluations_ = evaluations_;
       } // if
-    } // while
-
-    // Return as output parameter the required evaluations
-    setEvaluations(requiredEvaluations);
-
-    // Return the first non-dominated front
-    Ranking<V> ranking = new Ranking<V>(population);
-    return ranking.getSubfront(0);
-  } // execute
+    } // if
+  } // integrate
 } // NSGA-II
@@ -10,13 +10,15 @@ import java.util.Comparator;
 
 import jmetal.base.Algorithm;
 import jmetal.base.DecisionVariables;
+import jmetal.base.Problem;
 import jmetal.base.ProblemValue;
 import jmetal.base.Solution;
 import jmetal.base.SolutionSet;
 import jmetal.base.archive.CrowdingArchive;
+import jmetal.base.archive.NDTreeArchive;
 import jmetal.base.operator.comparator.CrowdingDistanceComparator;
 import jmetal.base.operator.comparator.DominanceComparator;
-import jmetal.base.operator.comparator.EpsilonDominanceComparator;
+import jmetal.base.operator.comparator.SolutionComparator;
 import jmetal.base.operator.crossover.Crossover;
 import jmetal.base.operator.localSearch.LocalSearch;
 import jmetal.base.operator.mutation.Mutation;
@@ -24,9 +26,8 @@ import jmetal.base.operator.mutation.NonUniformMutation;
 import jmetal.base.operator.mutation.UniformMutation;
 import jmetal.base.operator.selection.Selection;
 import jmetal.base.variable.Real;
-import jmetal.util.Distance;
+import jmetal.util.DominanceIndex;
 import jmetal.util.JMException;
-import jmetal.util.NonDominatedSolutionList;
 import jmetal.util.PseudoRandom;
 
 /**
@@ -42,6 +43,12 @@ public class OMOPSO
   */
   private ProblemValue<Real> problem_;
   
+  /**
+   * Evaluates the particles: the problem itself, or a decorator of it (e.g.,
+   * a <code>ParallelEvaluator</code>)
+   */
+  private Problem<Real> evaluator_;
+
   /**
    * Stores the number of particles_ used
    */
@@ -80,7 +87,7 @@ public class OMOPSO
   /**
   * Stores the epsilon-archive
   */
-  private NonDominatedSolutionList<Real> eArchive_;
+  private NDTreeArchive<Real> eArchive_;
   
   /**
   * Stores the speed_ of each particle
@@ -119,6 +126,7 @@ public class OMOPSO
   */    
   public OMOPSO(ProblemValue<Real> problem) {                
     problem_ = problem;        
+    evaluator_ = problem;
   } // OMOPSO
   
   
@@ -129,6 +137,15 @@ public class OMOPSO
 	public void setArchiveSize(int archiveSize) {
 		archiveSize_ = archiveSize;
 	}
+
+	/**
+	 * Sets the problem evaluating the particles, which must be equivalent to the
+	 * problem to solve (e.g., a <code>ParallelEvaluator</code> wrapping it).
+	 * @param evaluator The evaluator.
+	 */
+	public void setEvaluator(Problem<Real> evaluator) {
+		evaluator_ = evaluator;
+	}
 	
 	public void setPerturbationIndex(double perturbation) {
 		perturbation_ = perturbation;
@@ -142,7 +159,7 @@ public class OMOPSO
     particles_     = new SolutionSet<Real>(particlesSize_);        
     best_          = new Solution[particlesSize_];
     leaders_       = new CrowdingArchive<Real>(archiveSize_,problem_.getNumberOfObjectives());
-    eArchive_      = new NonDominatedSolutionList<Real>(new EpsilonDominanceComparator<Real>(eta_));
+    eArchive_      = new NDTreeArchive<Real>(new SolutionComparator<Real>(), eta_);
     
 
     // Create the dominator for equadless and dominance
@@ -261,12 +278,9 @@ public class OMOPSO
     initParams();
 
     //->Step 1 (and 3) Create the initial population and evaluate
-    for (int i = 0; i < particlesSize_; i++){
-      Solution<Real> particle = new Solution<Real>(problem_);
-      problem_.evaluate(particle);
-      problem_.evaluateConstraints(particle);
-      particles_.add(particle);                   
-    }
+    for (int i = 0; i < particlesSize_; i++)
+      particles_.add(new Solution<Real>(problem_));
+    evaluator_.evaluate(particles_);
         
     //-> Step2. Initialize the speed_ of each particle to 0
     for (int i = 0; i < particlesSize_; i++) {
@@ -290,10 +304,8 @@ public class OMOPSO
       best_[i] = particle;
     }
         
-    //Crowding the leaders_
-    Distance.crowdingDistanceAssignment(leaders_,problem_.getNumberOfObjectives());        
-
     //-> Step 7. Iterations ..        
+    DominanceIndex<Real> index = new DominanceIndex<Real>(leaders_, problem_.getNumberOfObjectives(), true);
     while (iteration_ < getMaxEvaluations()){
       //Compute the speed_        
       computeSpeed();
@@ -304,12 +316,10 @@ public class OMOPSO
       //Mutate the particles_          
       mopsoMutation(iteration_,getMaxEvaluations());                       
             
-      //Evaluate the new particles_ in new positions
-      for (int i = 0; i < particles_.size(); i++){
-        Solution<Real> particle = particles_.get(i);
-        problem_.evaluate(particle);                
-        problem_.evaluateConstraints(particle);                
-      }
+      //Evaluate the new particles_ in new positions (the evaluations of the
+      //ones dominated by their memory and by the leaders_ can be aborted)
+      index.update();
+      index.evaluate(evaluator_, particles_, best_);
             
       //Actualize the archive          
       for (int i = 0; i < particles_.size(); i++){
@@ -328,10 +338,6 @@ public class OMOPSO
           best_[i] = particle;
         }
       }       
-            
-      //Crowding the leaders_
-      Distance.crowdingDistanceAssignment(leaders_,
-                                              problem_.getNumberOfObjectives());            
       iteration_++;
     }
         
@@ -19,6 +19,7 @@ import jmetal.base.operator.crossover.Crossover;
 import jmetal.base.operator.localSearch.LocalSearch;
 import jmetal.base.operator.mutation.Mutation;
 import jmetal.base.operator.selection.Selection;
+import jmetal.util.DominanceIndex;
 import jmetal.util.JMException;
 
 /**
@@ -90,6 +91,7 @@ public class PAES<V extends Variable>
     int maxEvaluations, evaluations;
     AdaptiveGridArchive<V> archive;
     Comparator<Solution<V>> dominance;
+    DominanceIndex<V> index;
     
     //Read the params
     maxEvaluations = getMaxEvaluations();
@@ -98,6 +100,7 @@ public class PAES<V extends Variable>
     evaluations = 0;
     archive     = new AdaptiveGridArchive<V>(archiveSize,biSections,problem_.getNumberOfObjectives());        
     dominance = new DominanceComparator<V>();           
+    index     = new DominanceIndex<V>(archive, problem_.getNumberOfObjectives());
             
     //-> Create the initial solution and evaluate it and his constraints
     Solution<V> solution = new Solution<V>(problem_);
@@ -116,7 +119,11 @@ public class PAES<V extends Variable>
       Solution<V> mutateIndividual = new Solution<V>(solution);                  
       mutationOperator.execute(mutateIndividual);
             
-      problem_.evaluate(mutateIndividual);                     
+      // The evaluation can be aborted if the mutated solution is dominated
+      // by the current one or by the archive
+      index.setParent(solution);
+      index.update();
+      index.evaluate(problem_, mutateIndividual);
       problem_.evaluateConstraints(mutateIndividual);
       evaluations++;
       //<-
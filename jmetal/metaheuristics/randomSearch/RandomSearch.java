@@ -10,12 +10,13 @@ import jmetal.base.Problem;
 import jmetal.base.Solution;
 import jmetal.base.SolutionSet;
 import jmetal.base.Variable;
+import jmetal.base.archive.NDTreeArchive;
+import jmetal.base.operator.comparator.SolutionComparator;
 import jmetal.base.operator.crossover.Crossover;
 import jmetal.base.operator.localSearch.LocalSearch;
 import jmetal.base.operator.mutation.Mutation;
 import jmetal.base.operator.selection.Selection;
 import jmetal.util.JMException;
-import jmetal.util.NonDominatedSolutionList;
 
 /**
  * This class implements the NSGA-II algorithm.
@@ -52,7 +53,7 @@ public class RandomSearch<V extends Variable>
     //Initialize the variables
     evaluations = 0;
 
-    NonDominatedSolutionList<V> ndl = new NonDominatedSolutionList<V>();
+    NDTreeArchive<V> ndl = new NDTreeArchive<V>(new SolutionComparator<V>());
 
     // Create the initial solutionSet
     Solution<V> newSolution;
@@ -70,13 +70,9 @@ public class ElitistES<V extends Variable>
     System.out.println("(" + mu_ + " + " + lambda_+")ES") ;
      
     // Create the parent population of mu solutions
-    Solution<V> newIndividual;
-    for (int i = 0; i < mu_; i++) {
-      newIndividual = new Solution<V>(problem_);                    
-      problem_.evaluate(newIndividual);            
-      evaluations++;
-      population.add(newIndividual);
-    } //for       
+    for (int i = 0; i < mu_; i++)
+      population.add(new Solution<V>(problem_));
+    evaluations += problem_.evaluate(population);
      
     // Main loop
     int offsprings ;
@@ -87,11 +83,10 @@ public class ElitistES<V extends Variable>
         for (int j = 0; j < offsprings; j++) {
           Solution<V> offspring = new Solution<V>(population.get(i)) ;
           mutationOperator.execute(offspring);
-          problem_.evaluate(offspring) ;
           offspringPopulation.add(offspring) ;
-          evaluations ++ ;
         } // for
       } // for
+      evaluations += problem_.evaluate(offspringPopulation) ;
       
       // STEP 2. Add the mu individuals to the offspring population
       for (int i = 0 ; i < mu_; i++) {
@@ -72,20 +72,13 @@ public class NonElitistES<V extends Variable>
     System.out.println("(" + mu_ + " , " + lambda_+")ES") ;
      
     // Create the parent population of mu solutions
-    Solution<V> newIndividual;
-    newIndividual = new Solution<V>(problem_) ;
-    problem_.evaluate(newIndividual);
-    evaluations ++ ;
-    population.add(newIndividual);
-    bestIndividual = new Solution<V>(newIndividual) ;
-    
+    for (int i = 0; i < mu_; i++)
+      population.add(new Solution<V>(problem_));
+    evaluations += problem_.evaluate(population);
+
+    bestIndividual = new Solution<V>(population.get(0)) ;
     for (int i = 1; i < mu_; i++) {
-      System.out.println(i) ;
-      newIndividual = new Solution<V>(problem_);                    
-      problem_.evaluate(newIndividual);            
-      evaluations++;
-      population.add(newIndividual);
-      
+      Solution<V> newIndividual = population.get(i);
       if (comparator.compare(bestIndividual, newIndividual) > 0 )
         bestIndividual = new Solution<V>(newIndividual) ;
     } //for       
@@ -99,11 +92,10 @@ public class NonElitistES<V extends Variable>
         for (int j = 0; j < offsprings; j++) {
           Solution<V> offspring = new Solution<V>(population.get(i)) ;
           mutationOperator.execute(offspring);
-          problem_.evaluate(offspring) ;
           offspringPopulation.add(offspring) ;
-          evaluations ++ ;
         } // for
       } // for
+      evaluations += problem_.evaluate(offspringPopulation) ;
    
       // STEP 2. Sort the lambda population
       offspringPopulation.sort(comparator) ;
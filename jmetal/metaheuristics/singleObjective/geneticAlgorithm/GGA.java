@@ -64,13 +64,9 @@ public class GGA<V extends Variable>
     evaluations  = 0;                
 
     // Create the initial population
-    Solution<V> newIndividual;
-    for (int i = 0; i < populationSize; i++) {
-      newIndividual = new Solution<V>(problem_);                    
-      problem_.evaluate(newIndividual);            
-      evaluations++;
-      population.add(newIndividual);
-    } //for       
+    for (int i = 0; i < populationSize; i++)
+      population.add(new Solution<V>(problem_));
+    evaluations += problem_.evaluate(population);
      
     // Sort population
     population.sort(comparator) ;
@@ -90,7 +86,8 @@ public class GGA<V extends Variable>
       offspringPopulation.add(new Solution<V>(population.get(0))) ;	
       offspringPopulation.add(new Solution<V>(population.get(1))) ;	
         
-      // Reproductive cycle
+      // Reproductive cycle: the new individuals are evaluated as a batch
+      SolutionSet<V> newIndividuals = new SolutionSet<V>(populationSize);
       for (int i = 0 ; i < (populationSize / 2 - 1) ; i ++) {
         // Selection
 
@@ -104,17 +101,17 @@ public class GGA<V extends Variable>
         mutationOperator.execute(offspring[0]);
         mutationOperator.execute(offspring[1]);
 
-        // Evaluation of the new individual
-        problem_.evaluate(offspring[0]);            
-        problem_.evaluate(offspring[1]);            
-          
-        evaluations +=2;
-    
-        // Replacement: the two new individuals are inserted in the offspring
-        //                population
-        offspringPopulation.add(offspring[0]) ;
-        offspringPopulation.add(offspring[1]) ;
+        newIndividuals.add(offspring[0]) ;
+        newIndividuals.add(offspring[1]) ;
       } // for
+
+      // Evaluation of the new individuals
+      evaluations += problem_.evaluate(newIndividuals);
+
+      // Replacement: the new individuals are inserted in the offspring
+      //                population
+      for (int i = 0; i < newIndividuals.size(); i++)
+        offspringPopulation.add(newIndividuals.get(i)) ;
       
       // The offspring population becomes the new current population
       population.clear();
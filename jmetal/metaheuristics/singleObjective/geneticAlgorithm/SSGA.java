@@ -62,13 +62,9 @@ public class SSGA<V extends Variable>
     evaluations  = 0;                
 
     // Create the initial population
-    Solution<V> newIndividual;
-    for (int i = 0; i < populationSize; i++) {
-      newIndividual = new Solution<V>(problem_);                    
-      problem_.evaluate(newIndividual);            
-      evaluations++;
-      population.add(newIndividual);
-    } //for       
+    for (int i = 0; i < populationSize; i++)
+      population.add(new Solution<V>(problem_));
+    evaluations += problem_.evaluate(population);
 
     while (evaluations < maxEvaluations) {
     //while (population.get(0).getObjective(0) > 0.0049) {
@@ -16,10 +16,12 @@ import java.util.logging.Logger;
 
 import jmetal.base.Algorithm;
 import jmetal.base.DecisionVariables;
+import jmetal.base.Problem;
 import jmetal.base.ProblemValue;
 import jmetal.base.Solution;
 import jmetal.base.SolutionSet;
 import jmetal.base.archive.CrowdingArchive;
+import jmetal.base.evaluator.SurrogateScreening;
 import jmetal.base.operator.comparator.CrowdingDistanceComparator;
 import jmetal.base.operator.comparator.DominanceComparator;
 import jmetal.base.operator.crossover.Crossover;
@@ -32,7 +34,7 @@ import jmetal.base.operator.selection.Selection;
 import jmetal.base.variable.Real;
 import jmetal.qualityIndicator.Hypervolume;
 import jmetal.qualityIndicator.QualityIndicator;
-import jmetal.util.Distance;
+import jmetal.util.DominanceIndex;
 import jmetal.util.JMException;
 import jmetal.util.PseudoRandom;
 
@@ -44,6 +46,11 @@ public class SMPSO<V extends Real>
    * Stores the problem to solve
    */
   private ProblemValue<V> problem_;
+  /**
+   * Evaluates the particles: the problem itself, or a decorator of it (e.g.,
+   * a <code>ParallelEvaluator</code>)
+   */
+  private Problem<V> evaluator_;
   /**
    * Stores the number of particles_ used
    */
@@ -124,6 +131,7 @@ public class SMPSO<V extends Real>
    */
   public SMPSO(ProblemValue<V> problem) {
     problem_ = problem;
+    evaluator_ = problem;
 
     r1Max_ = 1.0;
     r1Min_ = 0.0;
@@ -143,6 +151,7 @@ public class SMPSO<V extends Real>
     Vector<Double> variables,
     String trueParetoFront) throws FileNotFoundException {
     problem_ = problem;
+    evaluator_ = problem;
 
     r1Max_ = variables.get(0);
     r1Min_ = variables.get(1);
@@ -177,6 +186,7 @@ public class SMPSO<V extends Real>
    */
   public SMPSO(ProblemValue<V> problem, String trueParetoFront) throws FileNotFoundException {
     problem_ = problem;
+    evaluator_ = problem;
     //System.out.println("Pareto front file: " + trueParetoFront) ;
     hy_ = new Hypervolume();
     jmetal.qualityIndicator.util.MetricsUtil mu = new jmetal.qualityIndicator.util.MetricsUtil();
@@ -213,6 +223,15 @@ public class SMPSO<V extends Real>
 	public void setMutationDistributionIndex(double mutationDistributionIndex) {
 		mutationDistributionIndex_ = mutationDistributionIndex;
 	}
+
+	/**
+	 * Sets the problem evaluating the particles, which must be equivalent to the
+	 * problem to solve (e.g., a <code>ParallelEvaluator</code> wrapping it).
+	 * @param evaluator The evaluator.
+	 */
+	public void setEvaluator(Problem<V> evaluator) {
+		evaluator_ = evaluator;
+	}
 	
 	public void setIndicators(QualityIndicator<V> indicators) {
 		indicators_ = indicators;
@@ -411,12 +430,13 @@ public class SMPSO<V extends Real>
 
     success_ = false;
     //->Step 1 (and 3) Create the initial population and evaluate
-    for (int i = 0; i < particlesSize_; i++) {
-      Solution<V> particle = new Solution<V>(problem_);
-      problem_.evaluate(particle);
-      problem_.evaluateConstraints(particle);
-      particles_.add(particle);
-    }
+    for (int i = 0; i < particlesSize_; i++)
+      particles_.add(new Solution<V>(problem_));
+    evaluator_.evaluate(particles_);
+
+    SurrogateScreening<V> screening = getSurrogateScreening();
+    if (screening != null)
+      screening.learn(particles_);
 
     //-> Step2. Initialize the speed_ of each particle to 0
     for (int i = 0; i < particlesSize_; i++) {
@@ -438,10 +458,8 @@ public class SMPSO<V extends Real>
       best_[i] = particle;
     }
 
-    //Crowding the leaders_
-    Distance.crowdingDistanceAssignment(leaders_, problem_.getNumberOfObjectives());
-
     //-> Step 7. Iterations ..        
+    DominanceIndex<V> index = new DominanceIndex<V>(leaders_, problem_.getNumberOfObjectives(), true);
     while (iteration_ < getMaxEvaluations()) {
       try {
         //Compute the speed_
@@ -456,10 +474,14 @@ public class SMPSO<V extends Real>
       //Mutate the particles_          
       mopsoMutation(iteration_, getMaxEvaluations());
 
-      //Evaluate the new particles_ in new positions
-      for (int i = 0; i < particles_.size(); i++) {
-        Solution<V> particle = particles_.get(i);
-        problem_.evaluate(particle);
+      //Evaluate the new particles_ in new positions (the evaluations of the
+      //ones dominated by their memory and by the leaders_ can be aborted, or
+      //the particles_ can be screened by a surrogate model)
+      if (screening == null) {
+        index.update();
+        index.evaluate(evaluator_, particles_, best_);
+      } else {
+        screening.evaluate(particles_);
       }
 
       //Actualize the archive          
@@ -477,10 +499,6 @@ public class SMPSO<V extends Real>
           best_[i] = particle;
         }
       }
-
-      //Crowding the leaders_
-      Distance.crowdingDistanceAssignment(leaders_,
-        problem_.getNumberOfObjectives());
       iteration_++;
     }
     return this.leaders_;
@@ -72,14 +72,9 @@ public class SPEA2<V extends Variable>
     evaluations = 0;
         
     //-> Create the initial solutionSet
-    Solution<V> newSolution;
-    for (int i = 0; i < populationSize; i++) {
-      newSolution = new Solution<V>(problem_);
-      problem_.evaluate(newSolution);            
-      problem_.evaluateConstraints(newSolution);
-      evaluations++;
-      solutionSet.add(newSolution);
-    }                        
+    for (int i = 0; i < populationSize; i++)
+      solutionSet.add(new Solution<V>(problem_));
+    evaluations += problem_.evaluate(solutionSet);
         
     while (evaluations < maxEvaluations){               
       SolutionSet<V> union = ((SolutionSet<V>)solutionSet).union(archive);
@@ -104,11 +99,11 @@ public class SPEA2<V extends Variable>
         //make the crossover 
         Solution<V> [] offSpring = crossoverOperator.execute(parent1, parent2);            
         mutationOperator.execute(offSpring[0]);            
-        problem_.evaluate(offSpring[0]);
-        problem_.evaluateConstraints(offSpring[0]);            
         offSpringSolutionSet.add(offSpring[0]);
-        evaluations++;
       } // while
+
+      // Evaluate the offsprings as a batch
+      evaluations += problem_.evaluate(offSpringSolutionSet);
       // End Create a offSpring solutionSet
       solutionSet = offSpringSolutionSet;                   
     } // while
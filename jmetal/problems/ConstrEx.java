@@ -87,6 +87,13 @@ public class ConstrEx<T extends IReal> extends ProblemValue<T> {
     solution.setNumberOfViolatedConstraint(number);         
   } // evaluateConstraints  
 
+  /**
+   * The constraints of ConstrEx depend on the decision variables only.
+   */
+  public boolean hasIndependentConstraints() {
+    return true;
+  } // hasIndependentConstraints
+
   @Override
   public List<T> generateNewDecisionVariable() {
   	return generate(solutionType_);
@@ -10,16 +10,13 @@ package jmetal.problems.DTLZ;
 
 import java.util.List;
 
-import jmetal.base.DecisionVariables;
-import jmetal.base.ProblemValue;
-import jmetal.base.Solution;
+import jmetal.base.RealVectorProblem;
 import jmetal.base.variable.IReal;
-import jmetal.util.JMException;
 
 /**
  * Class representing problem ZDT2
  */
-public class DTLZ2<V extends IReal>  extends ProblemValue<V>{
+public class DTLZ2<V extends IReal>  extends RealVectorProblem<V>{
        
  private static final long serialVersionUID = 1022253286892658379L;
 
@@ -59,19 +56,12 @@ public class DTLZ2<V extends IReal>  extends ProblemValue<V>{
         
   /** 
   * Evaluates a solution 
-  * @param solution The solution to evaluate
-   * @throws JMException 
+  * @param x The values of the decision variables.
+  * @param f Output array receiving the values of the objectives.
   */    
-  public void evaluate(Solution<V> solution) throws JMException {
-    DecisionVariables<V> gen  = solution.getDecisionVariables();
-
-    double [] x = new double[numberOfVariables_];
-    double [] f = new double[numberOfObjectives_];
+  public void evaluate(double[] x, double[] f) {
     int k = numberOfVariables_ - numberOfObjectives_ + 1;
         
-    for (int i = 0; i < numberOfVariables_; i++)
-      x[i] = gen.variables_.get(i).getValue();
-        
     double g = 0.0;
     for (int i = numberOfVariables_ - k; i < numberOfVariables_; i++)
       g += (x[i] - 0.5)*(x[i] - 0.5);
@@ -87,9 +77,6 @@ public class DTLZ2<V extends IReal>  extends ProblemValue<V>{
           f[i] *= Math.sin(x[aux]*0.5*Math.PI);
         } //if 
     } // for
-        
-    for (int i = 0; i < numberOfObjectives_; i++)
-      solution.setObjective(i,f[i]);        
   } //evaluate
 
   @Override
@@ -10,16 +10,13 @@ package jmetal.problems.DTLZ;
 
 import java.util.List;
 
-import jmetal.base.DecisionVariables;
-import jmetal.base.ProblemValue;
-import jmetal.base.Solution;
+import jmetal.base.RealVectorProblem;
 import jmetal.base.variable.IReal;
-import jmetal.util.JMException;
 
 /**
  * Class representing problem DTLZ6
  */
- public class DTLZ6<V extends IReal>  extends ProblemValue<V>{
+ public class DTLZ6<V extends IReal>  extends RealVectorProblem<V>{
   
  private static final long serialVersionUID = 5723311960534086239L;
 
@@ -59,20 +56,13 @@ import jmetal.util.JMException;
     
   /** 
   * Evaluates a solution 
-  * @param solution The solution to evaluate
-   * @throws JMException 
+  * @param x The values of the decision variables.
+  * @param f Output array receiving the values of the objectives.
   */      
-  public void evaluate(Solution<V> solution) throws JMException {
-    DecisionVariables<V> gen  = solution.getDecisionVariables();
-
-    double [] x = new double[numberOfVariables_];
-    double [] f = new double[numberOfObjectives_];
+  public void evaluate(double[] x, double[] f) {
     double [] theta = new double[numberOfObjectives_-1];
     int k = numberOfVariables_ - numberOfObjectives_ + 1;
         
-    for (int i = 0; i < numberOfVariables_; i++)
-      x[i] = gen.variables_.get(i).getValue();
-        
     double g = 0.0;
     for (int i = numberOfVariables_ - k; i < numberOfVariables_; i++)
       g += java.lang.Math.pow(x[i],0.1);
@@ -93,9 +83,6 @@ import jmetal.util.JMException;
           f[i] *= java.lang.Math.sin(theta[aux]);
         } //if
     } // for
-
-    for (int i = 0; i < numberOfObjectives_; i++)
-      solution.setObjective(i,f[i]);        
   } // evaluate
 
   @Override
@@ -10,16 +10,13 @@ package jmetal.problems.DTLZ;
 
 import java.util.List;
 
-import jmetal.base.DecisionVariables;
-import jmetal.base.ProblemValue;
-import jmetal.base.Solution;
+import jmetal.base.RealVectorProblem;
 import jmetal.base.variable.IReal;
-import jmetal.util.JMException;
 
 /**
  * Class representing problem DTLZ7
  */
-public class DTLZ7<T extends IReal> extends ProblemValue<T>{
+public class DTLZ7<T extends IReal> extends RealVectorProblem<T>{
    
  private static final long serialVersionUID = -1722944559338505767L;
 
@@ -59,19 +56,12 @@ public class DTLZ7<T extends IReal> extends ProblemValue<T>{
 
   /** 
   * Evaluates a solution 
-  * @param solution The solution to evaluate
-   * @throws JMException 
+  * @param x The values of the decision variables.
+  * @param f Output array receiving the values of the objectives.
   */        
-  public void evaluate(Solution<T> solution) throws JMException {
-    DecisionVariables<T> gen  = solution.getDecisionVariables();
-
-    double [] x = new double[numberOfVariables_];
-    double [] f = new double[numberOfObjectives_];
+  public void evaluate(double[] x, double[] f) {
     int k = numberOfVariables_ - numberOfObjectives_ + 1;
             
-    for (int i = 0; i < numberOfVariables_; i++)
-      x[i] = gen.variables_.get(i).getValue();
-        
     //Calculate g
     double g = 0.0;
     for (int i = this.numberOfVariables_ - k; i < numberOfVariables_; i++)
@@ -94,11 +84,6 @@ public class DTLZ7<T extends IReal> extends ProblemValue<T>{
         
     f[numberOfObjectives_-1] = (1 + g) * h;
     //<-
-        
-    //-> Setting up the value of the objetives
-    for (int i = 0; i < numberOfObjectives_; i++)
-      solution.setObjective(i,f[i]);        
-    //<-
   } // evaluate
 
   @Override
@@ -121,6 +121,13 @@ public class Golinski<T extends IReal> extends ProblemValue<T>{
     solution.setNumberOfViolatedConstraint(number);        
   } // evaluateConstraints
 
+  /**
+   * The constraints of Golinski depend on the decision variables only.
+   */
+  public boolean hasIndependentConstraints() {
+    return true;
+  } // hasIndependentConstraints
+
  @Override
  public List<T> generateNewDecisionVariable() {
  	return generate(solutionType_);
@@ -120,6 +120,13 @@ public class Osyczka2<T extends IReal> extends ProblemValue<T>{
     solution.setNumberOfViolatedConstraint(number);
   } // evaluateConstraints 
 
+  /**
+   * The constraints of Osyczka2 depend on the decision variables only.
+   */
+  public boolean hasIndependentConstraints() {
+    return true;
+  } // hasIndependentConstraints
+
  @Override
  public List<T> generateNewDecisionVariable() {
  	return generate(solutionType_);
@@ -91,6 +91,13 @@ public class Srinivas<T extends VariableValue> extends ProblemValue<T> {
     solution.setNumberOfViolatedConstraint(number);
   } // evaluateConstraints
 
+  /**
+   * The constraints of Srinivas depend on the decision variables only.
+   */
+  public boolean hasIndependentConstraints() {
+    return true;
+  } // hasIndependentConstraints
+
   @Override
   public List<T> generateNewDecisionVariable() {
   	return generate(solutionType_);
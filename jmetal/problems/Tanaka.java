@@ -88,6 +88,13 @@ public class Tanaka<T extends Real> extends ProblemValue<T> {
     solution.setNumberOfViolatedConstraint(number);
   } // evaluateConstraints   
 
+  /**
+   * The constraints of Tanaka depend on the decision variables only.
+   */
+  public boolean hasIndependentConstraints() {
+    return true;
+  } // hasIndependentConstraints
+
   @Override
   public List<T> generateNewDecisionVariable() {
   	return generate(solutionType_);
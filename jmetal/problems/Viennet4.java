@@ -103,6 +103,13 @@ public class Viennet4<T extends Real> extends ProblemValue<T> {
     solution.setNumberOfViolatedConstraint(number);
   } // evaluateConstraints
 
+  /**
+   * The constraints of Viennet4 depend on the decision variables only.
+   */
+  public boolean hasIndependentConstraints() {
+    return true;
+  } // hasIndependentConstraints
+
   @Override
   	public List<T> generateNewDecisionVariable() {
   		return generate(solutionType_);
@@ -8,7 +8,7 @@ package jmetal.problems.WFG;
 import java.util.List;
 import java.util.Random;
 
-import jmetal.base.ProblemValue;
+import jmetal.base.RealVectorProblem;
 import jmetal.base.variable.IReal;
 
 /**
@@ -19,7 +19,7 @@ import jmetal.base.variable.IReal;
  *            Third International Conference, EMO 2005. 
  *            Proceedings, volume 3410 of Lecture Notes in Computer Science
  */
-public abstract class WFG<V extends IReal> extends ProblemValue<V> {
+public abstract class WFG<V extends IReal> extends RealVectorProblem<V> {
   
   private static final long serialVersionUID = -3511776882893579601L;
 
@@ -138,6 +138,25 @@ public abstract class WFG<V extends IReal> extends ProblemValue<V> {
   abstract public float[] evaluate(float[] variables);
   // evaluate
 
+  /** 
+  * Evaluates a vector of decision variables, converting it to the single
+  * precision used by the transformations of the toolkit
+  * @param x The values of the decision variables
+  * @param f Output array receiving the values of the objectives
+  */  
+  public void evaluate(double[] x, double[] f) {
+    float [] variables = new float[getNumberOfVariables()];
+    for (int i = 0; i < getNumberOfVariables(); i++) {
+      variables[i] = (float)x[i];
+    }
+
+    float [] sol = evaluate(variables);
+
+    for (int i = 0; i < sol.length; i++) {
+      f[i] = sol[i];
+    }
+  } // evaluate
+
   @Override
   public List<V> generateNewDecisionVariable() {
   	return generate(solutionType_);
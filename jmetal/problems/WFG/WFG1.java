@@ -5,8 +5,6 @@
  */
 package jmetal.problems.WFG;
 
-import jmetal.base.DecisionVariables;
-import jmetal.base.Solution;
 import jmetal.base.variable.IReal;
 import jmetal.util.JMException;
 
@@ -162,24 +160,4 @@ public class WFG1<V extends IReal> extends WFG<V> {
                 
     return result;
   } // t4
-                
-  /** 
-  * Evaluates a solution 
-  * @param solution The solution to evaluate
-   * @throws JMException 
-  */  
-  public final void evaluate(Solution<V> solution) throws JMException {
-    float [] variables = new float[getNumberOfVariables()];
-    DecisionVariables<V> dv = solution.getDecisionVariables();
-        
-    for (int i = 0; i < getNumberOfVariables(); i++) {
-      variables[i] = (float)dv.variables_.get(i).getValue();    
-    }
-        
-    float [] f = evaluate(variables);
-        
-    for (int i = 0; i < f.length; i++) {
-      solution.setObjective(i,f[i]);
-    }
-  } //evaluate
 } // WFG1
@@ -5,10 +5,7 @@
  */
 package jmetal.problems.WFG;
 
-import jmetal.base.DecisionVariables;
-import jmetal.base.Solution;
 import jmetal.base.variable.IReal;
-import jmetal.util.JMException;
 
 /**
  * This class implements the WFG2 problem
@@ -150,25 +147,5 @@ public class WFG2<V extends IReal> extends WFG<V> {
                 
     return result;
   } // t3
- 
-  /** 
-  * Evaluates a solution 
-  * @param solution The solution to evaluate
-   * @throws JMException 
-  */ 
-  public final void evaluate(Solution<V> solution) throws JMException {
-    float [] variables = new float[getNumberOfVariables()];
-    DecisionVariables<V> dv = solution.getDecisionVariables();
-        
-    for (int i = 0; i < getNumberOfVariables(); i++) {
-      variables[i] = (float)dv.variables_.get(i).getValue();    
-    }
-        
-    float [] sol = evaluate(variables);
-        
-    for (int i = 0; i < sol.length; i++) {
-      solution.setObjective(i,sol[i]);
-    }
-  } // evaluate
 } // WFG2
 
@@ -5,10 +5,7 @@
  */
 package jmetal.problems.WFG;
 
-import jmetal.base.DecisionVariables;
-import jmetal.base.Solution;
 import jmetal.base.variable.IReal;
-import jmetal.util.JMException;
 
 /**
  * This class implements the WFG4 problem
@@ -119,24 +116,4 @@ public class WFG4<V extends IReal> extends WFG<V> {
     return result;
   } // t2
     
-  /** 
-  * Evaluates a solution 
-  * @param solution The solution to evaluate
-   * @throws JMException 
-  */        
-  public final void evaluate(Solution<V> solution) throws JMException {
-    float [] variables = new float[this.getNumberOfVariables()];
-    DecisionVariables<V> dv = solution.getDecisionVariables();
-      
-    for (int i = 0; i < this.getNumberOfVariables(); i++) {
-      variables[i] = (float)dv.variables_.get(i).getValue();
-    }
-      
-    float [] sol = evaluate(variables);
-      
-    for (int i = 0; i < sol.length; i++) {
-      solution.setObjective(i,sol[i]);
-    }
-  } // evaluate
-    
 }
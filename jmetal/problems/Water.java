@@ -113,6 +113,13 @@ public class Water<T extends Real> extends ProblemValue<T> {
     solution.setOverallConstraintViolation(total);    
     solution.setNumberOfViolatedConstraint(number);        
   } // evaluateConstraints
+
+  /**
+   * The constraints of Water depend on the decision variables only.
+   */
+  public boolean hasIndependentConstraints() {
+    return true;
+  } // hasIndependentConstraints
   
   @Override
   public List<T> generateNewDecisionVariable() {
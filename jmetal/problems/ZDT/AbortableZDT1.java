@@ -0,0 +1,102 @@
+/**
+ * AbortableZDT1.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.problems.ZDT;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import jmetal.base.AbortableProblem;
+import jmetal.base.DominanceOracle;
+import jmetal.base.Solution;
+import jmetal.base.variable.IReal;
+import jmetal.util.JMException;
+
+/**
+ * This class is an example of <code>AbortableProblem</code>: problem ZDT1,
+ * whose function G is summed a block of variables at a time. Since the
+ * variables are not negative, the partial sum gives a lower bound of G, hence
+ * of the second objective (H * G grows with G); after each block the oracle
+ * is asked whether the first objective and that bound are dominated, and if
+ * so the evaluation stops. The objectives of the solutions fully evaluated
+ * are the ones of <code>ZDT1</code>.
+ */
+public class AbortableZDT1<T extends IReal> extends ZDT1<T> implements AbortableProblem<T> {
+
+  private static final long serialVersionUID = -3530521919464287095L;
+
+  /**
+   * The number of variables summed between two queries
+   */
+  private final int blockSize_;
+
+  /**
+   * The number of evaluations aborted
+   */
+  private final AtomicLong aborted_ = new AtomicLong();
+
+  /**
+   * Constructor.
+   * Creates a default instance of problem ZDT1 (30 decision variables),
+   * asking the oracle every 10 variables.
+   * @param solutionType The solution type must "Real" or "BinaryReal".
+   */
+  public AbortableZDT1(Class<T> solutionType) {
+    this(30, 10, solutionType);
+  } // AbortableZDT1
+
+  /**
+   * Constructor.
+   * @param numberOfVariables Number of variables.
+   * @param blockSize The number of variables summed between two queries.
+   * @param solutionType The solution type must "Real" or "BinaryReal".
+   */
+  public AbortableZDT1(Integer numberOfVariables, int blockSize, Class<T> solutionType) {
+    super(numberOfVariables, solutionType);
+    blockSize_ = blockSize;
+  } // AbortableZDT1
+
+  /**
+   * Returns the number of evaluations aborted.
+   * @return The number of evaluations.
+   */
+  public long getAborted() {
+    return aborted_.get();
+  } // getAborted
+
+  /**
+   * Evaluates a solution, unless the oracle tells that it is dominated.
+   * @param solution The <code>Solution</code> to evaluate.
+   * @param oracle The oracle to ask after each block of variables.
+   * @return true if the objectives have been evaluated.
+   * @throws JMException
+   */
+  public boolean evaluate(Solution<T> solution, DominanceOracle oracle) throws JMException {
+    double [] x = getValues(solution.getDecisionVariables());
+    double constante = (9.0 / (numberOfVariables_-1));
+
+    double f1 = x[0];
+    double [] bounds = new double[2];
+    bounds[0] = f1;
+
+    double sum = 0.0;
+    for (int i = 1; i < numberOfVariables_; i++) {
+      sum += x[i];
+      if (i % blockSize_ == 0 && i < numberOfVariables_ - 1) {
+        double g = constante * sum + 1.0;
+        bounds[1] = evalH(f1, g) * g;
+        if (oracle.isDominated(bounds)) {
+          aborted_.incrementAndGet();
+          return false;
+        } // if
+      } // if
+    } // for
+
+    double g = constante * sum + 1.0;
+    solution.setObjective(0, f1);
+    solution.setObjective(1, evalH(f1, g) * g);
+    return true;
+  } // evaluate
+} // AbortableZDT1
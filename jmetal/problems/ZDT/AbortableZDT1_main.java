@@ -0,0 +1,78 @@
+/**
+ * AbortableZDT1_main.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.problems.ZDT;
+
+import java.util.Properties;
+
+import jmetal.base.Algorithm;
+import jmetal.base.Problem;
+import jmetal.base.SolutionSet;
+import jmetal.base.variable.Real;
+import jmetal.experiments.SettingsFactory;
+import jmetal.util.JMException;
+import jmetal.util.PseudoRandom;
+
+/**
+ * This class checks the early aborts of <code>AbortableZDT1</code>: the
+ * algorithms evaluating their offsprings through a
+ * <code>DominanceIndex</code> must give, from the same seed, the same front
+ * on <code>AbortableZDT1</code> as on <code>ZDT1</code>, and some evaluations
+ * must have been aborted (they are rare in MOCell, whose oracle is the
+ * individual of the cell alone). It throws a <code>JMException</code> at the first
+ * front which differs.
+ */
+public class AbortableZDT1_main {
+
+  /**
+   * The algorithms supporting early aborts
+   */
+  private static final String [] ALGORITHMS = { "SMPSO", "OMOPSO", "MOCell", "PAES" };
+
+  /**
+   * @param args Command line arguments (none).
+   * @throws JMException
+   */
+  public static void main(String [] args) throws JMException {
+    Properties settings = new Properties();
+    settings.setProperty("MAX_EVALUATIONS", "5000");
+    settings.setProperty("MAX_ITERATIONS", "50");
+
+    long aborted = 0;
+    for (String algorithm : ALGORITHMS) {
+      String front = run(algorithm, new ZDT1<Real>(Real.class), settings);
+
+      AbortableZDT1<Real> problem = new AbortableZDT1<Real>(Real.class);
+      if (!front.equals(run(algorithm, problem, settings)))
+        throw new JMException("AbortableZDT1_main: " + algorithm + " gives a different front");
+
+      aborted += problem.getAborted();
+      System.out.println(algorithm + ": " + problem.getAborted() + " evaluations aborted");
+    } // for
+    if (aborted == 0)
+      throw new JMException("AbortableZDT1_main: no evaluation has been aborted");
+
+    System.out.println("AbortableZDT1_main: OK");
+  } // main
+
+  /**
+   * Runs an algorithm from the master seed.
+   * @return The objectives of the front.
+   */
+  @SuppressWarnings("unchecked")
+  private static String run(String name, Problem<Real> problem, Properties settings) throws JMException {
+    PseudoRandom.setSeed(PseudoRandom.getSeed());
+    Algorithm<Real, ?, ?, ?, ?> algorithm =
+      new SettingsFactory().getSettingsObject(name, new Object[] { problem }).configure(settings);
+    SolutionSet<Real> front = algorithm.execute();
+
+    StringBuilder objectives = new StringBuilder();
+    for (int i = 0; i < front.size(); i++)
+      objectives.append(front.get(i).getObjective(0)).append(' ')
+                .append(front.get(i).getObjective(1)).append('\n');
+    return objectives.toString();
+  } // run
+} // AbortableZDT1_main
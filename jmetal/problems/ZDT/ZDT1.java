@@ -10,16 +10,13 @@ package jmetal.problems.ZDT;
 
 import java.util.List;
 
-import jmetal.base.DecisionVariables;
-import jmetal.base.ProblemValue;
-import jmetal.base.Solution;
+import jmetal.base.RealVectorProblem;
 import jmetal.base.variable.IReal;
-import jmetal.util.JMException;
 
 /**
  * Class representing problem ZDT1
  */
-public class ZDT1<T extends IReal> extends ProblemValue<T> {
+public class ZDT1<T extends IReal> extends RealVectorProblem<T> {
     
  private static final long serialVersionUID = 6680347915034255781L;
 
@@ -60,32 +57,25 @@ public class ZDT1<T extends IReal> extends ProblemValue<T> {
     
   /** 
    * Evaluates a solution.
-   * @param solution The solution to evaluate.
-   * @throws JMException 
+   * @param x The values of the decision variables.
+   * @param f Output array receiving the values of the objectives.
    */
-  public void evaluate(Solution<T> solution) throws JMException {
-    DecisionVariables<T> decisionVariables  = solution.getDecisionVariables();
-    
-    double [] f = new double[numberOfObjectives_]  ;
-    f[0]        = decisionVariables.variables_.get(0).getValue()     ;
-    double g    = this.evalG(decisionVariables)                 ;
+  public void evaluate(double[] x, double[] f) {
+    f[0]        = x[0]     ;
+    double g    = this.evalG(x)                 ;
     double h    = this.evalH(f[0],g)              ;
     f[1]        = h * g                           ;
-    
-    solution.setObjective(0,f[0]);
-    solution.setObjective(1,f[1]);
   } // evaluate
     
   /**
    * Returns the value of the ZDT1 function G.
-   * @param decisionVariables The decision variables of the solution to 
+   * @param x The values of the decision variables of the solution to
    * evaluate.
-   * @throws JMException 
    */
-  private double evalG(DecisionVariables<T> decisionVariables) throws JMException {
+  private double evalG(double[] x) {
     double g = 0.0;        
-    for (int i = 1; i < decisionVariables.size();i++)
-      g += decisionVariables.variables_.get(i).getValue();
+    for (int i = 1; i < numberOfVariables_;i++)
+      g += x[i];
     double constante = (9.0 / (numberOfVariables_-1));
     g = constante * g;
     g = g + 1.0;
@@ -12,15 +12,14 @@ package jmetal.problems.ZDT;
 import java.util.List;
 
 import jmetal.base.DecisionVariables;
-import jmetal.base.ProblemValue;
-import jmetal.base.Solution;
+import jmetal.base.RealVectorProblem;
 import jmetal.base.variable.IReal;
 import jmetal.util.JMException;
 
 /**
  * Class representing problem ZDT4
  */
-public class ZDT4<V extends IReal>  extends ProblemValue<V>{
+public class ZDT4<V extends IReal>  extends RealVectorProblem<V>{
      
  private static final long serialVersionUID = -2284254828971901860L;
 
@@ -60,38 +59,41 @@ public class ZDT4<V extends IReal>  extends ProblemValue<V>{
 
   /** 
   * Evaluates a solution 
-  * @param solution The solution to evaluate
-   * @throws JMException 
+  * @param x The values of the decision variables.
+  * @param f Output array receiving the values of the objectives.
   */    
-  public void evaluate(Solution<V> solution) throws JMException {
-    DecisionVariables<V> decisionVariables  = solution.getDecisionVariables();
-    
-    double [] f = new double[numberOfObjectives_] ; 
-    f[0]        = decisionVariables.variables_.get(0).getValue()     ;
-    double g    = this.evalG(decisionVariables)                 ;
+  public void evaluate(double[] x, double[] f) {
+    f[0]        = x[0]     ;
+    double g    = this.evalG(x)                 ;
     double h    = this.evalH(f[0],g)              ;
     f[1]        = h * g                           ;   
-    
-    solution.setObjective(0,f[0]);
-    solution.setObjective(1,f[1]);
   } //evaluate
     
   /**
   * Returns the value of the ZDT4 function G.
-  * @param decisionVariables The decision variables of the solution to 
+  * @param x The values of the decision variables of the solution to
   * evaluate.
-   * @throws JMException 
   */  
-  public double evalG(DecisionVariables<V> decisionVariables) throws JMException{
+  public double evalG(double[] x) {
     double g = 0.0;
     for (int var = 1; var < numberOfVariables_; var++)
-      g += Math.pow(decisionVariables.variables_.get(var).getValue(),2.0) + 
-          - 10.0 * Math.cos(4.0*Math.PI*decisionVariables.variables_.get(var).getValue());
+      g += Math.pow(x[var],2.0) + 
+          - 10.0 * Math.cos(4.0*Math.PI*x[var]);
     
     double constante = 1.0 + 10.0*(numberOfVariables_ - 1);
     return g + constante;
   } // evalG
     
+  /**
+  * Returns the value of the ZDT4 function G.
+  * @param decisionVariables The decision variables of the solution to 
+  * evaluate.
+   * @throws JMException 
+  */
+  public double evalG(DecisionVariables<V> decisionVariables) throws JMException{
+    return evalG(getValues(decisionVariables));
+  } // evalG
+
   /**
   * Returns the value of the ZDT4 function H.
   * @param f First argument of the function H.
@@ -10,15 +10,14 @@ package jmetal.problems.ZDT;
 import java.util.List;
 
 import jmetal.base.DecisionVariables;
-import jmetal.base.ProblemValue;
-import jmetal.base.Solution;
+import jmetal.base.RealVectorProblem;
 import jmetal.base.variable.IReal;
 import jmetal.util.JMException;
 
 /**
  * Class representing problem ZDT6
  */
-public class ZDT6<V extends IReal>  extends ProblemValue<V> {
+public class ZDT6<V extends IReal>  extends RealVectorProblem<V> {
     
  private static final long serialVersionUID = 6380134519371621098L;
 
@@ -56,33 +55,26 @@ public class ZDT6<V extends IReal>  extends ProblemValue<V> {
   
   /** 
   * Evaluates a solution 
-  * @param solution The solution to evaluate
-   * @throws JMException 
+  * @param x The values of the decision variables.
+  * @param f Output array receiving the values of the objectives.
   */    
-  public void evaluate(Solution<V> solution) throws JMException {
-    DecisionVariables<V> decisionVariables  = solution.getDecisionVariables();
-        
-    double x1   = decisionVariables.variables_.get(0).getValue()       ;
-    double [] f = new double[numberOfObjectives_]   ;
+  public void evaluate(double[] x, double[] f) {
+    double x1   = x[0]       ;
     f[0]        = 1.0 - Math.exp((-4.0)*x1) * Math.pow(Math.sin(6.0*Math.PI*x1),6.0);
-    double g    = this.evalG(decisionVariables)                   ;
+    double g    = this.evalG(x)                   ;
     double h    = this.evalH(f[0],g)                ;
     f[1]        = h * g                             ;
-    
-    solution.setObjective(0,f[0]);
-    solution.setObjective(1,f[1]);    
   } //evaluate
     
   /**
   * Returns the value of the ZDT6 function G.
-  * @param decisionVariables The decision variables of the solution to 
+  * @param x The values of the decision variables of the solution to
   * evaluate.
-   * @throws JMException 
   */
-  public double evalG(DecisionVariables<V> decisionVariables) throws JMException{
+  public double evalG(double[] x) {
     double g = 0.0;
     for (int var = 1; var < this.numberOfVariables_; var++)
-      g += decisionVariables.variables_.get(var).getValue();
+      g += x[var];
     g = g / (numberOfVariables_ - 1);
     g = java.lang.Math.pow(g,0.25);
     g = 9.0 * g;
@@ -90,6 +82,16 @@ public class ZDT6<V extends IReal>  extends ProblemValue<V> {
     return g;
   } // evalG
   
+  /**
+  * Returns the value of the ZDT6 function G.
+  * @param decisionVariables The decision variables of the solution to 
+  * evaluate.
+   * @throws JMException 
+  */
+  public double evalG(DecisionVariables<V> decisionVariables) throws JMException{
+    return evalG(getValues(decisionVariables));
+  } // evalG
+
   /**
   * Returns the value of the ZDT6 function H.
   * @param f First argument of the function H.
@@ -9,16 +9,13 @@ package jmetal.problems.cec2009Competition;
 
 import java.util.List;
 
-import jmetal.base.DecisionVariables;
-import jmetal.base.ProblemValue;
-import jmetal.base.Solution;
+import jmetal.base.RealVectorProblem;
 import jmetal.base.variable.IReal;
-import jmetal.util.JMException;
 
 /**
  * Class representing problem CEC2009_UF10
  */
-public class CEC2009_UF10<T extends IReal> extends ProblemValue<T> {
+public class CEC2009_UF10<T extends IReal> extends RealVectorProblem<T> {
   
  private static final long serialVersionUID = 5052409074661508433L;
 
@@ -58,16 +55,10 @@ public class CEC2009_UF10<T extends IReal> extends ProblemValue<T> {
     
   /** 
    * Evaluates a solution.
-   * @param solution The solution to evaluate.
-   * @throws JMException 
+   * @param x The values of the decision variables.
+   * @param f Output array receiving the values of the objectives.
    */
-  public void evaluate(Solution<T> solution) throws JMException {
-    DecisionVariables<T> decisionVariables  = solution.getDecisionVariables();
-    
-    double [] x = new double[numberOfVariables_] ;
-    for (int i = 0; i < numberOfVariables_; i++)
-      x[i] = decisionVariables.variables_.get(i).getValue() ;
-
+  public void evaluate(double[] x, double[] f) {
   	int count1, count2, count3;
 		double sum1, sum2, sum3, yj, hj;
 		sum1   = sum2 = sum3 = 0.0;
@@ -88,9 +79,9 @@ public class CEC2009_UF10<T extends IReal> extends ProblemValue<T> {
 			}
     }
     
-    solution.setObjective(0, Math.cos(0.5*Math.PI*x[0])*Math.cos(0.5*Math.PI*x[1]) + 2.0*sum1 / (double)count1);
-    solution.setObjective(1, Math.cos(0.5*Math.PI*x[0])*Math.sin(0.5*Math.PI*x[1]) + 2.0*sum2 / (double)count2);
-    solution.setObjective(2, Math.sin(0.5*Math.PI*x[0])                       + 2.0*sum3 / (double)count3) ;
+    f[0] = Math.cos(0.5*Math.PI*x[0])*Math.cos(0.5*Math.PI*x[1]) + 2.0*sum1 / (double)count1;
+    f[1] = Math.cos(0.5*Math.PI*x[0])*Math.sin(0.5*Math.PI*x[1]) + 2.0*sum2 / (double)count2;
+    f[2] = Math.sin(0.5*Math.PI*x[0])                       + 2.0*sum3 / (double)count3;
   } // evaluate
 
   @Override
@@ -9,16 +9,13 @@ package jmetal.problems.cec2009Competition;
 
 import java.util.List;
 
-import jmetal.base.DecisionVariables;
-import jmetal.base.ProblemValue;
-import jmetal.base.Solution;
+import jmetal.base.RealVectorProblem;
 import jmetal.base.variable.IReal;
-import jmetal.util.JMException;
 
 /**
  * Class representing problem CEC2009_UF3
  */
-public class CEC2009_UF3<T extends IReal> extends ProblemValue<T> {
+public class CEC2009_UF3<T extends IReal> extends RealVectorProblem<T> {
     
  private static final long serialVersionUID = -2794991064686477992L;
 
@@ -59,23 +56,16 @@ public class CEC2009_UF3<T extends IReal> extends ProblemValue<T> {
     
   /** 
    * Evaluates a solution.
-   * @param solution The solution to evaluate.
-   * @throws JMException 
+   * @param x The values of the decision variables.
+   * @param f Output array receiving the values of the objectives.
    */
-  public void evaluate(Solution<T> solution) throws JMException {
-    DecisionVariables<T> decisionVariables  = solution.getDecisionVariables();
-    
-    double [] x = new double[numberOfVariables_] ;
-    for (int i = 0; i < numberOfVariables_; i++)
-      x[i] = decisionVariables.variables_.get(i).getValue() ;
-
+  public void evaluate(double[] x, double[] f) {
   	int count1, count2;
 		double sum1, sum2, prod1, prod2, yj, pj;
 		sum1   = sum2   = 0.0;
 		count1 = count2 = 0;
  		prod1  = prod2  = 1.0;
 
-    
     for (int j = 2 ; j <= numberOfVariables_; j++) {
 			yj = x[j-1]-Math.pow(x[0],0.5*(1.0+3.0*(j-2.0)/(numberOfVariables_-2.0)));
 			pj = Math.cos(20.0*yj*Math.PI/Math.sqrt(j));
@@ -90,8 +80,8 @@ public class CEC2009_UF3<T extends IReal> extends ProblemValue<T> {
 			}
     }
     
-    solution.setObjective(0,  x[0] + 2.0*(4.0*sum1 - 2.0*prod1 + 2.0) / (double)count1);
-    solution.setObjective(1, 1.0 - Math.sqrt(x[0]) + 2.0*(4.0*sum2 - 2.0*prod2 + 2.0) / (double)count2);
+    f[0] = x[0] + 2.0*(4.0*sum1 - 2.0*prod1 + 2.0) / (double)count1;
+    f[1] = 1.0 - Math.sqrt(x[0]) + 2.0*(4.0*sum2 - 2.0*prod2 + 2.0) / (double)count2;
   } // evaluate
 
   @Override
@@ -9,16 +9,13 @@ package jmetal.problems.cec2009Competition;
 
 import java.util.List;
 
-import jmetal.base.DecisionVariables;
-import jmetal.base.ProblemValue;
-import jmetal.base.Solution;
+import jmetal.base.RealVectorProblem;
 import jmetal.base.variable.IReal;
-import jmetal.util.JMException;
 
 /**
  * Class representing problem CEC2009_UF5
  */
-public class CEC2009_UF5<T extends IReal> extends ProblemValue<T> {
+public class CEC2009_UF5<T extends IReal> extends RealVectorProblem<T> {
   private static final long serialVersionUID = 331812019073172734L;
 
   private final Class<T> solutionType_;
@@ -64,16 +61,10 @@ public class CEC2009_UF5<T extends IReal> extends ProblemValue<T> {
     
   /** 
    * Evaluates a solution.
-   * @param solution The solution to evaluate.
-   * @throws JMException 
+   * @param x The values of the decision variables.
+   * @param f Output array receiving the values of the objectives.
    */
-  public void evaluate(Solution<T> solution) throws JMException {
-    DecisionVariables<T> decisionVariables  = solution.getDecisionVariables();
-    
-    double [] x = new double[numberOfVariables_] ;
-    for (int i = 0; i < numberOfVariables_; i++)
-      x[i] = decisionVariables.variables_.get(i).getValue() ;
-
+  public void evaluate(double[] x, double[] f) {
   	int count1, count2;
 		double sum1, sum2, yj, hj ;
 		sum1   = sum2   = 0.0;
@@ -92,8 +83,8 @@ public class CEC2009_UF5<T extends IReal> extends ProblemValue<T> {
     }
     hj = (0.5/N_ + epsilon_)*Math.abs(Math.sin(2.0*N_*Math.PI*x[0]));
 
-    solution.setObjective(0, x[0] + hj + 2.0*sum1 / (double)count1);
-    solution.setObjective(1, 1.0 - x[0] + hj + 2.0*sum2 / (double)count2);
+    f[0] = x[0] + hj + 2.0*sum1 / (double)count1;
+    f[1] = 1.0 - x[0] + hj + 2.0*sum2 / (double)count2;
   } // evaluate
 
   @Override
@@ -0,0 +1,63 @@
+/**
+ * ExternalSum.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.problems.external;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import jmetal.base.evaluator.ExternalProblem;
+import jmetal.base.variable.Real;
+import jmetal.base.variable.RealBounds;
+import jmetal.base.variable.RealVector;
+
+/**
+ * This class is an example of <code>ExternalProblem</code>, evaluated by
+ * <code>SumWorker</code> processes running in the same Java installation and
+ * class path as jMetal. The variables are in [0, 1]; the objectives are the
+ * sum of the variables and the sum of their complements to 1, and the sum
+ * must be at least 1.
+ */
+public class ExternalSum extends ExternalProblem<Real> {
+
+  private static final long serialVersionUID = -2769271474155201635L;
+
+  /**
+   * The bounds of the variables
+   */
+  private final RealBounds bounds_;
+
+  /**
+   * Constructor.
+   * @param numberOfVariables The number of variables.
+   * @param numberOfWorkers The number of worker processes.
+   * @param batchSize The maximum number of solutions sent to a worker at once.
+   * @param crashEvery The number of batches after which a worker crashes (0
+   * for never).
+   */
+  public ExternalSum(int numberOfVariables, int numberOfWorkers, int batchSize, int crashEvery) {
+    super(new String [] {
+        System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+        "-cp", System.getProperty("java.class.path"),
+        SumWorker.class.getName(), String.valueOf(crashEvery) },
+      numberOfWorkers, batchSize);
+
+    numberOfVariables_   = numberOfVariables;
+    numberOfObjectives_  = 2;
+    numberOfConstraints_ = 1;
+    problemName_         = "ExternalSum";
+
+    double [] lower = new double[numberOfVariables];
+    double [] upper = new double[numberOfVariables];
+    Arrays.fill(upper, 1.0);
+    bounds_ = new RealBounds(lower, upper);
+  } // ExternalSum
+
+  public List<Real> generateNewDecisionVariable() {
+    return new RealVector(bounds_);
+  } // generateNewDecisionVariable
+} // ExternalSum
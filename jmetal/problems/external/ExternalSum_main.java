@@ -0,0 +1,103 @@
+/**
+ * ExternalSum_main.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.problems.external;
+
+import jmetal.base.Solution;
+import jmetal.base.SolutionSet;
+import jmetal.base.variable.Real;
+import jmetal.base.variable.RealVector;
+import jmetal.util.JMException;
+
+/**
+ * This class checks <code>ExternalProblem</code> against the stub workers of
+ * <code>ExternalSum</code>: the results of the batches, the restart of the
+ * workers which crash, the batches holding an invalid solution, and the
+ * workers which keep failing. It throws a <code>JMException</code> at the
+ * first wrong result.
+ */
+public class ExternalSum_main {
+
+  /**
+   * @param args Command line arguments (none).
+   * @throws JMException
+   */
+  public static void main(String [] args) throws JMException {
+    // Two workers crashing on every third batch
+    ExternalSum problem = new ExternalSum(10, 2, 4, 3);
+    try {
+      for (int round = 0; round < 5; round++)
+        check(problem, newSet(problem, 50));
+      if (problem.getRestarts() == 0)
+        throw new JMException("ExternalSum_main: no worker has been restarted");
+
+      // A batch holding an invalid solution is not sent at all
+      SolutionSet<Real> set = newSet(problem, 3);
+      set.add(new Solution<Real>(new ExternalSum(5, 1, 1, 0)));
+      try {
+        problem.evaluate(set);
+        throw new JMException("ExternalSum_main: an invalid solution has been evaluated");
+      } catch (JMException e) {
+        // expected
+      } // try
+      for (int round = 0; round < 5; round++)
+        check(problem, newSet(problem, 4));
+    } finally {
+      problem.shutdown();
+    } // try
+
+    // A worker failing more than the retries is stopped, and restarted by
+    // the next batch
+    problem = new ExternalSum(10, 1, 4, 2);
+    problem.setMaxRetries(0);
+    try {
+      check(problem, newSet(problem, 4));
+      try {
+        problem.evaluate(newSet(problem, 4));
+        throw new JMException("ExternalSum_main: a crash has not been reported");
+      } catch (JMException e) {
+        // expected
+      } // try
+      check(problem, newSet(problem, 4));
+    } finally {
+      problem.shutdown();
+    } // try
+
+    System.out.println("ExternalSum_main: OK");
+  } // main
+
+  /**
+   * Creates a set of random solutions.
+   */
+  private static SolutionSet<Real> newSet(ExternalSum problem, int size) throws JMException {
+    SolutionSet<Real> set = new SolutionSet<Real>(size + 1);
+    for (int i = 0; i < size; i++)
+      set.add(new Solution<Real>(problem));
+    return set;
+  } // newSet
+
+  /**
+   * Evaluates a set of solutions, and compares the results with the ones
+   * computed locally.
+   */
+  private static void check(ExternalSum problem, SolutionSet<Real> set) throws JMException {
+    problem.evaluate(set);
+
+    int v = problem.getNumberOfVariables();
+    for (int j = 0; j < set.size(); j++) {
+      Solution<Real> solution = set.get(j);
+      double [] x = ((RealVector) solution.getDecisionVariables().variables_).getValues();
+      double sum = 0.0;
+      for (int i = 0; i < v; i++)
+        sum += x[i];
+
+      double violation = Math.min(0.0, sum - 1.0);
+      if (solution.getObjective(0) != sum || solution.getObjective(1) != v - sum ||
+          solution.getOverallConstraintViolation() != violation)
+        throw new JMException("ExternalSum_main: wrong result for solution " + j + ": " + solution);
+    } // for
+  } // check
+} // ExternalSum_main
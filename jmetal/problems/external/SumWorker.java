@@ -0,0 +1,67 @@
+/**
+ * SumWorker.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.problems.external;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * This class is a stub worker for <code>ExternalSum</code>, speaking the
+ * protocol of <code>ExternalProblem</code> on its standard input and output.
+ * For each solution it answers the sum of the variables, the sum of their
+ * complements to 1, and the constraint sum - 1.
+ * If an argument k is given, the worker crashes on every k-th batch it
+ * receives, after sending part of the answer, to exercise the restart of
+ * the workers.
+ */
+public class SumWorker {
+
+  /**
+   * @param args The number of batches after which the worker crashes
+   * (optional).
+   * @throws IOException
+   */
+  public static void main(String [] args) throws IOException {
+    int crashEvery = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+
+    DataInputStream  in  = new DataInputStream(new BufferedInputStream(System.in));
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(System.out));
+
+    for (int batches = 1; ; batches++) {
+      int n, v;
+      try {
+        n = in.readInt();
+      } catch (EOFException e) {
+        return; // the standard input has been closed
+      } // try
+      v = in.readInt();
+
+      double [] sums = new double[n];
+      for (int j = 0; j < n; j++)
+        for (int i = 0; i < v; i++)
+          sums[j] += in.readDouble();
+
+      out.writeInt(n);
+      for (int j = 0; j < n; j++) {
+        if (crashEvery > 0 && batches % crashEvery == 0 && j == n / 2) {
+          out.flush();
+          System.err.println("SumWorker: crashing on batch " + batches);
+          System.exit(1);
+        } // if
+
+        out.writeDouble(sums[j]);
+        out.writeDouble(v - sums[j]);
+        out.writeDouble(sums[j] - 1.0);
+      } // for
+      out.flush();
+    } // for
+  } // main
+} // SumWorker
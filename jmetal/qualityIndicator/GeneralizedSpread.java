@@ -9,6 +9,8 @@
 package jmetal.qualityIndicator;
 import java.util.Arrays;
 
+import jmetal.util.ObjectiveKernels;
+
 /**
  * This class implements the generalized spread metric for two or more dimensions.
  * It can be used also as command line program just by typing. 
@@ -104,10 +106,12 @@ public class GeneralizedSpread {
     } else {
       
       double dmean = 0.0;
+      double [] packedFront = ObjectiveKernels.pack(normalizedFront);
+      int n = normalizedFront.length;
       
       // STEP 6. Calculate the mean distance between each point and its nearest neighbor
       for (int i = 0; i < normalizedFront.length; i++) {
-        dmean += utils_.distanceToNearestPoint(normalizedFront[i],normalizedFront);
+        dmean += utils_.distanceToNearestPoint(normalizedFront[i],packedFront,n);
       }
       
       dmean = dmean / (numberOfPoints);
@@ -115,13 +119,13 @@ public class GeneralizedSpread {
       // STEP 7. Calculate the distance to extremal values
       double dExtrems = 0.0;
       for (int i = 0; i < extremValues.length; i++) {
-        dExtrems += utils_.distanceToClosedPoint(extremValues[i],normalizedFront);
+        dExtrems += utils_.distanceToClosedPoint(extremValues[i],packedFront,n);
       }
       
       // STEP 8. Computing the value of the metric
       double mean = 0.0;
       for (int i = 0; i < normalizedFront.length; i++) {
-        mean += Math.abs(utils_.distanceToNearestPoint(normalizedFront[i],normalizedFront) - 
+        mean += Math.abs(utils_.distanceToNearestPoint(normalizedFront[i],packedFront,n) - 
                          dmean);
       }
       
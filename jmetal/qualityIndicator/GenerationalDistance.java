@@ -6,6 +6,8 @@
  */
 package jmetal.qualityIndicator;
 
+import jmetal.util.ObjectiveKernels;
+
 /**
  * This class implements the generational distance metric. It can be used also 
  * as a command line by typing: "java GenerationalDistance <solutionFrontFile>  
@@ -74,9 +76,11 @@ public class GenerationalDistance {
     // STEP 3. Sum the distances between each point of the front and the 
     // nearest point in the true Pareto front
     double sum = 0.0;
+    double [] packedParetoFront = ObjectiveKernels.pack(normalizedParetoFront);
     for (int i = 0; i < front.length; i++) 
       sum += Math.pow(utils_.distanceToClosedPoint(normalizedFront[i],
-    		                                       normalizedParetoFront),
+    		                                       packedParetoFront,
+    		                                       normalizedParetoFront.length),
     		                                       pow_);
    
     
@@ -6,6 +6,8 @@
  */
 package jmetal.qualityIndicator;
 
+import jmetal.util.ObjectiveKernels;
+
 /**
  * This class implements the inverted generational distance metric. 
  * It can be used also as a command line by typing: 
@@ -75,9 +77,11 @@ public class InvertedGenerationalDistance {
     // STEP 3. Sum the distances between each point of the true Pareto front and
     // the nearest point in the true Pareto front
     double sum = 0.0;
+    double [] packedFront = ObjectiveKernels.pack(normalizedFront);
     for (int i = 0; i < normalizedParetoFront.length; i++) 
       sum += Math.pow(utils_.distanceToClosedPoint(normalizedParetoFront[i],
-    		                                       normalizedFront),
+    		                                       packedFront,
+    		                                       normalizedFront.length),
     		                                       pow_);
    
     
@@ -18,6 +18,7 @@ import jmetal.base.Solution;
 import jmetal.base.SolutionSet;
 import jmetal.base.Variable;
 import jmetal.util.NonDominatedSolutionList;
+import jmetal.util.ObjectiveKernels;
 
 /**
  * This class provides some facilities for metrics. 
@@ -122,12 +123,7 @@ public class MetricsUtil {
    *  @return The euclidean distance between the points
    **/
   public double distance(double [] a, double [] b) {
-    double distance = 0.0;
-    
-    for (int i = 0; i < a.length; i++) {
-      distance += Math.pow(a[i]-b[i],2.0);
-    }
-    return Math.sqrt(distance);
+    return ObjectiveKernels.distance(a, b);
   } // distance
   
   
@@ -140,17 +136,21 @@ public class MetricsUtil {
    * @return The minimun distance between the point and the front
    **/
   public double distanceToClosedPoint(double [] point, double [][] front) {
-    double minDistance = distance(point,front[0]);
-    
-    
-    for (int i = 1; i < front.length; i++) {
-      double aux = distance(point,front[i]);
-      if (aux < minDistance) {
-        minDistance = aux;
-      }
-    }
-    
-    return minDistance;
+    return distanceToClosedPoint(point, ObjectiveKernels.pack(front), front.length);
+  } // distanceToClosedPoint
+  
+  
+  /**
+   * Gets the distance between a point and the nearest one in a front packed
+   * row by row (see <code>ObjectiveKernels.pack</code>). Packing the front
+   * once is faster when the distances of many points are needed
+   * @param point The point
+   * @param front The packed front
+   * @param n The number of points in the front
+   * @return The minimun distance between the point and the front
+   **/
+  public double distanceToClosedPoint(double [] point, double [] front, int n) {
+    return ObjectiveKernels.minDistance(point, front, n, false);
   } // distanceToClosedPoint
   
   
@@ -164,16 +164,22 @@ public class MetricsUtil {
    * the front
    */
   public double distanceToNearestPoint(double [] point, double [][] front) {
-    double minDistance = Double.MAX_VALUE;
-    
-    for (int i = 0; i < front.length; i++) {
-      double aux = distance(point,front[i]);
-      if ((aux < minDistance) && (aux > 0.0)) {
-        minDistance = aux;
-      }
-    }
-    
-    return minDistance;
+    return distanceToNearestPoint(point, ObjectiveKernels.pack(front), front.length);
+  } // distanceToNearestPoint
+  
+  
+  /**
+   * Gets the distance between a point and the nearest one in a front packed
+   * row by row (see <code>ObjectiveKernels.pack</code>), and this distance is
+   * greater than 0.0
+   * @param point The point
+   * @param front The packed front
+   * @param n The number of points in the front
+   * @return The minimun distances greater than zero between the point and
+   * the front
+   */
+  public double distanceToNearestPoint(double [] point, double [] front, int n) {
+    return ObjectiveKernels.minDistance(point, front, n, true);
   } // distanceToNearestPoint
   
   /** 
@@ -0,0 +1,85 @@
+/**
+ * AbstractRandomStream.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.util;
+
+import java.io.Serializable;
+
+/**
+ * Base of the random streams, implementing their methods on the
+ * <code>nextLong</code> of the generator.
+ */
+public abstract class AbstractRandomStream implements RandomStream, Serializable {
+
+  private static final long serialVersionUID = 2871096155407926823L;
+
+  /**
+   * Below this probability, <code>bernoulli</code> draws the gaps between
+   * the successes instead of a value per trial
+   */
+  private static final double SPARSE_PROBABILITY = 0.25;
+
+  public int nextInt() {
+    return (int) (nextLong() >>> 32);
+  } // nextInt
+
+  public double nextDouble() {
+    return (nextLong() >>> 11) * 0x1.0p-53;
+  } // nextDouble
+
+  /**
+   * Returns a random int value in [0, bound), with the multiply-and-shift
+   * method of Lemire, rejecting the few values which would bias the result.
+   * @param bound The bound (positive).
+   * @return A random int value.
+   */
+  public int nextInt(int bound) {
+    if (bound <= 0)
+      throw new IllegalArgumentException("The bound must be positive: " + bound);
+
+    long m = (nextInt() & 0xffffffffL) * bound;
+    if ((m & 0xffffffffL) < bound) {
+      long threshold = (0x100000000L - bound) % bound;
+      while ((m & 0xffffffffL) < threshold)
+        m = (nextInt() & 0xffffffffL) * bound;
+    } // if
+    return (int) (m >>> 32);
+  } // nextInt
+
+  public boolean nextBoolean(double probability) {
+    return nextDouble() < probability;
+  } // nextBoolean
+
+  public void fill(double[] values, int from, int to) {
+    for (int i = from; i < to; i++)
+      values[i] = nextDouble();
+  } // fill
+
+  public void fill(int[] values, int from, int to, int bound) {
+    for (int i = from; i < to; i++)
+      values[i] = nextInt(bound);
+  } // fill
+
+  public int bernoulli(double probability, int n, int[] successes) {
+    int count = 0;
+    if (probability <= 0.0)
+      return 0;
+
+    if (probability >= SPARSE_PROBABILITY) {
+      for (int i = 0; i < n; i++)
+        if (nextDouble() < probability)
+          successes[count++] = i;
+      return count;
+    } // if
+
+    // The gap before the next success is geometric
+    double scale = 1.0 / Math.log1p(-probability);
+    for (double i = Math.floor(Math.log(1.0 - nextDouble()) * scale); i < n;
+         i += 1 + Math.floor(Math.log(1.0 - nextDouble()) * scale))
+      successes[count++] = (int) i;
+    return count;
+  } // bernoulli
+} // AbstractRandomStream
@@ -0,0 +1,161 @@
+/**
+ * CrowdingDistance.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.util;
+
+import java.util.Arrays;
+
+import jmetal.base.SolutionSet;
+import jmetal.base.Variable;
+
+/**
+ * This class computes the crowding distance of NSGA-II on primitive arrays.
+ * For each objective, the values of the objective are packed into a column,
+ * an array of indexes is sorted against the column, and the distances are
+ * accumulated in an array which is written back to the solutions at the end.
+ * The buffers are kept across invocations, so an instance is not thread safe:
+ * <code>Distance.crowdingDistanceAssignment</code> uses one instance per
+ * thread.
+ * The index array is not reset between objectives and it is sorted with a
+ * stable algorithm, hence ties are broken exactly as the former implementation
+ * sorting the solutions with an <code>ObjectiveComparator</code> did.
+ */
+public class CrowdingDistance {
+
+  /**
+   * The objective vectors of the solutions
+   */
+  private double [][] points_ = new double[0][];
+
+  /**
+   * The values of the current objective
+   */
+  private double [] column_ = new double[0];
+
+  /**
+   * The crowding distances
+   */
+  private double [] distance_ = new double[0];
+
+  /**
+   * The indexes of the solutions, sorted by the current objective
+   */
+  private int [] index_ = new int[0];
+
+  /**
+   * Scratch buffer used by the merge sort
+   */
+  private int [] buffer_ = new int[0];
+
+  /**
+   * Assigns crowding distances to all solutions in a <code>SolutionSet</code>.
+   * @param solutionSet The <code>SolutionSet</code>.
+   * @param nObjs Number of objectives.
+   */
+  public <T extends Variable> void assign(SolutionSet<T> solutionSet, int nObjs) {
+    int size = solutionSet.size();
+    ensureCapacity(size);
+
+    for (int i = 0; i < size; i++)
+      points_[i] = solutionSet.get(i).getObjectives();
+
+    compute(points_, size, nObjs);
+
+    for (int i = 0; i < size; i++)
+      solutionSet.get(i).setCrowdingDistance(distance_[i]);
+
+    Arrays.fill(points_, 0, size, null);
+  } // assign
+
+  /**
+   * Computes the crowding distances of a set of points.
+   * @param points The objective vectors (only the first size are used).
+   * @param size The number of points.
+   * @param nObjs Number of objectives.
+   * @return An array whose first size elements contain the crowding
+   * distances. It is a buffer of this object, overwritten by the next call.
+   */
+  public double[] compute(double[][] points, int size, int nObjs) {
+    ensureCapacity(size);
+
+    if (size <= 2) {
+      Arrays.fill(distance_, 0, size, Double.POSITIVE_INFINITY);
+      return distance_;
+    } // if
+
+    Arrays.fill(distance_, 0, size, 0.0);
+    for (int i = 0; i < size; i++)
+      index_[i] = i;
+
+    for (int n = 0; n < nObjs; n++) {
+      for (int i = 0; i < size; i++)
+        column_[i] = points[i][n];
+
+      // Sort the indexes by objective n
+      sort(0, size);
+
+      double objetiveMinn = column_[index_[0]];
+      double objetiveMaxn = column_[index_[size - 1]];
+      double range = objetiveMaxn - objetiveMinn;
+
+      distance_[index_[0]] = Double.POSITIVE_INFINITY;
+      distance_[index_[size - 1]] = Double.POSITIVE_INFINITY;
+
+      for (int j = 1; j < size - 1; j++)
+        distance_[index_[j]] += (column_[index_[j + 1]] - column_[index_[j - 1]]) / range;
+    } // for
+
+    return distance_;
+  } // compute
+
+  /**
+   * Sorts index_[from..to-1] by increasing values of column_ (stable merge
+   * sort, with insertion sort on short runs).
+   */
+  private void sort(int from, int to) {
+    if (to - from < 24) {
+      for (int i = from + 1; i < to; i++) {
+        int p = index_[i];
+        double v = column_[p];
+        int j = i - 1;
+        while (j >= from && column_[index_[j]] > v) {
+          index_[j + 1] = index_[j];
+          j--;
+        } // while
+        index_[j + 1] = p;
+      } // for
+      return;
+    } // if
+
+    int mid = (from + to) >>> 1;
+    sort(from, mid);
+    sort(mid, to);
+    if (column_[index_[mid - 1]] <= column_[index_[mid]])
+      return;
+
+    System.arraycopy(index_, from, buffer_, from, to - from);
+    int i = from;
+    int j = mid;
+    for (int k = from; k < to; k++) {
+      if (j >= to || (i < mid && column_[buffer_[i]] <= column_[buffer_[j]]))
+        index_[k] = buffer_[i++];
+      else
+        index_[k] = buffer_[j++];
+    } // for
+  } // sort
+
+  private void ensureCapacity(int size) {
+    if (index_.length >= size)
+      return;
+
+    int capacity = Math.max(size, index_.length * 2);
+    points_   = new double[capacity][];
+    column_   = new double[capacity];
+    distance_ = new double[capacity];
+    index_    = new int[capacity];
+    buffer_   = new int[capacity];
+  } // ensureCapacity
+} // CrowdingDistance
@@ -0,0 +1,194 @@
+/**
+ * CrowdingTruncation.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.util;
+
+import java.util.Arrays;
+
+import jmetal.base.SolutionSet;
+import jmetal.base.Variable;
+
+/**
+ * This class implements the truncation of a <code>SolutionSet</code> by rank
+ * and crowding distance, as done by NSGA-II to fill the last slots of the
+ * population. Instead of sorting the whole set with a
+ * <code>CrowdingComparator</code>, the best solutions are found with an
+ * introselect (quickselect falling back to a heap selection) on an array of
+ * indexes. Ties are broken by the position in the set, so the selected
+ * solutions are the same that a stable sort would place first.
+ */
+public class CrowdingTruncation {
+
+  /**
+   * Returns the positions of the solutions in a set, the first k being the
+   * positions of the best k solutions (lowest rank, then highest crowding
+   * distance) in increasing order.
+   * @param solutionSet The <code>SolutionSet</code>.
+   * @param k The number of solutions to select.
+   * @return A permutation of the positions of the solutions.
+   */
+  public static <T extends Variable> int[] selectBest(SolutionSet<T> solutionSet, int k) {
+    int size = solutionSet.size();
+    int [] rank = new int[size];
+    double [] distance = new double[size];
+    int [] index = new int[size];
+    for (int i = 0; i < size; i++) {
+      rank[i] = solutionSet.get(i).getRank();
+      distance[i] = key(solutionSet.get(i).getCrowdingDistance());
+      index[i] = i;
+    } // for
+
+    if (k > 0 && k < size) {
+      select(rank, distance, index, 0, size, k, 2 * log2(size));
+      Arrays.sort(index, 0, k);
+    } // if
+
+    return index;
+  } // selectBest
+
+  /**
+   * Adds the best k solutions of a set to another set, in the order they
+   * appear in the first set.
+   * @param solutionSet The <code>SolutionSet</code> to truncate.
+   * @param k The number of solutions to add.
+   * @param result The <code>SolutionSet</code> receiving the solutions.
+   */
+  public static <T extends Variable> void addBest(SolutionSet<T> solutionSet, int k, SolutionSet<T> result) {
+    int [] index = selectBest(solutionSet, k);
+    for (int i = 0; i < k; i++)
+      result.add(solutionSet.get(index[i]));
+  } // addBest
+
+  /**
+   * Returns the position of the worst solution of a set (the last one a
+   * stable sort with a <code>CrowdingComparator</code> would produce).
+   * @param solutionSet The <code>SolutionSet</code>.
+   * @return The position of the worst solution, or -1 if the set is empty.
+   */
+  public static <T extends Variable> int worst(SolutionSet<T> solutionSet) {
+    int worst = -1;
+    int worstRank = Integer.MIN_VALUE;
+    double worstDistance = Double.POSITIVE_INFINITY;
+    for (int i = 0; i < solutionSet.size(); i++) {
+      int rank = solutionSet.get(i).getRank();
+      double distance = key(solutionSet.get(i).getCrowdingDistance());
+      if (rank > worstRank || (rank == worstRank && distance <= worstDistance)) {
+        worst = i;
+        worstRank = rank;
+        worstDistance = distance;
+      } // if
+    } // for
+    return worst;
+  } // worst
+
+  /**
+   * Crowding distances are NaN when all the solutions of a front share the
+   * value of an objective: they are considered as giving no diversity.
+   */
+  private static double key(double distance) {
+    return (distance != distance) ? 0.0 : distance;
+  } // key
+
+  /**
+   * Checks if the solution at position a is better than the one at b.
+   */
+  private static boolean better(int[] rank, double[] distance, int a, int b) {
+    if (rank[a] != rank[b])
+      return rank[a] < rank[b];
+    if (distance[a] != distance[b])
+      return distance[a] > distance[b];
+    return a < b;
+  } // better
+
+  /**
+   * Rearranges index[from..to-1] so that its first k-from elements are the
+   * best ones.
+   */
+  private static void select(int[] rank, double[] distance, int[] index, int from, int to, int k, int depth) {
+    while (to - from > 16) {
+      if (depth-- == 0) {
+        heapSelect(rank, distance, index, from, to, k);
+        return;
+      } // if
+
+      // median of three
+      int mid = (from + to) >>> 1;
+      if (better(rank, distance, index[mid], index[from])) swap(index, mid, from);
+      if (better(rank, distance, index[to - 1], index[from])) swap(index, to - 1, from);
+      if (better(rank, distance, index[to - 1], index[mid])) swap(index, to - 1, mid);
+      int pivot = index[mid];
+
+      // Hoare partition
+      int i = from;
+      int j = to - 1;
+      while (i <= j) {
+        while (better(rank, distance, index[i], pivot)) i++;
+        while (better(rank, distance, pivot, index[j])) j--;
+        if (i <= j)
+          swap(index, i++, j--);
+      } // while
+
+      if (k <= j)
+        to = j + 1;
+      else if (k > i)
+        from = i;
+      else
+        return;
+    } // while
+
+    // insertion sort of the small remaining range
+    for (int i = from + 1; i < to; i++) {
+      int p = index[i];
+      int j = i - 1;
+      while (j >= from && better(rank, distance, p, index[j])) {
+        index[j + 1] = index[j];
+        j--;
+      } // while
+      index[j + 1] = p;
+    } // for
+  } // select
+
+  /**
+   * Rearranges index[from..to-1] so that its first k-from elements are the
+   * best ones, using a max-heap (of the worst among the best) of size k-from.
+   */
+  private static void heapSelect(int[] rank, double[] distance, int[] index, int from, int to, int k) {
+    int size = k - from;
+    for (int i = size / 2 - 1; i >= 0; i--)
+      siftDown(rank, distance, index, from, i, size);
+
+    for (int i = k; i < to; i++) {
+      if (better(rank, distance, index[i], index[from])) {
+        swap(index, i, from);
+        siftDown(rank, distance, index, from, 0, size);
+      } // if
+    } // for
+  } // heapSelect
+
+  private static void siftDown(int[] rank, double[] distance, int[] index, int base, int i, int size) {
+    while (true) {
+      int child = 2 * i + 1;
+      if (child >= size)
+        return;
+      if (child + 1 < size && better(rank, distance, index[base + child], index[base + child + 1]))
+        child++;
+      if (!better(rank, distance, index[base + i], index[base + child]))
+        return;
+      swap(index, base + i, base + child);
+      i = child;
+    } // while
+  } // siftDown
+
+  private static void swap(int[] index, int i, int j) {
+    int aux = index[i];
+    index[i] = index[j];
+    index[j] = aux;
+  } // swap
+
+  private static int log2(int n) {
+    return 32 - Integer.numberOfLeadingZeros(n);
+  } // log2
+} // CrowdingTruncation
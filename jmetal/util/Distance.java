@@ -12,13 +12,21 @@ import jmetal.base.Solution;
 import jmetal.base.SolutionSet;
 import jmetal.base.Variable;
 import jmetal.base.VariableValue;
-import jmetal.base.operator.comparator.ObjectiveComparator;
 
 /**
  * This class implements some facilities for distances
  */
 public class Distance {      
     
+  /**
+   * Stores the <code>CrowdingDistance</code> kernel of each thread
+   */
+  private static final ThreadLocal<CrowdingDistance> crowdingDistance_ = new ThreadLocal<CrowdingDistance>() {
+    protected CrowdingDistance initialValue() {
+      return new CrowdingDistance();
+    }
+  };
+
   /** 
   * Constructor.
   */
@@ -95,7 +103,7 @@ public class Distance {
     for (int i = 0; i < decisionVariableI.size(); i++){
       diff = decisionVariableI.variables_.get(i).getValue() -
              decisionVariableJ.variables_.get(i).getValue();
-      distance += Math.pow(diff,2.0);
+      distance += diff * diff;
     } // for    
         
     //-> Return the euclidean distance
@@ -108,73 +116,17 @@ public class Distance {
   *  @return the distance between solutions in objective space.
   */
   public static <T extends Variable> double distanceBetweenObjectives(Solution<T> solutionI, Solution<T> solutionJ){                
-    double diff;    //Auxiliar var
-    double distance = 0.0;
-    
-    double[] solIObj = solutionI.getObjectives();
-    double[] solJObj = solutionJ.getObjectives();
-
-    //-> Calculate the euclidean distance
-    for (int nObj = 0; nObj < solIObj.length;nObj++){
-			diff = solIObj[nObj] - solJObj[nObj];
-      distance += Math.pow(diff,2.0);           
-    } // for   
-        
-    //Return the euclidean distance
-    return Math.sqrt(distance);
+    return ObjectiveKernels.distance(solutionI.getObjectives(), solutionJ.getObjectives());
   } // distanceBetweenObjectives.
            
  /** Assigns crowding distances to all solutions in a <code>SolutionSet</code>.
+  * The distances are computed by a <code>CrowdingDistance</code> kernel, 
+  * reused by all the invocations made by the same thread.
   * @param solutionSet The <code>SolutionSet</code>.
   * @param nObjs Number of objectives.
   */
   public static <T extends Variable> void crowdingDistanceAssignment(SolutionSet<T> solutionSet, int nObjs) {
-    int size = solutionSet.size();        
-                
-    if (size == 0)
-      return;
-    
-    if (size == 1) {
-      solutionSet.get(0).setCrowdingDistance(Double.POSITIVE_INFINITY);
-      return;
-    } // if
-        
-    if (size == 2) {
-      solutionSet.get(0).setCrowdingDistance(Double.POSITIVE_INFINITY);
-      solutionSet.get(1).setCrowdingDistance(Double.POSITIVE_INFINITY);
-      return;
-    } // if       
-        
-    //Use a new SolutionSet to evite alter original solutionSet
-    SolutionSet<T> front = new SolutionSet<T>(size);
-    for (int i = 0; i < size; i++){
-      front.add(solutionSet.get(i));
-    }
-        
-    for (int i = 0; i < size; i++)
-      front.get(i).setCrowdingDistance(0.0);        
-        
-    double objetiveMaxn;
-    double objetiveMinn;
-    double distance;
-                
-    for (int i = 0; i<nObjs; i++) {          
-      // Sort the population by Obj n            
-      front.sort(new ObjectiveComparator<T>(i));
-      objetiveMinn = front.get(0).getObjective(i);      
-      objetiveMaxn = front.get(front.size()-1).getObjective(i);      
-      
-      //Set de crowding distance            
-      front.get(0).setCrowdingDistance(Double.POSITIVE_INFINITY);
-      front.get(size-1).setCrowdingDistance(Double.POSITIVE_INFINITY);                                      
-      
-      for (int j = 1; j < size-1; j++) {
-        distance = front.get(j+1).getObjective(i) - front.get(j-1).getObjective(i);                    
-        distance = distance / (objetiveMaxn - objetiveMinn);        
-        distance += front.get(j).getCrowdingDistance();                
-        front.get(j).setCrowdingDistance(distance);   
-      } // for
-    } // for        
+    crowdingDistance_.get().assign(solutionSet, nObjs);
   } // crowdingDistanceAssing            
 } // Distance
 
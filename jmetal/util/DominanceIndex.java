@@ -0,0 +1,294 @@
+/**
+ * DominanceIndex.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.util;
+
+import jmetal.base.AbortableProblem;
+import jmetal.base.DominanceOracle;
+import jmetal.base.Problem;
+import jmetal.base.Solution;
+import jmetal.base.SolutionSet;
+import jmetal.base.Variable;
+
+/**
+ * This class answers the dominance queries of the evaluations in progress
+ * (see <code>AbortableProblem</code>) from a parent solution, from the archive
+ * of an algorithm, or from both. The oracle must reject only the solutions
+ * which the algorithm would discard anyway: a parent alone when a solution
+ * dominated by it is dropped (e.g., the individual of a cell in MOCell),
+ * the parent or the archive when a solution dominated by either is dropped
+ * (e.g., PAES), the parent and the archive when a solution is compared with
+ * its parent and also offered to the archive (e.g., the memory of a particle
+ * and the leaders in SMPSO). The objectives of the feasible
+ * solutions of the archive are packed in a block (see
+ * <code>ObjectiveKernels</code>), which is rebuilt when the archive changes
+ * (see <code>update</code>); the point which answered the last query is
+ * checked first, since consecutive candidates tend to be dominated by the
+ * same point.
+ * The solutions rejected by the oracle get penalty objectives
+ * (<code>Double.MAX_VALUE</code>) and are marked (see
+ * <code>Solution.isObjectivesSkipped</code>): <code>DominanceComparator</code>
+ * ranks them below the evaluated solutions, hence they do not enter the
+ * archives nor replace their parents. The problems not implementing
+ * <code>AbortableProblem</code> are evaluated as usual.
+ * Aborting trades the batching for the skipped objectives: the solutions of
+ * an abortable problem are evaluated one by one in the calling thread, even
+ * by the overloads taking a set, so that each query sees the archive and the
+ * parent of its solution. An abortable problem is therefore not combined with
+ * <code>ParallelEvaluator</code> (or another evaluator decorating it): the
+ * decorator does not implement <code>AbortableProblem</code>, hence the
+ * solutions are evaluated in batches without any abort. See
+ * <code>jmetal.problems.ZDT.AbortableZDT1</code> for an example.
+ * The archive must not change during an evaluation, and the index must not be
+ * shared among threads.
+ */
+public class DominanceIndex<T extends Variable> implements DominanceOracle {
+
+  /**
+   * The archive answering the queries, or null
+   */
+  private final SolutionSet<T> archive_;
+
+  /**
+   * True if a solution is rejected only if both the parent and the archive
+   * dominate it
+   */
+  private final boolean parentRequired_;
+
+  /**
+   * The number of objectives
+   */
+  private final int numberOfObjectives_;
+
+  /**
+   * The parent of the solution being evaluated, or null
+   */
+  private Solution<T> parent_;
+
+  /**
+   * The objectives of the feasible solutions of the archive, packed
+   */
+  private double [] block_ = new double[0];
+
+  /**
+   * The number of points in the block
+   */
+  private int size_;
+
+  /**
+   * True if the block must be rebuilt
+   */
+  private boolean stale_ = true;
+
+  /**
+   * The point of the block which answered the last query, or -1
+   */
+  private int last_ = -1;
+
+  /**
+   * The number of queries answered
+   */
+  private long queries_;
+
+  /**
+   * The number of solutions rejected
+   */
+  private long rejected_;
+
+  /**
+   * Constructor. A solution is rejected if its parent dominates it.
+   * @param numberOfObjectives The number of objectives of the problem.
+   */
+  public DominanceIndex(int numberOfObjectives) {
+    this(null, numberOfObjectives, true);
+  } // DominanceIndex
+
+  /**
+   * Constructor. A solution is rejected if its parent or the archive
+   * dominates it.
+   * @param archive The archive of the algorithm.
+   * @param numberOfObjectives The number of objectives of the problem.
+   */
+  public DominanceIndex(SolutionSet<T> archive, int numberOfObjectives) {
+    this(archive, numberOfObjectives, false);
+  } // DominanceIndex
+
+  /**
+   * Constructor.
+   * @param archive The archive of the algorithm, or null.
+   * @param numberOfObjectives The number of objectives of the problem.
+   * @param parentRequired True if a solution is rejected only if its parent
+   * dominates it, and the archive (if any) too; false if a solution is
+   * rejected if its parent or the archive dominates it.
+   */
+  public DominanceIndex(SolutionSet<T> archive, int numberOfObjectives, boolean parentRequired) {
+    archive_            = archive;
+    numberOfObjectives_ = numberOfObjectives;
+    parentRequired_     = parentRequired;
+  } // DominanceIndex
+
+  /**
+   * Sets the parent of the solutions to evaluate next, which is checked
+   * along with the archive.
+   * @param parent The parent, or null.
+   */
+  public void setParent(Solution<T> parent) {
+    parent_ = parent;
+  } // setParent
+
+  /**
+   * Tells the index that the archive has changed: the block is rebuilt at the
+   * next query.
+   */
+  public void update() {
+    stale_ = true;
+  } // update
+
+  /**
+   * Returns the number of queries answered so far.
+   * @return The number of queries.
+   */
+  public long getQueries() {
+    return queries_;
+  } // getQueries
+
+  /**
+   * Returns the number of evaluations aborted so far.
+   * @return The number of rejected solutions.
+   */
+  public long getRejected() {
+    return rejected_;
+  } // getRejected
+
+  public boolean isDominated(double [] bounds) {
+    queries_++;
+
+    if (parent_ != null && isComparable(parent_) &&
+        ObjectiveKernels.compare(parent_.getObjectives(), bounds) == -1) {
+      if (!parentRequired_ || archive_ == null)
+        return true;
+    } else if (parentRequired_ || archive_ == null) {
+      return false;
+    } // if
+
+    if (stale_)
+      pack();
+
+    if (last_ >= 0 &&
+        ObjectiveKernels.compare(block_, last_ * numberOfObjectives_, bounds, 0, numberOfObjectives_) == -1)
+      return true;
+
+    int j = ObjectiveKernels.findDominating(bounds, block_, size_);
+    if (j < 0)
+      return false;
+
+    last_ = j;
+    return true;
+  } // isDominated
+
+  /**
+   * Evaluates the objectives of a solution, aborting the evaluation if the
+   * problem supports it and the solution turns out to be dominated.
+   * @param problem The problem.
+   * @param solution The <code>Solution</code> to evaluate.
+   * @return false if the solution has been rejected.
+   * @throws JMException
+   */
+  @SuppressWarnings("unchecked")
+  public boolean evaluate(Problem<T> problem, Solution<T> solution) throws JMException {
+    if (!(problem instanceof AbortableProblem)) {
+      problem.evaluate(solution);
+      return true;
+    } // if
+
+    solution.setObjectivesSkipped(false);
+    if (((AbortableProblem<T>) problem).evaluate(solution, this))
+      return true;
+
+    for (int i = 0; i < numberOfObjectives_; i++)
+      solution.setObjective(i, Double.MAX_VALUE);
+    solution.setObjectivesSkipped(true);
+    rejected_++;
+    return false;
+  } // evaluate
+
+  /**
+   * Evaluates the objectives and the constraints of a set of solutions,
+   * aborting the evaluations of the dominated ones if the problem supports
+   * it (see <code>Problem.evaluate(SolutionSet)</code>). The solutions of an
+   * abortable problem are evaluated one by one.
+   * @param problem The problem.
+   * @param set The set of <code>Solution</code>s to evaluate.
+   * @return the number of evaluations done
+   * @throws JMException
+   */
+  public int evaluate(Problem<T> problem, SolutionSet<T> set) throws JMException {
+    if (!(problem instanceof AbortableProblem))
+      return problem.evaluate(set);
+
+    for (int i = 0; i < set.size(); i++) {
+      evaluate(problem, set.get(i));
+      problem.evaluateConstraints(set.get(i));
+    } // for
+
+    return set.size();
+  } // evaluate
+
+  /**
+   * Evaluates the objectives and the constraints of a set of solutions, each
+   * one with its own parent, aborting the evaluations of the dominated ones
+   * if the problem supports it (see
+   * <code>Problem.evaluate(SolutionSet)</code>). The solutions of an
+   * abortable problem are evaluated one by one. The parent is reset
+   * afterwards.
+   * @param problem The problem.
+   * @param set The set of <code>Solution</code>s to evaluate.
+   * @param parents The parents of the solutions, in the same order.
+   * @return the number of evaluations done
+   * @throws JMException
+   */
+  public int evaluate(Problem<T> problem, SolutionSet<T> set, Solution<T> [] parents) throws JMException {
+    if (!(problem instanceof AbortableProblem))
+      return problem.evaluate(set);
+
+    for (int i = 0; i < set.size(); i++) {
+      setParent(parents[i]);
+      evaluate(problem, set.get(i));
+      problem.evaluateConstraints(set.get(i));
+    } // for
+    setParent(null);
+
+    return set.size();
+  } // evaluate
+
+  /**
+   * Packs the objectives of the feasible and evaluated solutions of the
+   * archive.
+   */
+  private void pack() {
+    int m = numberOfObjectives_;
+    if (block_.length < archive_.size() * m)
+      block_ = new double[archive_.size() * m];
+
+    size_ = 0;
+    for (int i = 0; i < archive_.size(); i++) {
+      Solution<T> solution = archive_.get(i);
+      if (isComparable(solution))
+        System.arraycopy(solution.getObjectives(), 0, block_, m * size_++, m);
+    } // for
+
+    last_  = -1;
+    stale_ = false;
+  } // pack
+
+  /**
+   * Checks whether a solution can reject the others: it must be feasible,
+   * and its objectives must have been evaluated.
+   */
+  private boolean isComparable(Solution<T> solution) {
+    return solution.getOverallConstraintViolation() >= 0 && !solution.isObjectivesSkipped();
+  } // isComparable
+} // DominanceIndex
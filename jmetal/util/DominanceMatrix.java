@@ -0,0 +1,334 @@
+/**
+ * DominanceMatrix.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * This class stores the result of all the pairwise dominance checks among a
+ * set of points: for each point, the number of points dominating it and the
+ * list of points it dominates. Points are compared as in
+ * <code>DominanceComparator</code>, using the overall constraint violations
+ * if they are given. The points are packed in a single block (see
+ * <code>ObjectiveKernels.pack</code>), and each point is compared against a
+ * range of the block at once.
+ * When the set contains at least <code>getParallelThreshold()</code> points,
+ * the rows of the matrix are split into blocks which are computed in parallel
+ * by a shared pool of daemon threads. Each block only writes the entries of
+ * its own points, hence no merge or synchronization is needed.
+ */
+public class DominanceMatrix {
+
+  /**
+   * Number of threads used to compute large matrices
+   */
+  private static volatile int numberOfThreads_ = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Minimum number of points for computing the matrix in parallel
+   */
+  private static volatile int parallelThreshold_ = 1000;
+
+  /**
+   * Pool of threads computing the blocks of the matrix (created on demand)
+   */
+  private static ExecutorService executor_ = null;
+
+  /**
+   * Number of blocks assigned to each thread, to balance the load
+   */
+  private static final int BLOCKS_PER_THREAD = 4;
+
+  /**
+   * dominateMe_[i] contains the number of points dominating i
+   */
+  private final int [] dominateMe_;
+
+  /**
+   * iDominate_[i][0..iDominateSize_[i]-1] contains the points dominated by i
+   */
+  private final int [][] iDominate_;
+
+  /**
+   * iDominateSize_[i] contains the number of points dominated by i
+   */
+  private final int [] iDominateSize_;
+
+  /**
+   * Sets the number of threads used to compute large matrices.
+   * @param numberOfThreads The number of threads (1 disables the parallel
+   * computation).
+   */
+  public static synchronized void setNumberOfThreads(int numberOfThreads) {
+    if (numberOfThreads != numberOfThreads_ && executor_ != null) {
+      executor_.shutdown();
+      executor_ = null;
+    } // if
+    numberOfThreads_ = numberOfThreads;
+  } // setNumberOfThreads
+
+  /**
+   * Returns the number of threads used to compute large matrices.
+   * @return The number of threads.
+   */
+  public static int getNumberOfThreads() {
+    return numberOfThreads_;
+  } // getNumberOfThreads
+
+  /**
+   * Sets the minimum number of points for computing the matrix in parallel.
+   * @param threshold The number of points.
+   */
+  public static void setParallelThreshold(int threshold) {
+    parallelThreshold_ = threshold;
+  } // setParallelThreshold
+
+  /**
+   * Returns the minimum number of points for computing the matrix in parallel.
+   * @return The number of points.
+   */
+  public static int getParallelThreshold() {
+    return parallelThreshold_;
+  } // getParallelThreshold
+
+  /**
+   * Constructor. Computes the dominance matrix of a set of points.
+   * @param points The objective vectors.
+   * @param violation The overall constraint violation of each point, or null
+   * to apply the Pareto dominance only.
+   */
+  public DominanceMatrix(double[][] points, double[] violation) {
+    int n = points.length;
+    dominateMe_    = new int[n];
+    iDominate_     = new int[n][];
+    iDominateSize_ = new int[n];
+
+    double [] block = ObjectiveKernels.pack(points);
+    if (n >= parallelThreshold_ && numberOfThreads_ > 1)
+      computeInParallel(points, block, violation);
+    else
+      compute(points, block, violation);
+  } // DominanceMatrix
+
+  /**
+   * Returns the number of points dominating a point.
+   * @param i The index of the point.
+   * @return The number of points dominating it.
+   */
+  public int getDominatedByCount(int i) {
+    return dominateMe_[i];
+  } // getDominatedByCount
+
+  /**
+   * Returns the number of points dominated by a point.
+   * @param i The index of the point.
+   * @return The number of points it dominates.
+   */
+  public int getDominatesCount(int i) {
+    return iDominateSize_[i];
+  } // getDominatesCount
+
+  /**
+   * Returns one of the points dominated by a point.
+   * @param i The index of the point.
+   * @param k The position in the list of dominated points, between 0 and
+   * <code>getDominatesCount(i)-1</code>.
+   * @return The index of the k-th point dominated by i.
+   */
+  public int getDominated(int i, int k) {
+    return iDominate_[i][k];
+  } // getDominated
+
+  /**
+   * Splits the points into non-dominated fronts. The counters of the points
+   * dominating each point are consumed, so this method can be invoked once.
+   * @param rank Output array receiving the front of each point.
+   * @return The number of fronts found.
+   */
+  public int peel(int[] rank) {
+    int n = dominateMe_.length;
+
+    // the points of the current front, followed by the points of the next one
+    int [] current = new int[n];
+    int [] next    = new int[n];
+    int currentSize = 0;
+
+    for (int p = 0; p < n; p++) {
+      if (dominateMe_[p] == 0) {
+        current[currentSize++] = p;
+        rank[p] = 0;
+      } // if
+    } // for
+
+    int nFronts = 0;
+    while (currentSize > 0) {
+      nFronts++;
+      int nextSize = 0;
+      for (int i = 0; i < currentSize; i++) {
+        int p = current[i];
+        for (int j = 0; j < iDominateSize_[p]; j++) {
+          int q = iDominate_[p][j];
+          if (--dominateMe_[q] == 0) {
+            next[nextSize++] = q;
+            rank[q] = nFronts;
+          } // if
+        } // for
+      } // for
+
+      int [] aux = current;
+      current = next;
+      next = aux;
+      currentSize = nextSize;
+    } // while
+
+    return nFronts;
+  } // peel
+
+  /**
+   * Sequential computation: each pair is compared once.
+   */
+  private void compute(double[][] points, double[] block, double[] violation) {
+    int [] flags = new int[points.length];
+    for (int p = 0; p < points.length; p++) {
+      compareRow(points, block, violation, p, p + 1, points.length, flags);
+      for (int q = p + 1; q < points.length; q++) {
+        int flag = flags[q];
+        if (flag == -1) {
+          iDominate_[p] = append(iDominate_[p], iDominateSize_[p]++, q);
+          dominateMe_[q]++;
+        } else if (flag == 1) {
+          iDominate_[q] = append(iDominate_[q], iDominateSize_[q]++, p);
+          dominateMe_[p]++;
+        } // if
+      } // for
+    } // for
+  } // compute
+
+  /**
+   * Parallel computation: each block computes the whole rows of its points.
+   */
+  private void computeInParallel(final double[][] points, final double[] block, final double[] violation) {
+    int n = points.length;
+    int nBlocks = Math.min(n, numberOfThreads_ * BLOCKS_PER_THREAD);
+
+    List<Callable<Object>> tasks = new ArrayList<Callable<Object>>(nBlocks);
+    for (int b = 0; b < nBlocks; b++) {
+      final int from = (int) ((long) n * b / nBlocks);
+      final int to   = (int) ((long) n * (b + 1) / nBlocks);
+      tasks.add(new Callable<Object>() {
+        public Object call() {
+          computeRows(points, block, violation, from, to);
+          return null;
+        }
+      });
+    } // for
+
+    try {
+      for (Future<Object> f : getExecutor().invokeAll(tasks))
+        f.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    } // try
+  } // computeInParallel
+
+  /**
+   * Computes the rows of the points in [from, to).
+   */
+  private void computeRows(double[][] points, double[] block, double[] violation, int from, int to) {
+    int [] flags = new int[points.length];
+    for (int p = from; p < to; p++) {
+      int dominateMe = 0;
+      int [] iDominate = null;
+      int iDominateSize = 0;
+
+      compareRow(points, block, violation, p, 0, points.length, flags);
+      for (int q = 0; q < points.length; q++) {
+        int flag = flags[q];
+        if (flag == -1)
+          iDominate = append(iDominate, iDominateSize++, q);
+        else if (flag == 1)
+          dominateMe++;
+      } // for
+
+      dominateMe_[p]    = dominateMe;
+      iDominate_[p]     = iDominate;
+      iDominateSize_[p] = iDominateSize;
+    } // for
+  } // computeRows
+
+  private static synchronized ExecutorService getExecutor() {
+    if (executor_ == null) {
+      executor_ = Executors.newFixedThreadPool(numberOfThreads_, new ThreadFactory() {
+        public Thread newThread(Runnable r) {
+          Thread t = new Thread(r, "jMetal-dominance");
+          t.setDaemon(true);
+          return t;
+        }
+      });
+    } // if
+    return executor_;
+  } // getExecutor
+
+  /**
+   * Compares a point with the points of [from, to) as
+   * <code>DominanceComparator</code> does: the objectives are compared
+   * against the block, then the comparisons decided by the constraint
+   * violations are overwritten.
+   * @param flags Output array: flags[q] receives -1, or 0, or 1 if p
+   * dominates q, both are non-dominated, or p is dominated by q,
+   * respectively.
+   */
+  static void compareRow(double[][] points, double[] block, double[] violation,
+                         int p, int from, int to, int[] flags) {
+    ObjectiveKernels.compare(points[p], block, from, to, flags);
+    if (violation == null)
+      return;
+
+    double overall1 = violation[p];
+    for (int q = from; q < to; q++) {
+      double overall2 = violation[q];
+      if (overall1 != overall2 && (overall1 < 0 || overall2 < 0)) {
+        if ((overall1 < 0) && (overall2 < 0))
+          flags[q] = (overall1 > overall2) ? -1 : 1;
+        else if ((overall1 == 0) && (overall2 < 0))
+          flags[q] = -1;
+        else if ((overall1 < 0) && (overall2 == 0))
+          flags[q] = 1;
+        else
+          flags[q] = 0;
+      } // if
+    } // for
+  } // compareRow
+
+  /**
+   * Appends a value to a growable int array.
+   * @param array The array (it can be null).
+   * @param size The number of valid values in the array.
+   * @param value The value to append.
+   * @return The array containing the value (it can be a new one).
+   */
+  static int[] append(int[] array, int size, int value) {
+    if (array == null)
+      array = new int[4];
+    else if (size == array.length)
+      array = Arrays.copyOf(array, size * 2);
+
+    array[size] = value;
+    return array;
+  } // append
+} // DominanceMatrix
@@ -0,0 +1,169 @@
+/**
+ * EfficientNonDominatedSorting.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.util;
+
+/**
+ * This class implements the Efficient Non-dominated Sort with binary search
+ * strategy (ENS-BS) proposed by X. Zhang et al. (2015). Points are sorted
+ * lexicographically, so that a point can only be dominated by the points
+ * preceding it; then each point is assigned to the first front containing no
+ * point dominating it, which is found with a binary search over the fronts.
+ * With two objectives, the last point added to a front is the only one that
+ * has to be checked, and the whole sort takes O(N log N).
+ */
+public class EfficientNonDominatedSorting implements NonDominatedSorting {
+
+  /**
+   * Sorts a set of points into non-dominated fronts.
+   * @param points The objective vectors to sort.
+   * @param rank Output array receiving the front of each point.
+   * @return The number of fronts found.
+   */
+  public int sort(double[][] points, int[] rank) {
+    int n = points.length;
+    if (n == 0)
+      return 0;
+
+    int [] order = new int[n];
+    for (int i = 0; i < n; i++)
+      order[i] = i;
+    sortLexicographically(points, order, new int[n], 0, n);
+
+    if (points[0].length == 2)
+      return sort2D(points, order, rank);
+
+    // front[k][0..frontSize[k]-1] contains the points of the k-th front
+    int [][] front = new int[n][];
+    int [] frontSize = new int[n];
+    int nFronts = 0;
+
+    for (int i = 0; i < n; i++) {
+      int p = order[i];
+      int low = 0;
+      int high = nFronts;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (isDominated(points, points[p], front[mid], frontSize[mid]))
+          low = mid + 1;
+        else
+          high = mid;
+      } // while
+
+      if (low == nFronts)
+        nFronts++;
+      front[low] = DominanceMatrix.append(front[low], frontSize[low]++, p);
+      rank[p] = low;
+    } // for
+
+    return nFronts;
+  } // sort
+
+  /**
+   * Two-objective version of the sort. Points in the same front are sorted by
+   * the first objective and, being non-dominated, by decreasing values of the
+   * second one. Hence a point is dominated by a front if and only if it is
+   * dominated by the last point added to it.
+   */
+  private int sort2D(double[][] points, int[] order, int[] rank) {
+    // last[k] contains the last point added to the k-th front
+    int [] last = new int[order.length];
+    int nFronts = 0;
+
+    for (int i = 0; i < order.length; i++) {
+      double [] p = points[order[i]];
+      int low = 0;
+      int high = nFronts;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        double [] q = points[last[mid]];
+        if (q[1] < p[1] || (q[1] == p[1] && q[0] < p[0]))
+          low = mid + 1;
+        else
+          high = mid;
+      } // while
+
+      if (low == nFronts)
+        nFronts++;
+      last[low] = order[i];
+      rank[order[i]] = low;
+    } // for
+
+    return nFronts;
+  } // sort2D
+
+  /**
+   * Checks if a point is dominated by any point of a front. Points of the
+   * front precede p in lexicographic order, and the last ones are the most
+   * likely to dominate it, so the front is scanned backwards.
+   */
+  private static boolean isDominated(double[][] points, double[] p, int[] front, int size) {
+    for (int i = size - 1; i >= 0; i--) {
+      if (dominates(points[front[i]], p))
+        return true;
+    } // for
+    return false;
+  } // isDominated
+
+  /**
+   * Checks if q dominates p, knowing that q precedes p in lexicographic order.
+   */
+  private static boolean dominates(double[] q, double[] p) {
+    boolean strict = false;
+    for (int i = 0; i < q.length; i++) {
+      if (q[i] > p[i])
+        return false;
+      if (q[i] < p[i])
+        strict = true;
+    } // for
+    return strict;
+  } // dominates
+
+  /**
+   * Sorts order[from..to-1] by the lexicographic order of the corresponding
+   * points (merge sort, stable).
+   */
+  private static void sortLexicographically(double[][] points, int[] order, int[] buffer, int from, int to) {
+    if (to - from < 16) {
+      for (int i = from + 1; i < to; i++) {
+        int p = order[i];
+        int j = i - 1;
+        while (j >= from && compareLexicographically(points[order[j]], points[p]) > 0) {
+          order[j + 1] = order[j];
+          j--;
+        } // while
+        order[j + 1] = p;
+      } // for
+      return;
+    } // if
+
+    int mid = (from + to) >>> 1;
+    sortLexicographically(points, order, buffer, from, mid);
+    sortLexicographically(points, order, buffer, mid, to);
+    if (compareLexicographically(points[order[mid - 1]], points[order[mid]]) <= 0)
+      return;
+
+    System.arraycopy(order, from, buffer, from, to - from);
+    int i = from;
+    int j = mid;
+    for (int k = from; k < to; k++) {
+      if (j >= to || (i < mid && compareLexicographically(points[buffer[i]], points[buffer[j]]) <= 0))
+        order[k] = buffer[i++];
+      else
+        order[k] = buffer[j++];
+    } // for
+  } // sortLexicographically
+
+  private static int compareLexicographically(double[] p, double[] q) {
+    for (int i = 0; i < p.length; i++) {
+      if (p[i] < q[i])
+        return -1;
+      if (p[i] > q[i])
+        return 1;
+    } // for
+    return 0;
+  } // compareLexicographically
+} // EfficientNonDominatedSorting
@@ -6,13 +6,9 @@
  */
 package jmetal.util;
 
-import java.util.Comparator;
-
 import jmetal.base.Problem;
-import jmetal.base.Solution;
 import jmetal.base.SolutionSet;
 import jmetal.base.Variable;
-import jmetal.base.operator.comparator.DominanceComparator;
 
 /**
  * This class implements facilities for calculating the fitness for the
@@ -30,11 +26,6 @@ public class FPGAFitness<T extends Variable> {
 //   */
 //  private Problem     problem_     = null;
         
-  /**
-   * stores a <code>Comparator</code> for dominance checking
-   */
-  private final Comparator<Solution<T>> dominance_ = new DominanceComparator<T>();
-  
   /**
    * Constructor.
    * Create a new instance of Spea2Fitness
@@ -69,28 +60,31 @@ public class FPGAFitness<T extends Variable> {
       }
     }
            
+    // Compute all the dominance checks once (in parallel on large sets)
+    int n = solutionSet_.size();
+    double [][] points = new double[n][];
+    double [] violation = new double[n];
+    for (int i = 0; i < n; i++) {
+      points[i] = solutionSet_.get(i).getObjectives();
+      violation[i] = solutionSet_.get(i).getOverallConstraintViolation();
+    } // for
+    DominanceMatrix dominance = new DominanceMatrix(points, violation);
+
     //Calculate the strength value
     // strength(i) = |{j | j <- SolutionSet and i dominate j}|
-    for (int i = 0; i < solutionSet_.size(); i++) {
-      for (int j = 0; j < solutionSet_.size();j++) {
-        if (dominance_.compare(solutionSet_.get(i),solutionSet_.get(j))==-1) {
-          strength[i] += 1.0;
-        } // if        
-      } // for
+    for (int i = 0; i < n; i++) {
+      strength[i] = dominance.getDominatesCount(i);
     } // for
        
         
     //Calculate the fitness
     //F(i) = sum(strength(j) | i dominate j) - sum(strenth(j) | j dominate i)
-    for (int i = 0;i < solutionSet_.size(); i++) {
-      double fitness = 0.0;
-      for (int j = 0; j < solutionSet_.size();j++) {
-        int flag = dominance_.compare(solutionSet_.get(i),solutionSet_.get(j));
-        if (flag == -1) { //i domiante j
-          fitness += strength[j];
-        }else if (flag==1) {
-          fitness -= strength[j];
-        } // if
+    double [] fitness = new double[n];
+    for (int i = 0; i < n; i++) {
+      for (int k = 0; k < dominance.getDominatesCount(i); k++) {
+        int j = dominance.getDominated(i, k);
+        fitness[i] += strength[j]; // i dominate j
+        fitness[j] -= strength[i]; // j is dominated by i
       } // for
     } // for
             
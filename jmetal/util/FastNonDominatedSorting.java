@@ -0,0 +1,29 @@
+/**
+ * FastNonDominatedSorting.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.util;
+
+/**
+ * This class implements the fast non-dominated sorting proposed in NSGA-II
+ * (K. Deb et al., 2002). It performs all the O(M N^2) pairwise dominance
+ * checks, storing for each point the number of points dominating it and the
+ * list of points it dominates, and then peels the fronts one after another.
+ * It is kept as a reference engine; <code>EfficientNonDominatedSorting</code>
+ * is usually faster. The dominance checks are computed by a
+ * <code>DominanceMatrix</code>, in parallel on large sets of points.
+ */
+public class FastNonDominatedSorting implements NonDominatedSorting {
+
+  /**
+   * Sorts a set of points into non-dominated fronts.
+   * @param points The objective vectors to sort.
+   * @param rank Output array receiving the front of each point.
+   * @return The number of fronts found.
+   */
+  public int sort(double[][] points, int[] rank) {
+    return new DominanceMatrix(points, null).peel(rank);
+  } // sort
+} // FastNonDominatedSorting
@@ -0,0 +1,294 @@
+/**
+ * IncrementalCrowding.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.util;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import jmetal.base.Solution;
+import jmetal.base.Variable;
+
+/**
+ * This class maintains the crowding distances (as defined in NSGA-II) of a
+ * set of solutions which changes one solution at a time. The solutions are
+ * kept sorted by each objective, and the insertion or the removal of a
+ * solution only updates the distances of its neighbours, in O(M log N) time
+ * (M being the number of objectives and N the number of solutions). The
+ * distances of all the solutions are recomputed, without sorting, only when
+ * the range of an objective changes.
+ * The distances are written to the solutions, and they are equal to the ones
+ * assigned by <code>Distance.crowdingDistanceAssignment</code> (except for
+ * an objective whose range is zero, which does not contribute to the
+ * distance). The solutions are identified by reference, and their objectives
+ * must not change while they belong to the set.
+ */
+public class IncrementalCrowding<T extends Variable> implements Serializable {
+
+  private static final long serialVersionUID = 3371585802236569041L;
+
+  /**
+   * A solution of the set, with its neighbourhood in each objective.
+   */
+  private static final class Member<T extends Variable> implements Serializable {
+    private static final long serialVersionUID = -7364024011364858147L;
+
+    final Solution<T> solution_;
+    final double [] point_;
+    final long id_;
+    final double [] gap_;
+    double distance_;
+
+    Member(Solution<T> solution, long id, int objectives) {
+      solution_ = solution;
+      point_    = solution.getObjectives().clone();
+      id_       = id;
+      gap_      = new double[objectives];
+    } // Member
+  } // Member
+
+  /**
+   * Sorts the members by an objective (and by age, for equal values).
+   */
+  private static final class ObjectiveOrder implements Comparator<Member<?>>, Serializable {
+    private static final long serialVersionUID = -2281627286702718370L;
+
+    private final int objective_;
+
+    ObjectiveOrder(int objective) {
+      objective_ = objective;
+    } // ObjectiveOrder
+
+    public int compare(Member<?> m1, Member<?> m2) {
+      int flag = Double.compare(m1.point_[objective_], m2.point_[objective_]);
+      if (flag != 0)
+        return flag;
+      return m1.id_ < m2.id_ ? -1 : (m1.id_ > m2.id_ ? 1 : 0);
+    } // compare
+  } // ObjectiveOrder
+
+  /**
+   * Sorts the members by increasing crowding distance, and the most recent
+   * first for equal distances.
+   */
+  private static final class CrowdingOrder implements Comparator<Member<?>>, Serializable {
+    private static final long serialVersionUID = 7809460186735113066L;
+
+    public int compare(Member<?> m1, Member<?> m2) {
+      int flag = Double.compare(m1.distance_, m2.distance_);
+      if (flag != 0)
+        return flag;
+      return m1.id_ > m2.id_ ? -1 : (m1.id_ < m2.id_ ? 1 : 0);
+    } // compare
+  } // CrowdingOrder
+
+  /**
+   * The number of objectives
+   */
+  private final int objectives_;
+
+  /**
+   * The members of the set
+   */
+  private final Map<Solution<T>, Member<T>> members_ = new IdentityHashMap<Solution<T>, Member<T>>();
+
+  /**
+   * The members sorted by each objective
+   */
+  private final List<TreeSet<Member<T>>> orders_;
+
+  /**
+   * The members sorted by crowding distance
+   */
+  private final TreeSet<Member<T>> crowding_ = new TreeSet<Member<T>>(new CrowdingOrder());
+
+  /**
+   * The range of each objective
+   */
+  private final double [] ranges_;
+
+  /**
+   * The members whose crowding distance changes in an update
+   */
+  private final List<Member<T>> changed_ = new ArrayList<Member<T>>();
+
+  /**
+   * The identifier of the next member
+   */
+  private long nextId_;
+
+  /**
+   * Constructor.
+   * @param numberOfObjectives The number of objectives.
+   */
+  public IncrementalCrowding(int numberOfObjectives) {
+    objectives_ = numberOfObjectives;
+    ranges_     = new double[numberOfObjectives];
+    orders_     = new ArrayList<TreeSet<Member<T>>>(numberOfObjectives);
+    for (int i = 0; i < numberOfObjectives; i++)
+      orders_.add(new TreeSet<Member<T>>(new ObjectiveOrder(i)));
+  } // IncrementalCrowding
+
+  /**
+   * Returns the number of solutions in the set.
+   */
+  public int size() {
+    return members_.size();
+  } // size
+
+  /**
+   * Inserts a solution, updating the crowding distances.
+   * @param solution The solution.
+   */
+  public void add(Solution<T> solution) {
+    Member<T> member = new Member<T>(solution, nextId_++, objectives_);
+    members_.put(solution, member);
+
+    changed_.add(member);
+    boolean rescale = members_.size() <= 3;
+    for (int i = 0; i < objectives_; i++) {
+      TreeSet<Member<T>> order = orders_.get(i);
+      order.add(member);
+      Member<T> lower  = order.lower(member);
+      Member<T> higher = order.higher(member);
+      setGap(member, lower, higher, i);
+      if (lower != null)
+        updateNeighbour(lower, order.lower(lower), member, i);
+      if (higher != null)
+        updateNeighbour(higher, member, order.higher(higher), i);
+      rescale |= updateRange(i);
+    } // for
+
+    update(rescale);
+  } // add
+
+  /**
+   * Removes a solution, updating the crowding distances.
+   * @param solution The solution.
+   * @return true if the solution belonged to the set.
+   */
+  public boolean remove(Solution<T> solution) {
+    Member<T> member = members_.remove(solution);
+    if (member == null)
+      return false;
+
+    boolean rescale = members_.size() <= 2;
+    for (int i = 0; i < objectives_; i++) {
+      TreeSet<Member<T>> order = orders_.get(i);
+      Member<T> lower  = order.lower(member);
+      Member<T> higher = order.higher(member);
+      order.remove(member);
+      if (lower != null)
+        updateNeighbour(lower, order.lower(lower), higher, i);
+      if (higher != null)
+        updateNeighbour(higher, lower, order.higher(higher), i);
+      rescale |= updateRange(i);
+    } // for
+    crowding_.remove(member);
+
+    update(rescale);
+    return true;
+  } // remove
+
+  /**
+   * Returns the solution with the lowest crowding distance (the latest
+   * inserted one, if there are ties).
+   * @return The solution, or null if the set is empty.
+   */
+  public Solution<T> worst() {
+    return crowding_.isEmpty() ? null : crowding_.first().solution_;
+  } // worst
+
+  /**
+   * Empties the set.
+   */
+  public void clear() {
+    members_.clear();
+    for (TreeSet<Member<T>> order : orders_)
+      order.clear();
+    crowding_.clear();
+    Arrays.fill(ranges_, 0.0);
+  } // clear
+
+  /**
+   * Updates the gap of a neighbour of an inserted or removed member.
+   */
+  private void updateNeighbour(Member<T> member, Member<T> lower, Member<T> higher, int objective) {
+    setGap(member, lower, higher, objective);
+    changed_.add(member);
+  } // updateNeighbour
+
+  /**
+   * Sets the distance between the neighbours of a member in an objective
+   * (infinite for the extreme members).
+   */
+  private void setGap(Member<T> member, Member<T> lower, Member<T> higher, int objective) {
+    if (lower == null || higher == null)
+      member.gap_[objective] = Double.POSITIVE_INFINITY;
+    else
+      member.gap_[objective] = higher.point_[objective] - lower.point_[objective];
+  } // setGap
+
+  /**
+   * Updates the range of an objective.
+   * @return true if the range has changed.
+   */
+  private boolean updateRange(int objective) {
+    TreeSet<Member<T>> order = orders_.get(objective);
+    double range = 0.0;
+    if (!order.isEmpty())
+      range = order.last().point_[objective] - order.first().point_[objective];
+    boolean changed = range != ranges_[objective];
+    ranges_[objective] = range;
+    return changed;
+  } // updateRange
+
+  /**
+   * Updates the crowding distances of the changed members, or of all the
+   * members if the ranges have changed.
+   */
+  private void update(boolean all) {
+    if (all) {
+      crowding_.clear();
+      for (Member<T> member : members_.values()) {
+        member.distance_ = distance(member);
+        member.solution_.setCrowdingDistance(member.distance_);
+        crowding_.add(member);
+      } // for
+    } else {
+      for (Member<T> member : changed_) {
+        crowding_.remove(member);
+        member.distance_ = distance(member);
+        member.solution_.setCrowdingDistance(member.distance_);
+        crowding_.add(member);
+      } // for
+    } // if
+    changed_.clear();
+  } // update
+
+  /**
+   * Computes the crowding distance of a member.
+   */
+  private double distance(Member<T> member) {
+    if (members_.size() <= 2)
+      return Double.POSITIVE_INFINITY;
+
+    double distance = 0.0;
+    for (int i = 0; i < objectives_; i++) {
+      if (member.gap_[i] == Double.POSITIVE_INFINITY)
+        return Double.POSITIVE_INFINITY;
+      if (ranges_[i] > 0.0)
+        distance += member.gap_[i] / ranges_[i];
+    } // for
+    return distance;
+  } // distance
+} // IncrementalCrowding
@@ -0,0 +1,213 @@
+/**
+ * IncrementalRanking.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import jmetal.base.Solution;
+import jmetal.base.SolutionSet;
+import jmetal.base.Variable;
+import jmetal.base.operator.comparator.DominanceComparator;
+
+/**
+ * This class keeps a population split into non-dominated fronts, updating the
+ * fronts as solutions are inserted and removed one at a time, instead of
+ * ranking the whole population again (as steady-state algorithms would do
+ * with <code>Ranking</code>). The insertion follows the efficient
+ * non-domination level update by K. Li et al. (2015): the new solution goes
+ * into the first front not dominating it, and the solutions it dominates are
+ * pushed to the next front, possibly pushing other solutions further down.
+ * The rank and the crowding distance of the solutions are kept up to date:
+ * each front keeps its crowding distances with an
+ * <code>IncrementalCrowding</code>, so moving a solution in or out of a
+ * front costs O(M log N). Hence an insertion costs a scan of the fronts it
+ * crosses (to find the dominated solutions) plus O(M log N) per moved
+ * solution, and a removal costs O(M log N) plus a scan of the last front.
+ * The location of each solution is set to its position in the population.
+ */
+public class IncrementalRanking<T extends Variable> {
+
+  /**
+   * stores a <code>Comparator</code> for dominance checking
+   */
+  private final Comparator<Solution<T>> dominance_ = new DominanceComparator<T>();
+
+  /**
+   * The fronts of the population
+   */
+  private final List<SolutionSet<T>> fronts_ = new ArrayList<SolutionSet<T>>();
+
+  /**
+   * The crowding distances of the fronts
+   */
+  private final List<IncrementalCrowding<T>> crowding_ = new ArrayList<IncrementalCrowding<T>>();
+
+  /**
+   * The population (the union of the fronts)
+   */
+  private final SolutionSet<T> population_ = new SolutionSet<T>(Integer.MAX_VALUE);
+
+  /**
+   * Number of objectives of the solutions
+   */
+  private final int numberOfObjectives_;
+
+  /**
+   * Constructor. Ranks a population, which is copied into the structure.
+   * @param solutionSet The initial population.
+   * @param numberOfObjectives The number of objectives.
+   */
+  public IncrementalRanking(SolutionSet<T> solutionSet, int numberOfObjectives) {
+    numberOfObjectives_ = numberOfObjectives;
+
+    Ranking<T> ranking = new Ranking<T>(solutionSet);
+    for (int i = 0; i < ranking.getNumberOfSubfronts(); i++) {
+      newFront();
+      for (Solution<T> s : ranking.getSubfront(i)) {
+        fronts_.get(i).add(s);
+        crowding_.get(i).add(s);
+        addToPopulation(s);
+      } // for
+    } // for
+  } // IncrementalRanking
+
+  /**
+   * Returns the population. It must not be modified directly.
+   * @return The <code>SolutionSet</code> containing all the solutions.
+   */
+  public SolutionSet<T> getPopulation() {
+    return population_;
+  } // getPopulation
+
+  /**
+   * Returns a <code>SolutionSet</code> containing the solutions of a given rank.
+   * @param rank The rank
+   * @return Object representing the <code>SolutionSet</code>.
+   */
+  public SolutionSet<T> getSubfront(int rank) {
+    return fronts_.get(rank);
+  } // getSubfront
+
+  /**
+   * Returns the total number of subFronts.
+   */
+  public int getNumberOfSubfronts() {
+    return fronts_.size();
+  } // getNumberOfSubfronts
+
+  /**
+   * Inserts a solution, updating the ranks and the crowding distances.
+   * @param solution The <code>Solution</code> to insert.
+   */
+  public void add(Solution<T> solution) {
+    // find the first front with no solution dominating the new one
+    int low = 0;
+    int high = fronts_.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (isDominated(solution, fronts_.get(mid)))
+        low = mid + 1;
+      else
+        high = mid;
+    } // while
+
+    addToPopulation(solution);
+
+    // insert the solution, and push down the solutions it dominates
+    List<Solution<T>> moving = new ArrayList<Solution<T>>(1);
+    moving.add(solution);
+    for (int rank = low; !moving.isEmpty(); rank++) {
+      if (rank == fronts_.size())
+        newFront();
+
+      SolutionSet<T> front = fronts_.get(rank);
+      IncrementalCrowding<T> crowding = crowding_.get(rank);
+      List<Solution<T>> dominated = new ArrayList<Solution<T>>();
+      for (int i = 0; i < front.size(); ) {
+        Solution<T> s = front.get(i);
+        if (isDominated(s, moving)) {
+          dominated.add(s);
+          removeFromFront(front, i);
+          crowding.remove(s);
+        } else
+          i++;
+      } // for
+
+      for (Solution<T> s : moving) {
+        s.setRank(rank);
+        front.add(s);
+        crowding.add(s);
+      } // for
+
+      moving = dominated;
+    } // for
+  } // add
+
+  /**
+   * Removes the worst solution: the one in the last front having the lowest
+   * crowding distance (the latest inserted one, if there are ties).
+   * @return The removed <code>Solution</code>.
+   */
+  public Solution<T> removeWorst() {
+    int last = fronts_.size() - 1;
+    SolutionSet<T> front = fronts_.get(last);
+    IncrementalCrowding<T> crowding = crowding_.get(last);
+
+    Solution<T> solution = crowding.worst();
+    crowding.remove(solution);
+    int worst = 0;
+    while (front.get(worst) != solution)
+      worst++;
+    removeFromFront(front, worst);
+    if (front.size() == 0) {
+      fronts_.remove(last);
+      crowding_.remove(last);
+    } // if
+
+    // move the last solution of the population in place of the removed one
+    int location = solution.getLocation();
+    Solution<T> moved = population_.get(population_.size() - 1);
+    population_.replace(location, moved);
+    moved.setLocation(location);
+    population_.remove(population_.size() - 1);
+
+    return solution;
+  } // removeWorst
+
+  private void addToPopulation(Solution<T> solution) {
+    solution.setLocation(population_.size());
+    population_.add(solution);
+  } // addToPopulation
+
+  private void newFront() {
+    fronts_.add(new SolutionSet<T>(Integer.MAX_VALUE));
+    crowding_.add(new IncrementalCrowding<T>(numberOfObjectives_));
+  } // newFront
+
+  /**
+   * Removes a solution from a front, moving the last solution of the front
+   * in its position.
+   */
+  private void removeFromFront(SolutionSet<T> front, int i) {
+    int last = front.size() - 1;
+    if (i != last)
+      front.replace(i, front.get(last));
+    front.remove(last);
+  } // removeFromFront
+
+  /**
+   * Checks if a solution is dominated by any of a group of solutions.
+   */
+  private boolean isDominated(Solution<T> solution, Iterable<Solution<T>> solutions) {
+    for (Solution<T> s : solutions)
+      if (dominance_.compare(s, solution) == -1)
+        return true;
+    return false;
+  } // isDominated
+} // IncrementalRanking
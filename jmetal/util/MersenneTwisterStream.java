@@ -0,0 +1,57 @@
+/**
+ * MersenneTwisterStream.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.util;
+
+/**
+ * A random stream drawing from a <code>MersenneTwisterFast</code>.
+ */
+public class MersenneTwisterStream extends AbstractRandomStream {
+
+  private static final long serialVersionUID = -3062208927718931417L;
+
+  /**
+   * The generator
+   */
+  private final MersenneTwisterFast generator_;
+
+  /**
+   * Constructor.
+   * @param seed The seed, whose words initialize the state of the generator.
+   */
+  public MersenneTwisterStream(long[] seed) {
+    int [] array = new int[2 * seed.length];
+    for (int i = 0; i < seed.length; i++) {
+      array[2 * i]     = (int) seed[i];
+      array[2 * i + 1] = (int) (seed[i] >>> 32);
+    } // for
+    generator_ = new MersenneTwisterFast(array);
+  } // MersenneTwisterStream
+
+  /**
+   * Returns the generator.
+   * @return The generator.
+   */
+  public MersenneTwisterFast getGenerator() {
+    return generator_;
+  } // getGenerator
+
+  public void setSeed(long seed) {
+    generator_.setSeed(seed);
+  } // setSeed
+
+  public int nextInt() {
+    return generator_.nextInt();
+  } // nextInt
+
+  public long nextLong() {
+    return generator_.nextLong();
+  } // nextLong
+
+  public double nextDouble() {
+    return generator_.nextDouble();
+  } // nextDouble
+} // MersenneTwisterStream
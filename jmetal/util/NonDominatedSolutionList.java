@@ -11,6 +11,7 @@ import java.util.Comparator;
 import java.util.Iterator;
 
 import jmetal.base.Solution;
+import jmetal.base.SolutionPool;
 import jmetal.base.SolutionSet;
 import jmetal.base.Variable;
 import jmetal.base.operator.comparator.DominanceComparator;
@@ -82,7 +83,7 @@ public class NonDominatedSolutionList<T extends Variable> extends SolutionSet<T>
     } // if
  
     //At this point, the solution is inserted into the list
-    solutionsList_.add(solution);                
+    solutionsList_.add(SolutionPool.unpooled(solution));                
     
     return true;        
   } // add                   
@@ -0,0 +1,28 @@
+/**
+ * NonDominatedSorting.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.util;
+
+/**
+ * Interface of the engines used by <code>Ranking</code> to split a set of
+ * objective vectors into non-dominated fronts. Engines work on plain
+ * <code>double</code> arrays (usually the very arrays returned by
+ * <code>Solution.getObjectives()</code>) and only apply the Pareto dominance
+ * test: constraint handling is done by <code>Ranking</code> itself.
+ * Implementations must be stateless, so a single instance can be shared.
+ */
+public interface NonDominatedSorting {
+
+  /**
+   * Sorts a set of points into non-dominated fronts. Fronts are numbered
+   * starting from 0, which contains the non-dominated points.
+   * @param points The objective vectors to sort. They are not modified.
+   * @param rank Output array: rank[i] receives the front of points[i]. It must
+   * have at least <code>points.length</code> elements.
+   * @return The number of fronts found.
+   */
+  public int sort(double[][] points, int[] rank);
+} // NonDominatedSorting
@@ -0,0 +1,153 @@
+/**
+ * ObjectiveKernels.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.util;
+
+/**
+ * This class implements the dominance and distance kernels used in the inner
+ * loops of rankings, archives and quality indicators. Besides the methods
+ * working on two points, there are bulk versions comparing one point against
+ * a block of points packed row by row in a single <code>double</code> array
+ * (see <code>pack</code>): rows are contiguous in memory, and the loops are
+ * simple enough to be unrolled and vectorized by the JIT compiler.
+ * Squares are computed by multiplication and not by <code>Math.pow</code>.
+ */
+public class ObjectiveKernels {
+
+  /**
+   * Packs a set of points in a single array, row by row.
+   * @param points The points (all having the same length).
+   * @return The packed points.
+   */
+  public static double[] pack(double[][] points) {
+    if (points.length == 0)
+      return new double[0];
+
+    int m = points[0].length;
+    double [] block = new double[points.length * m];
+    for (int i = 0; i < points.length; i++)
+      System.arraycopy(points[i], 0, block, i * m, m);
+    return block;
+  } // pack
+
+  /**
+   * Compares two points using the Pareto dominance.
+   * @param p The first point.
+   * @param q The second point.
+   * @return -1, or 0, or 1 if p dominates q, both are non-dominated, or p is
+   * dominated by q, respectively.
+   */
+  public static int compare(double[] p, double[] q) {
+    return compare(p, 0, q, 0, p.length);
+  } // compare
+
+  /**
+   * Compares two points, stored in arrays at the given offsets, using the
+   * Pareto dominance. The scan stops as soon as the points are known to be
+   * non-dominated.
+   * @return -1, or 0, or 1 if p dominates q, both are non-dominated, or p is
+   * dominated by q, respectively.
+   */
+  public static int compare(double[] p, int pOffset, double[] q, int qOffset, int m) {
+    boolean dominate1 = false;
+    boolean dominate2 = false;
+
+    for (int i = 0; i < m; i++) {
+      double a = p[pOffset + i];
+      double b = q[qOffset + i];
+      dominate1 |= a < b;
+      dominate2 |= a > b;
+      if (dominate1 && dominate2)
+        return 0;
+    } // for
+
+    if (dominate1 == dominate2)
+      return 0;
+
+    return dominate1 ? -1 : 1;
+  } // compare
+
+  /**
+   * Compares a point against a range of points of a block.
+   * @param p The point.
+   * @param block The packed points.
+   * @param from The index of the first point of the range.
+   * @param to The index following the last point of the range.
+   * @param result Output array: result[j] receives the comparison between p
+   * and the j-th point of the block (see <code>compare</code>), for j in
+   * [from, to).
+   */
+  public static void compare(double[] p, double[] block, int from, int to, int[] result) {
+    int m = p.length;
+    for (int j = from, offset = from * m; j < to; j++, offset += m)
+      result[j] = compare(p, 0, block, offset, m);
+  } // compare
+
+  /**
+   * Looks for a point of a block dominating a given point.
+   * @param p The point.
+   * @param block The packed points.
+   * @param n The number of points in the block.
+   * @return The index of the first point of the block dominating p, or -1.
+   */
+  public static int findDominating(double[] p, double[] block, int n) {
+    int m = p.length;
+    for (int j = 0, offset = 0; j < n; j++, offset += m)
+      if (compare(p, 0, block, offset, m) == 1)
+        return j;
+    return -1;
+  } // findDominating
+
+  /**
+   * Returns the squared euclidean distance between two points.
+   * @param a A point.
+   * @param b A point.
+   * @return The squared distance.
+   */
+  public static double squaredDistance(double[] a, double[] b) {
+    double distance = 0.0;
+    for (int i = 0; i < a.length; i++) {
+      double diff = a[i] - b[i];
+      distance += diff * diff;
+    } // for
+    return distance;
+  } // squaredDistance
+
+  /**
+   * Returns the euclidean distance between two points.
+   * @param a A point.
+   * @param b A point.
+   * @return The distance.
+   */
+  public static double distance(double[] a, double[] b) {
+    return Math.sqrt(squaredDistance(a, b));
+  } // distance
+
+  /**
+   * Returns the minimum euclidean distance from a point to a block of packed
+   * points.
+   * @param p The point.
+   * @param block The packed points.
+   * @param n The number of points in the block.
+   * @param excludeZero If true, points at distance 0.0 are ignored.
+   * @return The minimum distance (Double.MAX_VALUE if there is no point to
+   * consider).
+   */
+  public static double minDistance(double[] p, double[] block, int n, boolean excludeZero) {
+    int m = p.length;
+    double min = Double.POSITIVE_INFINITY;
+    for (int j = 0, offset = 0; j < n; j++, offset += m) {
+      double distance = 0.0;
+      for (int i = 0; i < m; i++) {
+        double diff = p[i] - block[offset + i];
+        distance += diff * diff;
+      } // for
+      if (distance < min && (!excludeZero || distance > 0.0))
+        min = distance;
+    } // for
+    return (min == Double.POSITIVE_INFINITY) ? Double.MAX_VALUE : Math.sqrt(min);
+  } // minDistance
+} // ObjectiveKernels
@@ -7,62 +7,213 @@
  */
 package jmetal.util;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
- * Class representing some randoms facilities
+ * Class representing some randoms facilities.
+ * The random values are drawn from the stream of the calling thread, so that
+ * threads never share a generator. The streams are derived from a master
+ * seed: the threads get the streams 0, 1, 2, ... in the order of their first
+ * draw, while a task whose results must not depend on the thread running it
+ * (e.g., a run of an experiment) installs the stream derived from its own
+ * key (see <code>newStream</code> and <code>setStream</code>).
+ * The master seed is taken from the system property
+ * <code>jmetal.seed</code>, or from the clock, and it is printed at start-up
+ * so that a run can be repeated. The generator is the Mersenne Twister,
+ * unless another <code>RandomStream.Backend</code> is named by the system
+ * property <code>jmetal.random</code> or set by <code>setBackend</code>.
+ * In deterministic mode (system property <code>jmetal.deterministic</code>,
+ * or <code>setDeterministic</code>) the tasks run by the evaluators on their
+ * threads draw from streams keyed by their batch and by their index in the
+ * batch (see <code>beginTask</code>), hence a run gives the same results
+ * whatever the number of threads.
  */
 public abstract class PseudoRandom {
-  
-	private static final MersenneTwisterFast MT;
-	
-  /** generator used to obtain the random values */
-  private static final RandomGenerator random;
- 
-  /** other generator used to obtain the random values */
-  private static final java.util.Random randomJava;
-    
+
+  /** the master seed */
+  private static volatile long seed_;
+
+  /** the generator of the streams */
+  private static volatile RandomStream.Backend backend_;
+
+  /** true if the tasks draw from keyed streams */
+  private static volatile boolean deterministic_ = Boolean.getBoolean("jmetal.deterministic");
+
+  /** the number of streams assigned to the threads */
+  private static final AtomicLong threads_ = new AtomicLong();
+
+  /** salt separating the streams of the threads from the keyed ones */
+  private static final long THREAD_SALT = 0x5851f42d4c957f2dL;
+
+  /** generator used by the current thread to obtain the random values */
+  private static final ThreadLocal<RandomStream> stream_ = new ThreadLocal<RandomStream>() {
+    protected RandomStream initialValue() {
+      return derive(seed_ ^ THREAD_SALT, new long[] { threads_.getAndIncrement() });
+    }
+  };
+
   static {
-      long seed = System.currentTimeMillis();
-      //long seed = 13;
-  	System.out.println("Using seed: " + seed);
-
-  	// configuration 1: use mersenne twister fast
-  	MT = new MersenneTwisterFast(seed);
-  	random = null;
-  	randomJava = null;
-  	
-  	// configuration 2: use RandomGenerator & java.util.Random
-  	// MT = null;
-  	//random = new RandomGenerator();
-  	//randomJava = new java.util.Random();
+    long seed = Long.getLong("jmetal.seed", System.currentTimeMillis());
+    System.out.println("Using seed: " + seed);
+    seed_ = seed;
+    backend_ = RandomStream.Backend.valueOf(System.getProperty("jmetal.random", RandomStream.Backend.MERSENNE_TWISTER.name()));
   }
-  
-  
-	public static MersenneTwisterFast getMersenneTwisterFast() {
-		return MT;
-	}
-  
-  /** 
-   * Returns a random int value using the Java random generator.
+
+  /**
+   * Returns the master seed.
+   * @return The seed.
+   */
+  public static long getSeed() {
+    return seed_;
+  } // getSeed
+
+  /**
+   * Returns the generator of the streams.
+   * @return The backend.
+   */
+  public static RandomStream.Backend getBackend() {
+    return backend_;
+  } // getBackend
+
+  /**
+   * Sets the generator of the streams, and restarts the calling thread from
+   * its first stream (as <code>setSeed</code>). The threads which have
+   * already drawn values keep their streams.
+   * @param backend The backend.
+   */
+  public static void setBackend(RandomStream.Backend backend) {
+    backend_ = backend;
+    setSeed(seed_);
+  } // setBackend
+
+  /**
+   * Returns true in deterministic mode.
+   * @return true if the tasks draw from keyed streams.
+   */
+  public static boolean isDeterministic() {
+    return deterministic_;
+  } // isDeterministic
+
+  /**
+   * Sets the deterministic mode, in which the tasks run on other threads
+   * draw from streams keyed by their batch and by their index in it.
+   * @param deterministic true to enable the mode.
+   */
+  public static void setDeterministic(boolean deterministic) {
+    deterministic_ = deterministic;
+  } // setDeterministic
+
+  /**
+   * Returns the key of a batch of tasks run on other threads (e.g., the
+   * evaluations of a population). In deterministic mode it is drawn from the
+   * stream of the calling thread, hence it depends only on the run and on
+   * the values drawn before (e.g., on the generation); otherwise it is 0 and
+   * no value is drawn.
+   * @return The key of the batch.
+   */
+  public static long newBatch() {
+    return deterministic_ ? stream_.get().nextLong() : 0;
+  } // newBatch
+
+  /**
+   * Starts a task of a batch in the calling thread: in deterministic mode,
+   * the thread draws from the stream keyed by the batch and by the index of
+   * the task, until <code>endTask</code> is called.
+   * @param batch The key of the batch (see <code>newBatch</code>).
+   * @param index The index of the task in the batch (e.g., of the
+   * individual).
+   * @return The stream to restore at the end of the task, or null if the
+   * stream has not been changed.
+   */
+  public static RandomStream beginTask(long batch, long index) {
+    return deterministic_ ? setStream(newStream(batch, index)) : null;
+  } // beginTask
+
+  /**
+   * Ends a task started by <code>beginTask</code>.
+   * @param previous The stream returned by <code>beginTask</code>.
+   */
+  public static void endTask(RandomStream previous) {
+    if (previous != null)
+      stream_.set(previous);
+  } // endTask
+
+  /**
+   * Sets the master seed. The calling thread gets the first stream of the
+   * new seed, and the streams assigned afterwards to other threads are
+   * numbered again from 1; the threads which have already drawn values keep
+   * their streams.
+   * @param seed The seed.
+   */
+  public static void setSeed(long seed) {
+    seed_ = seed;
+    threads_.set(1);
+    stream_.set(derive(seed ^ THREAD_SALT, new long[] { 0 }));
+  } // setSeed
+
+  /**
+   * Creates the stream identified by a key (e.g., the indices of the
+   * problem, of the algorithm and of the run). The stream depends only on the
+   * master seed and on the key, and different keys give independent streams.
+   * @param key The key.
+   * @return A new stream.
+   */
+  public static RandomStream newStream(long... key) {
+    return derive(seed_, key);
+  } // newStream
+
+  /**
+   * Sets the stream used by the calling thread.
+   * @param stream The stream (e.g., created by <code>newStream</code>).
+   * @return The stream used before by the thread, which can be set again
+   * when the task using the new one ends.
+   */
+  public static RandomStream setStream(RandomStream stream) {
+    RandomStream previous = stream_.get();
+    stream_.set(stream);
+    return previous;
+  } // setStream
+
+  /**
+   * Returns the stream used by the calling thread; it must not be shared
+   * with other threads.
+   * @return The stream.
+   */
+  public static RandomStream getStream() {
+    return stream_.get();
+  } // getStream
+
+  /**
+   * Returns the Mersenne Twister used by the calling thread; it must not be
+   * shared with other threads.
+   * @return The generator.
+   * @throws IllegalStateException if the backend is not the Mersenne Twister
+   */
+  public static MersenneTwisterFast getMersenneTwisterFast() {
+    RandomStream stream = stream_.get();
+    if (!(stream instanceof MersenneTwisterStream))
+      throw new IllegalStateException("The random backend is " + backend_ + ", not the Mersenne Twister");
+
+    return ((MersenneTwisterStream) stream).getGenerator();
+  } // getMersenneTwisterFast
+
+  /**
+   * Returns a random int value.
    * @return A random int value.
    */
   public static int randInt() {
-  	if(MT != null) return MT.nextInt();
-  	
-    return randomJava.nextInt();
+    return stream_.get().nextInt();
   } // randInt
-    
-  /** 
+
+  /**
    * Returns a random double value using the PseudoRandom generator.
    * Returns A random double value.
    */
   public static double randDouble() {
-  	if(MT != null) return MT.nextDouble();
-  	
-    return random.rndreal(0.0,1.0);
-    //return randomJava.nextDouble();
+    return stream_.get().nextDouble();
   } // randDouble
-    
-  /** 
+
+  /**
    * Returns a random int value between a minimum bound and maximum bound using
    * the PseudoRandom generator.
    * @param minBound The minimum bound.
@@ -70,12 +221,9 @@ public abstract class PseudoRandom {
    * Return A pseudo random int value between minBound and maxBound.
    */
   public static int randInt(int minBound, int maxBound) {
-  	if(MT != null) return minBound + MT.nextInt(maxBound-minBound+1);
-  	
-  	return random.rnd(minBound,maxBound);
-    //return minBound + randomJava.nextInt(maxBound-minBound+1);
+    return minBound + stream_.get().nextInt(maxBound-minBound+1);
   } // randInt
-    
+
   /** Returns a random double value between a minimum bound and a maximum bound
    * using the PseudoRandom generator.
    * @param minBound The minimum bound.
@@ -83,9 +231,23 @@ public abstract class PseudoRandom {
    * @return A pseudo random double value between minBound and maxBound
    */
   public static double randDouble(double minBound, double maxBound) {
-  	if(MT != null) return minBound + (maxBound - minBound)*randomJava.nextDouble();
-  	
-    return random.rndreal(minBound,maxBound);
-    //return minBound + (maxBound - minBound)*randomJava.nextDouble();
-  } // randDouble    
+    return minBound + (maxBound - minBound)*stream_.get().nextDouble();
+  } // randDouble
+
+  /**
+   * Derives a stream from a seed and a key, scrambling them with the
+   * SplitMix64 finalizer into the seed of the generator.
+   */
+  private static RandomStream derive(long seed, long[] key) {
+    long h = SplitMix64Stream.mix(seed);
+    for (long k : key)
+      h = SplitMix64Stream.mix(h ^ SplitMix64Stream.mix(k + 0x9e3779b97f4a7c15L));
+
+    long [] state = new long[4];
+    for (int i = 0; i < state.length; i++) {
+      h += 0x9e3779b97f4a7c15L;
+      state[i] = SplitMix64Stream.mix(h);
+    } // for
+    return backend_.create(state);
+  } // derive
 } // PseudoRandom
@@ -0,0 +1,115 @@
+/**
+ * RandomStream.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.util;
+
+/**
+ * A stream of pseudo-random numbers, used by a single thread (see
+ * <code>PseudoRandom</code>). Besides the single values, it provides bulk
+ * methods, which let the operators draw the numbers needed by a solution at
+ * once.
+ */
+public interface RandomStream {
+
+  /**
+   * The available generators.
+   */
+  public enum Backend {
+    /** Mersenne Twister (MT19937), the generator used by default */
+    MERSENNE_TWISTER {
+      public RandomStream create(long[] seed) {
+        return new MersenneTwisterStream(seed);
+      }
+    },
+    /** xoroshiro128++, small and fast */
+    XOROSHIRO {
+      public RandomStream create(long[] seed) {
+        return new Xoroshiro128Stream(seed);
+      }
+    },
+    /** SplitMix64, the fastest, with a single word of state */
+    SPLITMIX {
+      public RandomStream create(long[] seed) {
+        return new SplitMix64Stream(seed);
+      }
+    };
+
+    /**
+     * Creates a generator.
+     * @param seed The seed (a few well-mixed words).
+     * @return The generator.
+     */
+    public abstract RandomStream create(long[] seed);
+  } // Backend
+
+  /**
+   * Restarts the stream from a seed.
+   * @param seed The seed.
+   */
+  public void setSeed(long seed);
+
+  /**
+   * Returns a random int value.
+   * @return A random int value.
+   */
+  public int nextInt();
+
+  /**
+   * Returns a random long value.
+   * @return A random long value.
+   */
+  public long nextLong();
+
+  /**
+   * Returns a random double value in [0, 1).
+   * @return A random double value.
+   */
+  public double nextDouble();
+
+  /**
+   * Returns a random int value in [0, bound), without modulo bias.
+   * @param bound The bound (positive).
+   * @return A random int value.
+   */
+  public int nextInt(int bound);
+
+  /**
+   * Returns true with a given probability.
+   * @param probability The probability.
+   * @return A random boolean value.
+   */
+  public boolean nextBoolean(double probability);
+
+  /**
+   * Fills a range of an array with random double values in [0, 1).
+   * @param values The array.
+   * @param from The first position to fill.
+   * @param to The position following the last one to fill.
+   */
+  public void fill(double[] values, int from, int to);
+
+  /**
+   * Fills a range of an array with random int values in [0, bound), without
+   * modulo bias.
+   * @param values The array.
+   * @param from The first position to fill.
+   * @param to The position following the last one to fill.
+   * @param bound The bound (positive).
+   */
+  public void fill(int[] values, int from, int to, int bound);
+
+  /**
+   * Draws n Bernoulli trials, storing the positions of the successes. When
+   * the probability is small, only the positions of the successes are drawn
+   * (as geometric gaps), hence the cost is proportional to their number.
+   * @param probability The probability of a success.
+   * @param n The number of trials.
+   * @param successes Output array (of length n at least) receiving the
+   * positions of the successes, in increasing order.
+   * @return The number of successes.
+   */
+  public int bernoulli(double probability, int n, int[] successes);
+} // RandomStream
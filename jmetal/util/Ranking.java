@@ -7,17 +7,11 @@
 
 package jmetal.util;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Arrays;
 
 import jmetal.base.Solution;
 import jmetal.base.SolutionSet;
 import jmetal.base.Variable;
-import jmetal.base.operator.comparator.DominanceComparator;
-import jmetal.base.operator.comparator.OverallConstraintViolationComparator;
 
 /**
  * This class implements some facilities for ranking solutions.
@@ -26,10 +20,16 @@ import jmetal.base.operator.comparator.OverallConstraintViolationComparator;
  * are obtained. The subsets are numbered starting from 0 (in NSGA-II, the 
  * numbering starts from 1); thus, subset 0 contains the non-dominated 
  * solutions, subset 1 contains the non-dominated solutions after removing those
- * belonging to subset 0, and so on.
+ * belonging to subset 0, and so on. The solutions are sorted by a pluggable
+ * <code>NonDominatedSorting</code> engine working on the objective arrays.
  */
 public class Ranking<T extends Variable> {
   
+  /**
+   * The engine used by default to sort the solutions into fronts
+   */
+  private static NonDominatedSorting defaultSorting_ = new EfficientNonDominatedSorting();
+
   /**
    * The <code>SolutionSet</code> to rank
    */
@@ -39,89 +39,186 @@ public class Ranking<T extends Variable> {
    * An array containing all the fronts found during the search
    */
   private SolutionSet<T>[] ranking_  ;
-  
+
   /**
-   * stores a <code>Comparator</code> for dominance checking
+   * The point standing for the solutions whose objectives have not been
+   * evaluated (see <code>Solution.isObjectivesSkipped</code>)
    */
-  private final Comparator<Solution<T>> dominance_ = new DominanceComparator<T>();
+  private double [] skipped_ ;
   
   /**
-   * stores a <code>Comparator</code> for Overal Constraint Violation Comparator
-   * checking
+   * Sets the engine used by default to sort the solutions into fronts.
+   * @param sorting The <code>NonDominatedSorting</code> engine.
    */
-  private final Comparator<Solution<T>> constraint_ = new OverallConstraintViolationComparator<T>();
-   
-  private static final class Dominium<T extends Variable> {
-  	/** number of solutions dominating me */
-  	int dominateMe = 0;
-
-    /** list of solutions dominated by me */
-    List<Solution<T>> iDominate = new ArrayList<Solution<T>>();
-  }
-  
+  public static void setDefaultSorting(NonDominatedSorting sorting) {
+    defaultSorting_ = sorting;
+  } // setDefaultSorting
+
+  /**
+   * Returns the engine used by default to sort the solutions into fronts.
+   * @return The <code>NonDominatedSorting</code> engine.
+   */
+  public static NonDominatedSorting getDefaultSorting() {
+    return defaultSorting_;
+  } // getDefaultSorting
+
+  /** 
+   * Constructor.
+   * @param solutionSet The <code>SolutionSet</code> to be ranked.
+   */       
+  public Ranking(SolutionSet<T> solutionSet) {
+    this(solutionSet, defaultSorting_);
+  } // Ranking
+
   /** 
    * Constructor.
    * @param solutionSet The <code>SolutionSet</code> to be ranked.
+   * @param sorting The engine used to sort the solutions into fronts.
    */       
   @SuppressWarnings("unchecked")
-	public Ranking(SolutionSet<T> solutionSet) {        
+	public Ranking(SolutionSet<T> solutionSet, NonDominatedSorting sorting) {        
     solutionSet_ = solutionSet ;
 
-    // dominateMe[i] contains the number of solutions dominating i        
-    Map<Solution,Dominium<T>> dominate = new HashMap<Solution, Dominium<T>>(solutionSet_.size());
-
-    // front[i] contains the list of individuals belonging to the front i
-    List<Solution<T>> [] front = new List[solutionSet_.size()+1];
-    for (int i = 0; i < front.length; i++) 
-    	front[i] = new ArrayList<Solution<T>>();
-        
-    //-> Fast non dominated sorting algorithm
-    for(Solution<T> p : solutionSet) {
-    	// Initialice the list of individuals that i dominate and the number of individuals that dominate me
-      Dominium<T> dom = new Dominium<T>();
-      dominate.put(p, dom);
-
-      // For all q individuals , calculate if p dominates q or vice versa
-      for(Solution<T> q : solutionSet) {
-        int flagDominate = constraint_.compare(p,q);
-        if (flagDominate == 0) flagDominate =dominance_.compare(p,q);                                
-
-        if (flagDominate == -1) dom.iDominate.add(q);
-        else if (flagDominate == 1) dom.dominateMe++;   
-      }
-            
-      // If nobody dominates p, p belongs to the first front
-      if (dom.dominateMe == 0) {
-        front[0].add(p);
-        p.setRank(0);
-      }
-    }
-        
-    //Obtain the rest of fronts
-    int nFronts = -1;
-		while (front[++nFronts].size()!= 0) {
-			for(Solution<T> sol1 : front[nFronts]) {
-				for(Solution<T> sol2 : dominate.get(sol1).iDominate) {
-					Dominium<T> dom = dominate.get(sol2);
-          if (--dom.dominateMe==0) {
-            front[nFronts+1].add(sol2);
-            sol2.setRank(nFronts+1);
-          }
-        }
-      }
-    }
-    //<-
-        
+    int n = solutionSet_.size();
+    int [] rank = new int[n];
+
+    int nFronts;
+    if (isSortable())
+      nFronts = rankByViolation(sorting, rank);
+    else
+      nFronts = rankByComparison(rank);
+
+    // frontSize[i] contains the number of individuals belonging to the front i
+    int [] frontSize = new int[nFronts];
+    for (int i = 0; i < n; i++)
+      frontSize[rank[i]]++;
+
     ranking_ = new SolutionSet[nFronts];
     //0,1,2,....,i-1 are front, then i fronts
-    for (int j = 0; j < nFronts; j++) {
-      ranking_[j] = new SolutionSet(front[j].size());
-      for(Solution<T> s : front[j])
-      	ranking_[j].add(s);
-    }
-    
+    for (int j = 0; j < nFronts; j++)
+      ranking_[j] = new SolutionSet<T>(frontSize[j]);
+
+    for (int i = 0; i < n; i++) {
+      Solution<T> s = solutionSet_.get(i);
+      s.setRank(rank[i]);
+      ranking_[rank[i]].add(s);
+    } // for
   } // Ranking
 
+  /**
+   * Checks if the solutions can be ranked by a <code>NonDominatedSorting</code>
+   * engine. This requires the overall constraint violations to be non positive
+   * (as set by the constrained problems) and the objectives not to be NaN:
+   * otherwise the dominance relation is not a partial order.
+   */
+  private boolean isSortable() {
+    for (Solution<T> s : solutionSet_) {
+      if (!(s.getOverallConstraintViolation() <= 0))
+        return false;
+
+      if (s.isObjectivesSkipped())
+        continue;
+      for (double o : s.getObjectives())
+        if (o != o)
+          return false;
+    } // for
+
+    return true;
+  } // isSortable
+
+  /**
+   * Ranks the solutions grouping them by their overall constraint violation.
+   * Every solution in a group dominates all the solutions of the groups having
+   * a greater violation, and solutions in the same group are compared only by
+   * the Pareto dominance: each group is sorted by the engine, and its fronts
+   * follow the ones of the previous groups.
+   * @param sorting The engine sorting the groups.
+   * @param rank Output array receiving the rank of each solution.
+   * @return The number of fronts.
+   */
+  private int rankByViolation(NonDominatedSorting sorting, int[] rank) {
+    int n = solutionSet_.size();
+
+    // violation values, from the best (0.0) to the worst
+    double [] violation = new double[n];
+    for (int i = 0; i < n; i++)
+      violation[i] = 0.0 - solutionSet_.get(i).getOverallConstraintViolation();
+    Arrays.sort(violation);
+
+    int nGroups = 0;
+    for (int i = 0; i < n; i++)
+      if (i == 0 || violation[i] != violation[nGroups - 1])
+        violation[nGroups++] = violation[i];
+
+    // group[i] contains the group of the i-th solution
+    int [] group = new int[n];
+    int [] groupSize = new int[nGroups];
+    for (int i = 0; i < n; i++) {
+      if (nGroups > 1)
+        group[i] = Arrays.binarySearch(violation, 0, nGroups,
+                                       0.0 - solutionSet_.get(i).getOverallConstraintViolation());
+      groupSize[group[i]]++;
+    } // for
+
+    int [] members = new int[n];
+    int [] groupRank = new int[n];
+    int offset = 0;
+    for (int g = 0; g < nGroups; g++) {
+      double [][] points = new double[groupSize[g]][];
+      int size = 0;
+      for (int i = 0; i < n; i++) {
+        if (group[i] == g) {
+          members[size] = i;
+          points[size++] = objectives(solutionSet_.get(i));
+        } // if
+      } // for
+
+      int nFronts = sorting.sort(points, groupRank);
+      for (int j = 0; j < size; j++)
+        rank[members[j]] = offset + groupRank[j];
+      offset += nFronts;
+    } // for
+
+    return offset;
+  } // rankByViolation
+
+  /**
+   * Ranks the solutions using the fast non dominated sorting algorithm, 
+   * comparing them as <code>DominanceComparator</code> does. It is used when 
+   * the violations do not allow grouping the solutions.
+   * @param rank Output array receiving the rank of each solution.
+   * @return The number of fronts.
+   */
+  private int rankByComparison(int[] rank) {
+    int n = solutionSet_.size();
+
+    double [][] points = new double[n][];
+    double [] violation = new double[n];
+    for (int i = 0; i < n; i++) {
+      points[i] = objectives(solutionSet_.get(i));
+      violation[i] = solutionSet_.get(i).getOverallConstraintViolation();
+    } // for
+
+    return new DominanceMatrix(points, violation).peel(rank);
+  } // rankByComparison
+
+  /**
+   * Returns the objectives of a solution as seen by the sorting: the
+   * solutions whose objectives have not been evaluated are represented by a
+   * point at infinity, which is dominated by all the evaluated solutions and
+   * non-dominated by the other ones, as in <code>DominanceComparator</code>.
+   */
+  private double [] objectives(Solution<T> solution) {
+    if (!solution.isObjectivesSkipped())
+      return solution.getObjectives();
+
+    if (skipped_ == null) {
+      skipped_ = new double[solution.numberOfObjectives()];
+      Arrays.fill(skipped_, Double.POSITIVE_INFINITY);
+    } // if
+    return skipped_;
+  } // objectives
+
   /**
    * Returns a <code>SolutionSet</code> containing the solutions of a given rank. 
    * @param rank The rank
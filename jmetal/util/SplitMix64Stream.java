@@ -0,0 +1,54 @@
+/**
+ * SplitMix64Stream.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.util;
+
+/**
+ * A random stream drawing from a SplitMix64 generator (Steele, Lea and
+ * Flood), which scrambles a counter: its state is a single word, and its
+ * period is 2^64.
+ */
+public class SplitMix64Stream extends AbstractRandomStream {
+
+  private static final long serialVersionUID = -1446311406812938436L;
+
+  /**
+   * The increment of the counter (the golden ratio)
+   */
+  private static final long GAMMA = 0x9e3779b97f4a7c15L;
+
+  /**
+   * The counter
+   */
+  private long state_;
+
+  /**
+   * Constructor.
+   * @param seed The seed, whose first word is the initial counter.
+   */
+  public SplitMix64Stream(long[] seed) {
+    state_ = seed[0];
+  } // SplitMix64Stream
+
+  public void setSeed(long seed) {
+    state_ = seed;
+  } // setSeed
+
+  public long nextLong() {
+    return mix(state_ += GAMMA);
+  } // nextLong
+
+  /**
+   * The finalizer of SplitMix64, mapping a word to a well-scrambled one.
+   * @param z The word.
+   * @return The scrambled word.
+   */
+  static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  } // mix
+} // SplitMix64Stream
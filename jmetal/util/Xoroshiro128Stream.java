@@ -0,0 +1,50 @@
+/**
+ * Xoroshiro128Stream.java
+ *
+ * @author matteo
+ * @version 1.0
+ */
+package jmetal.util;
+
+/**
+ * A random stream drawing from a xoroshiro128++ generator (Blackman and
+ * Vigna), which has a state of two words and a period of 2^128 - 1.
+ */
+public class Xoroshiro128Stream extends AbstractRandomStream {
+
+  private static final long serialVersionUID = 5230785468001369417L;
+
+  /**
+   * The state of the generator (not all zero)
+   */
+  private long s0_;
+  private long s1_;
+
+  /**
+   * Constructor.
+   * @param seed The seed, whose first two words are the state of the
+   * generator.
+   */
+  public Xoroshiro128Stream(long[] seed) {
+    s0_ = seed[0];
+    s1_ = seed.length > 1 ? seed[1] : 0;
+    if (s0_ == 0 && s1_ == 0)
+      s0_ = 0x9e3779b97f4a7c15L;
+  } // Xoroshiro128Stream
+
+  public void setSeed(long seed) {
+    s0_ = SplitMix64Stream.mix(seed + 0x9e3779b97f4a7c15L);
+    s1_ = SplitMix64Stream.mix(seed + 2 * 0x9e3779b97f4a7c15L);
+    if (s0_ == 0 && s1_ == 0)
+      s0_ = 0x9e3779b97f4a7c15L;
+  } // setSeed
+
+  public long nextLong() {
+    long s0 = s0_;
+    long s1 = s1_ ^ s0;
+    long result = Long.rotateLeft(s0 + s1_, 17) + s0;
+    s0_ = Long.rotateLeft(s0, 49) ^ s1 ^ (s1 << 21);
+    s1_ = Long.rotateLeft(s1, 28);
+    return result;
+  } // nextLong
+} // Xoroshiro128Stream